@@ -0,0 +1,65 @@
+/*
+ * Package location for Model benchmarks.
+ */
+package model;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the calculation and the results of an experience.
+ *
+ * @author Daniel Gonçalves 1151452
+ * @author Eric Amaral 1141570
+ * @author Ivo Ferro 1151159
+ * @author Tiago Correia 1151031
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExperienceBenchmark {
+
+    /**
+     * The experience to benchmark.
+     */
+    private Experience experience;
+
+    /**
+     * The power factor, changed on every call as the power slider does.
+     */
+    private float factor;
+
+    @Setup
+    public void setUp() {
+        Laser laser = new Laser(10600e-9, new Gas("CO2", 9200E-9, 11400E-9), 2e-3,
+                new Material("Gold", 63000.0, 130.0, 19320.0, 2800.0, 1063.0, true), 4e-3);
+
+        experience = new Experience(laser);
+        experience.calculatePenetrationVelocity();
+        factor = 1.0f;
+    }
+
+    @Benchmark
+    public Double calculatePenetrationVelocity() {
+        factor = (factor <= 0.05f) ? 1.0f : factor - 0.05f;
+        experience.calculatePenetrationVelocity(factor);
+        return experience.getPenetrationVelocity();
+    }
+
+    @Benchmark
+    public String[][] generateResults() {
+        return experience.generateResults();
+    }
+}
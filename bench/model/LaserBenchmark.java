@@ -0,0 +1,63 @@
+/*
+ * Package location for Model benchmarks.
+ */
+package model;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the construction of a laser.
+ *
+ * @author Daniel Gonçalves 1151452
+ * @author Eric Amaral 1141570
+ * @author Ivo Ferro 1151159
+ * @author Tiago Correia 1151031
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LaserBenchmark {
+
+    /**
+     * The material cut by the laser.
+     */
+    @Param({"Gold", "Graphit"})
+    private String materialName;
+
+    /**
+     * The gas of the laser.
+     */
+    private Gas gas;
+
+    /**
+     * The material cut by the laser.
+     */
+    private Material material;
+
+    @Setup
+    public void setUp() {
+        gas = new Gas("CO2", 9200E-9, 11400E-9);
+        material = "Gold".equals(materialName)
+                ? new Material("Gold", 63000.0, 130.0, 19320.0, 2800.0, 1063.0, true)
+                : new Material("Graphit", 5.95303E7, 7.20000E2, 2.23000E3, 4200.0, null, false);
+    }
+
+    @Benchmark
+    public Laser newLaser() {
+        return new Laser(10600e-9, gas, 2e-3, material, 4e-3);
+    }
+}
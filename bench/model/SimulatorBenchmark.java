@@ -0,0 +1,58 @@
+/*
+ * Package location for Model benchmarks.
+ */
+package model;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import utils.DefaultInstantiator;
+
+/**
+ * Benchmarks the queries of the simulator.
+ *
+ * @author Daniel Gonçalves 1151452
+ * @author Eric Amaral 1141570
+ * @author Ivo Ferro 1151159
+ * @author Tiago Correia 1151031
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SimulatorBenchmark {
+
+    /**
+     * The simulator with the default data.
+     */
+    private Simulator simulator;
+
+    /**
+     * The wavelength slider value (nm), moved on every call as the slider
+     * does.
+     */
+    private int wavelength;
+
+    @Setup
+    public void setUp() {
+        simulator = DefaultInstantiator.createSimulator();
+        wavelength = 200;
+    }
+
+    @Benchmark
+    public Set<Gas> getGasesByWavelength() {
+        wavelength = (wavelength >= 26000) ? 200 : wavelength + 100;
+        return simulator.getGasesByWavelength(wavelength * 1e-9);
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Package location for Application calculus model benchmarks.
+ */
+package model.calculations;
+
+import java.util.concurrent.TimeUnit;
+import model.Material;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the calculations of the maximum power, melting and vaporisation.
+ *
+ * @author Daniel Gonçalves 1151452
+ * @author Eric Amaral 1141570
+ * @author Ivo Ferro 1151159
+ * @author Tiago Correia 1151031
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CalculusBenchmark {
+
+    /**
+     * Maximum power calculus of a CO2 laser with a 2 mm focal point.
+     */
+    private MaximumPowerCalculus maximumPowerCalculus;
+
+    /**
+     * Melting calculus of gold.
+     */
+    private MeltingCalculus meltingCalculus;
+
+    /**
+     * Vaporisation calculus of graphite.
+     */
+    private VaporisationCalculus vaporisationCalculus;
+
+    @Setup
+    public void setUp() {
+        Material gold = new Material("Gold", 63000.0, 130.0, 19320.0, 2800.0, 1063.0, true);
+        Material graphit = new Material("Graphit", 5.95303E7, 7.20000E2, 2.23000E3, 4200.0, null, false);
+
+        maximumPowerCalculus = new MaximumPowerCalculus(10600e-9, 3.1416e-6);
+        meltingCalculus = new MeltingCalculus(80.0, 3.1416e-6, gold, 4e-3);
+        vaporisationCalculus = new VaporisationCalculus(80.0, 3.1416e-6, graphit);
+    }
+
+    @Benchmark
+    public double maximumPower() {
+        return maximumPowerCalculus.calculate();
+    }
+
+    @Benchmark
+    public double melting() {
+        return meltingCalculus.calculate();
+    }
+
+    @Benchmark
+    public double vaporisation() {
+        return vaporisationCalculus.calculate();
+    }
+}
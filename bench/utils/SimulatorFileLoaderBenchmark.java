@@ -0,0 +1,121 @@
+/*
+ * Package location for Utils benchmarks.
+ */
+package utils;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import model.Curiosity;
+import model.Gas;
+import model.Material;
+import model.Simulator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks loading and saving the simulator with Java serialization and
+ * with the binary format.
+ *
+ * @author Daniel Gonçalves 1151452
+ * @author Eric Amaral 1141570
+ * @author Ivo Ferro 1151159
+ * @author Tiago Correia 1151031
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SimulatorFileLoaderBenchmark {
+
+    /**
+     * Number of extra generated materials and gases (0 for the default
+     * catalog only).
+     */
+    @Param({"0", "5000"})
+    private int extraEntries;
+
+    /**
+     * The simulator to save.
+     */
+    private Simulator simulator;
+
+    /**
+     * File saved with Java serialization.
+     */
+    private File serializedFile;
+
+    /**
+     * File saved in the binary format.
+     */
+    private Path binaryFile;
+
+    @Setup
+    public void setUp() throws IOException {
+        Simulator defaults = DefaultInstantiator.createSimulator();
+        Set<Material> materials = new HashSet<>(defaults.getMaterials());
+        Set<Gas> gases = new HashSet<>(defaults.getGases());
+        Set<Curiosity> curiosities = new HashSet<>(defaults.getCuriosities());
+        for (int i = 0; i < extraEntries; i++) {
+            materials.add(new Material("Material " + i, 63000.0 + i, 130.0, 19320.0,
+                    2800.0, (i % 2 == 0) ? 1063.0 : null, i % 2 == 0));
+            gases.add(new Gas("Gas " + i, (200 + i) * 1E-9, (300 + i) * 1E-9));
+        }
+        curiosities.add(new Curiosity("Curiosity"));
+        simulator = new Simulator(materials, gases, curiosities);
+
+        serializedFile = File.createTempFile("simulator", ".ser");
+        saveSerialized();
+        binaryFile = File.createTempFile("simulator", ".bin").toPath();
+        saveBinary();
+    }
+
+    @TearDown
+    public void tearDown() {
+        serializedFile.delete();
+        binaryFile.toFile().delete();
+    }
+
+    @Benchmark
+    public Simulator loadSerialized() throws IOException, ClassNotFoundException {
+        try (ObjectInputStream in = new ObjectInputStream(new FileInputStream(serializedFile))) {
+            return (Simulator) in.readObject();
+        }
+    }
+
+    @Benchmark
+    public void saveSerialized() throws IOException {
+        try (ObjectOutputStream out = new ObjectOutputStream(new FileOutputStream(serializedFile))) {
+            out.writeObject(simulator);
+        }
+    }
+
+    @Benchmark
+    public Simulator loadBinary() throws IOException {
+        return SimulatorBinaryFormat.read(binaryFile);
+    }
+
+    @Benchmark
+    public void saveBinary() throws IOException {
+        SimulatorBinaryFormat.write(binaryFile, simulator);
+    }
+}
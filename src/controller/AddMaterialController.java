@@ -3,7 +3,10 @@
  */
 package controller;
 
+import java.util.Collections;
+import java.util.List;
 import model.Material;
+import model.MaterialIndex;
 import model.Simulator;
 
 /**
@@ -65,6 +68,32 @@ public class AddMaterialController {
 
     }
 
+    /**
+     * Verifies if there is already a material with the name of the new
+     * material, ignoring case and spacing (only the exact name while a
+     * material store is being indexed).
+     *
+     * @return true if the name is taken, false otherwise
+     */
+    public boolean isNameTaken() {
+        MaterialIndex index = this.simulator.getMaterialIndex();
+        if (index == null) {
+            return this.simulator.getMaterialStore().get(this.material.getName()) != null;
+        }
+        return index.containsName(this.material.getName());
+    }
+
+    /**
+     * Gets the materials with properties similar to the new material (none
+     * while a material store is being indexed).
+     *
+     * @return the similar materials
+     */
+    public List<Material> getSimilarMaterials() {
+        MaterialIndex index = this.simulator.getMaterialIndex();
+        return (index != null) ? index.findSimilar(this.material) : Collections.<Material>emptyList();
+    }
+
     /**
      * Registers the new material.
      *
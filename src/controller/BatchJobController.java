@@ -0,0 +1,328 @@
+/*
+ * Package location for Model concepts.
+ */
+package controller;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import model.CatalogSnapshot;
+import model.Experience;
+import model.Gas;
+import model.Material;
+import model.Simulator;
+import model.values.ExperienceValue;
+import model.values.GasValue;
+import model.values.LaserValue;
+import model.values.MaterialValue;
+import utils.RecordParser;
+import utils.RecordPipeline;
+
+/**
+ * The controller to run a batch of jobs without user interface. Each job is a
+ * record of a CSV file (with header) or of a NDJSON file, with the fields
+ * gas (optional), wavelength, focalPointDiameter, material, thickness, factor
+ * (optional) and cuttingTimeLimit (optional), in SI units. The wavelength,
+ * focal point diameter, thickness and cutting time limit must be positive.
+ * Without a gas, the job uses the first gas by name that is compatible with
+ * the wavelength. The results are written in the same format, in the same
+ * order of the jobs.
+ *
+ * The jobs are read in chunks that are evaluated in parallel by a
+ * {@link RecordPipeline}, and only a bounded number of chunks is kept in
+ * memory at any time.
+ *
+ * @author Daniel Gonçalves 1151452
+ * @author Eric Amaral 1141570
+ * @author Ivo Ferro 1151159
+ * @author Tiago Correia 1151031
+ */
+public class BatchJobController {
+
+    /**
+     * Default number of jobs in each chunk.
+     */
+    public final static int DEFAULT_CHUNK_SIZE = 1024;
+
+    /**
+     * Names of the result fields.
+     */
+    private final static String[] RESULT_FIELDS = {"line", "gas", "wavelength", "focalPointDiameter",
+        "material", "thickness", "factor", "cuttingTimeLimit", "penetrationVelocity", "timeToCut", "cut",
+        "cuttingSpeed", "error"};
+
+    /**
+     * The gases of the simulator, by name in alphabetical order, and those of
+     * the same name by minimum wavelength.
+     */
+    private final Map<String, List<GasValue>> gases;
+
+    /**
+     * The materials of the simulator, by name.
+     */
+    private final Map<String, MaterialValue> materials;
+
+    /**
+     * The pipeline that evaluates the jobs in parallel chunks.
+     */
+    private final RecordPipeline pipeline;
+
+    /**
+     * Number of jobs of the last run.
+     */
+    private long jobCount;
+
+    /**
+     * Number of jobs of the last run that failed.
+     */
+    private long errorCount;
+
+    /**
+     * Constructs a batch job controller using every available processor.
+     *
+     * @param simulator the simulator with all data
+     */
+    public BatchJobController(Simulator simulator) {
+        this(simulator, Runtime.getRuntime().availableProcessors(), DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Constructs a batch job controller.
+     *
+     * @param simulator the simulator with all data
+     * @param threads number of threads to evaluate the jobs
+     * @param chunkSize number of jobs in each chunk
+     */
+    public BatchJobController(Simulator simulator, int threads, int chunkSize) {
+        this.pipeline = new RecordPipeline(threads, chunkSize);
+
+        CatalogSnapshot catalog = simulator.getCatalog();
+        this.gases = new TreeMap<>();
+        for (Gas gas : catalog.getGases()) {
+            List<GasValue> sameName = this.gases.get(gas.getName());
+            if (sameName == null) {
+                sameName = new ArrayList<>();
+                this.gases.put(gas.getName(), sameName);
+            }
+            sameName.add(gas.toValue());
+        }
+        for (List<GasValue> sameName : this.gases.values()) {
+            Collections.sort(sameName, new Comparator<GasValue>() {
+                @Override
+                public int compare(GasValue gas, GasValue other) {
+                    return Double.compare(gas.getMinWavelength(), other.getMinWavelength());
+                }
+            });
+        }
+
+        this.materials = new HashMap<>();
+        for (Material material : catalog.getMaterials()) {
+            this.materials.put(material.getName(), material.toValue());
+        }
+    }
+
+    /**
+     * Obtains the number of jobs of the last run.
+     *
+     * @return the number of jobs
+     */
+    public long getJobCount() {
+        return jobCount;
+    }
+
+    /**
+     * Obtains the number of jobs of the last run that failed.
+     *
+     * @return the number of failed jobs
+     */
+    public long getErrorCount() {
+        return errorCount;
+    }
+
+    /**
+     * Runs the jobs read from a CSV or NDJSON source, writing the results to
+     * the given destination.
+     *
+     * @param jobs the source of the jobs
+     * @param results the destination of the results
+     * @throws IOException if the jobs cannot be read or the results written
+     */
+    public void run(BufferedReader jobs, final Writer results) throws IOException {
+        this.jobCount = 0;
+        this.errorCount = 0;
+
+        pipeline.run(jobs, new RecordPipeline.RecordHandler<String>() {
+
+            /**
+             * If the jobs are in NDJSON.
+             */
+            private boolean json;
+
+            @Override
+            public void start(boolean json) throws IOException {
+                this.json = json;
+                if (!json) {
+                    RecordPipeline.writeCsvLine(results, RESULT_FIELDS);
+                }
+            }
+
+            @Override
+            public String process(long line, Map<String, String> job) {
+                return format(line, job, evaluate(job), null, json);
+            }
+
+            @Override
+            public void accept(long line, Map<String, String> job, String result, String error)
+                    throws IOException {
+                jobCount++;
+                if (result == null) {
+                    errorCount++;
+                    result = format(line, job, null, error, json);
+                }
+                results.write(result);
+            }
+        });
+        results.flush();
+    }
+
+    /**
+     * Evaluates a job.
+     *
+     * @param job the job record
+     * @return the results of the experience
+     */
+    ExperienceValue evaluate(Map<String, String> job) {
+        double wavelength = RecordPipeline.requirePositive(job, "wavelength");
+        double focalPointDiameter = RecordPipeline.requirePositive(job, "focalPointDiameter");
+        double thickness = RecordPipeline.requirePositive(job, "thickness");
+        double cuttingTimeLimit = job.containsKey("cuttingTimeLimit")
+                ? RecordPipeline.requirePositive(job, "cuttingTimeLimit") : Experience.DEFAULT_CUTTING_TIME_LIMIT;
+        float factor = job.containsKey("factor")
+                ? (float) RecordPipeline.requireDouble(job, "factor") : LaserValue.DEFAULT_FACTOR;
+
+        if (factor < 0.0f || factor > 1.0f) {
+            throw new IllegalArgumentException("The factor must be between 0 and 1");
+        }
+
+        String materialName = job.get("material");
+        MaterialValue material = materialName == null ? null : materials.get(materialName);
+        if (material == null) {
+            throw new IllegalArgumentException("Unknown material: " + materialName);
+        }
+
+        GasValue gas = findGas(job.get("gas"), wavelength);
+
+        return new LaserValue(wavelength, gas, focalPointDiameter, material, thickness)
+                .withFactor(factor).evaluate(cuttingTimeLimit);
+    }
+
+    /**
+     * Finds a gas compatible with a wavelength: the first one by name, and by
+     * minimum wavelength among those of the same name.
+     *
+     * @param name the gas name, or null for any gas
+     * @param wavelength the wavelength (m)
+     * @return the gas
+     */
+    private GasValue findGas(String name, double wavelength) {
+        Iterable<List<GasValue>> candidates;
+        if (name == null || name.isEmpty()) {
+            candidates = gases.values();
+        } else {
+            List<GasValue> sameName = gases.get(name);
+            if (sameName == null) {
+                throw new IllegalArgumentException("Unknown gas: " + name);
+            }
+            candidates = Collections.singletonList(sameName);
+        }
+
+        for (List<GasValue> sameName : candidates) {
+            for (GasValue gas : sameName) {
+                if (gas.isCompatible(wavelength)) {
+                    return gas;
+                }
+            }
+        }
+        throw new IllegalArgumentException("No gas compatible with the wavelength " + wavelength);
+    }
+
+    /**
+     * Converts a double to text, leaving undefined and infinite values empty.
+     *
+     * @param value the value
+     * @return the text
+     */
+    private static String format(double value) {
+        return Double.isNaN(value) || Double.isInfinite(value) ? "" : Double.toString(value);
+    }
+
+    /**
+     * Formats the results of a job.
+     *
+     * @param lineNumber the line number of the job
+     * @param job the job record, or null if it could not be parsed
+     * @param result the results, or null if the job failed
+     * @param error the error message, or null if the job succeeded
+     * @param json if the results are written in NDJSON
+     * @return the line of the results
+     */
+    private static String format(long lineNumber, Map<String, String> job, ExperienceValue result, String error,
+            boolean json) {
+        String[] values = new String[RESULT_FIELDS.length];
+        values[0] = Long.toString(lineNumber);
+        if (result != null) {
+            LaserValue laser = result.getLaser();
+            values[1] = laser.getGas().getName();
+            values[2] = Double.toString(laser.getWavelength());
+            values[3] = Double.toString(laser.getBeamDiameter());
+            values[4] = laser.getMaterial().getName();
+            values[5] = Double.toString(laser.getMaterialThickness());
+            values[6] = Float.toString(laser.getFactor());
+            values[7] = Double.toString(result.getCuttingTimeLimit());
+            values[8] = format(result.getPenetrationVelocity());
+            values[9] = format(result.getTimeToCut());
+            values[10] = Boolean.toString(result.isCut());
+            values[11] = format(result.getCuttingSpeed());
+        } else if (job != null) {
+            for (int i = 1; i <= 7; i++) {
+                values[i] = job.get(RESULT_FIELDS[i]);
+            }
+        }
+        values[12] = error;
+
+        StringBuilder output = new StringBuilder(160);
+        if (json) {
+            output.append('{');
+            boolean first = true;
+            for (int i = 0; i < values.length; i++) {
+                if (values[i] == null || values[i].isEmpty()) {
+                    continue;
+                }
+                if (!first) {
+                    output.append(',');
+                }
+                first = false;
+                output.append('"').append(RESULT_FIELDS[i]).append("\":");
+                boolean text = i == 1 || i == 4 || i == 12 || (i > 1 && i <= 7 && result == null);
+                output.append(text ? RecordParser.toJsonString(values[i]) : values[i]);
+            }
+            output.append("}\n");
+        } else {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    output.append(',');
+                }
+                output.append(RecordParser.toCsvField(values[i]));
+            }
+            output.append('\n');
+        }
+        return output.toString();
+    }
+}
@@ -3,11 +3,20 @@
  */
 package controller;
 
+import java.util.Collection;
+import model.CutSolver;
 import model.Experience;
+import model.ExperienceResultCache;
 import model.Laser;
+import model.Material;
+import model.sweep.MaterialRanking;
+import model.sweep.ResponseCurve;
+import model.sweep.SweepEngine;
+import utils.events.FlightRecorder;
 
 /**
- * The controller to calculate the laser cut.
+ * The controller to calculate the laser cut. Its methods are synchronized, so
+ * the experience may be updated in a background thread.
  *
  * @author Daniel Gonçalves 1151452
  * @author Eric Amaral 1141570
@@ -21,14 +30,33 @@ public class CalculateLaserCutController {
      */
     private Experience experience;
 
+    /**
+     * The cache of the results of experiences, or null to always calculate
+     * them.
+     */
+    private final ExperienceResultCache resultCache;
+
     /**
      * Constructs a calculate laser cut controller.
      *
-     * @param simulator the simulator with all data
+     * @param laser the laser of the experience
      */
     public CalculateLaserCutController(Laser laser) {
+        this(laser, null);
+    }
+
+    /**
+     * Constructs a calculate laser cut controller that reuses the results of
+     * the experiences already calculated.
+     *
+     * @param laser the laser of the experience
+     * @param resultCache the cache of the results of experiences, or null to
+     * always calculate them
+     */
+    public CalculateLaserCutController(Laser laser, ExperienceResultCache resultCache) {
 
         this.experience = new Experience(laser);
+        this.resultCache = resultCache;
         this.experience.calculatePenetrationVelocity();
     }
 
@@ -36,7 +64,7 @@ public class CalculateLaserCutController {
      * Obtains the experience to manipulate.
      * @return the experience
      */
-    public Experience getExperience() {
+    public synchronized Experience getExperience() {
         return experience;
     }
 
@@ -46,10 +74,103 @@ public class CalculateLaserCutController {
      * @param factor new factor value
      * @param cuttingTime new cutting time value.
      */
-    public void updateExperience(Float factor, Double cuttingTime) {
+    public synchronized void updateExperience(Float factor, Double cuttingTime) {
+        Object event = FlightRecorder.begin(FlightRecorder.Type.EXPERIENCE_UPDATE);
+
+        this.getExperience().setCuttingTimeLimit(cuttingTime);
+        if (this.resultCache == null) {
+            this.getExperience().calculatePenetrationVelocity(factor);
+        } else {
+            this.getExperience().calculatePenetrationVelocity(factor, this.resultCache);
+        }
+
+        if (FlightRecorder.shouldCommit(event)) {
+            Laser laser = this.getExperience().getLaser();
+            FlightRecorder.commitExperienceUpdate(event, laser.getMaterial().getName(),
+                    laser.getMaterialThickness(), factor, cuttingTime, this.getExperience().toValue().isCut());
+        }
+    }
+
+    /**
+     * Updates the experience and obtains its results.
+     *
+     * @param factor new factor value
+     * @param cuttingTime new cutting time value.
+     * @return the results of the updated experience
+     */
+    public synchronized String[][] updateResults(Float factor, Double cuttingTime) {
+
+        this.updateExperience(factor, cuttingTime);
+        return this.getResults();
+    }
+
+    /**
+     * Sets the cutting time limit of the experience, without calculating it.
+     *
+     * @param cuttingTime new cutting time value.
+     */
+    public synchronized void setCuttingTimeLimit(Double cuttingTime) {
 
         this.getExperience().setCuttingTimeLimit(cuttingTime);
-        this.getExperience().calculatePenetrationVelocity(factor);
+    }
+
+    /**
+     * Obtains the minimum power factor that cuts the material in the current
+     * cutting time limit.
+     *
+     * @return the minimum factor (greater than 1 if the laser cannot cut the
+     * material)
+     */
+    public synchronized float getMinimumFactor() {
+
+        return CutSolver.calculateMinimumFactor(this.getExperience().getLaser().toValue(),
+                this.getExperience().getCuttingTimeLimit());
+    }
+
+    /**
+     * Obtains the maximum thickness that the current power factor cuts in the
+     * current cutting time limit.
+     *
+     * @return the maximum thickness (m)
+     */
+    public synchronized double getMaximumThickness() {
+
+        return CutSolver.calculateMaximumThickness(this.getExperience().getLaser().toValue(),
+                this.getExperience().getCuttingTimeLimit());
+    }
+
+    /**
+     * Ranks the materials by how well the laser of the experience cuts them,
+     * with its current power factor and in the current cutting time limit.
+     * The laser is evaluated with every material in parallel.
+     *
+     * @param materials the materials to rank, at least one
+     * @return the ranking of the materials
+     */
+    public synchronized MaterialRanking rankMaterials(Collection<Material> materials) {
+
+        Laser laser = this.getExperience().getLaser();
+        return MaterialRanking.rank(new SweepEngine(), laser.getWavelength(), laser.getBeamDiameter(), materials,
+                laser.getMaterialThickness(), laser.getFactor(), this.getExperience().getCuttingTimeLimit());
+    }
+
+    /**
+     * Creates the response curve of the laser of the experience to the
+     * material thickness or the power factor, in the current cutting time
+     * limit. The curve is sampled by the caller, without locking this
+     * controller.
+     *
+     * @param variable the variable of the curve
+     * @param start the first value of the variable
+     * @param end the last value of the variable
+     * @param points the number of points
+     * @return the response curve
+     */
+    public synchronized ResponseCurve createResponseCurve(ResponseCurve.Variable variable, double start, double end,
+            int points) {
+
+        return new ResponseCurve(this.getExperience().getLaser().toValue(),
+                this.getExperience().getCuttingTimeLimit(), variable, start, end, points);
     }
 
     /**
@@ -57,7 +178,7 @@ public class CalculateLaserCutController {
      *
      * @return the results of the experience
      */
-    public String[][] getResults() {
+    public synchronized String[][] getResults() {
 
         return this.getExperience().generateResults();
     }
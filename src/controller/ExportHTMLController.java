@@ -4,6 +4,7 @@
 package controller;
 
 import java.io.File;
+import java.io.IOException;
 import view.SimulatorFrame;
 
 /**
@@ -39,8 +40,10 @@ public class ExportHTMLController {
 
     /**
      * Export the experience data to an HTML file.
+     *
+     * @throws IOException if the file cannot be written
      */
-    public void export() {
+    public void export() throws IOException {
         parentFrame.getExperience().exportHTML(file);
     }
 }
@@ -8,6 +8,7 @@ import model.Gas;
 import model.Laser;
 import model.Material;
 import model.Simulator;
+import model.sweep.MaterialRanking;
 
 /**
  * The controller to generate the laser.
@@ -151,7 +152,18 @@ public class GenerateLaserController {
      * Initiates the cut.
      */
     public void initiateCut() {
-        calculateLaserCutController = new CalculateLaserCutController(laser);
+        calculateLaserCutController = new CalculateLaserCutController(laser, simulator.getResultCache());
+    }
+
+    /**
+     * Ranks every material of the catalog by how well the laser of the
+     * initiated cut cuts them, with the power factor and the cutting time
+     * limit of its experience.
+     *
+     * @return the ranking of the materials
+     */
+    public MaterialRanking rankMaterials() {
+        return calculateLaserCutController.rankMaterials(simulator.getMaterials());
     }
 
     /**
@@ -0,0 +1,281 @@
+/*
+ * Package location for Model concepts.
+ */
+package controller;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import model.Material;
+import model.MaterialIndex;
+import model.MaterialStore;
+import model.Simulator;
+import utils.RecordPipeline;
+
+/**
+ * The controller to import materials in bulk. Each material is a record of a
+ * CSV file (with header) or of a NDJSON file, with the fields name,
+ * latentHeat, heatCapacity, density, vaporizationTemperature,
+ * fusionTemperature (optional if the material is not meltable) and meltable
+ * (optional, true by default).
+ *
+ * The records are parsed and validated in parallel chunks by a
+ * {@link RecordPipeline}, and the valid materials are registered in batches.
+ * The materials whose name already exists in the simulator, or earlier in the
+ * file, or does not fit in the material store of the simulator, are not
+ * imported. The records that are not imported are written to a CSV report
+ * with the fields line, name and error, and do not stop the import.
+ *
+ * @author Daniel Gonçalves 1151452
+ * @author Eric Amaral 1141570
+ * @author Ivo Ferro 1151159
+ * @author Tiago Correia 1151031
+ */
+public class ImportMaterialsController {
+
+    /**
+     * Default number of records in each chunk.
+     */
+    public final static int DEFAULT_CHUNK_SIZE = 4096;
+
+    /**
+     * Default number of materials registered in each batch.
+     */
+    public final static int DEFAULT_BATCH_SIZE = 8192;
+
+    /**
+     * Names of the report fields.
+     */
+    private final static String[] REPORT_FIELDS = {"line", "name", "error"};
+
+    /**
+     * The simulator with all data.
+     */
+    private final Simulator simulator;
+
+    /**
+     * The pipeline that parses the records in parallel chunks.
+     */
+    private final RecordPipeline pipeline;
+
+    /**
+     * Number of materials registered in each batch.
+     */
+    private final int batchSize;
+
+    /**
+     * Number of records of the last import.
+     */
+    private long recordCount;
+
+    /**
+     * Number of materials imported in the last import.
+     */
+    private long importedCount;
+
+    /**
+     * Number of records of the last import with a material that already
+     * existed.
+     */
+    private long duplicateCount;
+
+    /**
+     * Number of invalid records of the last import.
+     */
+    private long errorCount;
+
+    /**
+     * Constructs an import materials controller using every available
+     * processor.
+     *
+     * @param simulator the simulator with all data
+     */
+    public ImportMaterialsController(Simulator simulator) {
+        this(simulator, Runtime.getRuntime().availableProcessors(), DEFAULT_CHUNK_SIZE, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Constructs an import materials controller.
+     *
+     * @param simulator the simulator with all data
+     * @param threads number of threads to parse the records
+     * @param chunkSize number of records in each chunk
+     * @param batchSize number of materials registered in each batch
+     */
+    public ImportMaterialsController(Simulator simulator, int threads, int chunkSize, int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("The batch size must be positive");
+        }
+
+        this.simulator = simulator;
+        this.pipeline = new RecordPipeline(threads, chunkSize);
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Obtains the number of records of the last import.
+     *
+     * @return the number of records
+     */
+    public long getRecordCount() {
+        return recordCount;
+    }
+
+    /**
+     * Obtains the number of materials imported in the last import.
+     *
+     * @return the number of imported materials
+     */
+    public long getImportedCount() {
+        return importedCount;
+    }
+
+    /**
+     * Obtains the number of records of the last import with a material that
+     * already existed.
+     *
+     * @return the number of duplicated materials
+     */
+    public long getDuplicateCount() {
+        return duplicateCount;
+    }
+
+    /**
+     * Obtains the number of invalid records of the last import.
+     *
+     * @return the number of invalid records
+     */
+    public long getErrorCount() {
+        return errorCount;
+    }
+
+    /**
+     * Imports the materials read from a CSV or NDJSON source, writing the
+     * records that were not imported to the report.
+     *
+     * @param records the source of the materials
+     * @param report the destination of the report
+     * @throws IOException if the records cannot be read or the report written
+     */
+    public void run(BufferedReader records, final Writer report) throws IOException {
+        this.recordCount = 0;
+        this.importedCount = 0;
+        this.duplicateCount = 0;
+        this.errorCount = 0;
+
+        RecordPipeline.writeCsvLine(report, REPORT_FIELDS);
+
+        final Set<String> names = new HashSet<>();
+        for (Material material : simulator.getMaterials()) {
+            names.add(MaterialIndex.normalize(material.getName()));
+        }
+
+        final MaterialStore store = simulator.getMaterialStore();
+        final List<Material> batch = new ArrayList<>(batchSize);
+        pipeline.run(records, new RecordPipeline.RecordHandler<Material>() {
+            @Override
+            public void start(boolean json) {
+            }
+
+            @Override
+            public Material process(long line, Map<String, String> record) {
+                Material material = parse(record);
+                if (store != null && !store.acceptsName(material.getName())) {
+                    throw new IllegalArgumentException("Unsupported material name: " + material.getName());
+                }
+                return material;
+            }
+
+            @Override
+            public void accept(long line, Map<String, String> record, Material material, String error)
+                    throws IOException {
+                recordCount++;
+
+                if (material == null) {
+                    errorCount++;
+                    RecordPipeline.writeCsvLine(report, Long.toString(line),
+                            (record == null) ? null : record.get("name"), error);
+                } else if (!names.add(MaterialIndex.normalize(material.getName()))) {
+                    duplicateCount++;
+                    RecordPipeline.writeCsvLine(report, Long.toString(line), material.getName(),
+                            "Duplicate material: " + material.getName());
+                } else {
+                    batch.add(material);
+                    if (batch.size() >= batchSize) {
+                        register(batch);
+                    }
+                }
+            }
+        });
+        register(batch);
+        report.flush();
+    }
+
+    /**
+     * Registers a batch of materials in the simulator and empties it.
+     *
+     * @param batch the materials to register
+     */
+    private void register(List<Material> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        int registered = simulator.registerMaterials(batch);
+        this.importedCount += registered;
+        this.duplicateCount += batch.size() - registered;
+        batch.clear();
+    }
+
+    /**
+     * Creates a material from a record, validating its properties.
+     *
+     * @param record the material record
+     * @return the material
+     */
+    static Material parse(Map<String, String> record) {
+        String name = record.get("name");
+        if (name == null || name.trim().isEmpty()) {
+            throw new IllegalArgumentException("Missing field: name");
+        }
+
+        double latentHeat = RecordPipeline.requireNonNegative(record, "latentHeat");
+        double heatCapacity = RecordPipeline.requireNonNegative(record, "heatCapacity");
+        double density = RecordPipeline.requireDouble(record, "density");
+        double vaporizationTemperature = RecordPipeline.requireDouble(record, "vaporizationTemperature");
+
+        boolean meltable = true;
+        String meltableText = record.get("meltable");
+        if (meltableText != null && !meltableText.isEmpty()) {
+            if (meltableText.equalsIgnoreCase("true")) {
+                meltable = true;
+            } else if (meltableText.equalsIgnoreCase("false")) {
+                meltable = false;
+            } else {
+                throw new IllegalArgumentException("Invalid boolean in field meltable: " + meltableText);
+            }
+        }
+
+        String fusionText = record.get("fusionTemperature");
+        Double fusionTemperature = null;
+        if (meltable || (fusionText != null && !fusionText.isEmpty())) {
+            fusionTemperature = RecordPipeline.requireDouble(record, "fusionTemperature");
+        }
+
+        if (!Material.isValidDensity(density)) {
+            throw new IllegalArgumentException("Invalid density: " + density);
+        }
+        if (!Material.areValidTemperatures(vaporizationTemperature, fusionTemperature)) {
+            throw new IllegalArgumentException("Invalid temperatures: vaporization " + vaporizationTemperature
+                    + ", fusion " + fusionTemperature);
+        }
+
+        return new Material(name.trim(), latentHeat, heatCapacity, density, vaporizationTemperature,
+                fusionTemperature, meltable);
+    }
+}
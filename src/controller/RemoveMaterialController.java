@@ -3,8 +3,11 @@
  */
 package controller;
 
+import java.util.Collections;
+import java.util.List;
 import java.util.Set;
 import model.Material;
+import model.MaterialIndex;
 import model.Simulator;
 
 /**
@@ -40,6 +43,19 @@ public class RemoveMaterialController {
         return this.simulator.getMaterials();
     }
     
+    /**
+     * Gets the materials whose name starts with a prefix, ignoring case and
+     * spacing (none while a material store is being indexed).
+     *
+     * @param prefix the prefix
+     * @param limit the maximum number of materials
+     * @return the materials, sorted by name
+     */
+    public List<Material> findMaterials(String prefix, int limit) {
+        MaterialIndex index = this.simulator.getMaterialIndex();
+        return (index != null) ? index.findByPrefix(prefix, limit) : Collections.<Material>emptyList();
+    }
+
     /**
      * Removes a given material.
      * 
@@ -5,6 +5,7 @@ package controller;
 
 import java.util.Set;
 import model.Curiosity;
+import model.CuriosityRepository;
 import model.Simulator;
 
 /**
@@ -39,4 +40,13 @@ public class ShowCuriositiesController {
     public Set<Curiosity> getCuriosities() {
         return this.simulator.getCuriosities();
     }
+
+    /**
+     * Gets the curiosities by index, reading each one only when it is shown.
+     *
+     * @return the curiosity repository
+     */
+    public CuriosityRepository getCuriosityRepository() {
+        return this.simulator.getCuriosityRepository();
+    }
 }
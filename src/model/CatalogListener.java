@@ -0,0 +1,43 @@
+/*
+ * Package location for Model concepts.
+ */
+package model;
+
+import java.util.Collection;
+
+/**
+ * Listener of the changes of the simulator catalog.
+ *
+ * @author Daniel Gonçalves 1151452
+ * @author Eric Amaral 1141570
+ * @author Ivo Ferro 1151159
+ * @author Tiago Correia 1151031
+ */
+public interface CatalogListener {
+
+    /**
+     * Informs that a material was registered.
+     *
+     * @param material the registered material
+     */
+    public abstract void materialRegistered(Material material);
+
+    /**
+     * Informs that several materials were registered at once. By default each
+     * material is informed on its own.
+     *
+     * @param materials the registered materials
+     */
+    public default void materialsRegistered(Collection<Material> materials) {
+        for (Material material : materials) {
+            materialRegistered(material);
+        }
+    }
+
+    /**
+     * Informs that a material was removed.
+     *
+     * @param material the removed material
+     */
+    public abstract void materialRemoved(Material material);
+}
@@ -0,0 +1,128 @@
+/*
+ * Package location for Model concepts.
+ */
+package model;
+
+import java.util.Set;
+import utils.MetricsCounter;
+import utils.MetricsRegistry;
+
+/**
+ * Represents a point-in-time view of the catalog of a simulator: its
+ * materials and gases at a version. The sets of a snapshot never change and
+ * cannot be changed, so they can be iterated by any thread while the catalog
+ * is edited. The materials of a {@link MaterialStore} are a snapshot of the
+ * store. The index of the gases by wavelength is built with the
+ * snapshot, on demand, and shared by the next snapshots with the same gases.
+ *
+ * @author Daniel Gonçalves 1151452
+ * @author Eric Amaral 1141570
+ * @author Ivo Ferro 1151159
+ * @author Tiago Correia 1151031
+ */
+public class CatalogSnapshot {
+
+    /**
+     * The version of the catalog, increased on each change.
+     */
+    private final long version;
+
+    /**
+     * The materials.
+     */
+    private final Set<Material> materials;
+
+    /**
+     * The gases.
+     */
+    private final Set<Gas> gases;
+
+    /**
+     * The index of the gases by wavelength, built on demand.
+     */
+    private volatile GasWavelengthIndex gasIndex;
+
+    /**
+     * Counter of the builds of the gas wavelength index.
+     */
+    private final static MetricsCounter GAS_INDEX_REBUILDS = MetricsRegistry.counter("simulator.gasIndexRebuilds");
+
+    /**
+     * Constructs a snapshot of the catalog.
+     *
+     * @param version the version of the catalog
+     * @param materials the materials, that will not be changed
+     * @param gases the gases, that will not be changed
+     */
+    public CatalogSnapshot(long version, Set<Material> materials, Set<Gas> gases) {
+        this.version = version;
+        this.materials = materials;
+        this.gases = gases;
+    }
+
+    /**
+     * Constructs the next snapshot of the catalog, with other materials and
+     * the gases of a previous snapshot, sharing their index.
+     *
+     * @param previous the previous snapshot
+     * @param materials the materials, that will not be changed
+     */
+    CatalogSnapshot(CatalogSnapshot previous, Set<Material> materials) {
+        this.version = previous.version + 1;
+        this.materials = materials;
+        this.gases = previous.gases;
+        this.gasIndex = previous.gasIndex;
+    }
+
+    /**
+     * Gets the version of the catalog.
+     *
+     * @return the version
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Gets the materials.
+     *
+     * @return the unmodifiable materials
+     */
+    public Set<Material> getMaterials() {
+        return materials;
+    }
+
+    /**
+     * Gets the gases.
+     *
+     * @return the unmodifiable gases
+     */
+    public Set<Gas> getGases() {
+        return gases;
+    }
+
+    /**
+     * Gets the index of the gases by wavelength, building it on the first
+     * call. Concurrent first calls may build it twice, which is harmless
+     * because the gases of the snapshot never change.
+     *
+     * @return the gas wavelength index
+     */
+    public GasWavelengthIndex getGasIndex() {
+        GasWavelengthIndex index = gasIndex;
+        if (index == null) {
+            index = new GasWavelengthIndex(gases);
+            gasIndex = index;
+            if (MetricsRegistry.ENABLED) {
+                GAS_INDEX_REBUILDS.increment();
+            }
+        }
+        return index;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("CatalogSnapshot{version=%d, materials=%d, gases=%d}",
+                version, materials.size(), gases.size());
+    }
+}
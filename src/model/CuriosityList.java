@@ -0,0 +1,43 @@
+/*
+ * Package location for Model concepts.
+ */
+package model;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Curiosity repository that keeps every curiosity in memory.
+ *
+ * @author Daniel Gonçalves 1151452
+ * @author Eric Amaral 1141570
+ * @author Ivo Ferro 1151159
+ * @author Tiago Correia 1151031
+ */
+public class CuriosityList implements CuriosityRepository {
+
+    /**
+     * The curiosities.
+     */
+    private final List<Curiosity> curiosities;
+
+    /**
+     * Creates a curiosity repository with a copy of the given curiosities.
+     *
+     * @param curiosities the curiosities
+     */
+    public CuriosityList(Collection<Curiosity> curiosities) {
+        this.curiosities = new ArrayList<>(curiosities);
+    }
+
+    @Override
+    public int size() {
+        return curiosities.size();
+    }
+
+    @Override
+    public Curiosity get(int index) {
+        return curiosities.get(index);
+    }
+}
@@ -0,0 +1,30 @@
+/*
+ * Package location for Model concepts.
+ */
+package model;
+
+/**
+ * Indexed collection of curiosities, that may be loaded on demand.
+ *
+ * @author Daniel Gonçalves 1151452
+ * @author Eric Amaral 1141570
+ * @author Ivo Ferro 1151159
+ * @author Tiago Correia 1151031
+ */
+public interface CuriosityRepository {
+
+    /**
+     * Obtains the number of curiosities.
+     *
+     * @return the number of curiosities
+     */
+    public abstract int size();
+
+    /**
+     * Obtains a curiosity.
+     *
+     * @param index the index of the curiosity, between 0 and size() - 1
+     * @return the curiosity
+     */
+    public abstract Curiosity get(int index);
+}
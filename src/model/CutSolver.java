@@ -0,0 +1,121 @@
+/*
+ * Package location for Application model concepts.
+ */
+package model;
+
+import model.values.LaserValue;
+
+/**
+ * Solves the inverse problems of a laser cut: the minimum power factor that
+ * cuts a material in the time limit, and the maximum thickness that a power
+ * factor cuts in the time limit.
+ *
+ * Both the melting and the vaporisation penetration velocities are
+ * proportional to the emitted power and do not depend on the thickness, so
+ * the limits have a closed form. The closed form is then checked against the
+ * same evaluation used by the experience, so the returned factor really cuts.
+ *
+ * @author Daniel Gonçalves 1151452
+ * @author Eric Amaral 1141570
+ * @author Ivo Ferro 1151159
+ * @author Tiago Correia 1151031
+ */
+public final class CutSolver {
+
+    /**
+     * Maximum number of float steps used to correct the rounding of the
+     * closed form.
+     */
+    private final static int MAX_CORRECTION_STEPS = 64;
+
+    /**
+     * private constructor hides the public one.
+     */
+    private CutSolver() {
+    }
+
+    /**
+     * Calculates the minimum power factor that cuts the laser's material in
+     * the time limit.
+     *
+     * @param laser the laser (its factor is ignored)
+     * @param cuttingTimeLimit time limit to cut the material (s)
+     * @return the minimum factor; a value greater than 1 means the laser does
+     * not cut the material even at full power, and infinity means no factor
+     * cuts it
+     * @throws IllegalArgumentException if the material thickness, the beam
+     * diameter or the time limit is not a positive number
+     */
+    public static float calculateMinimumFactor(LaserValue laser, double cuttingTimeLimit) {
+        checkPositive("material thickness", laser.getMaterialThickness());
+        checkPositive("beam diameter", laser.getBeamDiameter());
+        checkPositive("cutting time limit", cuttingTimeLimit);
+
+        double fullPowerVelocity = laser.withFactor(1.0f).calculatePenetrationVelocity();
+        if (!(fullPowerVelocity > 0)) {
+            return Float.POSITIVE_INFINITY;
+        }
+
+        // thickness / (v(1) * factor) < limit  <=>  factor > thickness / (v(1) * limit)
+        float factor = (float) (laser.getMaterialThickness() / (fullPowerVelocity * cuttingTimeLimit));
+
+        for (int i = 0; i < MAX_CORRECTION_STEPS && !cuts(laser, factor, cuttingTimeLimit); i++) {
+            factor = Math.nextUp(factor);
+        }
+        for (int i = 0; i < MAX_CORRECTION_STEPS; i++) {
+            float lower = Math.nextDown(factor);
+            if (lower <= 0 || !cuts(laser, lower, cuttingTimeLimit)) {
+                break;
+            }
+            factor = lower;
+        }
+
+        return factor;
+    }
+
+    /**
+     * Calculates the maximum thickness that the laser, with its power factor,
+     * cuts in the time limit. Every thickness strictly below the returned one
+     * is cut.
+     *
+     * @param laser the laser (its thickness is ignored)
+     * @param cuttingTimeLimit time limit to cut the material (s)
+     * @return the maximum thickness (m)
+     * @throws IllegalArgumentException if the beam diameter or the time limit
+     * is not a positive number
+     */
+    public static double calculateMaximumThickness(LaserValue laser, double cuttingTimeLimit) {
+        checkPositive("beam diameter", laser.getBeamDiameter());
+        checkPositive("cutting time limit", cuttingTimeLimit);
+
+        // thickness / v < limit  <=>  thickness < v * limit
+        return Math.max(0.0, laser.calculatePenetrationVelocity() * cuttingTimeLimit);
+    }
+
+    /**
+     * Verifies that a value is a finite positive number.
+     *
+     * @param name the name of the value
+     * @param value the value
+     * @throws IllegalArgumentException if the value is not a finite positive
+     * number
+     */
+    private static void checkPositive(String name, double value) {
+        if (!(value > 0) || Double.isInfinite(value)) {
+            throw new IllegalArgumentException("The " + name + " must be a positive number: " + value);
+        }
+    }
+
+    /**
+     * Verifies if the laser, with a given factor, cuts its material in the
+     * time limit.
+     *
+     * @param laser the laser
+     * @param factor the power factor
+     * @param cuttingTimeLimit time limit to cut the material (s)
+     * @return true if it cuts, false otherwise
+     */
+    private static boolean cuts(LaserValue laser, float factor, double cuttingTimeLimit) {
+        return laser.withFactor(factor).evaluate(cuttingTimeLimit).isCut();
+    }
+}
@@ -3,13 +3,15 @@
  */
 package model;
 
-import java.io.BufferedWriter;
 import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
 import java.util.Objects;
-import model.calculations.MeltingCalculus;
-import utils.HTMLPage;
+import model.calculations.LaserCalculus;
+import model.values.ExperienceValue;
+import utils.HTMLWriter;
+import utils.MetricsRegistry;
+import utils.MetricsTimer;
+import utils.events.FlightRecorder;
 
 /**
  * Represents an experience class.
@@ -49,7 +51,7 @@ public class Experience implements Exportable {
     /**
      * Default time limit to cut material (in seconds).
      */
-    private final static double DEFAULT_CUTTING_TIME_LIMIT = 30.0;
+    public final static double DEFAULT_CUTTING_TIME_LIMIT = 30.0;
 
     /**
      * Default penetration velocity (not calculated).
@@ -70,6 +72,17 @@ public class Experience implements Exportable {
      */
     private final static double EPSILON = 0.0001;
 
+    /**
+     * Timer of the calculations of the penetration velocity.
+     */
+    private final static MetricsTimer CALCULATE_TIMER
+            = MetricsRegistry.timer("experience.calculatePenetrationVelocity");
+
+    /**
+     * Timer of the HTML exports.
+     */
+    private final static MetricsTimer EXPORT_TIMER = MetricsRegistry.timer("experience.exportHTML");
+
     /**
      * Constructs a experience instance.
      *
@@ -173,20 +186,17 @@ public class Experience implements Exportable {
     }
 
     /**
-     * Calculates and stores the penetration velocity of the laser.
+     * Calculates and stores the penetration velocity of the laser, with the
+     * laser's calculus, and the cutting speed if the laser cuts the material.
      */
     public void calculatePenetrationVelocity() {
+        long start = MetricsRegistry.ENABLED ? System.nanoTime() : 0L;
 
         this.penetrationVelocity = this.laser.getCalculus().calculate();
+        this.cuttingSpeed = doesCut() ? calculateCuttingSpeed() : null;
 
-        if (doesCut()) {
-            // Calculate Cutting Speed
-            Double emittedPower = this.laser.getMaxPower() * this.laser.getFactor();
-            Double effectedArea = this.laser.getBeamDiameter() * this.laser.getMaterialThickness();
-
-            this.cuttingSpeed = (new MeltingCalculus(emittedPower, effectedArea, this.laser.getMaterial())).calculate();
-        } else {
-            this.cuttingSpeed = null;
+        if (MetricsRegistry.ENABLED) {
+            CALCULATE_TIMER.recordSince(start);
         }
     }
 
@@ -200,18 +210,64 @@ public class Experience implements Exportable {
 
         this.laser.setFactor(factor);
         this.laser.updateCalculus();
-        this.penetrationVelocity = this.laser.getCalculus().calculate();
-        if (doesCut()) {
-            // Calculate Cutting Speed
-            Double emittedPower = this.laser.getMaxPower() * this.laser.getFactor();
-            Double affectedArea = this.laser.getBeamDiameter() * this.laser.getMaterialThickness();
-
-            this.cuttingSpeed = (new MeltingCalculus(emittedPower, affectedArea, this.laser.getMaterial())).calculate();
-        } else {
-            this.cuttingSpeed = null;
+        calculatePenetrationVelocity();
+    }
+
+    /**
+     * Calculates and stores the penetration velocity of the laser (with the new
+     * factor), reusing the results of an equal experience from the cache.
+     *
+     * @param factor the power factor
+     * @param cache the cache of the results of experiences
+     */
+    public void calculatePenetrationVelocity(Float factor, ExperienceResultCache cache) {
+
+        long start = MetricsRegistry.ENABLED ? System.nanoTime() : 0L;
+
+        this.laser.setFactor(factor);
+        this.laser.updateCalculus();
+        setResult(cache.evaluate(this.laser.toValue(), this.cuttingTimeLimit));
+
+        if (MetricsRegistry.ENABLED) {
+            CALCULATE_TIMER.recordSince(start);
         }
     }
 
+    /**
+     * Calculates the transversal cutting speed of the laser, melting an area
+     * of the beam diameter times the material thickness.
+     *
+     * @return the cutting speed (m/s)
+     */
+    private double calculateCuttingSpeed() {
+
+        return LaserCalculus.createCuttingCalculus(this.laser.getMaxPower() * this.laser.getFactor(),
+                this.laser.getBeamDiameter(), this.laser.getMaterial(), this.laser.getMaterialThickness())
+                .calculate();
+    }
+
+    /**
+     * Stores the results calculated for the experience.
+     *
+     * @param result the results of the experience
+     */
+    private void setResult(ExperienceValue result) {
+
+        this.penetrationVelocity = result.getPenetrationVelocity();
+        this.cuttingSpeed = result.isCut() ? result.getCuttingSpeed() : null;
+    }
+
+    /**
+     * Obtains the immutable value of the experience's current state.
+     *
+     * @return the experience value
+     */
+    public ExperienceValue toValue() {
+
+        return new ExperienceValue(this.laser.toValue(), this.cuttingTimeLimit, this.penetrationVelocity,
+                doesCut(), (this.cuttingSpeed == null) ? Double.NaN : this.cuttingSpeed);
+    }
+
     /**
      * Verifies if the laser cuts the material in the selected limit (cutting
      * time)
@@ -253,22 +309,28 @@ public class Experience implements Exportable {
 
     /**
      * Creates the structure of the exported HTML file.
+     *
+     * @param file the destination file
+     * @throws IOException if the file cannot be written
      */
     @Override
-    public void exportHTML(File file) {
-        StringBuilder page = new StringBuilder();
-
-        page.append(HTMLPage.pageStart("Resultados da experiência"));
-        page.append(HTMLPage.header("Resultados da experiência:\n"));
-        page.append(HTMLPage.createTableWithoutHeaders(generateResults(), generateResults().length));
-        page.append(HTMLPage.pageCloseWithDate());
-
-        try {
-            try (BufferedWriter out = new BufferedWriter(new FileWriter(file))) {
-
-                out.write(String.format("%s", page));
+    public void exportHTML(File file) throws IOException {
+        long start = MetricsRegistry.ENABLED ? System.nanoTime() : 0L;
+        Object event = FlightRecorder.begin(FlightRecorder.Type.HTML_EXPORT);
+        String[][] results = generateResults();
+
+        try (HTMLWriter out = HTMLWriter.open(file)) {
+            out.pageStart("Resultados da experiência");
+            out.header("Resultados da experiência:\n");
+            out.createTableWithoutHeaders(results, results.length);
+            out.pageCloseWithDate();
+        } finally {
+            if (MetricsRegistry.ENABLED) {
+                EXPORT_TIMER.recordSince(start);
+            }
+            if (FlightRecorder.shouldCommit(event)) {
+                FlightRecorder.commitHTMLExport(event, "experience", file.getPath(), results.length);
             }
-        } catch (IOException ex) {
         }
     }
 
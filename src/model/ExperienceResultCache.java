@@ -0,0 +1,388 @@
+/*
+ * Package location for Model concepts.
+ */
+package model;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import model.values.ExperienceValue;
+import model.values.LaserValue;
+import model.values.MaterialValue;
+
+/**
+ * Represents a bounded, thread-safe cache of the results of experiences (the
+ * penetration velocity, if the laser cuts, and the cutting speed), keyed by
+ * the gas, the laser head, the material, the thickness, the power factor and
+ * the cutting time limit. The numeric inputs are quantized to a relative
+ * precision of about 1e-10, so experiences that only differ by rounding errors
+ * share the same entry. When the cache is full, the least recently used entry
+ * is evicted; every entry has the same small size, so the number of entries
+ * bounds its memory.
+ *
+ * The entries of a material are invalidated when a material with its name is
+ * registered or removed from the catalog.
+ *
+ * @author Daniel Gonçalves 1151452
+ * @author Eric Amaral 1141570
+ * @author Ivo Ferro 1151159
+ * @author Tiago Correia 1151031
+ */
+public class ExperienceResultCache implements CatalogListener {
+
+    /**
+     * Default maximum number of entries.
+     */
+    public final static int DEFAULT_CAPACITY = 4096;
+
+    /**
+     * Number of low mantissa bits discarded when quantizing a key.
+     */
+    private final static int QUANTIZATION_BITS = 20;
+
+    /**
+     * The cached results, in access order.
+     */
+    private final LinkedHashMap<Key, Result> entries;
+
+    /**
+     * The maximum number of entries.
+     */
+    private final int capacity;
+
+    /**
+     * Number of lookups that found the results in the cache.
+     */
+    private final LongAdder hits;
+
+    /**
+     * Number of lookups that had to evaluate the experience.
+     */
+    private final LongAdder misses;
+
+    /**
+     * Number of entries evicted because the cache was full.
+     */
+    private final LongAdder evictions;
+
+    /**
+     * Number of entries removed because their material changed.
+     */
+    private final LongAdder invalidations;
+
+    /**
+     * Constructs an empty cache with the default capacity.
+     */
+    public ExperienceResultCache() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs an empty cache.
+     *
+     * @param capacity the maximum number of entries
+     */
+    public ExperienceResultCache(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("The capacity must be positive");
+        }
+
+        this.capacity = capacity;
+        this.hits = new LongAdder();
+        this.misses = new LongAdder();
+        this.evictions = new LongAdder();
+        this.invalidations = new LongAdder();
+        this.entries = new LinkedHashMap<Key, Result>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Result> eldest) {
+                if (size() > ExperienceResultCache.this.capacity) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Obtains the results of an experience, evaluating and storing them if
+     * they are not in the cache.
+     *
+     * @param laser the laser of the experience
+     * @param cuttingTimeLimit the cutting time limit (s)
+     * @return the results of the experience
+     */
+    public ExperienceValue evaluate(LaserValue laser, double cuttingTimeLimit) {
+        Key key = new Key(laser, cuttingTimeLimit);
+
+        Result result;
+        synchronized (entries) {
+            result = entries.get(key);
+        }
+        if (result != null) {
+            hits.increment();
+            return new ExperienceValue(laser, cuttingTimeLimit, result.penetrationVelocity, result.cut,
+                    result.cuttingSpeed);
+        }
+
+        misses.increment();
+        ExperienceValue evaluated = laser.evaluate(cuttingTimeLimit);
+        synchronized (entries) {
+            entries.put(key, new Result(evaluated));
+        }
+        return evaluated;
+    }
+
+    /**
+     * Removes the entries of the materials with the given names.
+     *
+     * @param materialNames the material names
+     */
+    public void invalidate(Set<String> materialNames) {
+        synchronized (entries) {
+            Iterator<Key> keys = entries.keySet().iterator();
+            while (keys.hasNext()) {
+                if (materialNames.contains(keys.next().material)) {
+                    keys.remove();
+                    invalidations.increment();
+                }
+            }
+        }
+    }
+
+    @Override
+    public void materialRegistered(Material material) {
+        invalidate(Collections.singleton(material.getName()));
+    }
+
+    @Override
+    public void materialsRegistered(Collection<Material> materials) {
+        Set<String> names = new HashSet<>();
+        for (Material material : materials) {
+            names.add(material.getName());
+        }
+        invalidate(names);
+    }
+
+    @Override
+    public void materialRemoved(Material material) {
+        invalidate(Collections.singleton(material.getName()));
+    }
+
+    /**
+     * Removes every entry of the cache and resets the statistics.
+     */
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+        hits.reset();
+        misses.reset();
+        evictions.reset();
+        invalidations.reset();
+    }
+
+    /**
+     * Obtains the number of entries in the cache.
+     *
+     * @return the number of entries
+     */
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * Obtains the maximum number of entries.
+     *
+     * @return the capacity
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Obtains the number of lookups that found the results in the cache.
+     *
+     * @return the number of hits
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Obtains the number of lookups that had to evaluate the experience.
+     *
+     * @return the number of misses
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Obtains the number of entries evicted because the cache was full.
+     *
+     * @return the number of evictions
+     */
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * Obtains the number of entries removed because their material changed.
+     *
+     * @return the number of invalidations
+     */
+    public long getInvalidations() {
+        return invalidations.sum();
+    }
+
+    /**
+     * Obtains the ratio of lookups that found the results in the cache.
+     *
+     * @return the hit ratio, between 0 and 1
+     */
+    public double getHitRatio() {
+        long hitCount = getHits();
+        long total = hitCount + getMisses();
+
+        return (total == 0) ? 0.0 : (double) hitCount / total;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ExperienceResultCache{size=%d, capacity=%d, hits=%d, misses=%d, evictions=%d, "
+                + "invalidations=%d}", size(), capacity, getHits(), getMisses(), getEvictions(),
+                getInvalidations());
+    }
+
+    /**
+     * Quantizes a value by rounding away the lowest bits of its mantissa.
+     *
+     * @param value the value to quantize
+     * @return the quantized bits of the value
+     */
+    private static long quantize(double value) {
+        return (Double.doubleToLongBits(value) + (1L << (QUANTIZATION_BITS - 1))) >> QUANTIZATION_BITS;
+    }
+
+    /**
+     * The quantized key of an experience.
+     */
+    private static class Key {
+
+        /**
+         * The gas name, or null if the laser has no gas.
+         */
+        private final String gas;
+
+        /**
+         * The material name.
+         */
+        private final String material;
+
+        /**
+         * The quantized numeric inputs of the experience.
+         */
+        private final long[] inputs;
+
+        /**
+         * The hash code, calculated once.
+         */
+        private final int hash;
+
+        /**
+         * Constructs the key of an experience.
+         *
+         * @param laser the laser of the experience
+         * @param cuttingTimeLimit the cutting time limit (s)
+         */
+        Key(LaserValue laser, double cuttingTimeLimit) {
+            MaterialValue materialValue = laser.getMaterial();
+
+            this.gas = (laser.getGas() == null) ? null : laser.getGas().getName();
+            this.material = materialValue.getName();
+            this.inputs = new long[]{
+                quantize(laser.getWavelength()),
+                quantize(laser.getBeamDiameter()),
+                quantize(laser.getFocalPointArea()),
+                quantize(laser.getMaxPower()),
+                Float.floatToIntBits(laser.getFactor()),
+                quantize(laser.getMaterialThickness()),
+                quantize(cuttingTimeLimit),
+                quantize(materialValue.getLatentHeat()),
+                quantize(materialValue.getHeatCapacity()),
+                quantize(materialValue.getDensity()),
+                quantize(materialValue.getVaporizationTemperature()),
+                quantize(materialValue.getFusionTemperature()),
+                materialValue.isMeltable() ? 1 : 0};
+
+            int keyHash = 7;
+            keyHash = 31 * keyHash + ((this.gas == null) ? 0 : this.gas.hashCode());
+            keyHash = 31 * keyHash + this.material.hashCode();
+            keyHash = 31 * keyHash + Arrays.hashCode(this.inputs);
+            this.hash = keyHash;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (obj == null || getClass() != obj.getClass()) {
+                return false;
+            }
+
+            final Key other = (Key) obj;
+
+            return this.hash == other.hash
+                    && this.material.equals(other.material)
+                    && (this.gas == null ? other.gas == null : this.gas.equals(other.gas))
+                    && Arrays.equals(this.inputs, other.inputs);
+        }
+    }
+
+    /**
+     * The cached results of an experience.
+     */
+    private static class Result {
+
+        /**
+         * The penetration velocity (m/s).
+         */
+        private final double penetrationVelocity;
+
+        /**
+         * If the laser cuts the material in the time limit.
+         */
+        private final boolean cut;
+
+        /**
+         * The cutting speed (m/s), or NaN if the laser does not cut.
+         */
+        private final double cuttingSpeed;
+
+        /**
+         * Constructs the cached results of an experience.
+         *
+         * @param experience the evaluated experience
+         */
+        Result(ExperienceValue experience) {
+            this.penetrationVelocity = experience.getPenetrationVelocity();
+            this.cut = experience.isCut();
+            this.cuttingSpeed = experience.getCuttingSpeed();
+        }
+    }
+}
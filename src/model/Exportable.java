@@ -4,6 +4,7 @@
 package model;
 
 import java.io.File;
+import java.io.IOException;
 
 /**
  * Interface for file exportation.
@@ -17,7 +18,10 @@ public interface Exportable {
     
     /**
      * Exports data.
+     *
+     * @param file the destination file
+     * @throws IOException if the file cannot be written
      */
-    public abstract void exportHTML(File file);
+    public abstract void exportHTML(File file) throws IOException;
     
 }
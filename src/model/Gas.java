@@ -5,6 +5,7 @@ package model;
 
 import java.io.Serializable;
 import java.util.Objects;
+import model.values.GasValue;
 
 /**
  * Represents a gas.
@@ -16,6 +17,12 @@ import java.util.Objects;
  */
 public class Gas implements Serializable, Comparable<Gas> {
 
+    /**
+     * Serialization version (kept from the first release, so saved
+     * simulators can still be read).
+     */
+    private static final long serialVersionUID = -9203929856719116070L;
+
     /**
      * The name of the gas.
      */
@@ -49,6 +56,24 @@ public class Gas implements Serializable, Comparable<Gas> {
         this.maxWavelength = maxWavelength;
     }
 
+    /**
+     * Creates an instance of gas from its immutable value.
+     *
+     * @param value the gas value
+     */
+    public Gas(GasValue value) {
+        this(value.getName(), value.getMinWavelength(), value.getMaxWavelength());
+    }
+
+    /**
+     * Obtains the immutable value of the gas' current properties.
+     *
+     * @return the gas value
+     */
+    public GasValue toValue() {
+        return new GasValue(name, minWavelength, maxWavelength);
+    }
+
     /**
      * Gets the name of the gas.
      *
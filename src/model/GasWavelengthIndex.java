@@ -0,0 +1,171 @@
+/*
+ * Package location for Model concepts.
+ */
+package model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Interval index over the wavelength ranges of a collection of gases, that
+ * finds the gases compatible with a wavelength in logarithmic time.
+ *
+ * The distinct range boundaries split the wavelengths in slots: each boundary
+ * is a slot and each open interval between two boundaries is another slot, so
+ * every wavelength of a slot is compatible with the same gases. The gases of a
+ * slot are computed on its first query and kept as an unmodifiable set that is
+ * returned to every later query of the slot.
+ *
+ * The index is a snapshot: it must be rebuilt when the gases or their ranges
+ * change. Concurrent queries of a new slot may compute its gases twice, which
+ * is harmless because the sets are immutable.
+ *
+ * @author Daniel Gonçalves 1151452
+ * @author Eric Amaral 1141570
+ * @author Ivo Ferro 1151159
+ * @author Tiago Correia 1151031
+ */
+public class GasWavelengthIndex {
+
+    /**
+     * The gases sorted by minimum wavelength.
+     */
+    private final Gas[] gasesByMinimum;
+
+    /**
+     * The minimum wavelengths of the sorted gases.
+     */
+    private final double[] minimums;
+
+    /**
+     * The distinct range boundaries, sorted.
+     */
+    private final double[] boundaries;
+
+    /**
+     * The compatible gases of each slot, null until the slot is queried.
+     */
+    private final Set<Gas>[] slots;
+
+    /**
+     * Number of indexed gases.
+     */
+    private final int size;
+
+    /**
+     * Builds the index of a collection of gases.
+     *
+     * @param gases the gases to index
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public GasWavelengthIndex(Collection<Gas> gases) {
+        List<Gas> sorted = new ArrayList<>(gases);
+        Collections.sort(sorted, new Comparator<Gas>() {
+            @Override
+            public int compare(Gas gas, Gas otherGas) {
+                return Double.compare(gas.getMinWavelength(), otherGas.getMinWavelength());
+            }
+        });
+
+        this.size = sorted.size();
+        this.gasesByMinimum = sorted.toArray(new Gas[size]);
+        this.minimums = new double[size];
+
+        double[] allBoundaries = new double[size * 2];
+        for (int i = 0; i < size; i++) {
+            Gas gas = gasesByMinimum[i];
+            minimums[i] = gas.getMinWavelength();
+            allBoundaries[i * 2] = gas.getMinWavelength();
+            allBoundaries[i * 2 + 1] = gas.getMaxWavelength();
+        }
+        Arrays.sort(allBoundaries);
+
+        int distinct = 0;
+        for (int i = 0; i < allBoundaries.length; i++) {
+            if (distinct == 0 || allBoundaries[i] != allBoundaries[distinct - 1]) {
+                allBoundaries[distinct++] = allBoundaries[i];
+            }
+        }
+        this.boundaries = Arrays.copyOf(allBoundaries, distinct);
+        this.slots = new Set[distinct * 2 + 1];
+    }
+
+    /**
+     * Obtains the number of indexed gases.
+     *
+     * @return the number of gases
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets all gases compatible with a given wavelength.
+     *
+     * @param wavelength wavelength to check (m)
+     * @return an unmodifiable set of the compatible gases
+     */
+    public Set<Gas> getGasesByWavelength(double wavelength) {
+        if (Double.isNaN(wavelength)) {
+            return Collections.emptySet();
+        }
+
+        int position = Arrays.binarySearch(boundaries, wavelength);
+        int slot = position >= 0 ? position * 2 + 1 : (-position - 1) * 2;
+
+        Set<Gas> gases = slots[slot];
+        if (gases == null) {
+            gases = findCompatible(wavelength);
+            slots[slot] = gases;
+        }
+        return gases;
+    }
+
+    /**
+     * Finds the gases compatible with a wavelength, checking every gas with a
+     * minimum wavelength not greater than it.
+     *
+     * @param wavelength wavelength to check (m)
+     * @return an unmodifiable set of the compatible gases
+     */
+    private Set<Gas> findCompatible(double wavelength) {
+        int candidates = upperBound(minimums, wavelength);
+
+        Set<Gas> compatibleGases = new LinkedHashSet<>();
+        for (int i = 0; i < candidates; i++) {
+            if (gasesByMinimum[i].getMaxWavelength() >= wavelength) {
+                compatibleGases.add(gasesByMinimum[i]);
+            }
+        }
+
+        return compatibleGases.isEmpty()
+                ? Collections.<Gas>emptySet() : Collections.unmodifiableSet(compatibleGases);
+    }
+
+    /**
+     * Obtains the number of sorted values not greater than a key.
+     *
+     * @param values the sorted values
+     * @param key the key
+     * @return the number of values not greater than the key
+     */
+    private static int upperBound(double[] values, double key) {
+        int low = 0;
+        int high = values.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (values[middle] <= key) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+}
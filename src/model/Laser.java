@@ -5,9 +5,10 @@ package model;
 
 import model.calculations.Calculable;
 import java.util.Objects;
+import model.calculations.LaserCalculus;
 import model.calculations.MaximumPowerCalculus;
-import model.calculations.MeltingCalculus;
-import model.calculations.VaporisationCalculus;
+import model.values.LaserValue;
+import utils.events.FlightRecorder;
 
 /**
  * Represents a laser class.
@@ -84,6 +85,8 @@ public class Laser {
      * @param materialThickness material's thickness
      */
     public Laser(Double wavelength, Gas gas, Double focalPointDiameter, Material material, Double materialThickness) {
+        Object event = FlightRecorder.begin(FlightRecorder.Type.LASER_CREATED);
+
         this.wavelength = wavelength;
         this.gas = gas;
         this.beamDiameter = focalPointDiameter;
@@ -92,12 +95,15 @@ public class Laser {
         this.material = material;
         this.materialThickness = materialThickness;
 
-        MaximumPowerCalculus maximumPowerCalculus = new MaximumPowerCalculus(wavelength, focalPointArea);
-        this.maxPower = maximumPowerCalculus.calculate();
+        this.maxPower = MaximumPowerCalculus.calculateCached(wavelength, focalPointArea);
+
+        this.calculus = LaserCalculus.createPenetrationCalculus(maxPower * factor, focalPointArea, material,
+                materialThickness);
 
-        this.calculus = (material.isMeltable())
-                ? new MeltingCalculus(maxPower * factor, focalPointArea, material, materialThickness)
-                : new VaporisationCalculus(maxPower * factor, focalPointArea, material);
+        if (FlightRecorder.shouldCommit(event)) {
+            FlightRecorder.commitLaserCreated(event, (gas == null) ? null : gas.getName(), wavelength,
+                    focalPointArea, material.getName(), materialThickness, maxPower);
+        }
     }
 
     /**
@@ -247,9 +253,18 @@ public class Laser {
      */
     public void updateCalculus() {
 
-        this.calculus = (getMaterial().isMeltable())
-                ? new MeltingCalculus(maxPower * factor, focalPointArea, getMaterial(), getMaterialThickness())
-                : new VaporisationCalculus(maxPower * factor, focalPointArea, getMaterial());
+        this.calculus = LaserCalculus.createPenetrationCalculus(maxPower * factor, focalPointArea, getMaterial(),
+                getMaterialThickness());
+    }
+
+    /**
+     * Obtains the immutable value of the laser's current configuration.
+     *
+     * @return the laser value
+     */
+    public LaserValue toValue() {
+        return new LaserValue(wavelength, (gas == null) ? null : gas.toValue(), beamDiameter, focalPointArea,
+                maxPower, factor, material.toValue(), materialThickness);
     }
 
     @Override
@@ -6,7 +6,7 @@ package model;
 import java.util.Objects;
 
 import java.io.Serializable;
-import java.util.Objects;
+import model.values.MaterialValue;
 
 /**
  * Represents a solid material.
@@ -18,6 +18,12 @@ import java.util.Objects;
  */
 public class Material implements Serializable, Comparable<Material> {
 
+    /**
+     * Serialization version (kept from the first release, so saved
+     * simulators can still be read).
+     */
+    private static final long serialVersionUID = -2610058357797871770L;
+
     /**
      * Material name.
      */
@@ -59,6 +65,11 @@ public class Material implements Serializable, Comparable<Material> {
      */
     private final static double EPSILON = 0.0001;
 
+    /**
+     * The absolute zero (ºC), the lowest valid temperature.
+     */
+    private final static double ABSOLUTE_ZERO = -273.15;
+
     private final static double DENSITY_BY_DEFAULT = 0.0;
     private final static double HEAT_CAPACITY_BY_DEFAULT = 0.0;
     private final static double LATENT_HEAT_BY_DEFAULT = 0.0;
@@ -100,6 +111,28 @@ public class Material implements Serializable, Comparable<Material> {
         this.fusionTemperature = FUSION_TEMPERATURE_BY_DEFAULT;
     }
 
+    /**
+     * Constructs an instance of material from its immutable value.
+     *
+     * @param value the material value
+     */
+    public Material(MaterialValue value) {
+        this(value.getName(), value.getLatentHeat(), value.getHeatCapacity(), value.getDensity(),
+                value.getVaporizationTemperature(),
+                value.hasFusionTemperature() ? value.getFusionTemperature() : null,
+                value.isMeltable());
+    }
+
+    /**
+     * Obtains the immutable value of the material's current properties.
+     *
+     * @return the material value
+     */
+    public MaterialValue toValue() {
+        return new MaterialValue(name, latentHeat, heatCapacity, density, vaporizationTemperature,
+                (fusionTemperature == null) ? Double.NaN : fusionTemperature, meltable);
+    }
+
     /**
      * Gets the material's name.
      *
@@ -170,13 +203,43 @@ public class Material implements Serializable, Comparable<Material> {
      * @return ture if the density valid, false otherwise
      */
     public boolean setDensity(Double density) {
-        if (density < 0) {
+        if (!isValidDensity(density)) {
             return false;
         }
         this.density = density;
         return true;
     }
 
+    /**
+     * Verifies if a density is valid.
+     *
+     * @param density the density
+     * @return true if the density is defined, finite and not negative, false
+     * otherwise
+     */
+    public static boolean isValidDensity(Double density) {
+        return density != null && Double.isFinite(density) && density >= 0;
+    }
+
+    /**
+     * Verifies if the temperatures of a material are valid: all are finite,
+     * none is below the absolute zero, and the material does not vaporize
+     * before it melts. The fusion temperature may be undefined for materials
+     * that are not meltable.
+     *
+     * @param vaporizationTemperature the vaporization temperature
+     * @param fusionTemperature the fusion temperature, or null
+     * @return true if the temperatures are valid, false otherwise
+     */
+    public static boolean areValidTemperatures(Double vaporizationTemperature, Double fusionTemperature) {
+        if (vaporizationTemperature == null || !Double.isFinite(vaporizationTemperature)
+                || vaporizationTemperature < ABSOLUTE_ZERO) {
+            return false;
+        }
+        return fusionTemperature == null || (Double.isFinite(fusionTemperature)
+                && fusionTemperature >= ABSOLUTE_ZERO && fusionTemperature <= vaporizationTemperature);
+    }
+
     /**
      * Gets the vaporization temperature.
      *
@@ -233,14 +296,9 @@ public class Material implements Serializable, Comparable<Material> {
 
     @Override
     public int hashCode() {
+        // only the name, as equal materials can have slightly different properties
         int hash = 7;
         hash = 47 * hash + Objects.hashCode(this.name);
-        hash = 47 * hash + Objects.hashCode(this.latentHeat);
-        hash = 47 * hash + Objects.hashCode(this.heatCapacity);
-        hash = 47 * hash + Objects.hashCode(this.density);
-        hash = 47 * hash + Objects.hashCode(this.vaporizationTemperature);
-        hash = 47 * hash + Objects.hashCode(this.fusionTemperature);
-        hash = 47 * hash + (this.meltable ? 1 : 0);
         return hash;
     }
 
@@ -255,12 +313,27 @@ public class Material implements Serializable, Comparable<Material> {
 
         final Material other = (Material) obj;
 
-        return this.name.equals(other.name)
-                && Math.abs(this.density - other.density) < EPSILON
-                && Math.abs(this.heatCapacity - other.heatCapacity) < EPSILON
-                && Math.abs(this.latentHeat - other.latentHeat) < EPSILON
-                && Math.abs(this.fusionTemperature - other.fusionTemperature) < EPSILON
-                && Math.abs(this.vaporizationTemperature - other.vaporizationTemperature) < EPSILON;
+        return Objects.equals(this.name, other.name)
+                && near(this.density, other.density)
+                && near(this.heatCapacity, other.heatCapacity)
+                && near(this.latentHeat, other.latentHeat)
+                && near(this.fusionTemperature, other.fusionTemperature)
+                && near(this.vaporizationTemperature, other.vaporizationTemperature);
+    }
+
+    /**
+     * Verifies if two properties are equal, within the epsilon.
+     *
+     * @param value a property, or null
+     * @param other the other property, or null
+     * @return true if both are null or their difference is less than the
+     * epsilon, false otherwise
+     */
+    private static boolean near(Double value, Double other) {
+        if (value == null || other == null) {
+            return value == other;
+        }
+        return Math.abs(value - other) < EPSILON;
     }
 
     @Override
@@ -0,0 +1,344 @@
+/*
+ * Package location for Model concepts.
+ */
+package model;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Represents an index of the materials of a catalog, to find materials by
+ * name, by name prefix and by similar properties without scanning the
+ * catalog.
+ *
+ * The names are normalized (Unicode compatibility form, trimmed, with single
+ * spaces and in lower case), so names that only differ in case or spacing
+ * belong to the same material. The properties are quantized to a relative
+ * precision of about 0.1%, and materials with the same quantized properties
+ * are similar.
+ *
+ * The index only keeps the names and the quantized properties: the materials
+ * are kept by name apart from the index, or, when the index is built from a
+ * {@link MaterialStore}, are obtained from the store when they are found, so
+ * the materials of a store are not loaded into the heap.
+ *
+ * @author Daniel Gonçalves 1151452
+ * @author Eric Amaral 1141570
+ * @author Ivo Ferro 1151159
+ * @author Tiago Correia 1151031
+ */
+public class MaterialIndex {
+
+    /**
+     * Number of mantissa bits kept when quantizing a property.
+     */
+    private final static int SIGNIFICANT_BITS = 10;
+
+    /**
+     * The names of the materials, by normalized name, sorted for the prefix
+     * queries.
+     */
+    private final TreeMap<String, String> byName;
+
+    /**
+     * The names of the materials, by quantized properties.
+     */
+    private final Map<PropertyKey, List<String>> byProperties;
+
+    /**
+     * The materials, by name, or null if they are obtained from the store.
+     */
+    private final Map<String, Material> materials;
+
+    /**
+     * The store of the materials, or null if they are kept by the index.
+     */
+    private final MaterialStore store;
+
+    /**
+     * Constructs an empty index.
+     */
+    public MaterialIndex() {
+        this.byName = new TreeMap<>();
+        this.byProperties = new HashMap<>();
+        this.materials = new HashMap<>();
+        this.store = null;
+    }
+
+    /**
+     * Constructs an index of the given materials. Materials whose normalized
+     * name is already in the index are ignored. If the materials are a
+     * material store, the found materials are obtained from the store.
+     *
+     * @param materials the materials
+     */
+    public MaterialIndex(Collection<Material> materials) {
+        this.byName = new TreeMap<>();
+        this.byProperties = new HashMap<>();
+        if (materials instanceof MaterialStore) {
+            this.materials = null;
+            this.store = (MaterialStore) materials;
+        } else {
+            this.materials = new HashMap<>();
+            this.store = null;
+        }
+
+        for (Material material : materials) {
+            add(material);
+        }
+    }
+
+    /**
+     * Normalizes a material name.
+     *
+     * @param name the name
+     * @return the normalized name
+     */
+    public static String normalize(String name) {
+        String text = name;
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) > 0x7F) {
+                text = Normalizer.normalize(text, Normalizer.Form.NFKC);
+                break;
+            }
+        }
+
+        StringBuilder normalized = new StringBuilder(text.length());
+        boolean space = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c)) {
+                space = normalized.length() > 0;
+            } else {
+                if (space) {
+                    normalized.append(' ');
+                    space = false;
+                }
+                normalized.append(c);
+            }
+        }
+        return normalized.toString().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Adds a material to the index.
+     *
+     * @param material the material
+     * @return true if it is added, false if a material with the same
+     * normalized name is already in the index
+     */
+    public synchronized boolean add(Material material) {
+        String name = material.getName();
+        String normalized = normalize(name);
+        if (byName.containsKey(normalized)) {
+            return false;
+        }
+
+        byName.put(normalized, name.equals(normalized) ? normalized : name);
+        if (materials != null) {
+            materials.put(name, material);
+        }
+        PropertyKey key = new PropertyKey(material);
+        List<String> similar = byProperties.get(key);
+        if (similar == null) {
+            similar = new ArrayList<>(1);
+            byProperties.put(key, similar);
+        }
+        similar.add(name);
+        return true;
+    }
+
+    /**
+     * Removes the material with the name of the given material.
+     *
+     * @param material the material
+     * @return true if it is removed, false if it is not in the index
+     */
+    public synchronized boolean remove(Material material) {
+        String name = byName.remove(normalize(material.getName()));
+        if (name == null) {
+            return false;
+        }
+
+        Material removed = (materials != null) ? materials.remove(name) : material;
+        if (!removeSimilar(new PropertyKey(removed), name)) {
+            // the given material may have other properties than the indexed one
+            for (PropertyKey key : byProperties.keySet()) {
+                if (removeSimilar(key, name)) {
+                    break;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Removes a name from the names with some quantized properties.
+     *
+     * @param key the quantized properties
+     * @param name the name
+     * @return true if it is removed, false if it has other properties
+     */
+    private boolean removeSimilar(PropertyKey key, String name) {
+        List<String> similar = byProperties.get(key);
+        if (similar == null || !similar.remove(name)) {
+            return false;
+        }
+        if (similar.isEmpty()) {
+            byProperties.remove(key);
+        }
+        return true;
+    }
+
+    /**
+     * Obtains an indexed material.
+     *
+     * @param name the exact name of the material
+     * @return the material, or null if the store no longer has it
+     */
+    private Material resolve(String name) {
+        return (materials != null) ? materials.get(name) : store.get(name);
+    }
+
+    /**
+     * Obtains the material with a name.
+     *
+     * @param name the name, compared after being normalized
+     * @return the material, or null if there is none
+     */
+    public synchronized Material get(String name) {
+        String indexed = byName.get(normalize(name));
+        return (indexed == null) ? null : resolve(indexed);
+    }
+
+    /**
+     * Verifies if there is a material with a name.
+     *
+     * @param name the name, compared after being normalized
+     * @return true if there is a material with the name, false otherwise
+     */
+    public synchronized boolean containsName(String name) {
+        return byName.containsKey(normalize(name));
+    }
+
+    /**
+     * Obtains the materials whose name starts with a prefix, sorted by name.
+     *
+     * @param prefix the prefix, compared after being normalized
+     * @param limit the maximum number of materials
+     * @return the materials
+     */
+    public synchronized List<Material> findByPrefix(String prefix, int limit) {
+        String from = normalize(prefix);
+        List<Material> found = new ArrayList<>(Math.min(limit, 64));
+
+        for (Map.Entry<String, String> entry : byName.tailMap(from, true).entrySet()) {
+            if (found.size() >= limit || !entry.getKey().startsWith(from)) {
+                break;
+            }
+            Material material = resolve(entry.getValue());
+            if (material != null) {
+                found.add(material);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Obtains the materials with properties similar to the given material,
+     * other than the material with its name.
+     *
+     * @param material the material
+     * @return the similar materials
+     */
+    public synchronized List<Material> findSimilar(Material material) {
+        List<String> similar = byProperties.get(new PropertyKey(material));
+        if (similar == null) {
+            return Collections.emptyList();
+        }
+
+        String name = normalize(material.getName());
+        List<Material> found = new ArrayList<>(similar.size());
+        for (String other : similar) {
+            Material otherMaterial = normalize(other).equals(name) ? null : resolve(other);
+            if (otherMaterial != null) {
+                found.add(otherMaterial);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Obtains the number of indexed materials.
+     *
+     * @return the number of materials
+     */
+    public synchronized int size() {
+        return byName.size();
+    }
+
+    /**
+     * Quantizes a property by keeping only the highest bits of its mantissa.
+     *
+     * @param value the property, or null
+     * @return the quantized bits of the property
+     */
+    private static long quantize(Double value) {
+        if (value == null) {
+            return Long.MIN_VALUE;
+        }
+        int discarded = 52 - SIGNIFICANT_BITS;
+        return (Double.doubleToLongBits(value) + (1L << (discarded - 1))) >> discarded;
+    }
+
+    /**
+     * The quantized properties of a material.
+     */
+    private static class PropertyKey {
+
+        /**
+         * The quantized properties.
+         */
+        private final long[] properties;
+
+        /**
+         * Constructs the key of a material.
+         *
+         * @param material the material
+         */
+        PropertyKey(Material material) {
+            this.properties = new long[]{
+                quantize(material.getLatentHeat()),
+                quantize(material.getHeatCapacity()),
+                quantize(material.getDensity()),
+                quantize(material.getVaporizationTemperature()),
+                quantize(material.getFusionTemperature()),
+                material.isMeltable() ? 1 : 0};
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(properties);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (obj == null || getClass() != obj.getClass()) {
+                return false;
+            }
+
+            return Arrays.equals(this.properties, ((PropertyKey) obj).properties);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+/*
+ * Package location for Model concepts.
+ */
+package model;
+
+import java.util.Set;
+
+/**
+ * Set of materials kept out of the simulator (for instance, on disk), too
+ * large to be copied on each change. A store is thread-safe and its iterators
+ * never fail because of concurrent changes. The simulator changes a store in
+ * place instead of copying it, and publishes snapshots of it.
+ *
+ * @author Daniel Gonçalves 1151452
+ * @author Eric Amaral 1141570
+ * @author Ivo Ferro 1151159
+ * @author Tiago Correia 1151031
+ */
+public interface MaterialStore extends Set<Material> {
+
+    /**
+     * Obtains the material with a name.
+     *
+     * @param name the material name
+     * @return the material, or null if there is no material with the name
+     */
+    public abstract Material get(String name);
+
+    /**
+     * Verifies if the store can keep a material with a name (for instance,
+     * if the name fits in its records).
+     *
+     * @param name the material name
+     * @return true if the name can be stored, false otherwise
+     */
+    public abstract boolean acceptsName(String name);
+
+    /**
+     * Obtains a point-in-time view of the materials, that never changes and
+     * cannot be changed. Taking a snapshot must not copy the materials.
+     *
+     * @return the snapshot
+     */
+    public abstract MaterialStore snapshot();
+}
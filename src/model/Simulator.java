@@ -4,13 +4,30 @@
 package model;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Objects;
 import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import utils.MetricsRegistry;
+import utils.MetricsTimer;
+import utils.events.FlightRecorder;
 
 /**
  * Represents a simulator for the experiences.
  *
+ * The catalog (materials and gases) is copied on write: each change is made
+ * on a copy of the changed set, while the simulator is locked, and then
+ * published as a new {@link CatalogSnapshot}. Readers obtain the current
+ * snapshot without locking and may iterate it while the catalog is edited.
+ * The materials of a {@link MaterialStore} are changed in place instead, and
+ * published as a snapshot of the store.
+ *
  * @author Daniel Gonçalves 1151452
  * @author Eric Amaral 1141570
  * @author Ivo Ferro 1151159
@@ -19,20 +36,75 @@ import java.util.Set;
 public class Simulator implements Serializable {
 
     /**
-     * The materials.
+     * Serialization version, pinned to keep the saved simulators readable.
+     */
+    private static final long serialVersionUID = -8529253311096974717L;
+
+    /**
+     * The materials, owned by the simulator and replaced on each change
+     * (unless they are a material store).
      */
     private Set<Material> materials;
 
     /**
-     * The gases.
+     * The gases, owned by the simulator and replaced on each change.
      */
     private Set<Gas> gases;
 
+    /**
+     * The published snapshot of the catalog, created on demand.
+     */
+    private transient volatile CatalogSnapshot catalog;
+
     /**
      * The curiosities related to laser cutting.
      */
     private Set<Curiosity> curiosities;
 
+    /**
+     * The listeners of the catalog changes, created on demand.
+     */
+    private transient List<CatalogListener> catalogListeners;
+
+    /**
+     * The repository of curiosities kept out of the simulator, if any.
+     */
+    private transient CuriosityRepository curiosityRepository;
+
+    /**
+     * The cache of the results of experiences, invalidated by the catalog
+     * changes.
+     */
+    private transient ExperienceResultCache resultCache;
+
+    /**
+     * The index of the materials by name and properties.
+     */
+    private transient MaterialIndex materialIndex;
+
+    /**
+     * Number of materials when the material index was last updated, to
+     * rebuild it if the materials were changed without the simulator.
+     */
+    private transient int indexedMaterials;
+
+    /**
+     * Number of changes to the materials, to discard a material index built
+     * in the background while the materials were changed.
+     */
+    private transient int materialChanges;
+
+    /**
+     * The thread building the index of a material store, if any.
+     */
+    private transient Thread materialIndexing;
+
+    /**
+     * Timer of the lookups of gases by wavelength.
+     */
+    private final static MetricsTimer GASES_BY_WAVELENGTH_TIMER
+            = MetricsRegistry.timer("simulator.getGasesByWavelength");
+
     /**
      * Creates an empty simulator.
      */
@@ -43,7 +115,8 @@ public class Simulator implements Serializable {
     }
 
     /**
-     * Creates a simulator receiving his attributes.
+     * Creates a simulator receiving his attributes. The simulator owns the
+     * given sets, which must not be changed afterwards.
      *
      * @param materials materials
      * @param gases gases
@@ -56,39 +129,148 @@ public class Simulator implements Serializable {
     }
 
     /**
-     * Gets the materials.
+     * Gets the current snapshot of the catalog, without locking.
+     *
+     * @return the catalog snapshot
+     */
+    public CatalogSnapshot getCatalog() {
+        CatalogSnapshot current = catalog;
+        return (current != null) ? current : createCatalog();
+    }
+
+    /**
+     * Creates the first snapshot of the catalog, after the simulator is
+     * constructed or read.
+     *
+     * @return the catalog snapshot
+     */
+    private synchronized CatalogSnapshot createCatalog() {
+        if (catalog == null) {
+            catalog = new CatalogSnapshot(0, view(materials), Collections.unmodifiableSet(gases));
+        }
+        return catalog;
+    }
+
+    /**
+     * Publishes a new snapshot of the catalog, sharing the views of the
+     * unchanged sets (and the index of unchanged gases) with the current
+     * snapshot. A material store is changed in place, so it is always viewed
+     * again. Must be called while the simulator is locked.
+     *
+     * @param newMaterials the new materials
+     * @param newGases the new gases
+     */
+    private void publish(Set<Material> newMaterials, Set<Gas> newGases) {
+        CatalogSnapshot current = getCatalog();
+        Set<Material> materialsView = (newMaterials == this.materials && !(newMaterials instanceof MaterialStore))
+                ? current.getMaterials() : view(newMaterials);
+        CatalogSnapshot next = (newGases == this.gases)
+                ? new CatalogSnapshot(current, materialsView)
+                : new CatalogSnapshot(current.getVersion() + 1, materialsView,
+                        Collections.unmodifiableSet(newGases));
+
+        this.materials = newMaterials;
+        this.gases = newGases;
+        this.catalog = next;
+    }
+
+    /**
+     * Obtains the view of the materials published in a snapshot.
+     *
+     * @param materials the materials
+     * @return a snapshot of the material store, or an unmodifiable view of
+     * the materials
+     */
+    private static Set<Material> view(Set<Material> materials) {
+        return (materials instanceof MaterialStore)
+                ? ((MaterialStore) materials).snapshot() : Collections.unmodifiableSet(materials);
+    }
+
+    /**
+     * Copies a set to be changed, keeping its order if it is sorted.
      *
-     * @return the materials
+     * @param <T> the type of the elements
+     * @param set the set
+     * @return the copy
+     */
+    private static <T> Set<T> copyOf(Set<T> set) {
+        return (set instanceof SortedSet) ? new TreeSet<>((SortedSet<T>) set) : new HashSet<>(set);
+    }
+
+    /**
+     * Obtains the materials to change: the material store itself, or a copy
+     * of the materials. Must be called while the simulator is locked.
+     *
+     * @return the materials to change
+     */
+    private Set<Material> editableMaterials() {
+        return (materials instanceof MaterialStore) ? materials : copyOf(materials);
+    }
+
+    /**
+     * Gets the materials of the current catalog snapshot.
+     *
+     * @return the unmodifiable materials
      */
     public Set<Material> getMaterials() {
-        return materials;
+        return getCatalog().getMaterials();
     }
 
     /**
-     * Sets the materials.
+     * Sets the materials. The simulator owns the given set, which must not be
+     * changed afterwards (unless it is a material store).
      *
      * @param materials the materials to set
      */
-    public void setMaterials(Set<Material> materials) {
-        this.materials = materials;
+    public synchronized void setMaterials(Set<Material> materials) {
+        this.materialIndex = null;
+        this.materialIndexing = null;
+        this.materialChanges++;
+        publish(materials, this.gases);
     }
 
     /**
-     * Gets the gases.
+     * Gets the store of the materials, which is changed in place, if the
+     * materials are kept in one.
      *
-     * @return the gases
+     * @return the material store, or null if the materials are not in a store
+     */
+    public synchronized MaterialStore getMaterialStore() {
+        return (materials instanceof MaterialStore) ? (MaterialStore) materials : null;
+    }
+
+    /**
+     * Gets the gases of the current catalog snapshot.
+     *
+     * @return the unmodifiable gases
      */
     public Set<Gas> getGases() {
-        return gases;
+        return getCatalog().getGases();
     }
 
     /**
-     * Sets the gases.
+     * Sets the gases. The simulator owns the given set, which must not be
+     * changed afterwards.
      *
      * @param gases the gases to set
      */
-    public void setGases(Set<Gas> gases) {
-        this.gases = gases;
+    public synchronized void setGases(Set<Gas> gases) {
+        publish(this.materials, gases);
+    }
+
+    /**
+     * Registers a new gas in the set of gases.
+     *
+     * @param gas the new gas
+     * @return true if the gas is added to the set of gases, false otherwise
+     */
+    public synchronized boolean registerGas(Gas gas) {
+        Set<Gas> newGases = copyOf(this.gases);
+        boolean added = newGases.add(gas);
+        if (added) {
+            publish(this.materials, newGases);
+        }
+        return added;
     }
 
     /**
@@ -109,21 +291,38 @@ public class Simulator implements Serializable {
         this.curiosities = curiosities;
     }
 
+    /**
+     * Gets the repository of curiosities: the repository kept out of the
+     * simulator if there is one, or a repository of its curiosities otherwise.
+     *
+     * @return the curiosity repository
+     */
+    public CuriosityRepository getCuriosityRepository() {
+        return (curiosityRepository != null) ? curiosityRepository : new CuriosityList(curiosities);
+    }
+
+    /**
+     * Sets the repository of curiosities kept out of the simulator.
+     *
+     * @param curiosityRepository the curiosity repository, or null to use the
+     * curiosities of the simulator
+     */
+    public void setCuriosityRepository(CuriosityRepository curiosityRepository) {
+        this.curiosityRepository = curiosityRepository;
+    }
+
     /**
      * Gets all gases compatible with a given wavelength.
      *
      * @param wavelength wavelength to check
-     * @return all gases compatible with the wavelength
+     * @return an unmodifiable set of all gases compatible with the wavelength
      */
     public Set<Gas> getGasesByWavelength(Double wavelength) {
-        Set<Gas> compatibleGases = new HashSet<>();
-
-        for (Gas gas : gases) {
-            if (gas.isCompatible(wavelength)) {
-                compatibleGases.add(gas);
-            }
+        long start = MetricsRegistry.ENABLED ? System.nanoTime() : 0L;
+        Set<Gas> compatibleGases = getCatalog().getGasIndex().getGasesByWavelength(wavelength);
+        if (MetricsRegistry.ENABLED) {
+            GASES_BY_WAVELENGTH_TIMER.recordSince(start);
         }
-
         return compatibleGases;
     }
 
@@ -146,26 +345,281 @@ public class Simulator implements Serializable {
      * @param material the material to be removed
      * @return true if material is removed, false othwerwise
      */
-    public boolean removeMaterial(Material material) {
-        return materials.remove(material);
+    public synchronized boolean removeMaterial(Material material) {
+        Object event = FlightRecorder.begin(FlightRecorder.Type.CATALOG_CHANGE);
+
+        MaterialIndex index = getMaterialIndex();
+        Set<Material> newMaterials = editableMaterials();
+        boolean removed = newMaterials.remove(material);
+        if (removed) {
+            if (index != null) {
+                index.remove(material);
+            }
+            publishMaterials(newMaterials);
+            for (CatalogListener listener : getCatalogListeners()) {
+                listener.materialRemoved(material);
+            }
+        }
+
+        commitCatalogChange(event, "remove", material.getName(), removed ? 1 : 0);
+        return removed;
     }
 
     /**
-     * Register the new material in the set of materials
+     * Register the new material in the set of materials, unless there is a
+     * material with the same name (ignoring case and spacing).
      *
      * @param material the new material
      * @return true if new material is added to the set of material, false
      * otherwise.
      */
-    public boolean registerMaterial(Material material) {
-        return this.materials.add(material);
+    public synchronized boolean registerMaterial(Material material) {
+        Object event = FlightRecorder.begin(FlightRecorder.Type.CATALOG_CHANGE);
+
+        MaterialIndex index = getMaterialIndex();
+        Set<Material> newMaterials = editableMaterials();
+        boolean added = addIndexed(index, newMaterials, material);
+        if (added) {
+            publishMaterials(newMaterials);
+            for (CatalogListener listener : getCatalogListeners()) {
+                listener.materialRegistered(material);
+            }
+        }
+
+        commitCatalogChange(event, "register", material.getName(), added ? 1 : 0);
+        return added;
+    }
+
+    /**
+     * Registers several materials at once, informing the listeners of the
+     * catalog changes in a single batch. The materials whose name already
+     * exists (ignoring case and spacing) are not registered.
+     *
+     * The materials are registered all or none: they are all verified before
+     * any is registered, and the registered ones are removed again if the
+     * registration fails, so the listeners are informed and the catalog is
+     * published only once, with every material.
+     *
+     * @param newMaterials the new materials
+     * @return the number of registered materials
+     * @throws IllegalArgumentException if the material store cannot keep the
+     * name of a material
+     */
+    public synchronized int registerMaterials(Collection<Material> newMaterials) {
+        Object event = FlightRecorder.begin(FlightRecorder.Type.CATALOG_CHANGE);
+
+        MaterialStore store = getMaterialStore();
+        if (store != null) {
+            for (Material material : newMaterials) {
+                if (!store.acceptsName(material.getName())) {
+                    throw new IllegalArgumentException("Unsupported material name: " + material.getName());
+                }
+            }
+        }
+
+        MaterialIndex index = getMaterialIndex();
+        Set<Material> editedMaterials = editableMaterials();
+        List<Material> added = new ArrayList<>(newMaterials.size());
+        try {
+            for (Material material : newMaterials) {
+                if (addIndexed(index, editedMaterials, material)) {
+                    added.add(material);
+                }
+            }
+        } catch (RuntimeException ex) {
+            for (Material material : added) {
+                editedMaterials.remove(material);
+                if (index != null) {
+                    index.remove(material);
+                }
+            }
+            throw ex;
+        }
+        if (!added.isEmpty()) {
+            publishMaterials(editedMaterials);
+            for (CatalogListener listener : getCatalogListeners()) {
+                listener.materialsRegistered(added);
+            }
+        }
+
+        commitCatalogChange(event, "register", added.isEmpty() ? null : added.get(0).getName(), added.size());
+        return added.size();
+    }
+
+    /**
+     * Adds a material to the materials to change and to the material index,
+     * unless the index has a material with the same name. Without an index
+     * (a material store still being indexed), only the store rejects a
+     * material with exactly the same name.
+     *
+     * @param index the material index, or null
+     * @param newMaterials the materials to change
+     * @param material the material
+     * @return true if it is added, false otherwise
+     */
+    private static boolean addIndexed(MaterialIndex index, Set<Material> newMaterials, Material material) {
+        if ((index != null && index.containsName(material.getName())) || !newMaterials.add(material)) {
+            return false;
+        }
+        if (index != null) {
+            index.add(material);
+        }
+        return true;
+    }
+
+    /**
+     * Publishes the changed materials, with the material index updated.
+     *
+     * @param newMaterials the changed materials
+     */
+    private void publishMaterials(Set<Material> newMaterials) {
+        publish(newMaterials, this.gases);
+        this.indexedMaterials = newMaterials.size();
+        this.materialChanges++;
+    }
+
+    /**
+     * Obtains the index of the materials by name and properties, building it
+     * again if the materials were changed without the simulator.
+     *
+     * The index of a material store, which may be too large to index while
+     * the simulator is locked, is built in a background thread instead: until
+     * it is ready, this method returns null.
+     *
+     * @return the material index, or null if a material store is still being
+     * indexed
+     */
+    public synchronized MaterialIndex getMaterialIndex() {
+        if (materialIndex != null && indexedMaterials != materials.size()) {
+            materialIndex = null;
+        }
+        if (materialIndex == null) {
+            if (materials instanceof MaterialStore) {
+                if (materialIndexing == null) {
+                    indexMaterialStore((MaterialStore) materials);
+                }
+            } else {
+                materialIndex = new MaterialIndex(materials);
+                indexedMaterials = materials.size();
+            }
+        }
+        return materialIndex;
+    }
+
+    /**
+     * Starts building the index of a material store in a background thread.
+     *
+     * @param store the material store
+     */
+    private void indexMaterialStore(final MaterialStore store) {
+        materialIndexing = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                buildMaterialIndex(store);
+            }
+        }, "Material indexing");
+        materialIndexing.setDaemon(true);
+        materialIndexing.start();
+    }
+
+    /**
+     * Builds the index of a material store from its snapshots, without
+     * locking the simulator, and installs it unless the store was replaced.
+     * The index is built again if the materials were changed meanwhile.
+     *
+     * @param store the material store
+     */
+    private void buildMaterialIndex(MaterialStore store) {
+        MaterialStore snapshot;
+        int changes;
+        synchronized (this) {
+            snapshot = store.snapshot();
+            changes = materialChanges;
+        }
+
+        while (true) {
+            MaterialIndex index = new MaterialIndex(snapshot);
+            synchronized (this) {
+                if (materials != store || materialIndexing != Thread.currentThread()) {
+                    return;
+                }
+                if (materialChanges == changes) {
+                    materialIndex = index;
+                    indexedMaterials = snapshot.size();
+                    materialIndexing = null;
+                    return;
+                }
+                snapshot = store.snapshot();
+                changes = materialChanges;
+            }
+        }
+    }
+
+    /**
+     * Commits a flight recorder event of a catalog change, if it is recorded.
+     *
+     * @param event the event, begun before the change
+     * @param operation the operation (register or remove)
+     * @param material the name of the (first) changed material
+     * @param count number of changed materials
+     */
+    private static void commitCatalogChange(Object event, String operation, String material, int count) {
+        if (FlightRecorder.shouldCommit(event)) {
+            FlightRecorder.commitCatalogChange(event, operation, material, count);
+        }
+    }
+
+    /**
+     * Obtains the cache of the results of experiences, whose entries of a
+     * material are invalidated when the material is registered or removed.
+     *
+     * @return the result cache
+     */
+    public synchronized ExperienceResultCache getResultCache() {
+        if (resultCache == null) {
+            resultCache = new ExperienceResultCache();
+            getCatalogListeners().add(resultCache);
+        }
+        return resultCache;
+    }
+
+    /**
+     * Adds a listener of the catalog changes. The listener is informed while
+     * the simulator is locked, after each change.
+     *
+     * @param listener the listener to add
+     */
+    public synchronized void addCatalogListener(CatalogListener listener) {
+        getCatalogListeners().add(listener);
+    }
+
+    /**
+     * Removes a listener of the catalog changes.
+     *
+     * @param listener the listener to remove
+     */
+    public synchronized void removeCatalogListener(CatalogListener listener) {
+        getCatalogListeners().remove(listener);
+    }
+
+    /**
+     * Obtains the listeners of the catalog changes, creating the list if
+     * needed (it is not serialized).
+     *
+     * @return the listeners
+     */
+    private List<CatalogListener> getCatalogListeners() {
+        if (catalogListeners == null) {
+            catalogListeners = new CopyOnWriteArrayList<>();
+        }
+        return catalogListeners;
     }
 
     @Override
     public int hashCode() {
         int hash = 7;
-        hash = 17 * hash + Objects.hashCode(this.materials);
-        hash = 17 * hash + Objects.hashCode(this.gases);
+        hash = 17 * hash + Objects.hashCode(getMaterials());
+        hash = 17 * hash + Objects.hashCode(getGases());
         hash = 17 * hash + Objects.hashCode(this.curiosities);
         return hash;
     }
@@ -181,15 +635,15 @@ public class Simulator implements Serializable {
 
         final Simulator other = (Simulator) obj;
 
-        return this.materials.equals(other.materials)
-                && this.gases.equals(other.gases)
+        return this.getMaterials().equals(other.getMaterials())
+                && this.getGases().equals(other.getGases())
                 && this.curiosities.equals(other.curiosities);
     }
 
     @Override
     public String toString() {
         return String.format("Simulator{materials=%s, gases=%s, curiosities=%s}",
-                materials, gases, curiosities);
+                getMaterials(), getGases(), curiosities);
     }
     
 }
@@ -19,4 +19,26 @@ public interface Calculable {
      * @return the result of the calculation as a double.
      */
     double calculate();
+
+    /**
+     * Calculates the equation for the points of a batch between two indexes.
+     * The inputs are read from the batch arrays and the result of the point i
+     * is written in results[i], so no objects are created per point.
+     *
+     * @param batch the batch with the input arrays
+     * @param from the first point to calculate (inclusive)
+     * @param to the last point to calculate (exclusive)
+     * @param results the array where the results are written
+     */
+    void calculate(CalculusBatch batch, int from, int to, double[] results);
+
+    /**
+     * Calculates the equation for every point of a batch.
+     *
+     * @param batch the batch with the input arrays
+     * @param results the array where the results are written
+     */
+    default void calculate(CalculusBatch batch, double[] results) {
+        calculate(batch, 0, batch.size(), results);
+    }
 }
@@ -0,0 +1,179 @@
+/*
+ * Package location for Application calculus model concepts.
+ */
+package model.calculations;
+
+/**
+ * Represents a batch of calculation points in structure-of-arrays form. The
+ * point i is described by the i-th element of each array.
+ *
+ * @author Daniel Gonçalves 1151452
+ * @author Eric Amaral 1141570
+ * @author Ivo Ferro 1151159
+ * @author Tiago Correia 1151031
+ */
+public class CalculusBatch {
+
+    /**
+     * The number of points in the batch.
+     */
+    private final int size;
+
+    /**
+     * The wavelength of each point (m).
+     */
+    private final double[] wavelength;
+
+    /**
+     * The emitting power of each point (W).
+     */
+    private final double[] power;
+
+    /**
+     * The focal point area of each point (m^2).
+     */
+    private final double[] focalPointArea;
+
+    /**
+     * The material's thickness of each point (m).
+     */
+    private final double[] thickness;
+
+    /**
+     * The index of the material of each point in the material table.
+     */
+    private final int[] materialIndex;
+
+    /**
+     * The table with the properties of the materials.
+     */
+    private final MaterialTable materials;
+
+    /**
+     * Constructs a batch of points. The arrays are not copied, so they can be
+     * refilled and the batch reused between calculations. Arrays that are not
+     * used by a calculus may be null.
+     *
+     * @param size the number of points
+     * @param wavelength the wavelength of each point (m)
+     * @param power the emitting power of each point (W)
+     * @param focalPointArea the focal point area of each point (m^2)
+     * @param thickness the material's thickness of each point (m)
+     * @param materialIndex the material index of each point
+     * @param materials the table with the properties of the materials
+     */
+    public CalculusBatch(int size, double[] wavelength, double[] power, double[] focalPointArea,
+            double[] thickness, int[] materialIndex, MaterialTable materials) {
+
+        if (size < 0) {
+            throw new IllegalArgumentException("Negative batch size: " + size);
+        }
+        checkLength(wavelength, size);
+        checkLength(power, size);
+        checkLength(focalPointArea, size);
+        checkLength(thickness, size);
+        if (materialIndex != null && materialIndex.length < size) {
+            throw new IllegalArgumentException("Material index array is smaller than the batch");
+        }
+
+        this.size = size;
+        this.wavelength = wavelength;
+        this.power = power;
+        this.focalPointArea = focalPointArea;
+        this.thickness = thickness;
+        this.materialIndex = materialIndex;
+        this.materials = materials;
+    }
+
+    /**
+     * Verifies that an input array holds every point of the batch.
+     *
+     * @param array the array to verify
+     * @param size the number of points
+     */
+    private static void checkLength(double[] array, int size) {
+        if (array != null && array.length < size) {
+            throw new IllegalArgumentException("Input array is smaller than the batch");
+        }
+    }
+
+    /**
+     * Verifies that a range of points and the results array are valid for
+     * this batch.
+     *
+     * @param from the first point (inclusive)
+     * @param to the last point (exclusive)
+     * @param results the array where the results are written
+     */
+    void checkRange(int from, int to, double[] results) {
+        if (from < 0 || to > size || from > to) {
+            throw new IndexOutOfBoundsException(String.format("Range [%d, %d) out of batch of size %d", from, to, size));
+        }
+        if (results.length < to) {
+            throw new IllegalArgumentException("Results array is smaller than the batch");
+        }
+    }
+
+    /**
+     * Obtains the number of points in the batch.
+     *
+     * @return the number of points
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Obtains the wavelength of each point (m).
+     *
+     * @return the wavelength array
+     */
+    public double[] getWavelength() {
+        return wavelength;
+    }
+
+    /**
+     * Obtains the emitting power of each point (W).
+     *
+     * @return the power array
+     */
+    public double[] getPower() {
+        return power;
+    }
+
+    /**
+     * Obtains the focal point area of each point (m^2).
+     *
+     * @return the focal point area array
+     */
+    public double[] getFocalPointArea() {
+        return focalPointArea;
+    }
+
+    /**
+     * Obtains the material's thickness of each point (m).
+     *
+     * @return the thickness array
+     */
+    public double[] getThickness() {
+        return thickness;
+    }
+
+    /**
+     * Obtains the material index of each point.
+     *
+     * @return the material index array
+     */
+    public int[] getMaterialIndex() {
+        return materialIndex;
+    }
+
+    /**
+     * Obtains the table with the properties of the materials.
+     *
+     * @return the material table
+     */
+    public MaterialTable getMaterials() {
+        return materials;
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * Package location for Application calculus model concepts.
+ */
+package model.calculations;
+
+import model.Material;
+
+/**
+ * Chooses the calculus of a laser in a material: the penetration velocity is
+ * calculated with the melting calculus for meltable materials and with the
+ * vaporisation calculus otherwise, and the transversal cutting speed with the
+ * melting calculus of a cut of the default height.
+ *
+ * @author Daniel Gonçalves 1151452
+ * @author Eric Amaral 1141570
+ * @author Ivo Ferro 1151159
+ * @author Tiago Correia 1151031
+ */
+public final class LaserCalculus {
+
+    /**
+     * The melting calculus of the batches.
+     */
+    private final static Calculable MELTING = new MeltingCalculus();
+
+    /**
+     * The vaporisation calculus of the batches.
+     */
+    private final static Calculable VAPORISATION = new VaporisationCalculus();
+
+    /**
+     * private constructor hides the public one.
+     */
+    private LaserCalculus() {
+    }
+
+    /**
+     * Creates the calculus of the penetration velocity of a laser in a
+     * material.
+     *
+     * @param power the emitting power (W)
+     * @param focalPointArea the focal point area (m^2)
+     * @param material the material
+     * @param materialThickness the material's thickness (m)
+     * @return the melting calculus if the material is meltable, the
+     * vaporisation calculus otherwise
+     */
+    public static Calculable createPenetrationCalculus(Double power, Double focalPointArea, Material material,
+            Double materialThickness) {
+
+        return material.isMeltable()
+                ? new MeltingCalculus(power, focalPointArea, material, materialThickness)
+                : new VaporisationCalculus(power, focalPointArea, material);
+    }
+
+    /**
+     * Creates the calculus of the transversal cutting speed of a laser,
+     * melting an area of the beam diameter times the material thickness.
+     *
+     * @param power the emitting power (W)
+     * @param beamDiameter the beam diameter (m)
+     * @param material the material
+     * @param materialThickness the material's thickness (m)
+     * @return the melting calculus of the cut
+     */
+    public static Calculable createCuttingCalculus(Double power, Double beamDiameter, Material material,
+            Double materialThickness) {
+
+        return new MeltingCalculus(power, beamDiameter * materialThickness, material);
+    }
+
+    /**
+     * Calculates the penetration velocity of a laser in a material.
+     *
+     * @param meltable if the material is meltable
+     * @param power the emitting power (W)
+     * @param focalPointArea the focal point area (m^2)
+     * @param thickness the material's thickness (m)
+     * @param density the material's density (kg/m^3)
+     * @param heatCapacity the material's heat capacity (J/(KgºC))
+     * @param latentHeat the material's latent heat (J/Kg)
+     * @param changePhaseTemperature the temperature where the material
+     * changes phase (ºC)
+     * @param vaporizationTemperature the material's vaporization temperature
+     * (ºC)
+     * @return the penetration velocity (m/s)
+     */
+    public static double calculatePenetrationVelocity(boolean meltable, double power, double focalPointArea,
+            double thickness, double density, double heatCapacity, double latentHeat,
+            double changePhaseTemperature, double vaporizationTemperature) {
+
+        return meltable
+                ? MeltingCalculus.calculate(power, focalPointArea, thickness, density, heatCapacity, latentHeat,
+                        changePhaseTemperature, MeltingCalculus.DEFAULT_INICIAL_TEMP)
+                : VaporisationCalculus.calculate(power / focalPointArea, density, heatCapacity, latentHeat,
+                        vaporizationTemperature, VaporisationCalculus.DEFAULT_INICIAL_TEMP);
+    }
+
+    /**
+     * Calculates the transversal cutting speed of a laser, melting an area of
+     * the beam diameter times the material thickness.
+     *
+     * @param power the emitting power (W)
+     * @param beamDiameter the beam diameter (m)
+     * @param thickness the material's thickness (m)
+     * @param density the material's density (kg/m^3)
+     * @param heatCapacity the material's heat capacity (J/(KgºC))
+     * @param latentHeat the material's latent heat (J/Kg)
+     * @param changePhaseTemperature the temperature where the material
+     * changes phase (ºC)
+     * @return the cutting speed (m/s)
+     */
+    public static double calculateCuttingSpeed(double power, double beamDiameter, double thickness,
+            double density, double heatCapacity, double latentHeat, double changePhaseTemperature) {
+
+        return MeltingCalculus.calculate(power, beamDiameter * thickness, MeltingCalculus.DEFAULT_CUT, density,
+                heatCapacity, latentHeat, changePhaseTemperature, MeltingCalculus.DEFAULT_INICIAL_TEMP);
+    }
+
+    /**
+     * Calculates the penetration velocity of the batch points, with the
+     * calculus of the material of each run of points of the same meltable
+     * state.
+     *
+     * @param batch the batch with the power, focal point area, thickness and
+     * material of each point
+     * @param from the first point to calculate (inclusive)
+     * @param to the last point to calculate (exclusive)
+     * @param results the array where the velocities are written (m/s)
+     */
+    public static void calculatePenetrationVelocity(CalculusBatch batch, int from, int to, double[] results) {
+        batch.checkRange(from, to, results);
+        int[] material = batch.getMaterialIndex();
+        MaterialTable materials = batch.getMaterials();
+
+        int run = from;
+        while (run < to) {
+            boolean meltable = materials.isMeltable(material[run]);
+            int end = run + 1;
+            while (end < to && materials.isMeltable(material[end]) == meltable) {
+                end++;
+            }
+
+            (meltable ? MELTING : VAPORISATION).calculate(batch, run, end, results);
+            run = end;
+        }
+    }
+
+    /**
+     * Calculates the transversal cutting speed of the batch points.
+     *
+     * @param batch the batch with the power, the affected area (beam diameter
+     * times material thickness) as focal point area, the default cut height
+     * as thickness and the material of each point
+     * @param from the first point to calculate (inclusive)
+     * @param to the last point to calculate (exclusive)
+     * @param results the array where the cutting speeds are written (m/s)
+     */
+    public static void calculateCuttingSpeed(CalculusBatch batch, int from, int to, double[] results) {
+        MELTING.calculate(batch, from, to, results);
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * Package location for Application calculus model concepts.
+ */
+package model.calculations;
+
+import java.util.Collection;
+import model.Material;
+
+/**
+ * Represents a table with the properties of several materials stored in
+ * primitive arrays, so they can be read by the batch calculations without
+ * unboxing.
+ *
+ * @author Daniel Gonçalves 1151452
+ * @author Eric Amaral 1141570
+ * @author Ivo Ferro 1151159
+ * @author Tiago Correia 1151031
+ */
+public class MaterialTable {
+
+    /**
+     * The materials of the table.
+     */
+    private final Material[] materials;
+
+    /**
+     * The materials' latent heat (J/Kg).
+     */
+    private final double[] latentHeat;
+
+    /**
+     * The materials' heat capacity (J/(KgºC)).
+     */
+    private final double[] heatCapacity;
+
+    /**
+     * The materials' density (kg/m^3).
+     */
+    private final double[] density;
+
+    /**
+     * The materials' vaporization temperature (ºC).
+     */
+    private final double[] vaporizationTemperature;
+
+    /**
+     * The temperature where the materials change phase (fusion temperature,
+     * or vaporization temperature if the material has no fusion temperature).
+     */
+    private final double[] changePhaseTemperature;
+
+    /**
+     * The materials' meltable state.
+     */
+    private final boolean[] meltable;
+
+    /**
+     * Constructs a material table with the given materials, in the iteration
+     * order of the collection.
+     *
+     * @param materials the materials of the table
+     */
+    public MaterialTable(Collection<Material> materials) {
+        this(materials.toArray(new Material[materials.size()]));
+    }
+
+    /**
+     * Constructs a material table with the given materials.
+     *
+     * @param materials the materials of the table
+     */
+    public MaterialTable(Material... materials) {
+        int size = materials.length;
+
+        this.materials = materials.clone();
+        this.latentHeat = new double[size];
+        this.heatCapacity = new double[size];
+        this.density = new double[size];
+        this.vaporizationTemperature = new double[size];
+        this.changePhaseTemperature = new double[size];
+        this.meltable = new boolean[size];
+
+        for (int i = 0; i < size; i++) {
+            Material material = materials[i];
+
+            this.latentHeat[i] = material.getLatentHeat();
+            this.heatCapacity[i] = material.getHeatCapacity();
+            this.density[i] = material.getDensity();
+            this.vaporizationTemperature[i] = material.getVaporizationTemperature();
+            this.changePhaseTemperature[i] = (material.getFusionTemperature() == null)
+                    ? material.getVaporizationTemperature() : material.getFusionTemperature();
+            this.meltable[i] = material.isMeltable();
+        }
+    }
+
+    /**
+     * Obtains the number of materials in the table.
+     *
+     * @return the number of materials
+     */
+    public int size() {
+        return materials.length;
+    }
+
+    /**
+     * Obtains the material in a given index.
+     *
+     * @param index the material index
+     * @return the material
+     */
+    public Material getMaterial(int index) {
+        return materials[index];
+    }
+
+    /**
+     * Obtains the latent heat of a material (J/Kg).
+     *
+     * @param index the material index
+     * @return the latent heat
+     */
+    public double getLatentHeat(int index) {
+        return latentHeat[index];
+    }
+
+    /**
+     * Obtains the heat capacity of a material (J/(KgºC)).
+     *
+     * @param index the material index
+     * @return the heat capacity
+     */
+    public double getHeatCapacity(int index) {
+        return heatCapacity[index];
+    }
+
+    /**
+     * Obtains the density of a material (kg/m^3).
+     *
+     * @param index the material index
+     * @return the density
+     */
+    public double getDensity(int index) {
+        return density[index];
+    }
+
+    /**
+     * Obtains the vaporization temperature of a material (ºC).
+     *
+     * @param index the material index
+     * @return the vaporization temperature
+     */
+    public double getVaporizationTemperature(int index) {
+        return vaporizationTemperature[index];
+    }
+
+    /**
+     * Obtains the temperature where a material changes phase (ºC).
+     *
+     * @param index the material index
+     * @return the fusion temperature, or the vaporization temperature if the
+     * material does not melt
+     */
+    public double getChangePhaseTemperature(int index) {
+        return changePhaseTemperature[index];
+    }
+
+    /**
+     * Tells if a material can melt.
+     *
+     * @param index the material index
+     * @return true if the material is meltable, false otherwise
+     */
+    public boolean isMeltable(int index) {
+        return meltable[index];
+    }
+}
@@ -0,0 +1,244 @@
+/*
+ * Package location for Application calculus model concepts.
+ */
+package model.calculations;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Represents a bounded, thread-safe cache of the maximum power of laser heads,
+ * keyed by wavelength and focal point area. Both keys are quantized to a
+ * relative precision of about 1e-10, so values that only differ by rounding
+ * errors share the same entry. When the cache is full, the least recently
+ * used entry is evicted.
+ *
+ * @author Daniel Gonçalves 1151452
+ * @author Eric Amaral 1141570
+ * @author Ivo Ferro 1151159
+ * @author Tiago Correia 1151031
+ */
+public class MaximumPowerCache {
+
+    /**
+     * Number of low mantissa bits discarded when quantizing a key.
+     */
+    private final static int QUANTIZATION_BITS = 20;
+
+    /**
+     * The cached maximum powers, in access order.
+     */
+    private final LinkedHashMap<Key, Double> entries;
+
+    /**
+     * The maximum number of entries.
+     */
+    private final int capacity;
+
+    /**
+     * Number of lookups that found the maximum power in the cache.
+     */
+    private final LongAdder hits;
+
+    /**
+     * Number of lookups that had to calculate the maximum power.
+     */
+    private final LongAdder misses;
+
+    /**
+     * Number of entries evicted because the cache was full.
+     */
+    private final LongAdder evictions;
+
+    /**
+     * Constructs an empty cache.
+     *
+     * @param capacity the maximum number of entries
+     */
+    public MaximumPowerCache(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("The capacity must be positive");
+        }
+
+        this.capacity = capacity;
+        this.hits = new LongAdder();
+        this.misses = new LongAdder();
+        this.evictions = new LongAdder();
+        this.entries = new LinkedHashMap<Key, Double>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Double> eldest) {
+                if (size() > MaximumPowerCache.this.capacity) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Obtains the maximum power of a laser head, calculating and storing it if
+     * it is not in the cache.
+     *
+     * @param wavelength the wavelength (m)
+     * @param focalPointArea the focal point area (m^2)
+     * @return the maximum power that the laser can emit (W)
+     */
+    public double get(double wavelength, double focalPointArea) {
+        Key key = new Key(quantize(wavelength), quantize(focalPointArea));
+
+        Double maxPower;
+        synchronized (entries) {
+            maxPower = entries.get(key);
+        }
+        if (maxPower != null) {
+            hits.increment();
+            return maxPower;
+        }
+
+        misses.increment();
+        double calculated = MaximumPowerCalculus.calculate(wavelength, focalPointArea);
+        synchronized (entries) {
+            entries.put(key, calculated);
+        }
+        return calculated;
+    }
+
+    /**
+     * Quantizes a value by rounding away the lowest bits of its mantissa.
+     *
+     * @param value the value to quantize
+     * @return the quantized bits of the value
+     */
+    private static long quantize(double value) {
+        return (Double.doubleToLongBits(value) + (1L << (QUANTIZATION_BITS - 1))) >> QUANTIZATION_BITS;
+    }
+
+    /**
+     * Removes every entry of the cache and resets the statistics.
+     */
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+        hits.reset();
+        misses.reset();
+        evictions.reset();
+    }
+
+    /**
+     * Obtains the number of entries in the cache.
+     *
+     * @return the number of entries
+     */
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * Obtains the maximum number of entries.
+     *
+     * @return the capacity
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Obtains the number of lookups that found the maximum power in the cache.
+     *
+     * @return the number of hits
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Obtains the number of lookups that had to calculate the maximum power.
+     *
+     * @return the number of misses
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Obtains the number of entries evicted because the cache was full.
+     *
+     * @return the number of evictions
+     */
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * Obtains the ratio of lookups that found the maximum power in the cache.
+     *
+     * @return the hit ratio, between 0 and 1
+     */
+    public double getHitRatio() {
+        long hitCount = getHits();
+        long total = hitCount + getMisses();
+
+        return (total == 0) ? 0.0 : (double) hitCount / total;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("MaximumPowerCache{size=%d, capacity=%d, hits=%d, misses=%d, evictions=%d}",
+                size(), capacity, getHits(), getMisses(), getEvictions());
+    }
+
+    /**
+     * The quantized key of a laser head.
+     */
+    private static class Key {
+
+        /**
+         * The quantized wavelength.
+         */
+        private final long wavelength;
+
+        /**
+         * The quantized focal point area.
+         */
+        private final long focalPointArea;
+
+        /**
+         * Constructs a key.
+         *
+         * @param wavelength the quantized wavelength
+         * @param focalPointArea the quantized focal point area
+         */
+        Key(long wavelength, long focalPointArea) {
+            this.wavelength = wavelength;
+            this.focalPointArea = focalPointArea;
+        }
+
+        @Override
+        public int hashCode() {
+            int hash = 7;
+            hash = 31 * hash + Long.hashCode(this.wavelength);
+            hash = 31 * hash + Long.hashCode(this.focalPointArea);
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (obj == null || getClass() != obj.getClass()) {
+                return false;
+            }
+
+            final Key other = (Key) obj;
+
+            return this.wavelength == other.wavelength
+                    && this.focalPointArea == other.focalPointArea;
+        }
+    }
+}
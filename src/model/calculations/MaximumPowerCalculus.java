@@ -3,6 +3,10 @@
  */
 package model.calculations;
 
+import utils.MetricsRegistry;
+import utils.MetricsTimer;
+import utils.events.FlightRecorder;
+
 /**
  * Represents a class that calculates the max power that a laser can emit.
  *
@@ -26,12 +30,37 @@ public class MaximumPowerCalculus implements Calculable {
     /**
      * The pank's constant.
      */
-    private final static Double PLANK_CONSTANT = 6.62607004e-34;
+    private final static double PLANK_CONSTANT = 6.62607004e-34;
 
     /**
      * The speed of light.
      */
-    private final static Double SPEED_OF_LIGHT = 299792458d;
+    private final static double SPEED_OF_LIGHT = 299792458d;
+
+    /**
+     * The photon number per square metre of the base laser (calculated once).
+     */
+    private final static double PHOTON_NUMBER_PER_SQUARE_METRE = calculatePhotonNumberPerSquareMetre();
+
+    /**
+     * Maximum number of laser heads kept in the shared cache.
+     */
+    public final static int DEFAULT_CACHE_CAPACITY = 1024;
+
+    /**
+     * Cache of the maximum power of the laser heads already calculated.
+     */
+    private final static MaximumPowerCache CACHE = new MaximumPowerCache(DEFAULT_CACHE_CAPACITY);
+
+    /**
+     * Timer of the calculations of a single maximum power.
+     */
+    private final static MetricsTimer CALCULATE_TIMER = MetricsRegistry.timer("calculus.maximumPower.calculate");
+
+    /**
+     * Timer of the calculations of batches.
+     */
+    private final static MetricsTimer BATCH_TIMER = MetricsRegistry.timer("calculus.maximumPower.batch");
 
     /**
      * Constructs an instance of MaximumPowerCalculus.
@@ -86,18 +115,52 @@ public class MaximumPowerCalculus implements Calculable {
      *
      * @return photon number per square metre
      */
-    private Double calculatePhotonNumberPerSquareMetre() {
+    private static double calculatePhotonNumberPerSquareMetre() {
         // using CO2 Laser – Firestar-ti80W to get a photon number as a base
-        Double baseWavelength = 10600e-9;
-        Double baseMaxPower = 80d;
-        Double baseFocalPointRadius = 1e-3;
+        double baseWavelength = 10600e-9;
+        double baseMaxPower = 80d;
+        double baseFocalPointRadius = 1e-3;
 
-        Double photonNumberPer8mm = (baseMaxPower * baseWavelength) / (PLANK_CONSTANT * SPEED_OF_LIGHT);
-        Double beamArea = Math.PI * Math.pow(baseFocalPointRadius, 2);
+        double photonNumberPer8mm = (baseMaxPower * baseWavelength) / (PLANK_CONSTANT * SPEED_OF_LIGHT);
+        double beamArea = Math.PI * Math.pow(baseFocalPointRadius, 2);
 
         return photonNumberPer8mm / beamArea;
     }
 
+    /**
+     * Calculates the maximum power that a laser can emit.
+     *
+     * @param wavelength the wavelength (m)
+     * @param focalPointArea the focal point area (m^2)
+     * @return the maximum power that the laser can emit (W)
+     */
+    public static double calculate(double wavelength, double focalPointArea) {
+        double photonNumberOnArea = PHOTON_NUMBER_PER_SQUARE_METRE * focalPointArea;
+
+        return (photonNumberOnArea * PLANK_CONSTANT * SPEED_OF_LIGHT) / wavelength;
+    }
+
+    /**
+     * Obtains the maximum power that a laser can emit from the shared cache,
+     * calculating it only for laser heads that were not seen before.
+     *
+     * @param wavelength the wavelength (m)
+     * @param focalPointArea the focal point area (m^2)
+     * @return the maximum power that the laser can emit (W)
+     */
+    public static double calculateCached(double wavelength, double focalPointArea) {
+        return CACHE.get(wavelength, focalPointArea);
+    }
+
+    /**
+     * Obtains the shared cache of maximum powers.
+     *
+     * @return the cache
+     */
+    public static MaximumPowerCache getCache() {
+        return CACHE;
+    }
+
     /**
      * Calculates de maximum power that the laser can emit.
      *
@@ -105,8 +168,43 @@ public class MaximumPowerCalculus implements Calculable {
      */
     @Override
     public double calculate() {
-        Double photonNumberOnArea = calculatePhotonNumberPerSquareMetre() * focalPointArea;
+        long start = MetricsRegistry.ENABLED ? System.nanoTime() : 0L;
 
-        return (photonNumberOnArea * PLANK_CONSTANT * SPEED_OF_LIGHT) / wavelength;
+        double maxPower = calculate(wavelength, focalPointArea);
+
+        if (MetricsRegistry.ENABLED) {
+            CALCULATE_TIMER.recordSince(start);
+        }
+        return maxPower;
+    }
+
+    /**
+     * Calculates the maximum power of the batch points, using their
+     * wavelength and focal point area.
+     *
+     * @param batch the batch with the input arrays
+     * @param from the first point to calculate (inclusive)
+     * @param to the last point to calculate (exclusive)
+     * @param results the array where the maximum powers are written (W)
+     */
+    @Override
+    public void calculate(CalculusBatch batch, int from, int to, double[] results) {
+        batch.checkRange(from, to, results);
+        long start = MetricsRegistry.ENABLED ? System.nanoTime() : 0L;
+        Object event = FlightRecorder.begin(FlightRecorder.Type.CALCULUS_BATCH);
+
+        double[] batchWavelength = batch.getWavelength();
+        double[] batchFocalPointArea = batch.getFocalPointArea();
+
+        for (int i = from; i < to; i++) {
+            results[i] = calculate(batchWavelength[i], batchFocalPointArea[i]);
+        }
+
+        if (MetricsRegistry.ENABLED) {
+            BATCH_TIMER.recordSince(start);
+        }
+        if (FlightRecorder.shouldCommit(event)) {
+            FlightRecorder.commitCalculusBatch(event, "maximumPower", to - from);
+        }
     }
 }
@@ -4,6 +4,9 @@
 package model.calculations;
 
 import model.Material;
+import utils.MetricsRegistry;
+import utils.MetricsTimer;
+import utils.events.FlightRecorder;
 
 /**
  * Represents a class that calculates the melting process of a laser.
@@ -43,12 +46,22 @@ public class MeltingCalculus implements Calculable {
     /**
      * Default enviromental Temperature (ºC).
      */
-    private final static Double DEFAULT_INICIAL_TEMP = 20.0; // ºC 
+    public final static double DEFAULT_INICIAL_TEMP = 20.0; // ºC 
     
     /**
-     * Default enviromental Temperature (ºC).
+     * Default height of a transversal cut (m).
+     */
+    public final static double DEFAULT_CUT = 1E-2; // m 
+
+    /**
+     * Timer of the calculations of a single velocity.
+     */
+    private final static MetricsTimer CALCULATE_TIMER = MetricsRegistry.timer("calculus.melting.calculate");
+
+    /**
+     * Timer of the calculations of batches.
      */
-    private final static Double DEFAULT_CUT = 1E-2; // m 
+    private final static MetricsTimer BATCH_TIMER = MetricsRegistry.timer("calculus.melting.batch");
 
     /**
      * Constructs an instance of a melting calculus.
@@ -83,6 +96,15 @@ public class MeltingCalculus implements Calculable {
         this.inicialTemp = DEFAULT_INICIAL_TEMP;
     }
 
+    /**
+     * Constructs an instance of a melting calculus for batches, which reads
+     * its inputs from the batch points.
+     */
+    public MeltingCalculus() {
+
+        this.inicialTemp = DEFAULT_INICIAL_TEMP;
+    }
+
     /**
      * Obtains the absorved power (W).
      *
@@ -174,38 +196,41 @@ public class MeltingCalculus implements Calculable {
     }
 
     /**
-     * Calculates the mass from the effected volume and the material density.
+     * Calculates the penetration velocity of the melting process.
      *
-     * @return the mass effected by the laser
+     * @param power the emitting power (W)
+     * @param focalPointArea the focal point area (m^2)
+     * @param height the height of cut (m)
+     * @param density the material's density (kg/m^3)
+     * @param heatCapacity the material's heat capacity (J/(KgºC))
+     * @param latentHeat the material's latent heat (J/Kg)
+     * @param changeFaseTemp the temperature where the material changes phase
+     * (ºC)
+     * @param inicialTemp the enviromental temperature (ºC)
+     * @return the penetration velocity (m/s)
      */
-    private double calculateMass() {
+    public static double calculate(double power, double focalPointArea, double height, double density,
+            double heatCapacity, double latentHeat, double changeFaseTemp, double inicialTemp) {
 
         // Volume: πr^2 (base area) * h (m^3)
-        Double volume = this.focalPointArea * this.height;
+        double volume = focalPointArea * height;
 
         // Mass (kg) =  density (kg/m^3) * volume (m^3)
-        return this.material.getDensity() * volume;
-    }
-
-    /**
-     * Calculates the necessay heat to change phase (heat + latent heat)
-     *
-     * @return required heat to change phase
-     */
-    private double calculateRequiredHeat() {
-
-        Double mass = calculateMass();
+        double mass = density * volume;
 
-        Double changeFaseTemp = (this.material.getFusionTemperature() == null) 
-                ? this.material.getVaporizationTemperature() : this.material.getFusionTemperature();
         // Q = mc∆T (J)
-        Double heat = mass * material.getHeatCapacity() * (changeFaseTemp - this.inicialTemp);
+        double heat = mass * heatCapacity * (changeFaseTemp - inicialTemp);
 
         // Q = mL (J)
-        Double latentHeat = mass * this.material.getLatentHeat();
+        double latentHeatOfMass = mass * latentHeat;
 
         // heat + latentHeat (required heat to change phase)
-        return heat + latentHeat;
+        double requiredHeat = heat + latentHeatOfMass;
+
+        double timeToCut = requiredHeat / power;
+
+        // Penetration velocity = material thickness / timeToCut
+        return height / timeToCut;
     }
 
     /**
@@ -215,12 +240,55 @@ public class MeltingCalculus implements Calculable {
      */
     @Override
     public double calculate() {
+        long start = MetricsRegistry.ENABLED ? System.nanoTime() : 0L;
 
-        Double requiredHeat = calculateRequiredHeat();
-        
-        Double timeToCut = requiredHeat / power;
-        
-        // Penetration velocity = material thickness / timeToCut
-        return this.height / timeToCut;
+        Double changeFaseTemp = (this.material.getFusionTemperature() == null)
+                ? this.material.getVaporizationTemperature() : this.material.getFusionTemperature();
+
+        double velocity = calculate(this.power, this.focalPointArea, this.height, this.material.getDensity(),
+                this.material.getHeatCapacity(), this.material.getLatentHeat(), changeFaseTemp, this.inicialTemp);
+
+        if (MetricsRegistry.ENABLED) {
+            CALCULATE_TIMER.recordSince(start);
+        }
+        return velocity;
+    }
+
+    /**
+     * Calculates the penetration velocity of the melting process for the batch
+     * points, using their power, focal point area, thickness and material.
+     *
+     * @param batch the batch with the input arrays
+     * @param from the first point to calculate (inclusive)
+     * @param to the last point to calculate (exclusive)
+     * @param results the array where the velocities are written (m/s)
+     */
+    @Override
+    public void calculate(CalculusBatch batch, int from, int to, double[] results) {
+        batch.checkRange(from, to, results);
+        long start = MetricsRegistry.ENABLED ? System.nanoTime() : 0L;
+        Object event = FlightRecorder.begin(FlightRecorder.Type.CALCULUS_BATCH);
+
+        double[] batchPower = batch.getPower();
+        double[] batchFocalPointArea = batch.getFocalPointArea();
+        double[] batchThickness = batch.getThickness();
+        int[] batchMaterial = batch.getMaterialIndex();
+        MaterialTable materials = batch.getMaterials();
+        double temp = this.inicialTemp;
+
+        for (int i = from; i < to; i++) {
+            int m = batchMaterial[i];
+
+            results[i] = calculate(batchPower[i], batchFocalPointArea[i], batchThickness[i],
+                    materials.getDensity(m), materials.getHeatCapacity(m), materials.getLatentHeat(m),
+                    materials.getChangePhaseTemperature(m), temp);
+        }
+
+        if (MetricsRegistry.ENABLED) {
+            BATCH_TIMER.recordSince(start);
+        }
+        if (FlightRecorder.shouldCommit(event)) {
+            FlightRecorder.commitCalculusBatch(event, "melting", to - from);
+        }
     }
 }
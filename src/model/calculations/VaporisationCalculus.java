@@ -4,6 +4,9 @@
 package model.calculations;
 
 import model.Material;
+import utils.MetricsRegistry;
+import utils.MetricsTimer;
+import utils.events.FlightRecorder;
 
 /**
  * Represents a class that calculates the vaporisation process of a laser.
@@ -33,7 +36,17 @@ public class VaporisationCalculus implements Calculable {
     /**
      * Default enviromental Temperature (ºC).
      */
-    private final static Double DEFAULT_INICIAL_TEMP = 20.0; // ºC 
+    public final static double DEFAULT_INICIAL_TEMP = 20.0; // ºC 
+
+    /**
+     * Timer of the calculations of a single velocity.
+     */
+    private final static MetricsTimer CALCULATE_TIMER = MetricsRegistry.timer("calculus.vaporisation.calculate");
+
+    /**
+     * Timer of the calculations of batches.
+     */
+    private final static MetricsTimer BATCH_TIMER = MetricsRegistry.timer("calculus.vaporisation.batch");
 
     /**
      * Constructs an instance of a vaporisation calculus.
@@ -49,6 +62,15 @@ public class VaporisationCalculus implements Calculable {
         this.inicialTemp = DEFAULT_INICIAL_TEMP;
     }
 
+    /**
+     * Constructs an instance of a vaporisation calculus for batches, which
+     * reads its inputs from the batch points.
+     */
+    public VaporisationCalculus() {
+
+        this.inicialTemp = DEFAULT_INICIAL_TEMP;
+    }
+
     /**
      * Obtains the absorved power density (W/m^2).
      *
@@ -106,17 +128,78 @@ public class VaporisationCalculus implements Calculable {
     /**
      * Calculates the penetration velocity of the vaporisation process.
      *
-     * @return the pener velocity (m/s)
+     * @param powerDensity the absorved power density (W/m^2)
+     * @param density the material's density (kg/m^3)
+     * @param heatCapacity the material's heat capacity (J/(KgºC))
+     * @param latentHeat the material's latent heat (J/Kg)
+     * @param vaporizationTemp the material's vaporization temperature (ºC)
+     * @param inicialTemp the enviromental temperature (ºC)
+     * @return the penetration velocity (m/s)
      */
-    @Override
-    public double calculate() {
+    public static double calculate(double powerDensity, double density, double heatCapacity,
+            double latentHeat, double vaporizationTemp, double inicialTemp) {
 
         /*
         * V = P / {∂[ L + C * (Tv - T0)]} (m/s)
         */
         return powerDensity
-                / (material.getDensity()
-                * (material.getLatentHeat() + material.getHeatCapacity()
-                * (material.getVaporizationTemperature() - inicialTemp)));
+                / (density
+                * (latentHeat + heatCapacity
+                * (vaporizationTemp - inicialTemp)));
+    }
+
+    /**
+     * Calculates the penetration velocity of the vaporisation process.
+     *
+     * @return the pener velocity (m/s)
+     */
+    @Override
+    public double calculate() {
+        long start = MetricsRegistry.ENABLED ? System.nanoTime() : 0L;
+
+        double velocity = calculate(powerDensity, material.getDensity(), material.getHeatCapacity(),
+                material.getLatentHeat(), material.getVaporizationTemperature(), inicialTemp);
+
+        if (MetricsRegistry.ENABLED) {
+            CALCULATE_TIMER.recordSince(start);
+        }
+        return velocity;
+    }
+
+    /**
+     * Calculates the penetration velocity of the vaporisation process for the
+     * batch points, using their power, focal point area and material.
+     *
+     * @param batch the batch with the input arrays
+     * @param from the first point to calculate (inclusive)
+     * @param to the last point to calculate (exclusive)
+     * @param results the array where the velocities are written (m/s)
+     */
+    @Override
+    public void calculate(CalculusBatch batch, int from, int to, double[] results) {
+        batch.checkRange(from, to, results);
+        long start = MetricsRegistry.ENABLED ? System.nanoTime() : 0L;
+        Object event = FlightRecorder.begin(FlightRecorder.Type.CALCULUS_BATCH);
+
+        double[] batchPower = batch.getPower();
+        double[] batchFocalPointArea = batch.getFocalPointArea();
+        int[] batchMaterial = batch.getMaterialIndex();
+        MaterialTable materials = batch.getMaterials();
+        double temp = this.inicialTemp;
+
+        for (int i = from; i < to; i++) {
+            int m = batchMaterial[i];
+
+            results[i] = calculate(batchPower[i] / batchFocalPointArea[i], materials.getDensity(m),
+                    materials.getHeatCapacity(m), materials.getLatentHeat(m),
+                    materials.getVaporizationTemperature(m), temp);
+        }
+
+        if (MetricsRegistry.ENABLED) {
+            BATCH_TIMER.recordSince(start);
+        }
+        if (FlightRecorder.shouldCommit(event)) {
+            FlightRecorder.commitCalculusBatch(event, "vaporisation", to - from);
+        }
     }
 }
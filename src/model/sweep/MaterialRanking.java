@@ -0,0 +1,261 @@
+/*
+ * Package location for Application sweep model concepts.
+ */
+package model.sweep;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import model.Material;
+
+/**
+ * Represents the points of a sweep result ranked from the best to the worst
+ * cut: first the points where the laser cuts the material, from the fastest
+ * to the slowest cutting speed, and then the points where it does not cut,
+ * from the fastest to the slowest penetration velocity. Ties are broken by the
+ * penetration velocity and then by the order of the points.
+ *
+ * Sweeping a single laser over the materials of a catalog ranks the materials
+ * that the laser cuts best.
+ *
+ * @author Daniel Gonçalves 1151452
+ * @author Eric Amaral 1141570
+ * @author Ivo Ferro 1151159
+ * @author Tiago Correia 1151031
+ */
+public class MaterialRanking {
+
+    /**
+     * Number of bits of the point in a sort key.
+     */
+    private final static int POINT_BITS = 31;
+
+    /**
+     * The ranked sweep result.
+     */
+    private final SweepResult result;
+
+    /**
+     * The points of the result, by rank.
+     */
+    private final int[] points;
+
+    /**
+     * Number of points where the laser cuts the material.
+     */
+    private final int cutCount;
+
+    /**
+     * Ranks the points of a sweep result.
+     *
+     * @param result the sweep result
+     */
+    public MaterialRanking(SweepResult result) {
+        int size = result.size();
+
+        this.result = result;
+        this.points = new int[size];
+
+        // sorts the points by a compact key (the rank value rounded to a
+        // float), then sorts exactly the runs of points with equal keys
+        long[] keys = new long[size];
+        int cuts = 0;
+        for (int point = 0; point < size; point++) {
+            if (result.isCut(point)) {
+                cuts++;
+            }
+            keys[point] = (sortKey(result, point) << POINT_BITS) | point;
+        }
+        Arrays.parallelSort(keys);
+        this.cutCount = cuts;
+
+        for (int rank = 0; rank < size; rank++) {
+            points[rank] = (int) (keys[rank] & Integer.MAX_VALUE);
+        }
+        for (int start = 0; start < size;) {
+            int end = start + 1;
+            while (end < size && (keys[end] >>> POINT_BITS) == (keys[start] >>> POINT_BITS)) {
+                end++;
+            }
+            if (end - start > 1) {
+                sortExactly(start, end);
+            }
+            start = end;
+        }
+    }
+
+    /**
+     * Ranks the materials for a laser, evaluating the laser with every
+     * material in parallel.
+     *
+     * @param engine the engine that evaluates the laser
+     * @param wavelength the wavelength (m)
+     * @param focalPointDiameter the focal point diameter (m)
+     * @param materials the materials to rank, at least one
+     * @param thickness the material thickness (m)
+     * @param factor the power factor
+     * @param cuttingTimeLimit the cutting time limit (s)
+     * @return the ranking of the materials
+     */
+    public static MaterialRanking rank(SweepEngine engine, double wavelength, double focalPointDiameter,
+            Collection<Material> materials, double thickness, float factor, double cuttingTimeLimit) {
+
+        Sweep sweep = new Sweep(SweepRange.of(wavelength), SweepRange.of(focalPointDiameter),
+                new ArrayList<>(materials), SweepRange.of(thickness), SweepRange.of(factor),
+                SweepRange.of(cuttingTimeLimit));
+
+        return new MaterialRanking(engine.run(sweep));
+    }
+
+    /**
+     * Obtains the value that ranks a point: its cutting speed if the laser
+     * cuts the material, or its penetration velocity otherwise.
+     *
+     * @param result the sweep result
+     * @param point the point
+     * @return the rank value
+     */
+    private static double rankValue(SweepResult result, int point) {
+        return result.isCut(point) ? result.getCuttingSpeed(point) : result.getPenetrationVelocity(point);
+    }
+
+    /**
+     * Obtains the compact sort key of a point: the points that do not cut in
+     * the highest bit, followed by the rank value rounded to a float, in
+     * descending order. Values that are not positive share the last key.
+     *
+     * @param result the sweep result
+     * @param point the point
+     * @return the sort key, with 32 bits
+     */
+    private static long sortKey(SweepResult result, int point) {
+        float value = (float) rankValue(result, point);
+        int bits = (value > 0) ? Float.floatToIntBits(value) : 0;
+        long group = result.isCut(point) ? 0 : 1;
+
+        return (group << 31) | (Integer.MAX_VALUE - bits);
+    }
+
+    /**
+     * Sorts exactly a range of ranks whose points have equal sort keys.
+     *
+     * @param from the first rank (inclusive)
+     * @param to the last rank (exclusive)
+     */
+    private void sortExactly(int from, int to) {
+        Integer[] run = new Integer[to - from];
+        for (int i = 0; i < run.length; i++) {
+            run[i] = points[from + i];
+        }
+
+        Arrays.sort(run, new Comparator<Integer>() {
+            @Override
+            public int compare(Integer point, Integer other) {
+                int comparison = compareDescending(rankValue(result, point), rankValue(result, other));
+                if (comparison == 0) {
+                    comparison = compareDescending(result.getPenetrationVelocity(point),
+                            result.getPenetrationVelocity(other));
+                }
+                return (comparison != 0) ? comparison : Integer.compare(point, other);
+            }
+        });
+
+        for (int i = 0; i < run.length; i++) {
+            points[from + i] = run[i];
+        }
+    }
+
+    /**
+     * Compares two values in descending order, with NaN last.
+     *
+     * @param value a value
+     * @param other the other value
+     * @return a negative number if the value ranks before the other, zero if
+     * they rank equally, or a positive number otherwise
+     */
+    private static int compareDescending(double value, double other) {
+        if (Double.isNaN(value) || Double.isNaN(other)) {
+            return Boolean.compare(Double.isNaN(value), Double.isNaN(other));
+        }
+        return Double.compare(other, value);
+    }
+
+    /**
+     * Obtains the ranked sweep result.
+     *
+     * @return the sweep result
+     */
+    public SweepResult getResult() {
+        return result;
+    }
+
+    /**
+     * Obtains the number of ranked points.
+     *
+     * @return the number of points
+     */
+    public int size() {
+        return points.length;
+    }
+
+    /**
+     * Obtains the number of points where the laser cuts the material, which
+     * are the first ones of the ranking.
+     *
+     * @return the number of cuts
+     */
+    public int getCutCount() {
+        return cutCount;
+    }
+
+    /**
+     * Obtains the point of the sweep result with a rank.
+     *
+     * @param rank the rank, from 0 (the best)
+     * @return the point
+     */
+    public int getPoint(int rank) {
+        return points[rank];
+    }
+
+    /**
+     * Obtains the material with a rank.
+     *
+     * @param rank the rank, from 0 (the best)
+     * @return the material
+     */
+    public Material getMaterial(int rank) {
+        return result.getMaterial(points[rank]);
+    }
+
+    /**
+     * Obtains the penetration velocity with a rank (m/s).
+     *
+     * @param rank the rank, from 0 (the best)
+     * @return the penetration velocity
+     */
+    public double getPenetrationVelocity(int rank) {
+        return result.getPenetrationVelocity(points[rank]);
+    }
+
+    /**
+     * Tells if the laser cuts the material with a rank.
+     *
+     * @param rank the rank, from 0 (the best)
+     * @return true if it cuts, false otherwise
+     */
+    public boolean isCut(int rank) {
+        return result.isCut(points[rank]);
+    }
+
+    /**
+     * Obtains the cutting speed with a rank (m/s).
+     *
+     * @param rank the rank, from 0 (the best)
+     * @return the cutting speed, or NaN if the laser does not cut
+     */
+    public double getCuttingSpeed(int rank) {
+        return result.getCuttingSpeed(points[rank]);
+    }
+}
@@ -0,0 +1,192 @@
+/*
+ * Package location for Application sweep model concepts.
+ */
+package model.sweep;
+
+import model.calculations.LaserCalculus;
+import model.values.LaserValue;
+import model.values.MaterialValue;
+
+/**
+ * Represents the response of a laser to a continuous variable (the material
+ * thickness or the power factor): the penetration velocity, the time to cut
+ * and the cutting speed at evenly spaced values of the variable, with every
+ * other parameter of the laser fixed.
+ *
+ * The curve is sampled in a single pass that allocates no objects: each point
+ * is calculated with the same formulas as an experience and streamed to a
+ * consumer, so curves with thousands of points can be drawn or exported
+ * without being stored.
+ *
+ * @author Daniel Gonçalves 1151452
+ * @author Eric Amaral 1141570
+ * @author Ivo Ferro 1151159
+ * @author Tiago Correia 1151031
+ */
+public class ResponseCurve {
+
+    /**
+     * Default number of points of a curve.
+     */
+    public final static int DEFAULT_POINTS = 2000;
+
+    /**
+     * The variable of a response curve.
+     */
+    public enum Variable {
+
+        /**
+         * The material thickness (m).
+         */
+        THICKNESS,
+        /**
+         * The power factor, between 0 and 1.
+         */
+        FACTOR
+    }
+
+    /**
+     * Receives the points of a response curve, in order.
+     */
+    public interface PointConsumer {
+
+        /**
+         * Receives a point of the curve.
+         *
+         * @param index the index of the point
+         * @param value the value of the variable
+         * @param penetrationVelocity the penetration velocity (m/s)
+         * @param timeToCut the time to cut through the material (s)
+         * @param cuttingSpeed the cutting speed (m/s), or NaN if the laser does
+         * not cut the material in the time limit
+         */
+        public abstract void accept(int index, double value, double penetrationVelocity, double timeToCut,
+                double cuttingSpeed);
+    }
+
+    /**
+     * The laser, with the fixed parameters.
+     */
+    private final LaserValue laser;
+
+    /**
+     * The cutting time limit (s).
+     */
+    private final double cuttingTimeLimit;
+
+    /**
+     * The variable of the curve.
+     */
+    private final Variable variable;
+
+    /**
+     * The first value of the variable.
+     */
+    private final double start;
+
+    /**
+     * The last value of the variable.
+     */
+    private final double end;
+
+    /**
+     * The number of points.
+     */
+    private final int points;
+
+    /**
+     * Constructs a response curve.
+     *
+     * @param laser the laser, with the fixed parameters
+     * @param cuttingTimeLimit the cutting time limit (s)
+     * @param variable the variable of the curve
+     * @param start the first value of the variable
+     * @param end the last value of the variable
+     * @param points the number of points, at least one
+     */
+    public ResponseCurve(LaserValue laser, double cuttingTimeLimit, Variable variable, double start, double end,
+            int points) {
+
+        if (points < 1) {
+            throw new IllegalArgumentException("A curve needs at least one point");
+        }
+
+        this.laser = laser;
+        this.cuttingTimeLimit = cuttingTimeLimit;
+        this.variable = variable;
+        this.start = start;
+        this.end = end;
+        this.points = points;
+    }
+
+    /**
+     * Obtains the variable of the curve.
+     *
+     * @return the variable
+     */
+    public Variable getVariable() {
+        return variable;
+    }
+
+    /**
+     * Obtains the number of points.
+     *
+     * @return the number of points
+     */
+    public int size() {
+        return points;
+    }
+
+    /**
+     * Obtains the value of the variable at a point, spaced as in a sweep
+     * range.
+     *
+     * @param index the index of the point
+     * @return the value of the variable
+     */
+    public double getValue(int index) {
+        return (points == 1) ? start : start + (end - start) * index / (points - 1);
+    }
+
+    /**
+     * Samples every point of the curve, in order.
+     *
+     * @param consumer the consumer of the points
+     */
+    public void sample(PointConsumer consumer) {
+        MaterialValue material = laser.getMaterial();
+        double density = material.getDensity();
+        double heatCapacity = material.getHeatCapacity();
+        double latentHeat = material.getLatentHeat();
+        double changePhaseTemperature = material.getChangePhaseTemperature();
+        double vaporizationTemperature = material.getVaporizationTemperature();
+        boolean meltable = material.isMeltable();
+        double focalPointArea = laser.getFocalPointArea();
+        double beamDiameter = laser.getBeamDiameter();
+        boolean thicknessVariable = variable == Variable.THICKNESS;
+
+        for (int i = 0; i < points; i++) {
+            double value = getValue(i);
+            double power = thicknessVariable ? laser.getPower() : laser.getMaxPower() * value;
+            double thickness = thicknessVariable ? value : laser.getMaterialThickness();
+
+            double penetrationVelocity = LaserCalculus.calculatePenetrationVelocity(meltable, power,
+                    focalPointArea, thickness, density, heatCapacity, latentHeat, changePhaseTemperature,
+                    vaporizationTemperature);
+            double timeToCut = thickness / penetrationVelocity;
+
+            double cuttingSpeed = (timeToCut < cuttingTimeLimit)
+                    ? LaserCalculus.calculateCuttingSpeed(power, beamDiameter, thickness, density, heatCapacity,
+                            latentHeat, changePhaseTemperature)
+                    : Double.NaN;
+
+            consumer.accept(i, value, penetrationVelocity, timeToCut, cuttingSpeed);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ResponseCurve{variable=%s, start=%f, end=%f, points=%d}",
+                variable, start, end, points);
+    }
+}
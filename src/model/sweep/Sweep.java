@@ -0,0 +1,214 @@
+/*
+ * Package location for Application sweep model concepts.
+ */
+package model.sweep;
+
+import java.util.List;
+import model.Material;
+import model.calculations.MaterialTable;
+
+/**
+ * Represents a parameter sweep: the cartesian product of the ranges of the
+ * laser and experience parameters. The points are numbered with the cutting
+ * time limit varying fastest, followed by the power factor, the thickness, the
+ * material, the focal point diameter and the wavelength.
+ *
+ * @author Daniel Gonçalves 1151452
+ * @author Eric Amaral 1141570
+ * @author Ivo Ferro 1151159
+ * @author Tiago Correia 1151031
+ */
+public class Sweep {
+
+    /**
+     * The wavelengths (m).
+     */
+    private final SweepRange wavelength;
+
+    /**
+     * The focal point diameters (m).
+     */
+    private final SweepRange focalPointDiameter;
+
+    /**
+     * The materials.
+     */
+    private final MaterialTable materials;
+
+    /**
+     * The material thicknesses (m).
+     */
+    private final SweepRange thickness;
+
+    /**
+     * The power factors.
+     */
+    private final SweepRange factor;
+
+    /**
+     * The cutting time limits (s).
+     */
+    private final SweepRange cuttingTimeLimit;
+
+    /**
+     * The number of points of the sweep.
+     */
+    private final int size;
+
+    /**
+     * Constructs a sweep.
+     *
+     * @param wavelength the wavelengths (m)
+     * @param focalPointDiameter the focal point diameters (m)
+     * @param materials the materials
+     * @param thickness the material thicknesses (m)
+     * @param factor the power factors
+     * @param cuttingTimeLimit the cutting time limits (s)
+     */
+    public Sweep(SweepRange wavelength, SweepRange focalPointDiameter, List<Material> materials,
+            SweepRange thickness, SweepRange factor, SweepRange cuttingTimeLimit) {
+
+        if (materials.isEmpty()) {
+            throw new IllegalArgumentException("A sweep needs at least one material");
+        }
+
+        this.wavelength = wavelength;
+        this.focalPointDiameter = focalPointDiameter;
+        this.materials = new MaterialTable(materials);
+        this.thickness = thickness;
+        this.factor = factor;
+        this.cuttingTimeLimit = cuttingTimeLimit;
+
+        long points = (long) wavelength.size() * focalPointDiameter.size() * materials.size()
+                * thickness.size() * factor.size() * cuttingTimeLimit.size();
+        if (points > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException(String.format("Sweep of %d points is too large", points));
+        }
+        this.size = (int) points;
+    }
+
+    /**
+     * Obtains the number of points of the sweep.
+     *
+     * @return the number of points
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Obtains the wavelengths (m).
+     *
+     * @return the wavelength range
+     */
+    public SweepRange getWavelength() {
+        return wavelength;
+    }
+
+    /**
+     * Obtains the focal point diameters (m).
+     *
+     * @return the focal point diameter range
+     */
+    public SweepRange getFocalPointDiameter() {
+        return focalPointDiameter;
+    }
+
+    /**
+     * Obtains the materials.
+     *
+     * @return the material table
+     */
+    public MaterialTable getMaterials() {
+        return materials;
+    }
+
+    /**
+     * Obtains the material thicknesses (m).
+     *
+     * @return the thickness range
+     */
+    public SweepRange getThickness() {
+        return thickness;
+    }
+
+    /**
+     * Obtains the power factors.
+     *
+     * @return the factor range
+     */
+    public SweepRange getFactor() {
+        return factor;
+    }
+
+    /**
+     * Obtains the cutting time limits (s).
+     *
+     * @return the cutting time limit range
+     */
+    public SweepRange getCuttingTimeLimit() {
+        return cuttingTimeLimit;
+    }
+
+    /**
+     * Obtains the index of the cutting time limit of a point.
+     *
+     * @param point the point of the sweep
+     * @return the index in the cutting time limit range
+     */
+    public int getCuttingTimeLimitIndex(int point) {
+        return point % cuttingTimeLimit.size();
+    }
+
+    /**
+     * Obtains the index of the power factor of a point.
+     *
+     * @param point the point of the sweep
+     * @return the index in the factor range
+     */
+    public int getFactorIndex(int point) {
+        return (point / cuttingTimeLimit.size()) % factor.size();
+    }
+
+    /**
+     * Obtains the index of the thickness of a point.
+     *
+     * @param point the point of the sweep
+     * @return the index in the thickness range
+     */
+    public int getThicknessIndex(int point) {
+        return (point / (cuttingTimeLimit.size() * factor.size())) % thickness.size();
+    }
+
+    /**
+     * Obtains the index of the material of a point.
+     *
+     * @param point the point of the sweep
+     * @return the index in the material table
+     */
+    public int getMaterialIndex(int point) {
+        return (point / (cuttingTimeLimit.size() * factor.size() * thickness.size())) % materials.size();
+    }
+
+    /**
+     * Obtains the index of the focal point diameter of a point.
+     *
+     * @param point the point of the sweep
+     * @return the index in the focal point diameter range
+     */
+    public int getFocalPointDiameterIndex(int point) {
+        return (point / (cuttingTimeLimit.size() * factor.size() * thickness.size() * materials.size()))
+                % focalPointDiameter.size();
+    }
+
+    /**
+     * Obtains the index of the wavelength of a point.
+     *
+     * @param point the point of the sweep
+     * @return the index in the wavelength range
+     */
+    public int getWavelengthIndex(int point) {
+        return point / (cuttingTimeLimit.size() * factor.size() * thickness.size() * materials.size()
+                * focalPointDiameter.size());
+    }
+}
@@ -0,0 +1,230 @@
+/*
+ * Package location for Application sweep model concepts.
+ */
+package model.sweep;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import model.calculations.CalculusBatch;
+import model.calculations.LaserCalculus;
+import model.calculations.MaterialTable;
+import model.calculations.MaximumPowerCalculus;
+import model.calculations.MeltingCalculus;
+
+/**
+ * Evaluates every point of a sweep in parallel, splitting the points in chunks
+ * that run on a fork/join pool. Each point gives the same results as an
+ * experience with the same laser calculating its penetration velocity.
+ *
+ * @author Daniel Gonçalves 1151452
+ * @author Eric Amaral 1141570
+ * @author Ivo Ferro 1151159
+ * @author Tiago Correia 1151031
+ */
+public class SweepEngine {
+
+    /**
+     * Default number of points evaluated by each chunk.
+     */
+    public final static int DEFAULT_CHUNK_SIZE = 4096;
+
+    /**
+     * The pool where the chunks run.
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * The maximum number of points evaluated by each chunk.
+     */
+    private final int chunkSize;
+
+    /**
+     * Constructs a sweep engine that runs on the common pool.
+     */
+    public SweepEngine() {
+        this(ForkJoinPool.commonPool(), DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Constructs a sweep engine.
+     *
+     * @param pool the pool where the chunks run
+     * @param chunkSize the maximum number of points evaluated by each chunk
+     */
+    public SweepEngine(ForkJoinPool pool, int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("The chunk size must be positive");
+        }
+
+        this.pool = pool;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Evaluates every point of a sweep.
+     *
+     * @param sweep the sweep to evaluate
+     * @return the results of the sweep
+     */
+    public SweepResult run(Sweep sweep) {
+        SweepResult result = new SweepResult(sweep);
+
+        pool.invoke(new SweepTask(new SweepContext(sweep), result, 0, sweep.size()));
+
+        return result;
+    }
+
+    /**
+     * The values shared by every chunk of a sweep, calculated once per laser
+     * head instead of once per point.
+     */
+    private static class SweepContext {
+
+        /**
+         * The sweep.
+         */
+        private final Sweep sweep;
+
+        /**
+         * The focal point area of each focal point diameter (m^2).
+         */
+        private final double[] focalPointArea;
+
+        /**
+         * The maximum power of each pair of wavelength and focal point
+         * diameter (W), indexed by wavelength * diameters + diameter.
+         */
+        private final double[] maxPower;
+
+        /**
+         * Constructs the context of a sweep.
+         *
+         * @param sweep the sweep
+         */
+        SweepContext(Sweep sweep) {
+            SweepRange wavelength = sweep.getWavelength();
+            SweepRange diameter = sweep.getFocalPointDiameter();
+
+            this.sweep = sweep;
+            this.focalPointArea = new double[diameter.size()];
+            this.maxPower = new double[wavelength.size() * diameter.size()];
+
+            for (int d = 0; d < diameter.size(); d++) {
+                this.focalPointArea[d] = Math.PI * Math.pow((diameter.getValue(d) / 2), 2);
+            }
+            for (int w = 0; w < wavelength.size(); w++) {
+                for (int d = 0; d < diameter.size(); d++) {
+                    this.maxPower[w * diameter.size() + d]
+                            = MaximumPowerCalculus.calculateCached(wavelength.getValue(w), focalPointArea[d]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Task that evaluates a chunk of points, splitting itself while the chunk
+     * is larger than the chunk size.
+     */
+    private class SweepTask extends RecursiveAction {
+
+        /**
+         * Serialization version.
+         */
+        private static final long serialVersionUID = 4127866113934560528L;
+
+        /**
+         * The context of the sweep.
+         */
+        private final SweepContext context;
+
+        /**
+         * Where the results are stored.
+         */
+        private final SweepResult result;
+
+        /**
+         * The first point of the chunk (inclusive).
+         */
+        private final int from;
+
+        /**
+         * The last point of the chunk (exclusive).
+         */
+        private final int to;
+
+        /**
+         * Constructs a task for a chunk of points.
+         *
+         * @param context the context of the sweep
+         * @param result where the results are stored
+         * @param from the first point of the chunk (inclusive)
+         * @param to the last point of the chunk (exclusive)
+         */
+        SweepTask(SweepContext context, SweepResult result, int from, int to) {
+            this.context = context;
+            this.result = result;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= chunkSize) {
+                evaluate();
+            } else {
+                int middle = (from + to) >>> 1;
+                invokeAll(new SweepTask(context, result, from, middle),
+                        new SweepTask(context, result, middle, to));
+            }
+        }
+
+        /**
+         * Evaluates the points of the chunk: fills a batch with their inputs,
+         * and another with the inputs of their transversal cuts, and
+         * calculates both with the calculus of the laser.
+         */
+        private void evaluate() {
+            Sweep sweep = context.sweep;
+            int diameters = sweep.getFocalPointDiameter().size();
+            int size = to - from;
+
+            double[] power = new double[size];
+            double[] focalPointArea = new double[size];
+            double[] thickness = new double[size];
+            double[] cutArea = new double[size];
+            double[] cutHeight = new double[size];
+            double[] cuttingTimeLimit = new double[size];
+            int[] material = new int[size];
+
+            for (int i = 0; i < size; i++) {
+                int point = from + i;
+                int w = sweep.getWavelengthIndex(point);
+                int d = sweep.getFocalPointDiameterIndex(point);
+                float factor = (float) sweep.getFactor().getValue(sweep.getFactorIndex(point));
+
+                power[i] = context.maxPower[w * diameters + d] * factor;
+                focalPointArea[i] = context.focalPointArea[d];
+                thickness[i] = sweep.getThickness().getValue(sweep.getThicknessIndex(point));
+                cutArea[i] = sweep.getFocalPointDiameter().getValue(d) * thickness[i];
+                cutHeight[i] = MeltingCalculus.DEFAULT_CUT;
+                cuttingTimeLimit[i] = sweep.getCuttingTimeLimit().getValue(sweep.getCuttingTimeLimitIndex(point));
+                material[i] = sweep.getMaterialIndex(point);
+            }
+
+            MaterialTable materials = sweep.getMaterials();
+            double[] penetrationVelocity = new double[size];
+            double[] cuttingSpeed = new double[size];
+            LaserCalculus.calculatePenetrationVelocity(
+                    new CalculusBatch(size, null, power, focalPointArea, thickness, material, materials),
+                    0, size, penetrationVelocity);
+            LaserCalculus.calculateCuttingSpeed(
+                    new CalculusBatch(size, null, power, cutArea, cutHeight, material, materials),
+                    0, size, cuttingSpeed);
+
+            for (int i = 0; i < size; i++) {
+                boolean cut = (thickness[i] / penetrationVelocity[i]) < cuttingTimeLimit[i];
+                result.set(from + i, penetrationVelocity[i], cut, cut ? cuttingSpeed[i] : Double.NaN);
+            }
+        }
+    }
+}
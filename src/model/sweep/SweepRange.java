@@ -0,0 +1,90 @@
+/*
+ * Package location for Application sweep model concepts.
+ */
+package model.sweep;
+
+import java.util.Arrays;
+
+/**
+ * Represents the values that a parameter takes in a sweep.
+ *
+ * @author Daniel Gonçalves 1151452
+ * @author Eric Amaral 1141570
+ * @author Ivo Ferro 1151159
+ * @author Tiago Correia 1151031
+ */
+public class SweepRange {
+
+    /**
+     * The values of the range.
+     */
+    private final double[] values;
+
+    /**
+     * Constructs a range with the given values, which are not copied.
+     *
+     * @param values the values of the range
+     */
+    private SweepRange(double[] values) {
+        if (values.length < 1) {
+            throw new IllegalArgumentException("A range needs at least one value");
+        }
+
+        this.values = values;
+    }
+
+    /**
+     * Creates a range with evenly spaced values between two limits (both
+     * included).
+     *
+     * @param start the first value
+     * @param end the last value
+     * @param steps the number of values
+     * @return the range
+     */
+    public static SweepRange linear(double start, double end, int steps) {
+        if (steps < 1) {
+            throw new IllegalArgumentException("A range needs at least one value");
+        }
+
+        double[] values = new double[steps];
+        for (int i = 0; i < steps; i++) {
+            values[i] = (steps == 1) ? start : start + (end - start) * i / (steps - 1);
+        }
+        return new SweepRange(values);
+    }
+
+    /**
+     * Creates a range with the given values.
+     *
+     * @param values the values of the range
+     * @return the range
+     */
+    public static SweepRange of(double... values) {
+        return new SweepRange(values.clone());
+    }
+
+    /**
+     * Obtains the number of values of the range.
+     *
+     * @return the number of values
+     */
+    public int size() {
+        return values.length;
+    }
+
+    /**
+     * Obtains a value of the range.
+     *
+     * @param index the index of the value
+     * @return the value
+     */
+    public double getValue(int index) {
+        return values[index];
+    }
+
+    @Override
+    public String toString() {
+        return String.format("SweepRange{values=%s}", Arrays.toString(values));
+    }
+}
@@ -0,0 +1,236 @@
+/*
+ * Package location for Application sweep model concepts.
+ */
+package model.sweep;
+
+import java.io.File;
+import java.io.IOException;
+import model.Exportable;
+import model.Material;
+import utils.HTMLWriter;
+import utils.MetricsRegistry;
+import utils.MetricsTimer;
+import utils.events.FlightRecorder;
+
+/**
+ * Represents the results of a sweep, stored in primitive arrays indexed by the
+ * sweep point.
+ *
+ * @author Daniel Gonçalves 1151452
+ * @author Eric Amaral 1141570
+ * @author Ivo Ferro 1151159
+ * @author Tiago Correia 1151031
+ */
+public class SweepResult implements Exportable {
+
+    /**
+     * Titles of the exported columns.
+     */
+    private final static String[] RESULTS_TITLES = {"Comprimento de onda (m)", "Diâmetro do ponto focal (m)",
+        "Material", "Espessura (m)", "Fator de poder", "Tempo limite (s)", "Velocidade de penetração (m/s)",
+        "Corta", "Velocidade de corte (m/s)"};
+
+    /**
+     * Timer of the HTML exports.
+     */
+    private final static MetricsTimer EXPORT_TIMER = MetricsRegistry.timer("sweep.exportHTML");
+
+    /**
+     * The evaluated sweep.
+     */
+    private final Sweep sweep;
+
+    /**
+     * The penetration velocity of each point (m/s).
+     */
+    private final double[] penetrationVelocity;
+
+    /**
+     * True if the laser cuts the material in the time limit, for each point.
+     */
+    private final boolean[] cut;
+
+    /**
+     * The transversal cutting speed of each point (m/s), NaN if it does not
+     * cut.
+     */
+    private final double[] cuttingSpeed;
+
+    /**
+     * Constructs an empty result for a sweep.
+     *
+     * @param sweep the sweep
+     */
+    SweepResult(Sweep sweep) {
+        this.sweep = sweep;
+        this.penetrationVelocity = new double[sweep.size()];
+        this.cut = new boolean[sweep.size()];
+        this.cuttingSpeed = new double[sweep.size()];
+    }
+
+    /**
+     * Stores the results of a point.
+     *
+     * @param point the point of the sweep
+     * @param penetrationVelocity the penetration velocity (m/s)
+     * @param cut true if the laser cuts the material in the time limit
+     * @param cuttingSpeed the transversal cutting speed (m/s)
+     */
+    void set(int point, double penetrationVelocity, boolean cut, double cuttingSpeed) {
+        this.penetrationVelocity[point] = penetrationVelocity;
+        this.cut[point] = cut;
+        this.cuttingSpeed[point] = cuttingSpeed;
+    }
+
+    /**
+     * Obtains the evaluated sweep.
+     *
+     * @return the sweep
+     */
+    public Sweep getSweep() {
+        return sweep;
+    }
+
+    /**
+     * Obtains the number of points.
+     *
+     * @return the number of points
+     */
+    public int size() {
+        return penetrationVelocity.length;
+    }
+
+    /**
+     * Obtains the penetration velocity of a point (m/s).
+     *
+     * @param point the point of the sweep
+     * @return the penetration velocity
+     */
+    public double getPenetrationVelocity(int point) {
+        return penetrationVelocity[point];
+    }
+
+    /**
+     * Tells if the laser cuts the material in the time limit, for a point.
+     *
+     * @param point the point of the sweep
+     * @return true if it cuts, false otherwise
+     */
+    public boolean isCut(int point) {
+        return cut[point];
+    }
+
+    /**
+     * Obtains the transversal cutting speed of a point (m/s).
+     *
+     * @param point the point of the sweep
+     * @return the cutting speed, or NaN if the laser does not cut
+     */
+    public double getCuttingSpeed(int point) {
+        return cuttingSpeed[point];
+    }
+
+    /**
+     * Obtains the wavelength of a point (m).
+     *
+     * @param point the point of the sweep
+     * @return the wavelength
+     */
+    public double getWavelength(int point) {
+        return sweep.getWavelength().getValue(sweep.getWavelengthIndex(point));
+    }
+
+    /**
+     * Obtains the focal point diameter of a point (m).
+     *
+     * @param point the point of the sweep
+     * @return the focal point diameter
+     */
+    public double getFocalPointDiameter(int point) {
+        return sweep.getFocalPointDiameter().getValue(sweep.getFocalPointDiameterIndex(point));
+    }
+
+    /**
+     * Obtains the material of a point.
+     *
+     * @param point the point of the sweep
+     * @return the material
+     */
+    public Material getMaterial(int point) {
+        return sweep.getMaterials().getMaterial(sweep.getMaterialIndex(point));
+    }
+
+    /**
+     * Obtains the material thickness of a point (m).
+     *
+     * @param point the point of the sweep
+     * @return the thickness
+     */
+    public double getThickness(int point) {
+        return sweep.getThickness().getValue(sweep.getThicknessIndex(point));
+    }
+
+    /**
+     * Obtains the power factor of a point.
+     *
+     * @param point the point of the sweep
+     * @return the factor
+     */
+    public float getFactor(int point) {
+        return (float) sweep.getFactor().getValue(sweep.getFactorIndex(point));
+    }
+
+    /**
+     * Obtains the cutting time limit of a point (s).
+     *
+     * @param point the point of the sweep
+     * @return the cutting time limit
+     */
+    public double getCuttingTimeLimit(int point) {
+        return sweep.getCuttingTimeLimit().getValue(sweep.getCuttingTimeLimitIndex(point));
+    }
+
+    /**
+     * Exports the results to a HTML file, writing one line per point as it
+     * goes.
+     *
+     * @param file the destination file
+     * @throws IOException if the file cannot be written
+     */
+    @Override
+    public void exportHTML(File file) throws IOException {
+        long start = MetricsRegistry.ENABLED ? System.nanoTime() : 0L;
+        Object event = FlightRecorder.begin(FlightRecorder.Type.HTML_EXPORT);
+
+        try (HTMLWriter out = HTMLWriter.open(file)) {
+            out.pageStart("Resultados do varrimento");
+            out.header("Resultados do varrimento:");
+            out.startTable();
+            out.insertTableHeaders(RESULTS_TITLES);
+
+            for (int point = 0; point < size(); point++) {
+                out.startRow();
+                out.cell(getWavelength(point));
+                out.cell(getFocalPointDiameter(point));
+                out.cell(getMaterial(point).getName());
+                out.cell(getThickness(point));
+                out.cell(getFactor(point));
+                out.cell(getCuttingTimeLimit(point));
+                out.cell(getPenetrationVelocity(point));
+                out.cell(isCut(point));
+                out.cell(getCuttingSpeed(point));
+                out.endRow();
+            }
+
+            out.closeTable();
+            out.pageCloseWithDate();
+        } finally {
+            if (MetricsRegistry.ENABLED) {
+                EXPORT_TIMER.recordSince(start);
+            }
+            if (FlightRecorder.shouldCommit(event)) {
+                FlightRecorder.commitHTMLExport(event, "sweep", file.getPath(), size());
+            }
+        }
+    }
+}
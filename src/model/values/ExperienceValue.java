@@ -0,0 +1,147 @@
+/*
+ * Package location for Application immutable model values.
+ */
+package model.values;
+
+/**
+ * Represents the immutable results of an experience, stored in primitive
+ * fields.
+ *
+ * @author Daniel Gonçalves 1151452
+ * @author Eric Amaral 1141570
+ * @author Ivo Ferro 1151159
+ * @author Tiago Correia 1151031
+ */
+public final class ExperienceValue {
+
+    /**
+     * Laser used for the experience.
+     */
+    private final LaserValue laser;
+
+    /**
+     * Time limit to cut material (s).
+     */
+    private final double cuttingTimeLimit;
+
+    /**
+     * Penetration velocity (m/s).
+     */
+    private final double penetrationVelocity;
+
+    /**
+     * True if material is cut in the time limit, false otherwise.
+     */
+    private final boolean cut;
+
+    /**
+     * Transversal cutting speed (m/s), NaN if the material is not cut.
+     */
+    private final double cuttingSpeed;
+
+    /**
+     * Constructs an experience value.
+     *
+     * @param laser laser used for the experience
+     * @param cuttingTimeLimit time limit to cut material (s)
+     * @param penetrationVelocity penetration velocity (m/s)
+     * @param cut true if material is cut in the time limit
+     * @param cuttingSpeed transversal cutting speed (m/s), NaN if not cut
+     */
+    public ExperienceValue(LaserValue laser, double cuttingTimeLimit, double penetrationVelocity,
+            boolean cut, double cuttingSpeed) {
+        this.laser = laser;
+        this.cuttingTimeLimit = cuttingTimeLimit;
+        this.penetrationVelocity = penetrationVelocity;
+        this.cut = cut;
+        this.cuttingSpeed = cuttingSpeed;
+    }
+
+    /**
+     * Obtains the laser used for the experience.
+     *
+     * @return the laser
+     */
+    public LaserValue getLaser() {
+        return laser;
+    }
+
+    /**
+     * Obtains the time limit to cut material (s).
+     *
+     * @return the cutting time limit
+     */
+    public double getCuttingTimeLimit() {
+        return cuttingTimeLimit;
+    }
+
+    /**
+     * Obtains the penetration velocity (m/s).
+     *
+     * @return the penetration velocity
+     */
+    public double getPenetrationVelocity() {
+        return penetrationVelocity;
+    }
+
+    /**
+     * Obtains the time needed to cut through the material (s).
+     *
+     * @return the time to cut
+     */
+    public double getTimeToCut() {
+        return laser.getMaterialThickness() / penetrationVelocity;
+    }
+
+    /**
+     * True if material is cut in the time limit, false otherwise.
+     *
+     * @return true if material is cut, false otherwise
+     */
+    public boolean isCut() {
+        return cut;
+    }
+
+    /**
+     * Obtains the transversal cutting speed (m/s).
+     *
+     * @return the cutting speed, NaN if the material is not cut
+     */
+    public double getCuttingSpeed() {
+        return cuttingSpeed;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 7;
+        hash = 41 * hash + laser.hashCode();
+        hash = 41 * hash + Double.hashCode(cuttingTimeLimit);
+        hash = 41 * hash + (cut ? 1 : 0);
+        return hash;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+
+        final ExperienceValue other = (ExperienceValue) obj;
+
+        return this.laser.equals(other.laser)
+                && Double.compare(this.cuttingTimeLimit, other.cuttingTimeLimit) == 0
+                && Double.compare(this.penetrationVelocity, other.penetrationVelocity) == 0
+                && this.cut == other.cut
+                && Double.compare(this.cuttingSpeed, other.cuttingSpeed) == 0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ExperienceValue{cuttingTimeLimit=%f, penetrationVelocity=%e, cuts=%s, "
+                + "cuttingSpeed=%e, laser=%s}", cuttingTimeLimit, penetrationVelocity, cut ? "yes" : "no",
+                cuttingSpeed, laser);
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Package location for Application immutable model values.
+ */
+package model.values;
+
+/**
+ * Represents the immutable properties of a gas, stored in primitive fields.
+ *
+ * @author Daniel Gonçalves 1151452
+ * @author Eric Amaral 1141570
+ * @author Ivo Ferro 1151159
+ * @author Tiago Correia 1151031
+ */
+public final class GasValue {
+
+    /**
+     * The name of the gas.
+     */
+    private final String name;
+
+    /**
+     * The minimum wavelength (m).
+     */
+    private final double minWavelength;
+
+    /**
+     * The maximum wavelength (m).
+     */
+    private final double maxWavelength;
+
+    /**
+     * Constructs a gas value.
+     *
+     * @param name the name of the gas
+     * @param minWavelength the minimum wavelength (m)
+     * @param maxWavelength the maximum wavelength (m)
+     */
+    public GasValue(String name, double minWavelength, double maxWavelength) {
+        this.name = name;
+        this.minWavelength = minWavelength;
+        this.maxWavelength = maxWavelength;
+    }
+
+    /**
+     * Gets the name of the gas.
+     *
+     * @return the name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Gets the minimum wavelength (m).
+     *
+     * @return the minimum wavelength
+     */
+    public double getMinWavelength() {
+        return minWavelength;
+    }
+
+    /**
+     * Gets the maximum wavelength (m).
+     *
+     * @return the maximum wavelength
+     */
+    public double getMaxWavelength() {
+        return maxWavelength;
+    }
+
+    /**
+     * Verify if wavelength is compatible with this gas.
+     *
+     * @param wavelength wavelength to verify
+     * @return true if the wavelength lies in the allowed range, false otherwise
+     */
+    public boolean isCompatible(double wavelength) {
+        return wavelength >= minWavelength && wavelength <= maxWavelength;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 5;
+        hash = 19 * hash + name.hashCode();
+        hash = 19 * hash + Double.hashCode(maxWavelength);
+        hash = 19 * hash + Double.hashCode(minWavelength);
+        return hash;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+
+        final GasValue other = (GasValue) obj;
+
+        return this.name.equals(other.name)
+                && Double.compare(this.minWavelength, other.minWavelength) == 0
+                && Double.compare(this.maxWavelength, other.maxWavelength) == 0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("GasValue{name=%s, maxWavelength=%f, minWavelength=%f}",
+                name, maxWavelength, minWavelength);
+    }
+}
@@ -0,0 +1,274 @@
+/*
+ * Package location for Application immutable model values.
+ */
+package model.values;
+
+import model.calculations.LaserCalculus;
+import model.calculations.MaximumPowerCalculus;
+
+/**
+ * Represents an immutable laser configuration, stored in primitive fields.
+ * Changing the power factor creates a new value.
+ *
+ * @author Daniel Gonçalves 1151452
+ * @author Eric Amaral 1141570
+ * @author Ivo Ferro 1151159
+ * @author Tiago Correia 1151031
+ */
+public final class LaserValue {
+
+    /**
+     * Selected wavelength (m).
+     */
+    private final double wavelength;
+
+    /**
+     * Selected gas.
+     */
+    private final GasValue gas;
+
+    /**
+     * Diameter of the laser beam (m).
+     */
+    private final double beamDiameter;
+
+    /**
+     * Area of selected focal point (m^2).
+     */
+    private final double focalPointArea;
+
+    /**
+     * Laser's max power (W).
+     */
+    private final double maxPower;
+
+    /**
+     * Power factor (ex. half of max power 0.5).
+     */
+    private final float factor;
+
+    /**
+     * Selected material.
+     */
+    private final MaterialValue material;
+
+    /**
+     * Material thickness (m).
+     */
+    private final double materialThickness;
+
+    /**
+     * Default power factor.
+     */
+    public final static float DEFAULT_FACTOR = 1.0f;
+
+    /**
+     * Constructs a laser value at full power, calculating the focal point
+     * area and the maximum power.
+     *
+     * @param wavelength selected wavelength (m)
+     * @param gas selected gas
+     * @param focalPointDiameter selected focal point diameter (m)
+     * @param material selected material
+     * @param materialThickness material's thickness (m)
+     */
+    public LaserValue(double wavelength, GasValue gas, double focalPointDiameter, MaterialValue material,
+            double materialThickness) {
+        this(wavelength, gas, focalPointDiameter, Math.PI * Math.pow((focalPointDiameter / 2), 2),
+                Double.NaN, DEFAULT_FACTOR, material, materialThickness);
+    }
+
+    /**
+     * Constructs a laser value with every property given.
+     *
+     * @param wavelength selected wavelength (m)
+     * @param gas selected gas
+     * @param beamDiameter diameter of the laser beam (m)
+     * @param focalPointArea area of the focal point (m^2)
+     * @param maxPower laser's max power (W), or NaN to calculate it
+     * @param factor power factor
+     * @param material selected material
+     * @param materialThickness material's thickness (m)
+     */
+    public LaserValue(double wavelength, GasValue gas, double beamDiameter, double focalPointArea,
+            double maxPower, float factor, MaterialValue material, double materialThickness) {
+        this.wavelength = wavelength;
+        this.gas = gas;
+        this.beamDiameter = beamDiameter;
+        this.focalPointArea = focalPointArea;
+        this.maxPower = Double.isNaN(maxPower)
+                ? MaximumPowerCalculus.calculateCached(wavelength, focalPointArea) : maxPower;
+        this.factor = factor;
+        this.material = material;
+        this.materialThickness = materialThickness;
+    }
+
+    /**
+     * Obtains a copy of this laser with another power factor.
+     *
+     * @param factor the new power factor
+     * @return the laser with the new factor
+     */
+    public LaserValue withFactor(float factor) {
+        return new LaserValue(wavelength, gas, beamDiameter, focalPointArea, maxPower, factor,
+                material, materialThickness);
+    }
+
+    /**
+     * Obtains the laser's wavelength (m).
+     *
+     * @return the wavelength
+     */
+    public double getWavelength() {
+        return wavelength;
+    }
+
+    /**
+     * Obtains the selected gas.
+     *
+     * @return the gas
+     */
+    public GasValue getGas() {
+        return gas;
+    }
+
+    /**
+     * Obtains the diameter of the laser beam (m).
+     *
+     * @return the beam diameter
+     */
+    public double getBeamDiameter() {
+        return beamDiameter;
+    }
+
+    /**
+     * Obtains the area of the focal point (m^2).
+     *
+     * @return the focal point area
+     */
+    public double getFocalPointArea() {
+        return focalPointArea;
+    }
+
+    /**
+     * Obtains the laser's max power (W).
+     *
+     * @return the max power
+     */
+    public double getMaxPower() {
+        return maxPower;
+    }
+
+    /**
+     * Obtains the power factor.
+     *
+     * @return the factor
+     */
+    public float getFactor() {
+        return factor;
+    }
+
+    /**
+     * Obtains the emitted power: the max power times the factor (W).
+     *
+     * @return the emitted power
+     */
+    public double getPower() {
+        return maxPower * factor;
+    }
+
+    /**
+     * Obtains the selected material.
+     *
+     * @return the material
+     */
+    public MaterialValue getMaterial() {
+        return material;
+    }
+
+    /**
+     * Obtains the material thickness (m).
+     *
+     * @return the material thickness
+     */
+    public double getMaterialThickness() {
+        return materialThickness;
+    }
+
+    /**
+     * Calculates the penetration velocity, with the melting calculus for
+     * meltable materials and the vaporisation calculus otherwise.
+     *
+     * @return the penetration velocity (m/s)
+     */
+    public double calculatePenetrationVelocity() {
+        return LaserCalculus.calculatePenetrationVelocity(material.isMeltable(), getPower(), focalPointArea,
+                materialThickness, material.getDensity(), material.getHeatCapacity(), material.getLatentHeat(),
+                material.getChangePhaseTemperature(), material.getVaporizationTemperature());
+    }
+
+    /**
+     * Calculates the transversal cutting speed, melting an area of the beam
+     * diameter times the material thickness.
+     *
+     * @return the cutting speed (m/s)
+     */
+    public double calculateCuttingSpeed() {
+        return LaserCalculus.calculateCuttingSpeed(getPower(), beamDiameter, materialThickness,
+                material.getDensity(), material.getHeatCapacity(), material.getLatentHeat(),
+                material.getChangePhaseTemperature());
+    }
+
+    /**
+     * Evaluates an experience with this laser.
+     *
+     * @param cuttingTimeLimit time limit to cut the material (s)
+     * @return the results of the experience
+     */
+    public ExperienceValue evaluate(double cuttingTimeLimit) {
+        double penetrationVelocity = calculatePenetrationVelocity();
+        boolean cut = (materialThickness / penetrationVelocity) < cuttingTimeLimit;
+        double cuttingSpeed = cut ? calculateCuttingSpeed() : Double.NaN;
+
+        return new ExperienceValue(this, cuttingTimeLimit, penetrationVelocity, cut, cuttingSpeed);
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 5;
+        hash = 97 * hash + Double.hashCode(wavelength);
+        hash = 97 * hash + ((gas == null) ? 0 : gas.hashCode());
+        hash = 97 * hash + Double.hashCode(focalPointArea);
+        hash = 97 * hash + Float.hashCode(factor);
+        hash = 97 * hash + ((material == null) ? 0 : material.hashCode());
+        hash = 97 * hash + Double.hashCode(materialThickness);
+        return hash;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+
+        final LaserValue other = (LaserValue) obj;
+
+        return Double.compare(this.wavelength, other.wavelength) == 0
+                && Double.compare(this.beamDiameter, other.beamDiameter) == 0
+                && Double.compare(this.focalPointArea, other.focalPointArea) == 0
+                && Double.compare(this.maxPower, other.maxPower) == 0
+                && Float.compare(this.factor, other.factor) == 0
+                && Double.compare(this.materialThickness, other.materialThickness) == 0
+                && (this.gas == null ? other.gas == null : this.gas.equals(other.gas))
+                && (this.material == null ? other.material == null : this.material.equals(other.material));
+    }
+
+    @Override
+    public String toString() {
+        return String.format("LaserValue{wavelength=%e, gas=%s, focalPointArea=%e, factor=%.2f, material=%s, "
+                + "materialThickness=%e}", wavelength, gas, focalPointArea, factor, material, materialThickness);
+    }
+}
@@ -0,0 +1,197 @@
+/*
+ * Package location for Application immutable model values.
+ */
+package model.values;
+
+/**
+ * Represents the immutable properties of a solid material, stored in primitive
+ * fields.
+ *
+ * @author Daniel Gonçalves 1151452
+ * @author Eric Amaral 1141570
+ * @author Ivo Ferro 1151159
+ * @author Tiago Correia 1151031
+ */
+public final class MaterialValue {
+
+    /**
+     * Material name.
+     */
+    private final String name;
+
+    /**
+     * The latent heat necessary to melt or evaporise (J/Kg).
+     */
+    private final double latentHeat;
+
+    /**
+     * The material's heat capacity (J/(KgºC)).
+     */
+    private final double heatCapacity;
+
+    /**
+     * The material's density (kg/m^3).
+     */
+    private final double density;
+
+    /**
+     * The material's vaporization temperature (ºC).
+     */
+    private final double vaporizationTemperature;
+
+    /**
+     * The material's fusion temperature (ºC), NaN if it has none.
+     */
+    private final double fusionTemperature;
+
+    /**
+     * Tells if the material can melt.
+     */
+    private final boolean meltable;
+
+    /**
+     * Constructs a material value.
+     *
+     * @param name the material's name
+     * @param latentHeat the material's latent heat (J/Kg)
+     * @param heatCapacity the material's heat capacity (J/(KgºC))
+     * @param density the material's density (kg/m^3)
+     * @param vaporizationTemperature the material's vaporization temperature
+     * (ºC)
+     * @param fusionTemperature the material's fusion temperature (ºC), NaN if
+     * it has none
+     * @param meltable tells if the material is either meltable or not
+     */
+    public MaterialValue(String name, double latentHeat, double heatCapacity, double density,
+            double vaporizationTemperature, double fusionTemperature, boolean meltable) {
+        this.name = name;
+        this.latentHeat = latentHeat;
+        this.heatCapacity = heatCapacity;
+        this.density = density;
+        this.vaporizationTemperature = vaporizationTemperature;
+        this.fusionTemperature = fusionTemperature;
+        this.meltable = meltable;
+    }
+
+    /**
+     * Gets the material's name.
+     *
+     * @return the name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Gets the latent heat (J/Kg).
+     *
+     * @return the latent heat
+     */
+    public double getLatentHeat() {
+        return latentHeat;
+    }
+
+    /**
+     * Gets the heat capacity (J/(KgºC)).
+     *
+     * @return the heat capacity
+     */
+    public double getHeatCapacity() {
+        return heatCapacity;
+    }
+
+    /**
+     * Gets the density (kg/m^3).
+     *
+     * @return the density
+     */
+    public double getDensity() {
+        return density;
+    }
+
+    /**
+     * Gets the vaporization temperature (ºC).
+     *
+     * @return the vaporization temperature
+     */
+    public double getVaporizationTemperature() {
+        return vaporizationTemperature;
+    }
+
+    /**
+     * Gets the fusion temperature (ºC).
+     *
+     * @return the fusion temperature, NaN if the material has none
+     */
+    public double getFusionTemperature() {
+        return fusionTemperature;
+    }
+
+    /**
+     * Tells if the material has a fusion temperature.
+     *
+     * @return true if it has a fusion temperature, false otherwise
+     */
+    public boolean hasFusionTemperature() {
+        return !Double.isNaN(fusionTemperature);
+    }
+
+    /**
+     * Gets the temperature where the material changes phase: the fusion
+     * temperature, or the vaporization temperature if it has none.
+     *
+     * @return the change phase temperature (ºC)
+     */
+    public double getChangePhaseTemperature() {
+        return hasFusionTemperature() ? fusionTemperature : vaporizationTemperature;
+    }
+
+    /**
+     * Gets the meltable state.
+     *
+     * @return true if the material is meltable, false otherwise
+     */
+    public boolean isMeltable() {
+        return meltable;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 7;
+        hash = 47 * hash + name.hashCode();
+        hash = 47 * hash + Double.hashCode(latentHeat);
+        hash = 47 * hash + Double.hashCode(heatCapacity);
+        hash = 47 * hash + Double.hashCode(density);
+        hash = 47 * hash + Double.hashCode(vaporizationTemperature);
+        hash = 47 * hash + Double.hashCode(fusionTemperature);
+        hash = 47 * hash + (meltable ? 1 : 0);
+        return hash;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+
+        final MaterialValue other = (MaterialValue) obj;
+
+        return this.name.equals(other.name)
+                && Double.compare(this.latentHeat, other.latentHeat) == 0
+                && Double.compare(this.heatCapacity, other.heatCapacity) == 0
+                && Double.compare(this.density, other.density) == 0
+                && Double.compare(this.vaporizationTemperature, other.vaporizationTemperature) == 0
+                && Double.compare(this.fusionTemperature, other.fusionTemperature) == 0
+                && this.meltable == other.meltable;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("MaterialValue{name=%s, meltable=%s, latentHeat=%f, heatCapacity=%f, "
+                + "density=%f, fusionTemperature=%f, vaporizationTemperature=%f}",
+                name, meltable, latentHeat, heatCapacity, density, fusionTemperature, vaporizationTemperature);
+    }
+}
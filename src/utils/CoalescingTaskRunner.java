@@ -0,0 +1,150 @@
+/*
+ * Package location for Utils concepts.
+ */
+package utils;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import javax.swing.SwingUtilities;
+
+/**
+ * Runs tasks in a background thread, keeping only the newest one: a task that
+ * is submitted while another waits replaces it, and the result (or the error)
+ * of a task is published in the event dispatch thread only if no newer task
+ * was submitted meanwhile.
+ *
+ * @author Daniel Gonçalves 1151452
+ * @author Eric Amaral 1141570
+ * @author Ivo Ferro 1151159
+ * @author Tiago Correia 1151031
+ */
+public class CoalescingTaskRunner {
+
+    /**
+     * The background thread.
+     */
+    private final ExecutorService executor;
+
+    /**
+     * The generation of the newest submitted task.
+     */
+    private final AtomicLong generation;
+
+    /**
+     * The task waiting to run, if any.
+     */
+    private final AtomicReference<Runnable> pending;
+
+    /**
+     * If the background thread is scheduled to run the waiting tasks.
+     */
+    private final AtomicBoolean scheduled;
+
+    /**
+     * Constructs a coalescing task runner.
+     *
+     * @param name the name of the background thread
+     */
+    public CoalescingTaskRunner(final String name) {
+        this.executor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, name);
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        this.generation = new AtomicLong();
+        this.pending = new AtomicReference<>();
+        this.scheduled = new AtomicBoolean();
+    }
+
+    /**
+     * Submits a task, discarding the task that waits to run (if any).
+     *
+     * @param <T> the type of the result
+     * @param task the task to run in the background thread
+     * @param publisher the consumer of the result, called in the event dispatch
+     * thread if the task is still the newest one
+     * @param errorHandler the consumer of the exception thrown by the task,
+     * called in the event dispatch thread if the task is still the newest one
+     */
+    public <T> void submit(final Callable<T> task, final Consumer<T> publisher,
+            final Consumer<Exception> errorHandler) {
+        final long taskGeneration = generation.incrementAndGet();
+
+        pending.set(new Runnable() {
+            @Override
+            public void run() {
+                if (generation.get() != taskGeneration) {
+                    return;
+                }
+
+                final T result;
+                try {
+                    result = task.call();
+                } catch (final Exception ex) {
+                    SwingUtilities.invokeLater(new Runnable() {
+                        @Override
+                        public void run() {
+                            if (generation.get() == taskGeneration) {
+                                errorHandler.accept(ex);
+                            }
+                        }
+                    });
+                    return;
+                }
+
+                SwingUtilities.invokeLater(new Runnable() {
+                    @Override
+                    public void run() {
+                        if (generation.get() == taskGeneration) {
+                            publisher.accept(result);
+                        }
+                    }
+                });
+            }
+        });
+
+        if (scheduled.compareAndSet(false, true)) {
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    drain();
+                }
+            });
+        }
+    }
+
+    /**
+     * Discards the waiting task and the results not yet published.
+     */
+    public void cancel() {
+        generation.incrementAndGet();
+        pending.set(null);
+    }
+
+    /**
+     * Runs the waiting tasks until there are none left.
+     */
+    private void drain() {
+        while (true) {
+            Runnable task = pending.getAndSet(null);
+            if (task != null) {
+                task.run();
+                continue;
+            }
+
+            scheduled.set(false);
+            if (pending.get() == null || !scheduled.compareAndSet(false, true)) {
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,289 @@
+/*
+ * Package location for Utils concepts.
+ */
+package utils;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import model.Curiosity;
+import model.CuriosityRepository;
+
+/**
+ * Curiosity repository stored in a file, whose curiosities are read only when
+ * they are obtained. Only the offsets of the curiosities and a small cache of
+ * the recently read ones are kept in memory.
+ *
+ * The file starts with a header (magic number, version and number of
+ * curiosities), followed by the offset index (the offset of each curiosity in
+ * the file, and the end of the last one) and the UTF-8 texts of the
+ * curiosities. The file is written to a temporary file that is renamed over
+ * it, so it is never left incomplete.
+ *
+ * @author Eric Amaral 1141570
+ * @author Daniel Gonçalves 1151452
+ * @author Ivo Ferro 1151159
+ * @author Tiago Correia 1151031
+ */
+public class CuriosityPack implements CuriosityRepository, Closeable {
+
+    /**
+     * Name of the default curiosity pack file.
+     */
+    public static final String DEFAULT_FILE_NAME = "Curiosities.pack";
+
+    /**
+     * Default number of curiosities kept in the cache.
+     */
+    public static final int DEFAULT_CACHE_CAPACITY = 16;
+
+    /**
+     * Magic number that identifies the format ("LCC1").
+     */
+    public static final int MAGIC = 0x4C434331;
+
+    /**
+     * Current version of the format.
+     */
+    public static final short VERSION = 1;
+
+    /**
+     * Size of the header (bytes).
+     */
+    private static final int HEADER_SIZE = 10;
+
+    /**
+     * The channel of the pack file.
+     */
+    private final FileChannel channel;
+
+    /**
+     * The offset of each curiosity, and the end of the last one.
+     */
+    private final long[] offsets;
+
+    /**
+     * The recently read curiosities, by index, in access order.
+     */
+    private final Map<Integer, Curiosity> cache;
+
+    /**
+     * Opens a curiosity pack file.
+     *
+     * @param file the pack file
+     * @throws IOException if the file cannot be opened or is not valid
+     */
+    public CuriosityPack(Path file) throws IOException {
+        this(file, DEFAULT_CACHE_CAPACITY);
+    }
+
+    /**
+     * Opens a curiosity pack file.
+     *
+     * @param file the pack file
+     * @param cacheCapacity number of curiosities kept in the cache
+     * @throws IOException if the file cannot be opened or is not valid
+     */
+    public CuriosityPack(Path file, final int cacheCapacity) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            readFully(header, 0);
+            if (header.getInt(0) != MAGIC) {
+                throw new IOException("Not a curiosity pack");
+            }
+            if (header.getShort(4) != VERSION) {
+                throw new IOException("Unsupported curiosity pack version: " + header.getShort(4));
+            }
+            int count = header.getInt(6);
+            long size = channel.size();
+            if (count < 0 || HEADER_SIZE + (count + 1L) * 8 > size) {
+                throw new IOException("Invalid curiosity pack header");
+            }
+
+            ByteBuffer index = ByteBuffer.allocate((count + 1) * 8);
+            readFully(index, HEADER_SIZE);
+            index.flip();
+            this.offsets = new long[count + 1];
+            index.asLongBuffer().get(offsets);
+            for (int i = 0; i < count; i++) {
+                if (offsets[i] > offsets[i + 1] || offsets[i + 1] - offsets[i] > Integer.MAX_VALUE) {
+                    throw new IOException("Invalid curiosity pack index");
+                }
+            }
+            if (offsets[count] > size) {
+                throw new IOException("Unexpected end of curiosity pack");
+            }
+        } catch (IOException ex) {
+            channel.close();
+            throw ex;
+        }
+
+        this.cache = new LinkedHashMap<Integer, Curiosity>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Curiosity> eldest) {
+                return size() > cacheCapacity;
+            }
+        };
+    }
+
+    /**
+     * Writes a curiosity pack file, replacing it if it exists: the pack is
+     * written to a temporary file, forced to the disk and renamed over the
+     * file.
+     *
+     * @param file the pack file
+     * @param curiosities the curiosities
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(Path file, Collection<Curiosity> curiosities) throws IOException {
+        List<byte[]> texts = new ArrayList<>(curiosities.size());
+        for (Curiosity curiosity : curiosities) {
+            String text = curiosity.getCuriosityString();
+            texts.add((text == null ? "" : text).getBytes(StandardCharsets.UTF_8));
+        }
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE + (texts.size() + 1) * 8);
+        header.putInt(MAGIC).putShort(VERSION).putInt(texts.size());
+        long offset = header.capacity();
+        for (byte[] text : texts) {
+            header.putLong(offset);
+            offset += text.length;
+        }
+        header.putLong(offset);
+        header.flip();
+
+        Path temporary = file.resolveSibling(file.getFileName() + SimulatorFileLoader.TEMPORARY_SUFFIX);
+        try (FileChannel out = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            while (header.hasRemaining()) {
+                out.write(header);
+            }
+            for (byte[] text : texts) {
+                ByteBuffer body = ByteBuffer.wrap(text);
+                while (body.hasRemaining()) {
+                    out.write(body);
+                }
+            }
+            out.force(true);
+        } catch (IOException ex) {
+            Files.deleteIfExists(temporary);
+            throw ex;
+        }
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        SimulatorFileLoader.forceDirectory(file);
+    }
+
+    /**
+     * Verifies if the pack has every given curiosity. The curiosities of the
+     * file are read (without the cache) only if their length, known from the
+     * offset index, is the length of a curiosity still to find, and until
+     * every curiosity is found.
+     *
+     * @param curiosities the curiosities
+     * @return true if the pack has all of them, false otherwise
+     * @throws IOException if the file cannot be read
+     */
+    public synchronized boolean containsAll(Collection<Curiosity> curiosities) throws IOException {
+        if (curiosities.isEmpty()) {
+            return true;
+        }
+
+        Map<Integer, Set<String>> missing = new HashMap<>();
+        for (Curiosity curiosity : curiosities) {
+            String text = (curiosity.getCuriosityString() == null) ? "" : curiosity.getCuriosityString();
+            int length = text.getBytes(StandardCharsets.UTF_8).length;
+            Set<String> texts = missing.get(length);
+            if (texts == null) {
+                texts = new HashSet<>();
+                missing.put(length, texts);
+            }
+            texts.add(text);
+        }
+
+        for (int i = 0; i < size() && !missing.isEmpty(); i++) {
+            int length = (int) (offsets[i + 1] - offsets[i]);
+            Set<String> texts = missing.get(length);
+            if (texts == null) {
+                continue;
+            }
+
+            ByteBuffer text = ByteBuffer.allocate(length);
+            readFully(text, offsets[i]);
+            if (texts.remove(new String(text.array(), StandardCharsets.UTF_8)) && texts.isEmpty()) {
+                missing.remove(length);
+            }
+        }
+        return missing.isEmpty();
+    }
+
+    @Override
+    public int size() {
+        return offsets.length - 1;
+    }
+
+    /**
+     * Obtains a curiosity, reading it from the file if it is not in the
+     * cache.
+     *
+     * @param index the index of the curiosity, between 0 and size() - 1
+     * @return the curiosity
+     */
+    @Override
+    public synchronized Curiosity get(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Curiosity " + index + " of " + size());
+        }
+
+        Curiosity curiosity = cache.get(index);
+        if (curiosity == null) {
+            ByteBuffer text = ByteBuffer.allocate((int) (offsets[index + 1] - offsets[index]));
+            try {
+                readFully(text, offsets[index]);
+            } catch (IOException ex) {
+                throw new IllegalStateException("Cannot read the curiosity " + index, ex);
+            }
+            curiosity = new Curiosity(new String(text.array(), StandardCharsets.UTF_8));
+            cache.put(index, curiosity);
+        }
+        return curiosity;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Reads bytes from the pack until the buffer is full.
+     *
+     * @param buffer the buffer
+     * @param position the position in the file
+     * @throws IOException if the file cannot be read
+     */
+    private void readFully(ByteBuffer buffer, long position) throws IOException {
+        long offset = position;
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, offset);
+            if (read < 0) {
+                throw new EOFException("Unexpected end of curiosity pack");
+            }
+            offset += read;
+        }
+    }
+}
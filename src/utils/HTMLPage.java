@@ -163,7 +163,7 @@ public class HTMLPage {
      * Adds layouts to the content of the page.
      *
      */
-    private static String insertTableStyle() {
+    static String insertTableStyle() {
         return "<style>\ntable, p {\n  "
                 + "font-family: arial, sans-serif;\n"
                 + "     border-collapse: collapse;\n"
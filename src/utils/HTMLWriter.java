@@ -0,0 +1,327 @@
+/*
+ * Package location for Utils concepts.
+ */
+package utils;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.Calendar;
+
+/**
+ * Class that writes a HTML page directly to a writer, element by element, so
+ * pages of any size are written in constant memory. Text content is escaped.
+ *
+ * @author Eric Amaral 1141570
+ * @author Daniel Gonçalves 1151452
+ * @author Ivo Ferro 1151159
+ * @author Tiago Correia 1151031
+ */
+public class HTMLWriter implements Closeable {
+
+    /**
+     * Size of the buffer of the files.
+     */
+    private final static int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * The destination of the page.
+     */
+    private final Writer out;
+
+    /**
+     * Reusable buffer to format numbers.
+     */
+    private final StringBuilder number;
+
+    /**
+     * Reusable buffer to write formatted numbers.
+     */
+    private final char[] numberChars;
+
+    /**
+     * Creates a HTML writer.
+     *
+     * @param out the destination of the page (should be buffered)
+     */
+    public HTMLWriter(Writer out) {
+        this.out = out;
+        this.number = new StringBuilder(32);
+        this.numberChars = new char[32];
+    }
+
+    /**
+     * Creates a HTML writer to a file, in UTF-8.
+     *
+     * @param file the destination file, created or truncated
+     * @return the HTML writer
+     * @throws IOException if the file cannot be opened
+     */
+    public static HTMLWriter open(File file) throws IOException {
+        FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+
+        return new HTMLWriter(new BufferedWriter(
+                new OutputStreamWriter(Channels.newOutputStream(channel), StandardCharsets.UTF_8), BUFFER_SIZE));
+    }
+
+    /**
+     * Starts the HTML page.
+     *
+     * @param title - title of the page
+     * @throws IOException if the page cannot be written
+     */
+    public void pageStart(String title) throws IOException {
+        out.write("<!DOCTYPE html>\n<html>\n<head>\n<meta charset='utf-8'>\n<title>");
+        text(title);
+        out.write("</title>\n");
+        out.write(HTMLPage.insertTableStyle());
+        out.write("</head>\n<body>\n");
+    }
+
+    /**
+     * Closes the page.
+     *
+     * @throws IOException if the page cannot be written
+     */
+    public void pageClose() throws IOException {
+        out.write("</body>\n</html>");
+    }
+
+    /**
+     * Closes the page adding a final paragraph with current date.
+     *
+     * @throws IOException if the page cannot be written
+     */
+    public void pageCloseWithDate() throws IOException {
+        Calendar today = Calendar.getInstance();
+        int day = today.get(Calendar.DAY_OF_MONTH);
+        int month = today.get(Calendar.MONTH) + 1;
+        int year = today.get(Calendar.YEAR);
+
+        paragraph("Data: " + day + "/" + month + "/" + year);
+        pageClose();
+    }
+
+    /**
+     * Creates a paragraph in the page.
+     *
+     * @param content - paragraph's content
+     * @throws IOException if the page cannot be written
+     */
+    public void paragraph(String content) throws IOException {
+        out.write("<p>");
+        text(content);
+        out.write("</p>\n");
+    }
+
+    /**
+     * Creates a main header in the page.
+     *
+     * @param content - header content
+     * @throws IOException if the page cannot be written
+     */
+    public void header(String content) throws IOException {
+        out.write("<h1>");
+        text(content);
+        out.write("</h1>\n");
+    }
+
+    /**
+     * Starts the creation of a table.
+     *
+     * @throws IOException if the page cannot be written
+     */
+    public void startTable() throws IOException {
+        out.write("<table>\n");
+    }
+
+    /**
+     * Closes a created table.
+     *
+     * @throws IOException if the page cannot be written
+     */
+    public void closeTable() throws IOException {
+        out.write("</table>\n");
+    }
+
+    /**
+     * Inserts a line of headers in the table.
+     *
+     * @param headers - headers of the table
+     * @throws IOException if the page cannot be written
+     */
+    public void insertTableHeaders(String[] headers) throws IOException {
+        out.write("<tr>");
+        for (String header : headers) {
+            out.write("<th>");
+            text(header);
+            out.write("</th>");
+        }
+        out.write("</tr>\n");
+    }
+
+    /**
+     * Inserts multiple lines with content in the table.
+     *
+     * @param info - table content matrix
+     * @param numLines - number of information lines in the table
+     * @throws IOException if the page cannot be written
+     */
+    public void insertTableBody(String[][] info, int numLines) throws IOException {
+        for (int i = 0; i < numLines; i++) {
+            startRow();
+            for (String cell : info[i]) {
+                cell(cell);
+            }
+            endRow();
+        }
+    }
+
+    /**
+     * Creates a table without header titles.
+     *
+     * @param info - table content matrix
+     * @param numLines - number of lines in the table
+     * @throws IOException if the page cannot be written
+     */
+    public void createTableWithoutHeaders(String[][] info, int numLines) throws IOException {
+        startTable();
+        insertTableBody(info, numLines);
+        closeTable();
+    }
+
+    /**
+     * Creates a table with header titles.
+     *
+     * @param headers - titles of the table
+     * @param info - table content matrix
+     * @param numLines - number of lines in the table
+     * @throws IOException if the page cannot be written
+     */
+    public void createTableWithHeaders(String[] headers, String[][] info, int numLines) throws IOException {
+        startTable();
+        insertTableHeaders(headers);
+        insertTableBody(info, numLines);
+        closeTable();
+    }
+
+    /**
+     * Starts a line of the table.
+     *
+     * @throws IOException if the page cannot be written
+     */
+    public void startRow() throws IOException {
+        out.write("<tr>");
+    }
+
+    /**
+     * Ends a line of the table.
+     *
+     * @throws IOException if the page cannot be written
+     */
+    public void endRow() throws IOException {
+        out.write("</tr>\n");
+    }
+
+    /**
+     * Inserts a cell with text in the current line of the table.
+     *
+     * @param content - cell content
+     * @throws IOException if the page cannot be written
+     */
+    public void cell(String content) throws IOException {
+        out.write("<td>");
+        text(content);
+        out.write("</td>");
+    }
+
+    /**
+     * Inserts a cell with a number in the current line of the table. Undefined
+     * numbers are left empty.
+     *
+     * @param content - cell content
+     * @throws IOException if the page cannot be written
+     */
+    public void cell(double content) throws IOException {
+        out.write("<td>");
+        if (!Double.isNaN(content)) {
+            number.setLength(0);
+            number.append(content);
+            number.getChars(0, number.length(), numberChars, 0);
+            out.write(numberChars, 0, number.length());
+        }
+        out.write("</td>");
+    }
+
+    /**
+     * Inserts a cell with a boolean in the current line of the table.
+     *
+     * @param content - cell content
+     * @throws IOException if the page cannot be written
+     */
+    public void cell(boolean content) throws IOException {
+        out.write(content ? "<td>true</td>" : "<td>false</td>");
+    }
+
+    /**
+     * Writes text, escaping the HTML special characters.
+     *
+     * @param content - the text
+     * @throws IOException if the page cannot be written
+     */
+    private void text(String content) throws IOException {
+        if (content == null) {
+            return;
+        }
+
+        int start = 0;
+        for (int i = 0; i < content.length(); i++) {
+            String entity;
+            switch (content.charAt(i)) {
+                case '&':
+                    entity = "&amp;";
+                    break;
+                case '<':
+                    entity = "&lt;";
+                    break;
+                case '>':
+                    entity = "&gt;";
+                    break;
+                case '"':
+                    entity = "&quot;";
+                    break;
+                case '\'':
+                    entity = "&#39;";
+                    break;
+                default:
+                    continue;
+            }
+            out.write(content, start, i - start);
+            out.write(entity);
+            start = i + 1;
+        }
+        out.write(content, start, content.length() - start);
+    }
+
+    /**
+     * Flushes the page to its destination.
+     *
+     * @throws IOException if the page cannot be written
+     */
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+}
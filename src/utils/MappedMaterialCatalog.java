@@ -0,0 +1,913 @@
+/*
+ * Package location for Utils concepts.
+ */
+package utils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import model.Material;
+import model.MaterialStore;
+
+/**
+ * Set of materials stored in a memory-mapped file of fixed-width records, so
+ * catalogs with millions of materials do not have to be loaded into the heap.
+ *
+ * Only an index of the record numbers by name is kept in memory: the materials
+ * are decoded from their records whenever they are obtained, and are copies,
+ * so changing them does not change the catalog. As in a set sorted by name,
+ * materials are identified by their name: two materials with the same name
+ * cannot be added, and any material with the name of a material of the
+ * catalog is contained in it (and removes it). Removed materials leave a
+ * tombstone record, marked with the removal epoch, until the catalog is
+ * {@link #compact() compacted}. Changes are written to the mapped file and
+ * are forced to the disk by {@link #flush()} and {@link #close()}.
+ *
+ * The catalog is thread-safe. Records are only appended or marked as removed,
+ * so a {@link #snapshot() snapshot} is just the number of records (the
+ * watermark) and the removal epoch when it was taken: it sees the records
+ * below the watermark that are live or were removed in a later epoch. The
+ * iterators of the catalog iterate a snapshot.
+ *
+ * The file starts with a header (magic number, version, number of records,
+ * number of live records and removal epoch), followed by the records. Each
+ * record has the flags (live, meltable), the name (UTF-8, at most
+ * {@value #NAME_CAPACITY} bytes), the five properties (NaN if missing) and
+ * the epoch in which it was removed.
+ *
+ * @author Eric Amaral 1141570
+ * @author Daniel Gonçalves 1151452
+ * @author Ivo Ferro 1151159
+ * @author Tiago Correia 1151031
+ */
+public class MappedMaterialCatalog extends AbstractSet<Material> implements MaterialStore, Closeable {
+
+    /**
+     * Name of the default catalog file.
+     */
+    public static final String DEFAULT_FILE_NAME = "Materials.cat";
+
+    /**
+     * Magic number that identifies the format ("LCM1").
+     */
+    public static final int MAGIC = 0x4C434D31;
+
+    /**
+     * Current version of the format.
+     */
+    public static final short VERSION = 1;
+
+    /**
+     * Maximum size of a material name (bytes, in UTF-8).
+     */
+    public static final int NAME_CAPACITY = 64;
+
+    /**
+     * Size of the header (bytes).
+     */
+    private static final int HEADER_SIZE = 32;
+
+    /**
+     * Position of the number of records in the header.
+     */
+    private static final int RECORD_COUNT_POSITION = 8;
+
+    /**
+     * Position of the number of live records in the header.
+     */
+    private static final int LIVE_COUNT_POSITION = 12;
+
+    /**
+     * Position of the removal epoch in the header.
+     */
+    private static final int EPOCH_POSITION = 16;
+
+    /**
+     * Size of a record (bytes).
+     */
+    private static final int RECORD_SIZE = 112;
+
+    /**
+     * Position of the name length in a record.
+     */
+    private static final int NAME_LENGTH_POSITION = 1;
+
+    /**
+     * Position of the name in a record.
+     */
+    private static final int NAME_POSITION = 3;
+
+    /**
+     * Position of the properties in a record.
+     */
+    private static final int PROPERTIES_POSITION = NAME_POSITION + NAME_CAPACITY;
+
+    /**
+     * Position of the removal epoch in a record.
+     */
+    private static final int REMOVAL_EPOCH_POSITION = 108;
+
+    /**
+     * Flag of a live record (not removed).
+     */
+    private static final byte LIVE_FLAG = 1;
+
+    /**
+     * Flag of a meltable material.
+     */
+    private static final byte MELTABLE_FLAG = 2;
+
+    /**
+     * Initial number of records of a new file.
+     */
+    private static final int INITIAL_CAPACITY = 1024;
+
+    /**
+     * Maximum number of records of a file.
+     */
+    private static final int MAXIMUM_CAPACITY = (Integer.MAX_VALUE - HEADER_SIZE) / RECORD_SIZE;
+
+    /**
+     * Empty slot of the name index.
+     */
+    private static final int EMPTY_SLOT = 0;
+
+    /**
+     * The catalog file.
+     */
+    private final Path file;
+
+    /**
+     * The channel of the catalog file.
+     */
+    private FileChannel channel;
+
+    /**
+     * The mapped file.
+     */
+    private MappedByteBuffer buffer;
+
+    /**
+     * Number of records that fit in the mapped file.
+     */
+    private int capacity;
+
+    /**
+     * Number of records, including the removed ones.
+     */
+    private int recordCount;
+
+    /**
+     * Number of live records.
+     */
+    private int liveCount;
+
+    /**
+     * Number of removals of records, each marking the removed records with
+     * its epoch.
+     */
+    private int epoch;
+
+    /**
+     * The removal epoch when the catalog was opened: the records removed
+     * until then are not seen by any snapshot.
+     */
+    private int openEpoch;
+
+    /**
+     * Open-addressing index of the records by name hash, holding the record
+     * number plus one, negated if the record was removed (or an empty slot).
+     * The slots are never reused, so a snapshot still finds its records.
+     */
+    private int[] nameIndex;
+
+    /**
+     * Number of used (live or removed) slots of the name index.
+     */
+    private int usedSlots;
+
+    /**
+     * Opens a catalog file, creating it if it does not exist.
+     *
+     * @param file the catalog file
+     * @throws IOException if the file cannot be opened or is not valid
+     */
+    public MappedMaterialCatalog(Path file) throws IOException {
+        this.file = file;
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        try {
+            if (channel.size() == 0) {
+                map(INITIAL_CAPACITY);
+                buffer.putInt(0, MAGIC);
+                buffer.putShort(4, VERSION);
+                writeCounts();
+            } else {
+                open();
+            }
+        } catch (IOException | RuntimeException ex) {
+            channel.close();
+            throw ex;
+        }
+        this.openEpoch = epoch;
+        rebuildIndex(tableSize(liveCount));
+    }
+
+    /**
+     * Creates a catalog file with the given materials, replacing it if it
+     * exists.
+     *
+     * @param file the catalog file
+     * @param materials the materials of the catalog
+     * @return the catalog
+     * @throws IOException if the file cannot be written
+     */
+    public static MappedMaterialCatalog create(Path file, Collection<Material> materials) throws IOException {
+        Files.deleteIfExists(file);
+
+        MappedMaterialCatalog catalog = new MappedMaterialCatalog(file);
+        catalog.addAll(materials);
+        catalog.flush();
+        return catalog;
+    }
+
+    /**
+     * Validates the header of an existing file and maps it.
+     *
+     * @throws IOException if the file is not valid
+     */
+    private void open() throws IOException {
+        long size = channel.size();
+        if (size < HEADER_SIZE || size > HEADER_SIZE + (long) MAXIMUM_CAPACITY * RECORD_SIZE) {
+            throw new IOException("Invalid material catalog size: " + size);
+        }
+        map((int) ((size - HEADER_SIZE) / RECORD_SIZE));
+
+        if (buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not a material catalog");
+        }
+        short version = buffer.getShort(4);
+        if (version != VERSION) {
+            throw new IOException("Unsupported material catalog version: " + version);
+        }
+
+        this.recordCount = buffer.getInt(RECORD_COUNT_POSITION);
+        this.liveCount = buffer.getInt(LIVE_COUNT_POSITION);
+        this.epoch = buffer.getInt(EPOCH_POSITION);
+        if (recordCount < 0 || recordCount > capacity || liveCount < 0 || liveCount > recordCount || epoch < 0) {
+            throw new IOException("Invalid material catalog header");
+        }
+    }
+
+    /**
+     * Maps the file with room for a number of records, growing it if needed.
+     *
+     * @param records number of records
+     * @throws IOException if the file cannot be mapped
+     */
+    private void map(int records) throws IOException {
+        this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + (long) records * RECORD_SIZE);
+        this.capacity = records;
+    }
+
+    /**
+     * Writes the number of records to the header.
+     */
+    private void writeCounts() {
+        buffer.putInt(RECORD_COUNT_POSITION, recordCount);
+        buffer.putInt(LIVE_COUNT_POSITION, liveCount);
+        buffer.putInt(EPOCH_POSITION, epoch);
+    }
+
+    /**
+     * Obtains the position of a record in the file.
+     *
+     * @param record the record number
+     * @return the position
+     */
+    private static int position(int record) {
+        return HEADER_SIZE + record * RECORD_SIZE;
+    }
+
+    /**
+     * Verifies if a record is live.
+     *
+     * @param buffer the mapped file
+     * @param record the record number
+     * @return true if it is live, false if it was removed
+     */
+    private static boolean isLive(ByteBuffer buffer, int record) {
+        return (buffer.get(position(record)) & LIVE_FLAG) != 0;
+    }
+
+    /**
+     * Verifies if a record is seen by a snapshot.
+     *
+     * @param buffer the mapped file
+     * @param record the record number, below the watermark of the snapshot
+     * @param epoch the removal epoch of the snapshot
+     * @return true if it is live or was removed after the snapshot, false
+     * otherwise
+     */
+    private static boolean isVisible(ByteBuffer buffer, int record, int epoch) {
+        return isLive(buffer, record) || buffer.getInt(position(record) + REMOVAL_EPOCH_POSITION) > epoch;
+    }
+
+    /**
+     * Hashes a name stored in a record, without decoding it.
+     *
+     * @param record the record number
+     * @return the hash of the name bytes
+     */
+    private int recordNameHash(int record) {
+        int position = position(record);
+        int length = buffer.getShort(position + NAME_LENGTH_POSITION);
+        int hash = 0x811C9DC5;
+        for (int i = 0; i < length; i++) {
+            hash = (hash ^ (buffer.get(position + NAME_POSITION + i) & 0xFF)) * 0x01000193;
+        }
+        return hash;
+    }
+
+    /**
+     * Hashes a name.
+     *
+     * @param name the name bytes
+     * @return the hash of the name bytes
+     */
+    private static int nameHash(byte[] name) {
+        int hash = 0x811C9DC5;
+        for (byte b : name) {
+            hash = (hash ^ (b & 0xFF)) * 0x01000193;
+        }
+        return hash;
+    }
+
+    /**
+     * Verifies if a record has a name.
+     *
+     * @param buffer the mapped file
+     * @param record the record number
+     * @param name the name bytes
+     * @return true if the record has the name, false otherwise
+     */
+    private static boolean hasName(ByteBuffer buffer, int record, byte[] name) {
+        int position = position(record);
+        if (buffer.getShort(position + NAME_LENGTH_POSITION) != name.length) {
+            return false;
+        }
+        for (int i = 0; i < name.length; i++) {
+            if (buffer.get(position + NAME_POSITION + i) != name[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Obtains the size of the name index for a number of records.
+     *
+     * @param records number of records
+     * @return the size, a power of two at least twice the number of records
+     */
+    private static int tableSize(int records) {
+        int size = Integer.highestOneBit(Math.max(records, 8) * 2 - 1) << 1;
+        return size > 0 ? size : 1 << 30;
+    }
+
+    /**
+     * Rebuilds the name index with the live records and the records removed
+     * since the catalog was opened. The previous index is left unchanged for
+     * the snapshots that use it.
+     *
+     * @param size the size of the index
+     */
+    private void rebuildIndex(int size) {
+        this.nameIndex = new int[size];
+        this.usedSlots = 0;
+        for (int record = 0; record < recordCount; record++) {
+            if (isLive(buffer, record)) {
+                insertIndex(record + 1, recordNameHash(record));
+            } else if (buffer.getInt(position(record) + REMOVAL_EPOCH_POSITION) > openEpoch) {
+                insertIndex(-(record + 1), recordNameHash(record));
+            }
+        }
+    }
+
+    /**
+     * Inserts a slot value in an empty slot of the name index.
+     *
+     * @param value the record number plus one, negated if it was removed
+     * @param hash the hash of its name
+     */
+    private void insertIndex(int value, int hash) {
+        int mask = nameIndex.length - 1;
+        int slot = hash & mask;
+        while (nameIndex[slot] != EMPTY_SLOT) {
+            slot = (slot + 1) & mask;
+        }
+        usedSlots++;
+        nameIndex[slot] = value;
+    }
+
+    /**
+     * Finds the slot of the name index of a name.
+     *
+     * @param name the name bytes
+     * @return the slot, or -1 if the name is not in the catalog
+     */
+    private int findSlot(byte[] name) {
+        int mask = nameIndex.length - 1;
+        int slot = nameHash(name) & mask;
+        while (nameIndex[slot] != EMPTY_SLOT) {
+            if (nameIndex[slot] > 0 && hasName(buffer, nameIndex[slot] - 1, name)) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Finds the record of a name.
+     *
+     * @param name the material name
+     * @return the record number, or -1 if the name is not in the catalog
+     */
+    private int findRecord(String name) {
+        if (name == null) {
+            return -1;
+        }
+        byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > NAME_CAPACITY) {
+            return -1;
+        }
+        int slot = findSlot(bytes);
+        return slot < 0 ? -1 : nameIndex[slot] - 1;
+    }
+
+    /**
+     * Decodes the material of a record.
+     *
+     * @param buffer the mapped file
+     * @param record the record number
+     * @return the material
+     */
+    private static Material decode(ByteBuffer buffer, int record) {
+        int position = position(record);
+        byte flags = buffer.get(position);
+        int length = buffer.getShort(position + NAME_LENGTH_POSITION);
+
+        byte[] name = new byte[length];
+        ByteBuffer view = buffer.duplicate();
+        view.position(position + NAME_POSITION);
+        view.get(name);
+
+        int properties = position + PROPERTIES_POSITION;
+        return new Material(new String(name, StandardCharsets.UTF_8),
+                boxed(buffer.getDouble(properties)),
+                boxed(buffer.getDouble(properties + 8)),
+                boxed(buffer.getDouble(properties + 16)),
+                boxed(buffer.getDouble(properties + 24)),
+                boxed(buffer.getDouble(properties + 32)),
+                (flags & MELTABLE_FLAG) != 0);
+    }
+
+    /**
+     * Obtains the material with a name.
+     *
+     * @param name the material name
+     * @return the material, or null if there is no material with the name
+     */
+    @Override
+    public synchronized Material get(String name) {
+        int record = findRecord(name);
+        return record < 0 ? null : decode(buffer, record);
+    }
+
+    @Override
+    public synchronized boolean contains(Object o) {
+        if (!(o instanceof Material)) {
+            return false;
+        }
+        return findRecord(((Material) o).getName()) >= 0;
+    }
+
+    /**
+     * Verifies if the catalog can keep a material with a name: if it has a
+     * name of at most {@value #NAME_CAPACITY} bytes in UTF-8.
+     *
+     * @param name the material name
+     * @return true if the name can be stored, false otherwise
+     */
+    @Override
+    public boolean acceptsName(String name) {
+        return name != null && name.getBytes(StandardCharsets.UTF_8).length <= NAME_CAPACITY;
+    }
+
+    @Override
+    public synchronized boolean add(Material material) {
+        if (material.getName() == null) {
+            throw new IllegalArgumentException("O material tem de ter nome.");
+        }
+        byte[] name = material.getName().getBytes(StandardCharsets.UTF_8);
+        if (name.length > NAME_CAPACITY) {
+            throw new IllegalArgumentException("O nome do material é demasiado longo.");
+        }
+        if (findSlot(name) >= 0) {
+            return false;
+        }
+
+        if (recordCount == capacity) {
+            grow();
+        }
+
+        int record = recordCount;
+        int position = position(record);
+        buffer.put(position, (byte) (LIVE_FLAG | (material.isMeltable() ? MELTABLE_FLAG : 0)));
+        buffer.putShort(position + NAME_LENGTH_POSITION, (short) name.length);
+        for (int i = 0; i < NAME_CAPACITY; i++) {
+            buffer.put(position + NAME_POSITION + i, i < name.length ? name[i] : 0);
+        }
+        int properties = position + PROPERTIES_POSITION;
+        buffer.putDouble(properties, unboxed(material.getLatentHeat()));
+        buffer.putDouble(properties + 8, unboxed(material.getHeatCapacity()));
+        buffer.putDouble(properties + 16, unboxed(material.getDensity()));
+        buffer.putDouble(properties + 24, unboxed(material.getVaporizationTemperature()));
+        buffer.putDouble(properties + 32, unboxed(material.getFusionTemperature()));
+        buffer.putInt(position + REMOVAL_EPOCH_POSITION, 0);
+
+        recordCount++;
+        liveCount++;
+        writeCounts();
+
+        if ((usedSlots + 1) * 4L > nameIndex.length * 3L) {
+            rebuildIndex(tableSize(usedSlots + 1));
+        }
+        insertIndex(record + 1, nameHash(name));
+
+        return true;
+    }
+
+    /**
+     * Doubles the number of records that fit in the mapped file.
+     */
+    private void grow() {
+        if (capacity >= MAXIMUM_CAPACITY) {
+            throw new IllegalStateException("The material catalog is full");
+        }
+        try {
+            map((int) Math.min((long) capacity * 2, MAXIMUM_CAPACITY));
+        } catch (IOException ex) {
+            throw new IllegalStateException("Cannot grow the material catalog", ex);
+        }
+    }
+
+    @Override
+    public synchronized boolean remove(Object o) {
+        if (!(o instanceof Material)) {
+            return false;
+        }
+        int record = findRecord(((Material) o).getName());
+        if (record < 0) {
+            return false;
+        }
+        epoch++;
+        removeRecord(record);
+        writeCounts();
+        return true;
+    }
+
+    /**
+     * Marks a record as removed in the current epoch.
+     *
+     * @param record the record number
+     */
+    private void removeRecord(int record) {
+        int position = position(record);
+        buffer.putInt(position + REMOVAL_EPOCH_POSITION, epoch);
+        buffer.put(position, (byte) (buffer.get(position) & ~LIVE_FLAG));
+
+        int mask = nameIndex.length - 1;
+        int slot = recordNameHash(record) & mask;
+        while (nameIndex[slot] != record + 1) {
+            slot = (slot + 1) & mask;
+        }
+        nameIndex[slot] = -(record + 1);
+
+        liveCount--;
+    }
+
+    @Override
+    public synchronized void clear() {
+        if (liveCount == 0) {
+            return;
+        }
+        epoch++;
+        for (int record = 0; record < recordCount; record++) {
+            if (isLive(buffer, record)) {
+                removeRecord(record);
+            }
+        }
+        writeCounts();
+    }
+
+    @Override
+    public synchronized int size() {
+        return liveCount;
+    }
+
+    /**
+     * Obtains an iterator of the materials of a snapshot of the catalog, in
+     * the order they were added, decoding each one when it is reached. The
+     * iterator does not see the later changes, and removing a material
+     * removes it from the catalog.
+     *
+     * @return the iterator
+     */
+    @Override
+    public Iterator<Material> iterator() {
+        final Iterator<Material> materials = snapshot().iterator();
+        return new Iterator<Material>() {
+
+            /**
+             * The last returned material.
+             */
+            private Material last;
+
+            @Override
+            public boolean hasNext() {
+                return materials.hasNext();
+            }
+
+            @Override
+            public Material next() {
+                last = materials.next();
+                return last;
+            }
+
+            @Override
+            public void remove() {
+                if (last == null) {
+                    throw new IllegalStateException();
+                }
+                MappedMaterialCatalog.this.remove(last);
+                last = null;
+            }
+        };
+    }
+
+    /**
+     * Obtains a point-in-time view of the catalog, that never changes and
+     * cannot be changed.
+     *
+     * @return the snapshot
+     */
+    @Override
+    public synchronized MaterialStore snapshot() {
+        return new Snapshot();
+    }
+
+    /**
+     * Obtains the number of tombstone records, left by the removed materials.
+     *
+     * @return the number of removed records
+     */
+    public synchronized int getRemovedCount() {
+        return recordCount - liveCount;
+    }
+
+    /**
+     * Reclaims the tombstone records: the live records are copied to a
+     * temporary file, which is forced to the disk and renamed over the
+     * catalog file. The snapshots taken before keep reading the previous
+     * file. If the file cannot be replaced the catalog is left unchanged.
+     *
+     * @throws IOException if the compacted file cannot be written or renamed
+     */
+    public synchronized void compact() throws IOException {
+        Path temporary = file.resolveSibling(file.getFileName() + SimulatorFileLoader.TEMPORARY_SUFFIX);
+        int compactedCapacity = (int) Math.min(MAXIMUM_CAPACITY, Math.max(INITIAL_CAPACITY, liveCount * 2L));
+        FileChannel compacted = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        MappedByteBuffer target;
+        try {
+            target = compacted.map(FileChannel.MapMode.READ_WRITE, 0,
+                    HEADER_SIZE + (long) compactedCapacity * RECORD_SIZE);
+            int count = 0;
+            for (int record = 0; record < recordCount; record++) {
+                if (isLive(buffer, record)) {
+                    ByteBuffer source = buffer.duplicate();
+                    source.limit(position(record) + RECORD_SIZE).position(position(record));
+                    target.position(position(count++));
+                    target.put(source);
+                }
+            }
+            target.putInt(0, MAGIC);
+            target.putShort(4, VERSION);
+            target.putInt(RECORD_COUNT_POSITION, count);
+            target.putInt(LIVE_COUNT_POSITION, count);
+            target.putInt(EPOCH_POSITION, epoch);
+            target.force();
+
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | RuntimeException ex) {
+            compacted.close();
+            Files.deleteIfExists(temporary);
+            throw ex;
+        }
+        SimulatorFileLoader.forceDirectory(file);
+
+        FileChannel previous = channel;
+        this.channel = compacted;
+        this.buffer = target;
+        this.capacity = compactedCapacity;
+        this.recordCount = liveCount;
+        this.openEpoch = epoch;
+        rebuildIndex(tableSize(liveCount));
+        previous.close();
+    }
+
+    /**
+     * Forces the changes to the disk.
+     */
+    public synchronized void flush() {
+        buffer.force();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        buffer.force();
+        channel.close();
+    }
+
+    /**
+     * Converts an optional property to its record value.
+     *
+     * @param value the property, or null
+     * @return the value, or NaN if the property is null
+     */
+    private static double unboxed(Double value) {
+        return value == null ? Double.NaN : value;
+    }
+
+    /**
+     * Converts a record value to an optional property.
+     *
+     * @param value the record value
+     * @return the property, or null if the value is NaN
+     */
+    private static Double boxed(double value) {
+        return Double.isNaN(value) ? null : value;
+    }
+
+    /**
+     * A point-in-time view of the catalog: the records below the watermark
+     * that were live in its removal epoch. It reads the mapped file and the
+     * name index of the catalog when it was taken, which are still valid
+     * after the catalog grows.
+     */
+    private class Snapshot extends AbstractSet<Material> implements MaterialStore {
+
+        /**
+         * The mapped file.
+         */
+        private final ByteBuffer records;
+
+        /**
+         * The name index.
+         */
+        private final int[] names;
+
+        /**
+         * Number of records when the snapshot was taken.
+         */
+        private final int watermark;
+
+        /**
+         * The removal epoch when the snapshot was taken.
+         */
+        private final int snapshotEpoch;
+
+        /**
+         * Number of live records when the snapshot was taken.
+         */
+        private final int size;
+
+        /**
+         * Takes a snapshot of the catalog. Must be called while the catalog
+         * is locked.
+         */
+        Snapshot() {
+            this.records = buffer;
+            this.names = nameIndex;
+            this.watermark = recordCount;
+            this.snapshotEpoch = epoch;
+            this.size = liveCount;
+        }
+
+        /**
+         * Finds the record of a name seen by the snapshot.
+         *
+         * @param name the material name
+         * @return the record number, or -1 if the snapshot has no material
+         * with the name
+         */
+        private int findRecord(String name) {
+            if (name == null) {
+                return -1;
+            }
+            byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+            if (bytes.length > NAME_CAPACITY) {
+                return -1;
+            }
+
+            int mask = names.length - 1;
+            int slot = nameHash(bytes) & mask;
+            while (names[slot] != EMPTY_SLOT) {
+                int record = Math.abs(names[slot]) - 1;
+                if (record < watermark && hasName(records, record, bytes)
+                        && isVisible(records, record, snapshotEpoch)) {
+                    return record;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return -1;
+        }
+
+        @Override
+        public Material get(String name) {
+            synchronized (MappedMaterialCatalog.this) {
+                int record = findRecord(name);
+                return record < 0 ? null : decode(records, record);
+            }
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            if (!(o instanceof Material)) {
+                return false;
+            }
+            synchronized (MappedMaterialCatalog.this) {
+                return findRecord(((Material) o).getName()) >= 0;
+            }
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public boolean acceptsName(String name) {
+            return MappedMaterialCatalog.this.acceptsName(name);
+        }
+
+        @Override
+        public MaterialStore snapshot() {
+            return this;
+        }
+
+        @Override
+        public Iterator<Material> iterator() {
+            return new Iterator<Material>() {
+
+                /**
+                 * The next record to verify.
+                 */
+                private int next = 0;
+
+                @Override
+                public boolean hasNext() {
+                    synchronized (MappedMaterialCatalog.this) {
+                        while (next < watermark && !isVisible(records, next, snapshotEpoch)) {
+                            next++;
+                        }
+                        return next < watermark;
+                    }
+                }
+
+                @Override
+                public Material next() {
+                    synchronized (MappedMaterialCatalog.this) {
+                        if (!hasNext()) {
+                            throw new NoSuchElementException();
+                        }
+                        return decode(records, next++);
+                    }
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Package location for Utils concepts.
+ */
+package utils;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counter of the metrics registry, that may be incremented by several threads
+ * without contention.
+ *
+ * @author Eric Amaral 1141570
+ * @author Daniel Gonçalves 1151452
+ * @author Ivo Ferro 1151159
+ * @author Tiago Correia 1151031
+ */
+public class MetricsCounter {
+
+    /**
+     * The counted value.
+     */
+    private final LongAdder value;
+
+    /**
+     * Constructs a counter at zero.
+     */
+    MetricsCounter() {
+        this.value = new LongAdder();
+    }
+
+    /**
+     * Increments the counter.
+     */
+    public void increment() {
+        value.increment();
+    }
+
+    /**
+     * Adds an amount to the counter.
+     *
+     * @param amount the amount to add
+     */
+    public void add(long amount) {
+        value.add(amount);
+    }
+
+    /**
+     * Obtains the counted value.
+     *
+     * @return the value
+     */
+    public long get() {
+        return value.sum();
+    }
+
+    /**
+     * Resets the counter to zero.
+     */
+    public void reset() {
+        value.reset();
+    }
+
+    @Override
+    public String toString() {
+        return Long.toString(get());
+    }
+}
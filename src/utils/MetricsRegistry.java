@@ -0,0 +1,248 @@
+/*
+ * Package location for Utils concepts.
+ */
+package utils;
+
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Registry of the counters and timers of the simulator operations.
+ *
+ * The metrics are only recorded when the application is started with the
+ * system property {@code simulator.metrics=true}. The instrumented code checks
+ * the constant {@link #ENABLED} before reading the clock, so when the metrics
+ * are disabled it costs only that check. The constant is read from the system
+ * property at run time, so the check stays in the bytecode; the JIT compiler
+ * may fold it once the class is initialized, but that is not guaranteed.
+ *
+ * The registry may be read through JMX, with the name {@link #OBJECT_NAME},
+ * and printed periodically as a text report.
+ *
+ * @author Eric Amaral 1141570
+ * @author Daniel Gonçalves 1151452
+ * @author Ivo Ferro 1151159
+ * @author Tiago Correia 1151031
+ */
+public class MetricsRegistry implements MetricsRegistryMBean {
+
+    /**
+     * If the metrics are recorded (system property simulator.metrics).
+     */
+    public final static boolean ENABLED = Boolean.getBoolean("simulator.metrics");
+
+    /**
+     * Name of the registry in the platform MBean server.
+     */
+    public final static String OBJECT_NAME = "simulator:type=Metrics";
+
+    /**
+     * Default period of the text report (seconds).
+     */
+    public final static long DEFAULT_DUMP_PERIOD = 60;
+
+    /**
+     * The registry of the application.
+     */
+    private final static MetricsRegistry INSTANCE = new MetricsRegistry();
+
+    /**
+     * The counters, by name.
+     */
+    private final ConcurrentMap<String, MetricsCounter> counters;
+
+    /**
+     * The timers, by name.
+     */
+    private final ConcurrentMap<String, MetricsTimer> timers;
+
+    /**
+     * The executor that prints the periodic report, if it was started.
+     */
+    private ScheduledExecutorService dumper;
+
+    /**
+     * Constructs an empty registry.
+     */
+    private MetricsRegistry() {
+        this.counters = new ConcurrentHashMap<>();
+        this.timers = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Obtains the registry of the application.
+     *
+     * @return the registry
+     */
+    public static MetricsRegistry getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Obtains a counter of the registry, creating it if it does not exist.
+     *
+     * @param name the counter name
+     * @return the counter
+     */
+    public static MetricsCounter counter(String name) {
+        MetricsCounter counter = INSTANCE.counters.get(name);
+        if (counter == null) {
+            MetricsCounter created = new MetricsCounter();
+            counter = INSTANCE.counters.putIfAbsent(name, created);
+            if (counter == null) {
+                counter = created;
+            }
+        }
+        return counter;
+    }
+
+    /**
+     * Obtains a timer of the registry, creating it if it does not exist.
+     *
+     * @param name the timer name
+     * @return the timer
+     */
+    public static MetricsTimer timer(String name) {
+        MetricsTimer timer = INSTANCE.timers.get(name);
+        if (timer == null) {
+            MetricsTimer created = new MetricsTimer();
+            timer = INSTANCE.timers.putIfAbsent(name, created);
+            if (timer == null) {
+                timer = created;
+            }
+        }
+        return timer;
+    }
+
+    /**
+     * Registers the registry in the platform MBean server.
+     *
+     * @return true if it is registered, false otherwise
+     */
+    public static boolean registerMBean() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (!server.isRegistered(name)) {
+                server.registerMBean(INSTANCE, name);
+            }
+            return true;
+        } catch (JMException ex) {
+            return false;
+        }
+    }
+
+    /**
+     * Starts printing the report periodically, replacing a previous periodic
+     * report.
+     *
+     * @param period the period between reports
+     * @param unit the unit of the period
+     * @param out the destination of the reports
+     */
+    public static synchronized void startDump(long period, TimeUnit unit, final PrintStream out) {
+        stopDump();
+
+        INSTANCE.dumper = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable task) {
+                Thread thread = new Thread(task, "metrics-dump");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        INSTANCE.dumper.scheduleAtFixedRate(new Runnable() {
+            @Override
+            public void run() {
+                out.print(INSTANCE.getReport());
+                out.flush();
+            }
+        }, period, period, unit);
+    }
+
+    /**
+     * Stops printing the periodic report.
+     */
+    public static synchronized void stopDump() {
+        if (INSTANCE.dumper != null) {
+            INSTANCE.dumper.shutdownNow();
+            INSTANCE.dumper = null;
+        }
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return ENABLED;
+    }
+
+    @Override
+    public String[] getCounterNames() {
+        return new TreeMap<>(counters).keySet().toArray(new String[0]);
+    }
+
+    @Override
+    public String[] getTimerNames() {
+        return new TreeMap<>(timers).keySet().toArray(new String[0]);
+    }
+
+    @Override
+    public long getCount(String name) {
+        MetricsCounter counter = counters.get(name);
+        if (counter != null) {
+            return counter.get();
+        }
+        MetricsTimer timer = timers.get(name);
+        return (timer == null) ? 0 : timer.getCount();
+    }
+
+    @Override
+    public double getMeanMillis(String name) {
+        MetricsTimer timer = timers.get(name);
+        return (timer == null) ? 0.0 : timer.getMeanMillis();
+    }
+
+    @Override
+    public double getPercentileMillis(String name, double percentile) {
+        MetricsTimer timer = timers.get(name);
+        return (timer == null) ? 0.0 : timer.getPercentileMillis(percentile);
+    }
+
+    @Override
+    public String getReport() {
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("Metrics at %tT%n", System.currentTimeMillis()));
+        for (Map.Entry<String, MetricsCounter> counter : new TreeMap<>(counters).entrySet()) {
+            report.append(String.format("  counter %s %s%n", counter.getKey(), counter.getValue()));
+        }
+        for (Map.Entry<String, MetricsTimer> timer : new TreeMap<>(timers).entrySet()) {
+            report.append(String.format("  timer %s %s%n", timer.getKey(), timer.getValue()));
+        }
+        return report.toString();
+    }
+
+    @Override
+    public void reset() {
+        for (MetricsCounter counter : counters.values()) {
+            counter.reset();
+        }
+        for (MetricsTimer timer : timers.values()) {
+            timer.reset();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return getReport();
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Package location for Utils concepts.
+ */
+package utils;
+
+/**
+ * Management interface of the metrics registry, exposed through JMX.
+ *
+ * @author Eric Amaral 1141570
+ * @author Daniel Gonçalves 1151452
+ * @author Ivo Ferro 1151159
+ * @author Tiago Correia 1151031
+ */
+public interface MetricsRegistryMBean {
+
+    /**
+     * Verifies if the metrics are recorded.
+     *
+     * @return true if the metrics are recorded, false otherwise
+     */
+    public abstract boolean isEnabled();
+
+    /**
+     * Obtains the names of the counters.
+     *
+     * @return the counter names, sorted
+     */
+    public abstract String[] getCounterNames();
+
+    /**
+     * Obtains the names of the timers.
+     *
+     * @return the timer names, sorted
+     */
+    public abstract String[] getTimerNames();
+
+    /**
+     * Obtains the value of a counter, or the number of durations of a timer.
+     *
+     * @param name the metric name
+     * @return the count, or 0 if there is no metric with the name
+     */
+    public abstract long getCount(String name);
+
+    /**
+     * Obtains the mean duration of a timer.
+     *
+     * @param name the timer name
+     * @return the mean duration (ms), or 0 if there is no timer with the name
+     */
+    public abstract double getMeanMillis(String name);
+
+    /**
+     * Obtains an upper bound of a percentile of the durations of a timer.
+     *
+     * @param name the timer name
+     * @param percentile the percentile, between 0 and 100
+     * @return the upper bound of the percentile (ms), or 0 if there is no
+     * timer with the name
+     */
+    public abstract double getPercentileMillis(String name, double percentile);
+
+    /**
+     * Obtains a text report of every metric.
+     *
+     * @return the report
+     */
+    public abstract String getReport();
+
+    /**
+     * Resets every metric.
+     */
+    public abstract void reset();
+}
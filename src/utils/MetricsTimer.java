@@ -0,0 +1,181 @@
+/*
+ * Package location for Utils concepts.
+ */
+package utils;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Timer of the metrics registry, that records the number, the total, the
+ * maximum and a latency histogram of the durations of an operation. The
+ * histogram has a bucket for each power of two nanoseconds, so the
+ * percentiles are upper bounds within a factor of two.
+ *
+ * @author Eric Amaral 1141570
+ * @author Daniel Gonçalves 1151452
+ * @author Ivo Ferro 1151159
+ * @author Tiago Correia 1151031
+ */
+public class MetricsTimer {
+
+    /**
+     * Number of histogram buckets (one for each bit of a duration).
+     */
+    private final static int BUCKETS = 64;
+
+    /**
+     * Nanoseconds in a millisecond.
+     */
+    private final static double NANOS_PER_MILLI = 1e6;
+
+    /**
+     * Number of recorded durations.
+     */
+    private final LongAdder count;
+
+    /**
+     * Sum of the recorded durations (ns).
+     */
+    private final LongAdder totalNanos;
+
+    /**
+     * Longest recorded duration (ns).
+     */
+    private final AtomicLong maxNanos;
+
+    /**
+     * Number of durations in each bucket; the bucket i holds the durations
+     * between 2^(i-1) (inclusive) and 2^i (exclusive) nanoseconds.
+     */
+    private final AtomicLongArray histogram;
+
+    /**
+     * Constructs a timer without durations.
+     */
+    MetricsTimer() {
+        this.count = new LongAdder();
+        this.totalNanos = new LongAdder();
+        this.maxNanos = new AtomicLong();
+        this.histogram = new AtomicLongArray(BUCKETS);
+    }
+
+    /**
+     * Records the duration of an operation.
+     *
+     * @param nanos the duration (ns)
+     */
+    public void record(long nanos) {
+        long duration = Math.max(nanos, 0L);
+
+        count.increment();
+        totalNanos.add(duration);
+        histogram.incrementAndGet(Math.min(BUCKETS - Long.numberOfLeadingZeros(duration), BUCKETS - 1));
+
+        long max = maxNanos.get();
+        while (duration > max && !maxNanos.compareAndSet(max, duration)) {
+            max = maxNanos.get();
+        }
+    }
+
+    /**
+     * Records the duration of an operation that started at the given time.
+     *
+     * @param startNanos the start of the operation, from
+     * {@link System#nanoTime()}
+     */
+    public void recordSince(long startNanos) {
+        record(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Obtains the number of recorded durations.
+     *
+     * @return the number of durations
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * Obtains the sum of the recorded durations.
+     *
+     * @return the total duration (ns)
+     */
+    public long getTotalNanos() {
+        return totalNanos.sum();
+    }
+
+    /**
+     * Obtains the longest recorded duration.
+     *
+     * @return the maximum duration (ns)
+     */
+    public long getMaxNanos() {
+        return maxNanos.get();
+    }
+
+    /**
+     * Obtains the mean of the recorded durations.
+     *
+     * @return the mean duration (ms), or 0 if there are none
+     */
+    public double getMeanMillis() {
+        long durations = getCount();
+
+        return (durations == 0) ? 0.0 : getTotalNanos() / NANOS_PER_MILLI / durations;
+    }
+
+    /**
+     * Obtains an upper bound of a percentile of the recorded durations.
+     *
+     * @param percentile the percentile, between 0 and 100
+     * @return the upper bound of the percentile (ms), or 0 if there are no
+     * durations
+     */
+    public double getPercentileMillis(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("The percentile must be between 0 and 100");
+        }
+
+        long[] buckets = new long[BUCKETS];
+        long durations = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets[i] = histogram.get(i);
+            durations += buckets[i];
+        }
+        if (durations == 0) {
+            return 0.0;
+        }
+
+        long rank = Math.max(1L, (long) Math.ceil(durations * percentile / 100));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += buckets[i];
+            if (seen >= rank) {
+                return Math.min(Math.scalb(1.0, i), getMaxNanos()) / NANOS_PER_MILLI;
+            }
+        }
+        return getMaxNanos() / NANOS_PER_MILLI;
+    }
+
+    /**
+     * Removes every recorded duration.
+     */
+    public void reset() {
+        count.reset();
+        totalNanos.reset();
+        maxNanos.set(0);
+        for (int i = 0; i < BUCKETS; i++) {
+            histogram.set(i, 0);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("count=%d mean=%.4fms p50=%.4fms p99=%.4fms max=%.4fms", getCount(),
+                getMeanMillis(), getPercentileMillis(50), getPercentileMillis(99),
+                getMaxNanos() / NANOS_PER_MILLI);
+    }
+}
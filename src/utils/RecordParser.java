@@ -0,0 +1,312 @@
+/*
+ * Package location for Utils concepts.
+ */
+package utils;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Class that provides methods to parse and write the records of CSV and
+ * NDJSON (one JSON object per line) files.
+ *
+ * @author Eric Amaral 1141570
+ * @author Daniel Gonçalves 1151452
+ * @author Ivo Ferro 1151159
+ * @author Tiago Correia 1151031
+ */
+public class RecordParser {
+
+    /**
+     * private constructor hides the public one.
+     */
+    private RecordParser() {
+    }
+
+    /**
+     * Verifies if a line holds a JSON object (NDJSON format).
+     *
+     * @param line the line to verify
+     * @return true if it is a JSON object, false otherwise
+     */
+    public static boolean isJsonLine(String line) {
+        return line.trim().startsWith("{");
+    }
+
+    /**
+     * Splits a CSV line in fields. Fields may be quoted with double quotes,
+     * and a quote inside a quoted field is written twice.
+     *
+     * @param line the CSV line
+     * @return the fields of the line
+     */
+    public static List<String> parseCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char ch = line.charAt(i);
+
+            if (quoted) {
+                if (ch == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (ch == '"') {
+                    quoted = false;
+                } else {
+                    field.append(ch);
+                }
+            } else if (ch == '"') {
+                quoted = true;
+            } else if (ch == ',') {
+                fields.add(field.toString().trim());
+                field.setLength(0);
+            } else {
+                field.append(ch);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        fields.add(field.toString().trim());
+
+        return fields;
+    }
+
+    /**
+     * Parses a CSV line into a record, naming the fields with a header.
+     *
+     * @param header the names of the fields
+     * @param line the CSV line
+     * @return the record, from field name to value
+     */
+    public static Map<String, String> parseCsvRecord(List<String> header, String line) {
+        List<String> fields = parseCsvLine(line);
+
+        if (fields.size() > header.size()) {
+            throw new IllegalArgumentException(String.format("Expected %d fields but found %d",
+                    header.size(), fields.size()));
+        }
+
+        Map<String, String> record = new LinkedHashMap<>();
+        for (int i = 0; i < fields.size(); i++) {
+            record.put(header.get(i), fields.get(i));
+        }
+        return record;
+    }
+
+    /**
+     * Parses a flat JSON object (string, number, boolean or null values) into
+     * a record. Numbers and booleans are kept in their textual form and null
+     * values are omitted.
+     *
+     * @param line the JSON object
+     * @return the record, from field name to value
+     */
+    public static Map<String, String> parseJsonRecord(String line) {
+        Map<String, String> record = new LinkedHashMap<>();
+        int[] position = {skipSpaces(line, 0)};
+
+        expect(line, position, '{');
+        if (peek(line, position) == '}') {
+            position[0]++;
+            return record;
+        }
+
+        while (true) {
+            String name = readJsonString(line, position);
+            expect(line, position, ':');
+
+            String value;
+            if (peek(line, position) == '"') {
+                value = readJsonString(line, position);
+            } else {
+                int start = position[0];
+                while (position[0] < line.length() && ",} \t".indexOf(line.charAt(position[0])) < 0) {
+                    position[0]++;
+                }
+                value = line.substring(start, position[0]);
+                if (value.isEmpty()) {
+                    throw new IllegalArgumentException("Missing value of field " + name);
+                }
+                if ("null".equals(value)) {
+                    value = null;
+                }
+            }
+            if (value != null) {
+                record.put(name, value);
+            }
+
+            char next = peek(line, position);
+            position[0]++;
+            if (next == '}') {
+                return record;
+            }
+            if (next != ',') {
+                throw new IllegalArgumentException("Expected ',' or '}' at " + (position[0] - 1));
+            }
+        }
+    }
+
+    /**
+     * Skips the spaces of a text.
+     *
+     * @param text the text
+     * @param from the position to start
+     * @return the position of the first character that is not a space
+     */
+    private static int skipSpaces(String text, int from) {
+        int i = from;
+        while (i < text.length() && Character.isWhitespace(text.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Obtains the next character that is not a space, without consuming it.
+     *
+     * @param text the text
+     * @param position the current position (updated to the character)
+     * @return the character
+     */
+    private static char peek(String text, int[] position) {
+        position[0] = skipSpaces(text, position[0]);
+        if (position[0] >= text.length()) {
+            throw new IllegalArgumentException("Unexpected end of JSON object");
+        }
+        return text.charAt(position[0]);
+    }
+
+    /**
+     * Consumes an expected character.
+     *
+     * @param text the text
+     * @param position the current position (updated past the character)
+     * @param expected the expected character
+     */
+    private static void expect(String text, int[] position, char expected) {
+        if (peek(text, position) != expected) {
+            throw new IllegalArgumentException(String.format("Expected '%c' at %d", expected, position[0]));
+        }
+        position[0]++;
+    }
+
+    /**
+     * Reads a JSON string.
+     *
+     * @param text the text
+     * @param position the current position (updated past the string)
+     * @return the unescaped string
+     */
+    private static String readJsonString(String text, int[] position) {
+        expect(text, position, '"');
+
+        StringBuilder value = new StringBuilder();
+        int i = position[0];
+        while (i < text.length() && text.charAt(i) != '"') {
+            char ch = text.charAt(i);
+            if (ch == '\\' && i + 1 < text.length()) {
+                char escaped = text.charAt(++i);
+                switch (escaped) {
+                    case 'n':
+                        value.append('\n');
+                        break;
+                    case 't':
+                        value.append('\t');
+                        break;
+                    case 'r':
+                        value.append('\r');
+                        break;
+                    case 'b':
+                        value.append('\b');
+                        break;
+                    case 'f':
+                        value.append('\f');
+                        break;
+                    case 'u':
+                        if (i + 4 >= text.length()) {
+                            throw new IllegalArgumentException("Invalid unicode escape");
+                        }
+                        value.append((char) Integer.parseInt(text.substring(i + 1, i + 5), 16));
+                        i += 4;
+                        break;
+                    default:
+                        value.append(escaped);
+                }
+            } else {
+                value.append(ch);
+            }
+            i++;
+        }
+        if (i >= text.length()) {
+            throw new IllegalArgumentException("Unterminated JSON string");
+        }
+        position[0] = i + 1;
+
+        return value.toString();
+    }
+
+    /**
+     * Writes a value as a CSV field, quoting it when needed.
+     *
+     * @param value the value
+     * @return the CSV field
+     */
+    public static String toCsvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    /**
+     * Writes a value as a JSON string.
+     *
+     * @param value the value
+     * @return the JSON string, with quotes
+     */
+    public static String toJsonString(String value) {
+        if (value == null) {
+            return "null";
+        }
+
+        StringBuilder json = new StringBuilder(value.length() + 2);
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char ch = value.charAt(i);
+            switch (ch) {
+                case '"':
+                    json.append("\\\"");
+                    break;
+                case '\\':
+                    json.append("\\\\");
+                    break;
+                case '\n':
+                    json.append("\\n");
+                    break;
+                case '\r':
+                    json.append("\\r");
+                    break;
+                case '\t':
+                    json.append("\\t");
+                    break;
+                default:
+                    if (ch < 0x20) {
+                        json.append(String.format("\\u%04x", (int) ch));
+                    } else {
+                        json.append(ch);
+                    }
+            }
+        }
+        json.append('"');
+
+        return json.toString();
+    }
+}
@@ -0,0 +1,358 @@
+/*
+ * Package location for Utils concepts.
+ */
+package utils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Processes the records of a CSV file (with header) or of a NDJSON file in
+ * parallel chunks, and hands their results over in the order of the records.
+ *
+ * The records are read in chunks that are parsed and processed by a pool of
+ * threads, and only a bounded number of chunks is kept in memory at any time.
+ * A record that cannot be parsed or processed (an IllegalArgumentException)
+ * is handed over with its error, and does not stop the others. Blank lines
+ * are skipped.
+ *
+ * @author Eric Amaral 1141570
+ * @author Daniel Gonçalves 1151452
+ * @author Ivo Ferro 1151159
+ * @author Tiago Correia 1151031
+ */
+public class RecordPipeline {
+
+    /**
+     * Number of chunks in processing for each thread.
+     */
+    private final static int CHUNKS_PER_THREAD = 2;
+
+    /**
+     * Handler of the records of a pipeline.
+     *
+     * @param <T> the type of the result of a record
+     */
+    public interface RecordHandler<T> {
+
+        /**
+         * Starts the records, once their format is known. Called in the
+         * thread that runs the pipeline, only if there are records.
+         *
+         * @param json if the records are in NDJSON
+         * @throws IOException if the output cannot be written
+         */
+        public abstract void start(boolean json) throws IOException;
+
+        /**
+         * Processes a record, in a worker thread.
+         *
+         * @param line the line of the record
+         * @param record the record
+         * @return the result of the record
+         * @throws IllegalArgumentException if the record is not valid
+         */
+        public abstract T process(long line, Map<String, String> record);
+
+        /**
+         * Receives the result of a record, in the order of the records and in
+         * the thread that runs the pipeline.
+         *
+         * @param line the line of the record
+         * @param record the record, or null if it could not be parsed
+         * @param result the result, or null if the record is not valid
+         * @param error the error, or null if the record is valid
+         * @throws IOException if the output cannot be written
+         */
+        public abstract void accept(long line, Map<String, String> record, T result, String error)
+                throws IOException;
+    }
+
+    /**
+     * Number of threads to process the records.
+     */
+    private final int threads;
+
+    /**
+     * Number of records in each chunk.
+     */
+    private final int chunkSize;
+
+    /**
+     * Constructs a record pipeline.
+     *
+     * @param threads number of threads to process the records
+     * @param chunkSize number of records in each chunk
+     */
+    public RecordPipeline(int threads, int chunkSize) {
+        if (threads < 1 || chunkSize < 1) {
+            throw new IllegalArgumentException("Threads and chunk size must be positive");
+        }
+
+        this.threads = threads;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Processes the records read from a CSV or NDJSON source.
+     *
+     * @param <T> the type of the result of a record
+     * @param source the source of the records
+     * @param handler the handler of the records
+     * @throws IOException if the records cannot be read or the output written
+     */
+    public <T> void run(BufferedReader source, RecordHandler<T> handler) throws IOException {
+        String line = source.readLine();
+        while (line != null && line.trim().isEmpty()) {
+            line = source.readLine();
+        }
+        if (line == null) {
+            return;
+        }
+
+        boolean json = RecordParser.isJsonLine(line);
+        List<String> header = null;
+        if (!json) {
+            header = RecordParser.parseCsvLine(line);
+            line = source.readLine();
+        }
+        handler.start(json);
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        Deque<Future<Chunk<T>>> pending = new ArrayDeque<>();
+        try {
+            List<String> lines = new ArrayList<>(chunkSize);
+            long lineNumber = json ? 1 : 2;
+            long firstLine = lineNumber;
+
+            for (; line != null; line = source.readLine(), lineNumber++) {
+                lines.add(line);
+
+                if (lines.size() == chunkSize) {
+                    pending.add(executor.submit(new Chunk<>(handler, firstLine, lines, header)));
+                    if (pending.size() >= threads * CHUNKS_PER_THREAD) {
+                        handOver(pending.poll(), handler);
+                    }
+                    lines = new ArrayList<>(chunkSize);
+                    firstLine = lineNumber + 1;
+                }
+            }
+            if (!lines.isEmpty()) {
+                pending.add(executor.submit(new Chunk<>(handler, firstLine, lines, header)));
+            }
+            while (!pending.isEmpty()) {
+                handOver(pending.poll(), handler);
+            }
+        } finally {
+            for (Future<Chunk<T>> future : pending) {
+                future.cancel(true);
+            }
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Waits for a chunk to be processed and hands its results over to the
+     * handler.
+     *
+     * @param <T> the type of the result of a record
+     * @param future the chunk in processing
+     * @param handler the handler of the records
+     * @throws IOException if the output cannot be written
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> void handOver(Future<Chunk<T>> future, RecordHandler<T> handler) throws IOException {
+        Chunk<T> chunk;
+        try {
+            chunk = future.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Processing of the records interrupted", ex);
+        } catch (ExecutionException ex) {
+            throw new IOException("Processing of the records failed", ex.getCause());
+        }
+
+        for (int i = 0; i < chunk.lines.size(); i++) {
+            if (chunk.results[i] != null || chunk.errors[i] != null) {
+                handler.accept(chunk.firstLine + i, chunk.records[i], (T) chunk.results[i], chunk.errors[i]);
+            }
+        }
+    }
+
+    /**
+     * Obtains a required numeric field of a record, which must be finite.
+     *
+     * @param record the record
+     * @param field the field name
+     * @return the field value
+     * @throws IllegalArgumentException if the field is missing or is not a
+     * finite number
+     */
+    public static double requireDouble(Map<String, String> record, String field) {
+        String value = record.get(field);
+        if (value == null || value.isEmpty()) {
+            throw new IllegalArgumentException("Missing field: " + field);
+        }
+        double number;
+        try {
+            number = Double.parseDouble(value);
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Invalid number in field " + field + ": " + value);
+        }
+        if (!Double.isFinite(number)) {
+            throw new IllegalArgumentException("Invalid number in field " + field + ": " + value);
+        }
+        return number;
+    }
+
+    /**
+     * Obtains a required numeric field of a record, which must be finite and
+     * not negative.
+     *
+     * @param record the record
+     * @param field the field name
+     * @return the field value
+     * @throws IllegalArgumentException if the field is missing, is not a
+     * finite number or is negative
+     */
+    public static double requireNonNegative(Map<String, String> record, String field) {
+        double number = requireDouble(record, field);
+        if (number < 0) {
+            throw new IllegalArgumentException("Negative number in field " + field + ": " + record.get(field));
+        }
+        return number;
+    }
+
+    /**
+     * Obtains a required numeric field of a record, which must be finite and
+     * positive.
+     *
+     * @param record the record
+     * @param field the field name
+     * @return the field value
+     * @throws IllegalArgumentException if the field is missing, is not a
+     * finite number or is not positive
+     */
+    public static double requirePositive(Map<String, String> record, String field) {
+        double number = requireDouble(record, field);
+        if (number <= 0) {
+            throw new IllegalArgumentException("Number not positive in field " + field + ": " + record.get(field));
+        }
+        return number;
+    }
+
+    /**
+     * Writes a CSV line with the given fields, quoting them when needed.
+     *
+     * @param out the destination
+     * @param fields the fields, null for empty fields
+     * @throws IOException if the line cannot be written
+     */
+    public static void writeCsvLine(Writer out, String... fields) throws IOException {
+        StringBuilder line = new StringBuilder();
+        for (int i = 0; i < fields.length; i++) {
+            if (i > 0) {
+                line.append(',');
+            }
+            line.append(RecordParser.toCsvField(fields[i]));
+        }
+        line.append('\n');
+        out.write(line.toString());
+    }
+
+    /**
+     * A chunk of records, processed by a worker thread.
+     *
+     * @param <T> the type of the result of a record
+     */
+    private static final class Chunk<T> implements Callable<Chunk<T>> {
+
+        /**
+         * The handler of the records.
+         */
+        private final RecordHandler<T> handler;
+
+        /**
+         * Line number of the first record.
+         */
+        private final long firstLine;
+
+        /**
+         * The lines of the records.
+         */
+        private final List<String> lines;
+
+        /**
+         * The CSV header, or null for NDJSON.
+         */
+        private final List<String> header;
+
+        /**
+         * Each parsed record.
+         */
+        private final Map<String, String>[] records;
+
+        /**
+         * The result of each valid record.
+         */
+        private final Object[] results;
+
+        /**
+         * The error of each invalid record.
+         */
+        private final String[] errors;
+
+        /**
+         * Constructs a chunk of records.
+         *
+         * @param handler the handler of the records
+         * @param firstLine line number of the first record
+         * @param lines the lines of the records
+         * @param header the CSV header, or null for NDJSON
+         */
+        @SuppressWarnings("unchecked")
+        private Chunk(RecordHandler<T> handler, long firstLine, List<String> lines, List<String> header) {
+            this.handler = handler;
+            this.firstLine = firstLine;
+            this.lines = lines;
+            this.header = header;
+            this.records = new Map[lines.size()];
+            this.results = new Object[lines.size()];
+            this.errors = new String[lines.size()];
+        }
+
+        @Override
+        public Chunk<T> call() {
+            for (int i = 0; i < lines.size(); i++) {
+                String line = lines.get(i);
+                if (line.trim().isEmpty()) {
+                    continue;
+                }
+
+                try {
+                    records[i] = (header == null)
+                            ? RecordParser.parseJsonRecord(line)
+                            : RecordParser.parseCsvRecord(header, line);
+                    results[i] = handler.process(firstLine + i, records[i]);
+                    if (results[i] == null) {
+                        throw new IllegalStateException("A record has no result");
+                    }
+                } catch (IllegalArgumentException ex) {
+                    errors[i] = (ex.getMessage() != null) ? ex.getMessage() : ex.toString();
+                }
+            }
+            return this;
+        }
+    }
+}
@@ -0,0 +1,421 @@
+/*
+ * Package location for Utils concepts.
+ */
+package utils;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.zip.CRC32;
+import model.Curiosity;
+import model.Gas;
+import model.Material;
+import model.Simulator;
+
+/**
+ * Class that provides methods to write and read a simulator in the versioned
+ * binary format.
+ *
+ * The file starts with a header (magic number, version and the number of
+ * strings, materials, gases and curiosities), followed by a string table, the
+ * fixed-width records of the materials, gases and curiosities (that refer to
+ * their texts by index in the string table) and the CRC-32 of everything
+ * before it. Numbers are big-endian, texts are UTF-8 and missing properties
+ * are written as NaN. The materials of a {@link MappedMaterialCatalog} are
+ * kept in the catalog file, so they are not written: the header flags tell
+ * that the materials are external, and the simulator is read with the
+ * catalog file next to it, which must exist.
+ *
+ * @author Eric Amaral 1141570
+ * @author Daniel Gonçalves 1151452
+ * @author Ivo Ferro 1151159
+ * @author Tiago Correia 1151031
+ */
+public class SimulatorBinaryFormat {
+
+    /**
+     * Magic number that identifies the format ("LCS1").
+     */
+    public static final int MAGIC = 0x4C435331;
+
+    /**
+     * Current version of the format.
+     */
+    public static final short VERSION = 1;
+
+    /**
+     * Size of the header (bytes).
+     */
+    private static final int HEADER_SIZE = 24;
+
+    /**
+     * Size of a material record (bytes): name, five properties and flags.
+     */
+    private static final int MATERIAL_RECORD_SIZE = 4 + 5 * 8 + 1;
+
+    /**
+     * Size of a gas record (bytes): name, two wavelengths and reserved flags.
+     */
+    private static final int GAS_RECORD_SIZE = 4 + 2 * 8 + 1;
+
+    /**
+     * Size of a curiosity record (bytes): description.
+     */
+    private static final int CURIOSITY_RECORD_SIZE = 4;
+
+    /**
+     * Size of the CRC-32 at the end of the file (bytes).
+     */
+    private static final int CRC_SIZE = 4;
+
+    /**
+     * Index of a missing text in the string table.
+     */
+    private static final int NO_STRING = -1;
+
+    /**
+     * Header flag of a simulator whose materials are kept in a catalog file.
+     */
+    private static final short EXTERNAL_MATERIALS_FLAG = 1;
+
+    /**
+     * Flag of a meltable material.
+     */
+    private static final int MELTABLE_FLAG = 1;
+
+    /**
+     * private constructor hides the public one.
+     */
+    private SimulatorBinaryFormat() {
+    }
+
+    /**
+     * Verifies if a file starts with the magic number of the format.
+     *
+     * @param file the file to verify
+     * @return true if it is in the binary format, false otherwise
+     * @throws IOException if the file cannot be read
+     */
+    public static boolean isBinaryFormat(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer magic = ByteBuffer.allocate(4);
+            while (magic.hasRemaining()) {
+                if (channel.read(magic) < 0) {
+                    return false;
+                }
+            }
+            return magic.getInt(0) == MAGIC;
+        }
+    }
+
+    /**
+     * Reads a simulator from a file in the binary format. The external
+     * materials are opened from the catalog file next to it.
+     *
+     * @param file the file to read from
+     * @return the simulator
+     * @throws IOException if the file cannot be read or is not valid, or its
+     * materials are external and the catalog file is missing or cannot be
+     * opened
+     */
+    public static Simulator read(Path file) throws IOException {
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_SIZE + CRC_SIZE || size > Integer.MAX_VALUE) {
+                throw new IOException("Invalid simulator file size: " + size);
+            }
+            buffer = ByteBuffer.allocate((int) size);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer) < 0) {
+                    throw new EOFException("Unexpected end of simulator file");
+                }
+            }
+        }
+        buffer.flip();
+
+        return decode(buffer, file.resolveSibling(MappedMaterialCatalog.DEFAULT_FILE_NAME));
+    }
+
+    /**
+     * Decodes a simulator from the contents of a file in the binary format.
+     *
+     * @param buffer the file contents
+     * @param catalogFile the catalog file of the external materials
+     * @return the simulator
+     * @throws IOException if the contents are not valid, or the materials are
+     * external and the catalog file is missing or cannot be opened
+     */
+    static Simulator decode(ByteBuffer buffer, Path catalogFile) throws IOException {
+        int payload = buffer.limit() - CRC_SIZE;
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), buffer.arrayOffset(), payload);
+        if ((int) crc.getValue() != buffer.getInt(payload)) {
+            throw new IOException("Corrupted simulator file (CRC mismatch)");
+        }
+
+        if (buffer.getInt() != MAGIC) {
+            throw new IOException("Not a simulator file");
+        }
+        short version = buffer.getShort();
+        if (version != VERSION) {
+            throw new IOException("Unsupported simulator file version: " + version);
+        }
+        boolean externalMaterials = (buffer.getShort() & EXTERNAL_MATERIALS_FLAG) != 0;
+
+        int stringCount = buffer.getInt();
+        int materialCount = buffer.getInt();
+        int gasCount = buffer.getInt();
+        int curiosityCount = buffer.getInt();
+        if (stringCount < 0 || materialCount < 0 || gasCount < 0 || curiosityCount < 0
+                || (externalMaterials && materialCount > 0)) {
+            throw new IOException("Invalid simulator file header");
+        }
+
+        try {
+            String[] strings = new String[stringCount];
+            for (int i = 0; i < stringCount; i++) {
+                int length = buffer.getInt();
+                if (length < 0 || length > payload - buffer.position()) {
+                    throw new IOException("Invalid string length: " + length);
+                }
+                strings[i] = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length,
+                        StandardCharsets.UTF_8);
+                buffer.position(buffer.position() + length);
+            }
+
+            long recordsSize = (long) materialCount * MATERIAL_RECORD_SIZE + (long) gasCount * GAS_RECORD_SIZE
+                    + (long) curiosityCount * CURIOSITY_RECORD_SIZE;
+            if (recordsSize != payload - buffer.position()) {
+                throw new IOException("Invalid simulator file records size");
+            }
+
+            Set<Material> materials = new TreeSet<>();
+            for (int i = 0; i < materialCount; i++) {
+                String name = string(strings, buffer.getInt());
+                double latentHeat = buffer.getDouble();
+                double heatCapacity = buffer.getDouble();
+                double density = buffer.getDouble();
+                double vaporizationTemperature = buffer.getDouble();
+                double fusionTemperature = buffer.getDouble();
+                int flags = buffer.get();
+
+                materials.add(new Material(name, boxed(latentHeat), boxed(heatCapacity), boxed(density),
+                        boxed(vaporizationTemperature), boxed(fusionTemperature),
+                        (flags & MELTABLE_FLAG) != 0));
+            }
+
+            Set<Gas> gases = new TreeSet<>();
+            for (int i = 0; i < gasCount; i++) {
+                String name = string(strings, buffer.getInt());
+                double minWavelength = buffer.getDouble();
+                double maxWavelength = buffer.getDouble();
+                buffer.get();
+
+                gases.add(new Gas(name, boxed(minWavelength), boxed(maxWavelength)));
+            }
+
+            Set<Curiosity> curiosities = new HashSet<>();
+            for (int i = 0; i < curiosityCount; i++) {
+                curiosities.add(new Curiosity(string(strings, buffer.getInt())));
+            }
+
+            return new Simulator(externalMaterials ? openCatalog(catalogFile) : materials, gases, curiosities);
+        } catch (BufferUnderflowException ex) {
+            throw new EOFException("Unexpected end of simulator file");
+        }
+    }
+
+    /**
+     * Opens the catalog file of the external materials of a simulator.
+     *
+     * @param catalogFile the catalog file
+     * @return the material catalog
+     * @throws IOException if the catalog file is missing or cannot be opened
+     */
+    private static MappedMaterialCatalog openCatalog(Path catalogFile) throws IOException {
+        if (!Files.exists(catalogFile)) {
+            throw new IOException("Missing material catalog of the simulator: " + catalogFile);
+        }
+        try {
+            return new MappedMaterialCatalog(catalogFile);
+        } catch (IOException ex) {
+            throw new IOException("Cannot open the material catalog of the simulator " + catalogFile + ": "
+                    + ex.getMessage(), ex);
+        }
+    }
+
+    /**
+     * Writes a simulator to a file in the binary format, replacing it.
+     *
+     * @param file the file to write to
+     * @param simulator the simulator to write
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(Path file, Simulator simulator) throws IOException {
+        write(file, encode(simulator));
+    }
+
+    /**
+     * Writes an encoded simulator to a file, replacing it, and forces it to
+     * the disk.
+     *
+     * @param file the file to write to
+     * @param buffer the encoded simulator
+     * @throws IOException if the file cannot be written
+     */
+    static void write(Path file, ByteBuffer buffer) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+    }
+
+    /**
+     * Encodes a simulator in the binary format.
+     *
+     * @param simulator the simulator to encode
+     * @return the encoded simulator, ready to be read
+     */
+    static ByteBuffer encode(Simulator simulator) {
+        Map<String, Integer> stringIndexes = new LinkedHashMap<>();
+        List<byte[]> strings = new ArrayList<>();
+        int stringsSize = 0;
+
+        boolean externalMaterials = simulator.getMaterialStore() instanceof MappedMaterialCatalog;
+        Set<Material> materials = externalMaterials
+                ? Collections.<Material>emptySet() : simulator.getMaterials();
+        Set<Gas> gases = simulator.getGases();
+        Set<Curiosity> curiosities = simulator.getCuriosities();
+
+        List<String> texts = new ArrayList<>();
+        for (Material material : materials) {
+            texts.add(material.getName());
+        }
+        for (Gas gas : gases) {
+            texts.add(gas.getName());
+        }
+        for (Curiosity curiosity : curiosities) {
+            texts.add(curiosity.getCuriosityString());
+        }
+        for (String text : texts) {
+            if (text != null && !stringIndexes.containsKey(text)) {
+                byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+                stringIndexes.put(text, strings.size());
+                strings.add(bytes);
+                stringsSize += 4 + bytes.length;
+            }
+        }
+
+        int size = HEADER_SIZE + stringsSize + materials.size() * MATERIAL_RECORD_SIZE
+                + gases.size() * GAS_RECORD_SIZE + curiosities.size() * CURIOSITY_RECORD_SIZE + CRC_SIZE;
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+
+        buffer.putInt(MAGIC);
+        buffer.putShort(VERSION);
+        buffer.putShort(externalMaterials ? EXTERNAL_MATERIALS_FLAG : 0);
+        buffer.putInt(strings.size());
+        buffer.putInt(materials.size());
+        buffer.putInt(gases.size());
+        buffer.putInt(curiosities.size());
+
+        for (byte[] bytes : strings) {
+            buffer.putInt(bytes.length);
+            buffer.put(bytes);
+        }
+
+        for (Material material : materials) {
+            buffer.putInt(index(stringIndexes, material.getName()));
+            buffer.putDouble(unboxed(material.getLatentHeat()));
+            buffer.putDouble(unboxed(material.getHeatCapacity()));
+            buffer.putDouble(unboxed(material.getDensity()));
+            buffer.putDouble(unboxed(material.getVaporizationTemperature()));
+            buffer.putDouble(unboxed(material.getFusionTemperature()));
+            buffer.put((byte) (material.isMeltable() ? MELTABLE_FLAG : 0));
+        }
+
+        for (Gas gas : gases) {
+            buffer.putInt(index(stringIndexes, gas.getName()));
+            buffer.putDouble(unboxed(gas.getMinWavelength()));
+            buffer.putDouble(unboxed(gas.getMaxWavelength()));
+            buffer.put((byte) 0);
+        }
+
+        for (Curiosity curiosity : curiosities) {
+            buffer.putInt(index(stringIndexes, curiosity.getCuriosityString()));
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), 0, buffer.position());
+        buffer.putInt((int) crc.getValue());
+        buffer.flip();
+
+        return buffer;
+    }
+
+    /**
+     * Obtains the index of a text in the string table.
+     *
+     * @param stringIndexes the string table indexes
+     * @param text the text, or null
+     * @return the index, or NO_STRING if the text is null
+     */
+    private static int index(Map<String, Integer> stringIndexes, String text) {
+        return text == null ? NO_STRING : stringIndexes.get(text);
+    }
+
+    /**
+     * Obtains a text of the string table.
+     *
+     * @param strings the string table
+     * @param index the index of the text
+     * @return the text, or null if the index is NO_STRING
+     * @throws IOException if the index is not valid
+     */
+    private static String string(String[] strings, int index) throws IOException {
+        if (index == NO_STRING) {
+            return null;
+        }
+        if (index < 0 || index >= strings.length) {
+            throw new IOException("Invalid string index: " + index);
+        }
+        return strings[index];
+    }
+
+    /**
+     * Converts an optional property to its record value.
+     *
+     * @param value the property, or null
+     * @return the value, or NaN if the property is null
+     */
+    private static double unboxed(Double value) {
+        return value == null ? Double.NaN : value;
+    }
+
+    /**
+     * Converts a record value to an optional property.
+     *
+     * @param value the record value
+     * @return the property, or null if the value is NaN
+     */
+    private static Double boxed(double value) {
+        return Double.isNaN(value) ? null : value;
+    }
+}
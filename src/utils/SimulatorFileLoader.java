@@ -4,15 +4,33 @@
 package utils;
 
 import java.io.FileInputStream;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import model.MaterialStore;
 import model.Simulator;
+import utils.events.FlightRecorder;
 
 /**
  * Class that provides methods to write and read from binary files.
  *
+ * The simulator is saved in the versioned binary format of
+ * {@link SimulatorBinaryFormat}. Files saved with Java serialization by older
+ * versions are still read, and are rewritten in the binary format the first
+ * time they are read (keeping a copy of the old file with the
+ * {@value #LEGACY_SUFFIX} suffix).
+ *
+ * Saving never leaves a torn file: the simulator is written to a temporary
+ * file, forced to the disk and renamed over the old file, whose previous
+ * version is kept as a backup. Loading recovers from an interrupted save with
+ * the temporary file (if complete) or the backup.
+ *
  * @author Eric Amaral 1141570
  * @author Daniel Gonçalves 1151452
  * @author Ivo Ferro 1151159
@@ -26,47 +44,256 @@ public class SimulatorFileLoader {
     public static final String DEFAULT_FILE_NAME = "Simulator.bin";
 
     /**
-     * Reads from a simulator from a specified binary file.
+     * Suffix of the copy of a file migrated from Java serialization.
+     */
+    public static final String LEGACY_SUFFIX = ".legacy";
+
+    /**
+     * Suffix of the temporary file written while saving.
+     */
+    public static final String TEMPORARY_SUFFIX = ".tmp";
+
+    /**
+     * Suffix of the backup of the previously saved file.
+     */
+    public static final String BACKUP_SUFFIX = ".bak";
+
+    /**
+     * Timer of the simulator reads.
+     */
+    private final static MetricsTimer READ_TIMER = MetricsRegistry.timer("persistence.read");
+
+    /**
+     * Timer of the simulator saves, including the encoding.
+     */
+    private final static MetricsTimer SAVE_TIMER = MetricsRegistry.timer("persistence.save");
+
+    /**
+     * Timer of the snapshot writes to the disk.
+     */
+    private final static MetricsTimer WRITE_TIMER = MetricsRegistry.timer("persistence.write");
+
+    /**
+     * Counter of the reads and saves that failed.
+     */
+    private final static MetricsCounter FAILURES = MetricsRegistry.counter("persistence.failures");
+
+    /**
+     * Reads from a simulator from a specified binary file, migrating files
+     * saved with Java serialization to the binary format.
      *
      * @param fileName file to read from
      * @return simulator with data or null if there is some error reading the
      * file
      */
     public static Simulator read(String fileName) {
-        Simulator simulator;
         try {
-            ObjectInputStream in = new ObjectInputStream(
-                    new FileInputStream(fileName));
+            return load(fileName);
+        } catch (IOException ex) {
+            return null;
+        }
+    }
+
+    /**
+     * Loads a simulator from a specified binary file, migrating files saved
+     * with Java serialization to the binary format.
+     *
+     * @param fileName file to read from
+     * @return simulator with data
+     * @throws IOException if the file cannot be read or is not valid
+     */
+    public static Simulator load(String fileName) throws IOException {
+        long start = MetricsRegistry.ENABLED ? System.nanoTime() : 0L;
+        Object event = FlightRecorder.begin(FlightRecorder.Type.SIMULATOR_FILE);
+        boolean succeeded = false;
+        try {
+            Simulator simulator = loadFile(fileName);
+            succeeded = true;
+            return simulator;
+        } catch (IOException ex) {
+            if (MetricsRegistry.ENABLED) {
+                FAILURES.increment();
+            }
+            throw ex;
+        } finally {
+            if (MetricsRegistry.ENABLED) {
+                READ_TIMER.recordSince(start);
+            }
+            commitFileEvent(event, "read", fileName, 0, succeeded);
+        }
+    }
+
+    /**
+     * Loads a simulator from a specified binary file, recovering it from the
+     * temporary or backup file and migrating files saved with Java
+     * serialization to the binary format.
+     *
+     * @param fileName file to read from
+     * @return simulator with data
+     * @throws IOException if the file cannot be read or is not valid
+     */
+    private static Simulator loadFile(String fileName) throws IOException {
+        Path file = Paths.get(fileName);
+
+        Path temporary = Paths.get(fileName + TEMPORARY_SUFFIX);
+        if (Files.exists(temporary)) {
             try {
-                simulator = (Simulator) in.readObject();
-            } finally {
-                in.close();
+                Simulator simulator = SimulatorBinaryFormat.read(temporary);
+                Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                return simulator;
+            } catch (IOException ex) {
+                Files.delete(temporary);
+            }
+        }
+
+        try {
+            if (SimulatorBinaryFormat.isBinaryFormat(file)) {
+                return SimulatorBinaryFormat.read(file);
             }
+        } catch (IOException ex) {
+            Path backup = Paths.get(fileName + BACKUP_SUFFIX);
+            if (!Files.exists(backup)) {
+                throw ex;
+            }
+            Simulator simulator = SimulatorBinaryFormat.read(backup);
+            write(fileName, SimulatorBinaryFormat.encode(simulator));
             return simulator;
-        } catch (IOException | ClassNotFoundException ex) {
-            return null;
+        }
+
+        Simulator simulator = loadSerialized(fileName);
+        Files.copy(file, Paths.get(fileName + LEGACY_SUFFIX), StandardCopyOption.REPLACE_EXISTING);
+        save(fileName, simulator);
+        return simulator;
+    }
+
+    /**
+     * Loads a simulator saved with Java serialization.
+     *
+     * @param fileName file to read from
+     * @return simulator with data
+     * @throws IOException if the file cannot be read or is not valid
+     */
+    private static Simulator loadSerialized(String fileName) throws IOException {
+        try (ObjectInputStream in = new ObjectInputStream(new FileInputStream(fileName))) {
+            return (Simulator) in.readObject();
+        } catch (ClassNotFoundException | ClassCastException ex) {
+            throw new IOException("Not a simulator file: " + fileName, ex);
         }
     }
 
     /**
-     * Saves the simulator data in a binary file.
+     * Saves the simulator data in a binary file. The materials of a
+     * {@link MappedMaterialCatalog} are forced to its own file instead.
      *
      * @param fileName name of the file to be saved
      * @param simulator simulator to be saved
      * @return true if it is successful saved, false otherwise
      */
     public static boolean save(String fileName, Simulator simulator) {
+        long start = MetricsRegistry.ENABLED ? System.nanoTime() : 0L;
+        Object event = FlightRecorder.begin(FlightRecorder.Type.SIMULATOR_FILE);
+        long bytes = 0;
+        boolean succeeded = false;
         try {
-            ObjectOutputStream out = new ObjectOutputStream(
-                    new FileOutputStream(fileName));
-            try {
-                out.writeObject(simulator);
-            } finally {
-                out.close();
+            flushCatalog(simulator);
+
+            ByteBuffer snapshot;
+            synchronized (simulator) {
+                snapshot = SimulatorBinaryFormat.encode(simulator);
             }
+            bytes = snapshot.remaining();
+            write(fileName, snapshot);
+            succeeded = true;
             return true;
         } catch (IOException ex) {
+            if (MetricsRegistry.ENABLED) {
+                FAILURES.increment();
+            }
             return false;
+        } finally {
+            if (MetricsRegistry.ENABLED) {
+                SAVE_TIMER.recordSince(start);
+            }
+            commitFileEvent(event, "save", fileName, bytes, succeeded);
+        }
+    }
+
+    /**
+     * Commits a flight recorder event of a simulator file, if it is recorded.
+     *
+     * @param event the event, begun before the operation
+     * @param operation the operation (read, save or write)
+     * @param fileName the file name
+     * @param bytes number of written bytes
+     * @param succeeded if the operation succeeded
+     */
+    private static void commitFileEvent(Object event, String operation, String fileName, long bytes,
+            boolean succeeded) {
+        if (FlightRecorder.shouldCommit(event)) {
+            FlightRecorder.commitSimulatorFile(event, operation, fileName, bytes, succeeded);
+        }
+    }
+
+    /**
+     * Forces the materials of a {@link MappedMaterialCatalog} to the disk.
+     *
+     * @param simulator the simulator
+     */
+    static void flushCatalog(Simulator simulator) {
+        MaterialStore store = simulator.getMaterialStore();
+        if (store instanceof MappedMaterialCatalog) {
+            ((MappedMaterialCatalog) store).flush();
+        }
+    }
+
+    /**
+     * Writes an encoded simulator to a temporary file, forces it to the disk
+     * and renames it over the file, keeping the previous file as a backup.
+     *
+     * @param fileName name of the file to be saved
+     * @param snapshot the encoded simulator
+     * @throws IOException if the file cannot be written
+     */
+    static void write(String fileName, ByteBuffer snapshot) throws IOException {
+        long start = MetricsRegistry.ENABLED ? System.nanoTime() : 0L;
+        Object event = FlightRecorder.begin(FlightRecorder.Type.SIMULATOR_FILE);
+        long bytes = snapshot.remaining();
+
+        Path file = Paths.get(fileName);
+        Path temporary = Paths.get(fileName + TEMPORARY_SUFFIX);
+        Path backup = Paths.get(fileName + BACKUP_SUFFIX);
+
+        SimulatorBinaryFormat.write(temporary, snapshot);
+
+        if (Files.exists(file)) {
+            Files.deleteIfExists(backup);
+            try {
+                Files.createLink(backup, file);
+            } catch (IOException | UnsupportedOperationException ex) {
+                Files.copy(file, backup, StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        forceDirectory(file);
+
+        if (MetricsRegistry.ENABLED) {
+            WRITE_TIMER.recordSince(start);
+        }
+        commitFileEvent(event, "write", fileName, bytes, true);
+    }
+
+    /**
+     * Forces the directory of a file to the disk, so a rename of the file is
+     * durable.
+     *
+     * @param file the file
+     */
+    static void forceDirectory(Path file) {
+        Path directory = file.toAbsolutePath().getParent();
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException ex) {
+            // not every platform can force a directory; the rename is still atomic
         }
     }
 }
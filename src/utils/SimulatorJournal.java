@@ -0,0 +1,523 @@
+/*
+ * Package location for Utils concepts.
+ */
+package utils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.zip.CRC32;
+import model.CatalogListener;
+import model.Material;
+import model.Simulator;
+
+/**
+ * Append-only journal of the changes of the simulator catalog, written as they
+ * happen, so that saving the simulator costs only the change and nothing is
+ * lost if the application stops unexpectedly.
+ *
+ * On load, the journal is replayed over the last snapshot of the simulator
+ * ({@link SimulatorFileLoader}). The records kept in a newer snapshot are
+ * discarded by the {@link SnapshotService}, by writing the remaining records
+ * to a temporary file that is renamed over the journal.
+ *
+ * The file starts with a header (magic number and version), followed by the
+ * records. Each record has the length of its content, the content (type,
+ * material name and properties) and the CRC-32 of the content. A record that
+ * was not completely written is discarded when the journal is replayed.
+ *
+ * @author Eric Amaral 1141570
+ * @author Daniel Gonçalves 1151452
+ * @author Ivo Ferro 1151159
+ * @author Tiago Correia 1151031
+ */
+public class SimulatorJournal implements CatalogListener, Closeable {
+
+    /**
+     * Name of the default journal file.
+     */
+    public static final String DEFAULT_FILE_NAME = "Simulator.journal";
+
+    /**
+     * Magic number that identifies the format ("LCJ1").
+     */
+    public static final int MAGIC = 0x4C434A31;
+
+    /**
+     * Current version of the format.
+     */
+    public static final short VERSION = 1;
+
+    /**
+     * Size of the header (bytes).
+     */
+    private static final int HEADER_SIZE = 6;
+
+    /**
+     * Maximum size of the content of a record (bytes).
+     */
+    private static final int MAXIMUM_RECORD_SIZE = 1 << 20;
+
+    /**
+     * Type of the record of a registered material.
+     */
+    private static final byte MATERIAL_REGISTERED = 1;
+
+    /**
+     * Type of the record of a removed material.
+     */
+    private static final byte MATERIAL_REMOVED = 2;
+
+    /**
+     * The journal file.
+     */
+    private final Path file;
+
+    /**
+     * The channel of the journal file.
+     */
+    private FileChannel channel;
+
+    /**
+     * If the journal file can be changed.
+     */
+    private final boolean writable;
+
+    /**
+     * Number of records in the journal.
+     */
+    private int recordCount;
+
+    /**
+     * The first error appending to the journal, if any.
+     */
+    private IOException failure;
+
+    /**
+     * An error appending to the journal whose lost records are not yet kept
+     * in a saved snapshot, if any.
+     */
+    private IOException unsavedFailure;
+
+    /**
+     * Opens a journal file, creating it if it does not exist.
+     *
+     * @param file the journal file
+     * @throws IOException if the file cannot be opened or is not a journal
+     */
+    public SimulatorJournal(Path file) throws IOException {
+        this(file, true);
+    }
+
+    /**
+     * Opens a journal file.
+     *
+     * @param file the journal file
+     * @param writable true to create and change the file, false to only read
+     * it
+     * @throws IOException if the file cannot be opened or is not a journal
+     */
+    private SimulatorJournal(Path file, boolean writable) throws IOException {
+        this.file = file;
+        this.writable = writable;
+        this.channel = writable
+                ? FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)
+                : FileChannel.open(file, StandardOpenOption.READ);
+
+        try {
+            if (channel.size() < HEADER_SIZE) {
+                if (writable) {
+                    reset();
+                }
+            } else {
+                ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+                readFully(header, 0);
+                if (header.getInt(0) != MAGIC) {
+                    throw new IOException("Not a simulator journal");
+                }
+                if (header.getShort(4) != VERSION) {
+                    throw new IOException("Unsupported simulator journal version: " + header.getShort(4));
+                }
+            }
+        } catch (IOException ex) {
+            channel.close();
+            throw ex;
+        }
+    }
+
+    /**
+     * Empties the journal, leaving only the header.
+     *
+     * @throws IOException if the file cannot be written
+     */
+    private void reset() throws IOException {
+        channel.truncate(0);
+        writeFully(channel, header(), 0);
+        channel.force(true);
+        recordCount = 0;
+    }
+
+    /**
+     * Creates the header of a journal file.
+     *
+     * @return the header, ready to be written
+     */
+    private static ByteBuffer header() {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC).putShort(VERSION).flip();
+        return header;
+    }
+
+    /**
+     * Replays the journal over a simulator, applying every complete record.
+     * An incomplete or corrupted record, and everything after it, is
+     * discarded from the journal. The records are applied to a copy of the
+     * materials (or to the material store itself), which then replaces the
+     * materials of the simulator.
+     *
+     * @param simulator the simulator loaded from the last snapshot
+     * @return number of applied records
+     * @throws IOException if the file cannot be read
+     */
+    public synchronized int replay(Simulator simulator) throws IOException {
+        long size = channel.size();
+        long position = HEADER_SIZE;
+        int applied = 0;
+        ByteBuffer length = ByteBuffer.allocate(4);
+        ByteBuffer checksum = ByteBuffer.allocate(4);
+        Set<Material> materials = simulator.getMaterialStore();
+        if (materials == null) {
+            materials = new TreeSet<>(simulator.getMaterials());
+        }
+
+        while (position + 4 <= size) {
+            length.clear();
+            readFully(length, position);
+            int contentSize = length.getInt(0);
+            if (contentSize <= 0 || contentSize > MAXIMUM_RECORD_SIZE || position + 8 + contentSize > size) {
+                break;
+            }
+
+            ByteBuffer content = ByteBuffer.allocate(contentSize);
+            readFully(content, position + 4);
+            checksum.clear();
+            readFully(checksum, position + 4 + contentSize);
+
+            CRC32 crc = new CRC32();
+            crc.update(content.array(), 0, contentSize);
+            if ((int) crc.getValue() != checksum.getInt(0)) {
+                break;
+            }
+
+            content.flip();
+            apply(materials, content);
+            applied++;
+            position += 8 + contentSize;
+        }
+
+        if (position < size && writable) {
+            channel.truncate(position);
+            channel.force(true);
+        }
+        recordCount = applied;
+        if (applied > 0) {
+            simulator.setMaterials(materials);
+        }
+
+        return applied;
+    }
+
+    /**
+     * Replays a journal file over a simulator without changing the file, for
+     * the runs that must not write anything (the batch mode). A missing
+     * journal has no records.
+     *
+     * @param file the journal file
+     * @param simulator the simulator loaded from the last snapshot
+     * @return number of applied records
+     * @throws IOException if the file cannot be read or is not a journal
+     */
+    public static int replayReadOnly(Path file, Simulator simulator) throws IOException {
+        if (!Files.exists(file)) {
+            return 0;
+        }
+        try (SimulatorJournal journal = new SimulatorJournal(file, false)) {
+            return journal.replay(simulator);
+        }
+    }
+
+    /**
+     * Applies a record to the materials of a simulator.
+     *
+     * @param materials the materials
+     * @param content the content of the record
+     * @throws IOException if the record is not valid
+     */
+    private static void apply(Set<Material> materials, ByteBuffer content) throws IOException {
+        byte type = content.get();
+
+        byte[] name = new byte[content.getShort() & 0xFFFF];
+        content.get(name);
+        Material material = new Material(new String(name, StandardCharsets.UTF_8),
+                boxed(content.getDouble()), boxed(content.getDouble()), boxed(content.getDouble()),
+                boxed(content.getDouble()), boxed(content.getDouble()), content.get() != 0);
+
+        switch (type) {
+            case MATERIAL_REGISTERED:
+                materials.add(material);
+                break;
+            case MATERIAL_REMOVED:
+                materials.remove(material);
+                break;
+            default:
+                throw new IOException("Invalid simulator journal record type: " + type);
+        }
+    }
+
+    @Override
+    public synchronized void materialRegistered(Material material) {
+        append(MATERIAL_REGISTERED, material);
+    }
+
+    /**
+     * Appends a record for each registered material, forcing them to the disk
+     * at once.
+     *
+     * @param materials the registered materials
+     */
+    @Override
+    public synchronized void materialsRegistered(Collection<Material> materials) {
+        if (failure != null) {
+            return;
+        }
+
+        try {
+            ByteArrayOutputStream records = new ByteArrayOutputStream(materials.size() * 96);
+            for (Material material : materials) {
+                ByteBuffer record = encode(MATERIAL_REGISTERED, material);
+                records.write(record.array(), 0, record.limit());
+            }
+
+            writeFully(channel, ByteBuffer.wrap(records.toByteArray()), channel.size());
+            channel.force(false);
+            recordCount += materials.size();
+        } catch (IOException ex) {
+            failure = ex;
+        }
+    }
+
+    @Override
+    public synchronized void materialRemoved(Material material) {
+        append(MATERIAL_REMOVED, material);
+    }
+
+    /**
+     * Appends a record to the journal and forces it to the disk. If it cannot
+     * be written, the journal is no longer used.
+     *
+     * @param type the record type
+     * @param material the material
+     */
+    private void append(byte type, Material material) {
+        if (failure != null) {
+            return;
+        }
+
+        try {
+            writeFully(channel, encode(type, material), channel.size());
+            channel.force(false);
+            recordCount++;
+        } catch (IOException ex) {
+            failure = ex;
+        }
+    }
+
+    /**
+     * Encodes a journal record.
+     *
+     * @param type the record type
+     * @param material the material
+     * @return the record
+     * @throws IOException if the record cannot be encoded
+     */
+    private static ByteBuffer encode(byte type, Material material) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        DataOutputStream content = new DataOutputStream(bytes);
+        byte[] name = material.getName().getBytes(StandardCharsets.UTF_8);
+
+        content.writeInt(0);
+        content.writeByte(type);
+        content.writeShort(name.length);
+        content.write(name);
+        content.writeDouble(unboxed(material.getLatentHeat()));
+        content.writeDouble(unboxed(material.getHeatCapacity()));
+        content.writeDouble(unboxed(material.getDensity()));
+        content.writeDouble(unboxed(material.getVaporizationTemperature()));
+        content.writeDouble(unboxed(material.getFusionTemperature()));
+        content.writeBoolean(material.isMeltable());
+        content.writeInt(0);
+
+        ByteBuffer record = ByteBuffer.wrap(bytes.toByteArray());
+        int contentSize = record.limit() - 8;
+        CRC32 crc = new CRC32();
+        crc.update(record.array(), 4, contentSize);
+        record.putInt(0, contentSize);
+        record.putInt(4 + contentSize, (int) crc.getValue());
+        return record;
+    }
+
+    /**
+     * Obtains the number of records in the journal.
+     *
+     * @return the number of records
+     */
+    public synchronized int getRecordCount() {
+        return recordCount;
+    }
+
+    /**
+     * Marks the current end of the journal. The caller should hold the lock of
+     * the simulator, so the mark matches its state. If appending has failed,
+     * it is tried again after the mark, as the records lost until the mark
+     * are kept by the snapshot of the mark.
+     *
+     * @return the mark
+     * @throws IOException if the file size cannot be obtained
+     */
+    public synchronized long mark() throws IOException {
+        if (failure != null) {
+            unsavedFailure = failure;
+            failure = null;
+        }
+        return channel.size();
+    }
+
+    /**
+     * Discards the records before a mark, once they are kept in a snapshot.
+     * The records appended after the mark are written after the header to a
+     * temporary file, which is forced to the disk and renamed over the
+     * journal, so the journal is never left without them.
+     *
+     * @param mark the mark
+     * @throws IOException if the file cannot be written
+     */
+    public synchronized void discardUpTo(long mark) throws IOException {
+        long size = channel.size();
+        ByteBuffer tail = ByteBuffer.allocate((int) (size - mark));
+        readFully(tail, mark);
+        tail.flip();
+
+        int tailRecords = 0;
+        for (int position = 0; position + 4 <= tail.limit(); position += 8 + tail.getInt(position)) {
+            tailRecords++;
+        }
+
+        Path temporary = file.resolveSibling(file.getFileName() + SimulatorFileLoader.TEMPORARY_SUFFIX);
+        FileChannel discarded = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            writeFully(discarded, header(), 0);
+            writeFully(discarded, tail, HEADER_SIZE);
+            discarded.force(true);
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException ex) {
+            discarded.close();
+            Files.deleteIfExists(temporary);
+            throw ex;
+        }
+        SimulatorFileLoader.forceDirectory(file);
+
+        FileChannel previous = channel;
+        channel = discarded;
+        recordCount = tailRecords;
+        previous.close();
+    }
+
+    /**
+     * Clears the failure of appending, once a snapshot taken at a later mark
+     * is saved.
+     */
+    public synchronized void clearFailure() {
+        unsavedFailure = null;
+    }
+
+    /**
+     * Verifies if appending to the journal has failed. The changes after a
+     * failure must be kept by saving a snapshot.
+     *
+     * @return true if a record could not be written and no snapshot has
+     * kept it yet, false otherwise
+     */
+    public synchronized boolean hasFailed() {
+        return failure != null || unsavedFailure != null;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Reads bytes from the journal until the buffer is full.
+     *
+     * @param buffer the buffer
+     * @param position the position in the file
+     * @throws IOException if the file cannot be read
+     */
+    private void readFully(ByteBuffer buffer, long position) throws IOException {
+        long offset = position;
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, offset);
+            if (read < 0) {
+                throw new IOException("Unexpected end of simulator journal");
+            }
+            offset += read;
+        }
+    }
+
+    /**
+     * Writes every byte of a buffer to a journal file.
+     *
+     * @param channel the channel of the file
+     * @param buffer the buffer
+     * @param position the position in the file
+     * @throws IOException if the file cannot be written
+     */
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        long offset = position;
+        while (buffer.hasRemaining()) {
+            offset += channel.write(buffer, offset);
+        }
+    }
+
+    /**
+     * Converts an optional property to its record value.
+     *
+     * @param value the property, or null
+     * @return the value, or NaN if the property is null
+     */
+    private static double unboxed(Double value) {
+        return value == null ? Double.NaN : value;
+    }
+
+    /**
+     * Converts a record value to an optional property.
+     *
+     * @param value the record value
+     * @return the property, or null if the value is NaN
+     */
+    private static Double boxed(double value) {
+        return Double.isNaN(value) ? null : value;
+    }
+}
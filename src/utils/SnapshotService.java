@@ -0,0 +1,254 @@
+/*
+ * Package location for Utils concepts.
+ */
+package utils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import model.CatalogListener;
+import model.Material;
+import model.MaterialStore;
+import model.Simulator;
+
+/**
+ * Saves snapshots of the simulator in a background thread, so saving never
+ * blocks the user interface.
+ *
+ * The service counts the catalog changes and saves periodically when there are
+ * unsaved changes. The simulator is locked only while it is encoded in memory;
+ * the file is written afterwards with {@link SimulatorFileLoader}, atomically.
+ * With a journal, the records kept in each new snapshot are discarded from the
+ * journal, and closing the service does not save again, because the journal
+ * already keeps every change. Before each snapshot the tombstones of a mapped
+ * material catalog are reclaimed, once they outnumber its materials.
+ *
+ * @author Eric Amaral 1141570
+ * @author Daniel Gonçalves 1151452
+ * @author Ivo Ferro 1151159
+ * @author Tiago Correia 1151031
+ */
+public class SnapshotService implements CatalogListener {
+
+    /**
+     * Default period between autosaves (s).
+     */
+    public static final long DEFAULT_AUTOSAVE_PERIOD = 60;
+
+    /**
+     * Minimum number of tombstones of a mapped material catalog to compact
+     * it.
+     */
+    private static final int COMPACTION_MINIMUM = 1024;
+
+    /**
+     * The simulator to save.
+     */
+    private final Simulator simulator;
+
+    /**
+     * Name of the snapshot file.
+     */
+    private final String fileName;
+
+    /**
+     * The journal of the catalog changes, or null if there is none.
+     */
+    private final SimulatorJournal journal;
+
+    /**
+     * The background thread.
+     */
+    private final ScheduledExecutorService executor;
+
+    /**
+     * Number of catalog changes.
+     */
+    private final AtomicLong changes;
+
+    /**
+     * Number of catalog changes kept in the last snapshot.
+     */
+    private volatile long savedChanges;
+
+    /**
+     * Lock that allows only one save at a time.
+     */
+    private final Object saveLock;
+
+    /**
+     * Creates a snapshot service. The records already in the journal count as
+     * unsaved changes, so they are compacted by the next autosave.
+     *
+     * @param simulator the simulator to save
+     * @param fileName name of the snapshot file
+     * @param journal the journal of the catalog changes, or null if there is
+     * none
+     */
+    public SnapshotService(Simulator simulator, String fileName, SimulatorJournal journal) {
+        this.simulator = simulator;
+        this.fileName = fileName;
+        this.journal = journal;
+        this.executor = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "Simulator snapshot");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        this.changes = new AtomicLong(journal == null ? 0 : journal.getRecordCount());
+        this.savedChanges = 0;
+        this.saveLock = new Object();
+    }
+
+    @Override
+    public void materialRegistered(Material material) {
+        changes.incrementAndGet();
+    }
+
+    @Override
+    public void materialsRegistered(Collection<Material> materials) {
+        changes.addAndGet(materials.size());
+    }
+
+    @Override
+    public void materialRemoved(Material material) {
+        changes.incrementAndGet();
+    }
+
+    /**
+     * Verifies if there are catalog changes not kept in a snapshot.
+     *
+     * @return true if there are unsaved changes, false otherwise
+     */
+    public boolean isDirty() {
+        return changes.get() != savedChanges;
+    }
+
+    /**
+     * Starts saving periodically, whenever there are unsaved changes.
+     *
+     * @param period period between autosaves
+     * @param unit unit of the period
+     */
+    public void startAutosave(long period, TimeUnit unit) {
+        executor.scheduleWithFixedDelay(new Runnable() {
+            @Override
+            public void run() {
+                if (isDirty()) {
+                    save();
+                }
+            }
+        }, period, period, unit);
+    }
+
+    /**
+     * Saves a snapshot in the background thread.
+     *
+     * @return the result of the save: true if it is saved, false otherwise
+     */
+    public Future<Boolean> saveInBackground() {
+        return executor.submit(new Callable<Boolean>() {
+            @Override
+            public Boolean call() {
+                return save();
+            }
+        });
+    }
+
+    /**
+     * Saves a snapshot in the calling thread.
+     *
+     * @return true if it is saved, false otherwise
+     */
+    public boolean save() {
+        synchronized (saveLock) {
+            compactCatalog();
+            SimulatorFileLoader.flushCatalog(simulator);
+
+            ByteBuffer snapshot;
+            long snapshotChanges;
+            long journalMark = 0;
+            try {
+                synchronized (simulator) {
+                    snapshot = SimulatorBinaryFormat.encode(simulator);
+                    snapshotChanges = changes.get();
+                    if (journal != null) {
+                        journalMark = journal.mark();
+                    }
+                }
+
+                SimulatorFileLoader.write(fileName, snapshot);
+                savedChanges = snapshotChanges;
+
+                if (journal != null) {
+                    journal.discardUpTo(journalMark);
+                    journal.clearFailure();
+                }
+                return true;
+            } catch (IOException ex) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Compacts the mapped material catalog of the simulator, if its tombstones
+     * are at least the minimum and outnumber its materials.
+     */
+    private void compactCatalog() {
+        MaterialStore store = simulator.getMaterialStore();
+        if (store instanceof MappedMaterialCatalog) {
+            MappedMaterialCatalog catalog = (MappedMaterialCatalog) store;
+            if (catalog.getRemovedCount() >= Math.max(COMPACTION_MINIMUM, catalog.size())) {
+                try {
+                    catalog.compact();
+                } catch (IOException ex) {
+                    // the tombstones are kept until a later snapshot
+                }
+            }
+        }
+    }
+
+    /**
+     * Stops the autosave, waiting only for a save in progress, and closes the
+     * journal. The simulator is saved again only if there is no journal (or it
+     * has failed) and there are unsaved changes. It may wait up to a minute for
+     * the save in progress, so it must not be called in the event dispatch
+     * thread.
+     *
+     * @return true if every change is saved, false otherwise
+     */
+    public boolean close() {
+        executor.shutdown();
+        try {
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+
+        boolean saved = true;
+        if (journal == null || journal.hasFailed()) {
+            saved = !isDirty() || save();
+        } else {
+            SimulatorFileLoader.flushCatalog(simulator);
+        }
+
+        if (journal != null) {
+            try {
+                journal.close();
+            } catch (IOException ex) {
+                saved = false;
+            }
+        }
+        return saved;
+    }
+}
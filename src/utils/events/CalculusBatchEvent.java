@@ -0,0 +1,41 @@
+/*
+ * Package location for Utils event concepts.
+ */
+package utils.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event of the calculation of a batch of points.
+ *
+ * @author Eric Amaral 1141570
+ * @author Daniel Gonçalves 1151452
+ * @author Ivo Ferro 1151159
+ * @author Tiago Correia 1151031
+ */
+@Name("simulator.CalculusBatch")
+@Label("Calculus Batch")
+@Category({"Laser Cutting Simulator", "Engine"})
+@Description("Calculation of a batch of points.")
+@Enabled(false)
+@StackTrace(false)
+public class CalculusBatchEvent extends Event {
+
+    /**
+     * The calculus name.
+     */
+    @Label("Calculus")
+    public String calculus;
+
+    /**
+     * Number of calculated points.
+     */
+    @Label("Points")
+    public int points;
+}
@@ -0,0 +1,47 @@
+/*
+ * Package location for Utils event concepts.
+ */
+package utils.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event of the registration or removal of materials.
+ *
+ * @author Eric Amaral 1141570
+ * @author Daniel Gonçalves 1151452
+ * @author Ivo Ferro 1151159
+ * @author Tiago Correia 1151031
+ */
+@Name("simulator.CatalogChange")
+@Label("Catalog Change")
+@Category({"Laser Cutting Simulator", "Catalog"})
+@Description("Registration or removal of materials.")
+@Enabled(false)
+@StackTrace(false)
+public class CatalogChangeEvent extends Event {
+
+    /**
+     * The operation (register or remove).
+     */
+    @Label("Operation")
+    public String operation;
+
+    /**
+     * The material name, or the name of the first material of a batch.
+     */
+    @Label("Material")
+    public String material;
+
+    /**
+     * Number of changed materials.
+     */
+    @Label("Materials")
+    public int materials;
+}
@@ -0,0 +1,59 @@
+/*
+ * Package location for Utils event concepts.
+ */
+package utils.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event of the update of an experience with a new power factor and cutting time limit.
+ *
+ * @author Eric Amaral 1141570
+ * @author Daniel Gonçalves 1151452
+ * @author Ivo Ferro 1151159
+ * @author Tiago Correia 1151031
+ */
+@Name("simulator.ExperienceUpdate")
+@Label("Experience Update")
+@Category({"Laser Cutting Simulator", "Engine"})
+@Description("Update of an experience with a new power factor and cutting time limit.")
+@Enabled(false)
+@StackTrace(false)
+public class ExperienceUpdateEvent extends Event {
+
+    /**
+     * The material name.
+     */
+    @Label("Material")
+    public String material;
+
+    /**
+     * The material thickness (m).
+     */
+    @Label("Thickness")
+    public double thickness;
+
+    /**
+     * The power factor.
+     */
+    @Label("Factor")
+    public float factor;
+
+    /**
+     * The cutting time limit (s).
+     */
+    @Label("Cutting Time Limit")
+    public double cuttingTimeLimit;
+
+    /**
+     * If the laser cuts the material in the time limit.
+     */
+    @Label("Cut")
+    public boolean cut;
+}
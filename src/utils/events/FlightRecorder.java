@@ -0,0 +1,302 @@
+/*
+ * Package location for Utils event concepts.
+ */
+package utils.events;
+
+/**
+ * Records the flight recorder events of the simulator, when the Java flight
+ * recorder (jdk.jfr) is available.
+ *
+ * The event types of this package extend jdk.jfr.Event, so only this class
+ * may be used by the rest of the application: the recorder that uses them is
+ * loaded reflectively, and only if jdk.jfr.Event exists. Without it, no event
+ * is begun and the application runs on Java runtimes without the flight
+ * recorder.
+ *
+ * An event is begun before the operation and, after it, committed with its
+ * fields only if {@link #shouldCommit(Object)} is true:
+ *
+ * <pre>
+ * Object event = FlightRecorder.begin(FlightRecorder.Type.CALCULUS_BATCH);
+ * ...
+ * if (FlightRecorder.shouldCommit(event)) {
+ *     FlightRecorder.commitCalculusBatch(event, "melting", points);
+ * }
+ * </pre>
+ *
+ * @author Eric Amaral 1141570
+ * @author Daniel Gonçalves 1151452
+ * @author Ivo Ferro 1151159
+ * @author Tiago Correia 1151031
+ */
+public final class FlightRecorder {
+
+    /**
+     * The types of events.
+     */
+    public enum Type {
+
+        /**
+         * Creation of a laser.
+         */
+        LASER_CREATED,
+        /**
+         * Calculation of a batch of points.
+         */
+        CALCULUS_BATCH,
+        /**
+         * Update of an experience.
+         */
+        EXPERIENCE_UPDATE,
+        /**
+         * Registration or removal of materials.
+         */
+        CATALOG_CHANGE,
+        /**
+         * Load or save of a simulator file.
+         */
+        SIMULATOR_FILE,
+        /**
+         * Export of a HTML report.
+         */
+        HTML_EXPORT
+    }
+
+    /**
+     * Recorder of the events of a flight recorder.
+     */
+    interface Recorder {
+
+        /**
+         * Begins an event.
+         *
+         * @param type the type of the event
+         * @return the event
+         */
+        public abstract Object begin(Type type);
+
+        /**
+         * Tells if an event should be committed.
+         *
+         * @param event the event
+         * @return true if it should be committed, false otherwise
+         */
+        public abstract boolean shouldCommit(Object event);
+
+        /**
+         * Commits an event of the creation of a laser.
+         *
+         * @param event the event
+         * @param gas the gas name
+         * @param wavelength the wavelength (m)
+         * @param focalPointArea the focal point area (m^2)
+         * @param material the material name
+         * @param thickness the material thickness (m)
+         * @param maxPower the maximum power (W)
+         */
+        public abstract void commitLaserCreated(Object event, String gas, double wavelength,
+                double focalPointArea, String material, double thickness, double maxPower);
+
+        /**
+         * Commits an event of the calculation of a batch of points.
+         *
+         * @param event the event
+         * @param calculus the calculus name
+         * @param points number of calculated points
+         */
+        public abstract void commitCalculusBatch(Object event, String calculus, int points);
+
+        /**
+         * Commits an event of the update of an experience.
+         *
+         * @param event the event
+         * @param material the material name
+         * @param thickness the material thickness (m)
+         * @param factor the power factor
+         * @param cuttingTimeLimit the cutting time limit (s)
+         * @param cut if the laser cuts the material
+         */
+        public abstract void commitExperienceUpdate(Object event, String material, double thickness, float factor,
+                double cuttingTimeLimit, boolean cut);
+
+        /**
+         * Commits an event of a catalog change.
+         *
+         * @param event the event
+         * @param operation the operation (register or remove)
+         * @param material the name of the (first) changed material
+         * @param materials number of changed materials
+         */
+        public abstract void commitCatalogChange(Object event, String operation, String material, int materials);
+
+        /**
+         * Commits an event of a simulator file.
+         *
+         * @param event the event
+         * @param operation the operation (read, save or write)
+         * @param file the file name
+         * @param bytes number of written bytes
+         * @param succeeded if the operation succeeded
+         */
+        public abstract void commitSimulatorFile(Object event, String operation, String file, long bytes,
+                boolean succeeded);
+
+        /**
+         * Commits an event of the export of a HTML report.
+         *
+         * @param event the event
+         * @param report the report (experience or sweep)
+         * @param file the file name
+         * @param rows number of rows
+         */
+        public abstract void commitHTMLExport(Object event, String report, String file, int rows);
+    }
+
+    /**
+     * Name of the class of the flight recorder API.
+     */
+    private final static String EVENT_CLASS = "jdk.jfr.Event";
+
+    /**
+     * Name of the recorder that uses the flight recorder API.
+     */
+    private final static String RECORDER_CLASS = "utils.events.JfrRecorder";
+
+    /**
+     * The recorder, or null if the flight recorder is not available.
+     */
+    private final static Recorder RECORDER = loadRecorder();
+
+    /**
+     * Hides the constructor.
+     */
+    private FlightRecorder() {
+    }
+
+    /**
+     * Loads the recorder, if the flight recorder is available.
+     *
+     * @return the recorder, or null if it is not available
+     */
+    private static Recorder loadRecorder() {
+        try {
+            Class.forName(EVENT_CLASS, false, FlightRecorder.class.getClassLoader());
+            return (Recorder) Class.forName(RECORDER_CLASS).getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError ex) {
+            return null;
+        }
+    }
+
+    /**
+     * Tells if the flight recorder is available.
+     *
+     * @return true if it is available, false otherwise
+     */
+    public static boolean isAvailable() {
+        return RECORDER != null;
+    }
+
+    /**
+     * Begins an event.
+     *
+     * @param type the type of the event
+     * @return the event, or null if the flight recorder is not available
+     */
+    public static Object begin(Type type) {
+        return (RECORDER == null) ? null : RECORDER.begin(type);
+    }
+
+    /**
+     * Tells if an event should be committed: if it was begun and its type is
+     * recorded.
+     *
+     * @param event the event, or null
+     * @return true if it should be committed, false otherwise
+     */
+    public static boolean shouldCommit(Object event) {
+        return event != null && RECORDER.shouldCommit(event);
+    }
+
+    /**
+     * Commits an event of the creation of a laser, that should be committed.
+     *
+     * @param event the event
+     * @param gas the gas name
+     * @param wavelength the wavelength (m)
+     * @param focalPointArea the focal point area (m^2)
+     * @param material the material name
+     * @param thickness the material thickness (m)
+     * @param maxPower the maximum power (W)
+     */
+    public static void commitLaserCreated(Object event, String gas, double wavelength, double focalPointArea,
+            String material, double thickness, double maxPower) {
+        RECORDER.commitLaserCreated(event, gas, wavelength, focalPointArea, material, thickness, maxPower);
+    }
+
+    /**
+     * Commits an event of the calculation of a batch of points, that should be
+     * committed.
+     *
+     * @param event the event
+     * @param calculus the calculus name
+     * @param points number of calculated points
+     */
+    public static void commitCalculusBatch(Object event, String calculus, int points) {
+        RECORDER.commitCalculusBatch(event, calculus, points);
+    }
+
+    /**
+     * Commits an event of the update of an experience, that should be
+     * committed.
+     *
+     * @param event the event
+     * @param material the material name
+     * @param thickness the material thickness (m)
+     * @param factor the power factor
+     * @param cuttingTimeLimit the cutting time limit (s)
+     * @param cut if the laser cuts the material
+     */
+    public static void commitExperienceUpdate(Object event, String material, double thickness, float factor,
+            double cuttingTimeLimit, boolean cut) {
+        RECORDER.commitExperienceUpdate(event, material, thickness, factor, cuttingTimeLimit, cut);
+    }
+
+    /**
+     * Commits an event of a catalog change, that should be committed.
+     *
+     * @param event the event
+     * @param operation the operation (register or remove)
+     * @param material the name of the (first) changed material
+     * @param materials number of changed materials
+     */
+    public static void commitCatalogChange(Object event, String operation, String material, int materials) {
+        RECORDER.commitCatalogChange(event, operation, material, materials);
+    }
+
+    /**
+     * Commits an event of a simulator file, that should be committed.
+     *
+     * @param event the event
+     * @param operation the operation (read, save or write)
+     * @param file the file name
+     * @param bytes number of written bytes
+     * @param succeeded if the operation succeeded
+     */
+    public static void commitSimulatorFile(Object event, String operation, String file, long bytes,
+            boolean succeeded) {
+        RECORDER.commitSimulatorFile(event, operation, file, bytes, succeeded);
+    }
+
+    /**
+     * Commits an event of the export of a HTML report, that should be
+     * committed.
+     *
+     * @param event the event
+     * @param report the report (experience or sweep)
+     * @param file the file name
+     * @param rows number of rows
+     */
+    public static void commitHTMLExport(Object event, String report, String file, int rows) {
+        RECORDER.commitHTMLExport(event, report, file, rows);
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Package location for Utils event concepts.
+ */
+package utils.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event of the export of a HTML report.
+ *
+ * @author Eric Amaral 1141570
+ * @author Daniel Gonçalves 1151452
+ * @author Ivo Ferro 1151159
+ * @author Tiago Correia 1151031
+ */
+@Name("simulator.HTMLExport")
+@Label("HTML Export")
+@Category({"Laser Cutting Simulator", "Export"})
+@Description("Export of a HTML report.")
+@Enabled(false)
+@StackTrace(false)
+public class HTMLExportEvent extends Event {
+
+    /**
+     * The exported report (experience or sweep).
+     */
+    @Label("Report")
+    public String report;
+
+    /**
+     * The file name.
+     */
+    @Label("File")
+    public String file;
+
+    /**
+     * Number of exported rows.
+     */
+    @Label("Rows")
+    public int rows;
+}
@@ -0,0 +1,111 @@
+/*
+ * Package location for Utils event concepts.
+ */
+package utils.events;
+
+import jdk.jfr.Event;
+
+/**
+ * Recorder of the events of the Java flight recorder, loaded by
+ * {@link FlightRecorder} only when jdk.jfr is available.
+ *
+ * @author Eric Amaral 1141570
+ * @author Daniel Gonçalves 1151452
+ * @author Ivo Ferro 1151159
+ * @author Tiago Correia 1151031
+ */
+final class JfrRecorder implements FlightRecorder.Recorder {
+
+    @Override
+    public Object begin(FlightRecorder.Type type) {
+        Event event;
+        switch (type) {
+            case LASER_CREATED:
+                event = new LaserCreatedEvent();
+                break;
+            case CALCULUS_BATCH:
+                event = new CalculusBatchEvent();
+                break;
+            case EXPERIENCE_UPDATE:
+                event = new ExperienceUpdateEvent();
+                break;
+            case CATALOG_CHANGE:
+                event = new CatalogChangeEvent();
+                break;
+            case SIMULATOR_FILE:
+                event = new SimulatorFileEvent();
+                break;
+            default:
+                event = new HTMLExportEvent();
+                break;
+        }
+        event.begin();
+        return event;
+    }
+
+    @Override
+    public boolean shouldCommit(Object event) {
+        return ((Event) event).shouldCommit();
+    }
+
+    @Override
+    public void commitLaserCreated(Object event, String gas, double wavelength, double focalPointArea,
+            String material, double thickness, double maxPower) {
+        LaserCreatedEvent laserCreated = (LaserCreatedEvent) event;
+        laserCreated.gas = gas;
+        laserCreated.wavelength = wavelength;
+        laserCreated.focalPointArea = focalPointArea;
+        laserCreated.material = material;
+        laserCreated.thickness = thickness;
+        laserCreated.maxPower = maxPower;
+        laserCreated.commit();
+    }
+
+    @Override
+    public void commitCalculusBatch(Object event, String calculus, int points) {
+        CalculusBatchEvent calculusBatch = (CalculusBatchEvent) event;
+        calculusBatch.calculus = calculus;
+        calculusBatch.points = points;
+        calculusBatch.commit();
+    }
+
+    @Override
+    public void commitExperienceUpdate(Object event, String material, double thickness, float factor,
+            double cuttingTimeLimit, boolean cut) {
+        ExperienceUpdateEvent experienceUpdate = (ExperienceUpdateEvent) event;
+        experienceUpdate.material = material;
+        experienceUpdate.thickness = thickness;
+        experienceUpdate.factor = factor;
+        experienceUpdate.cuttingTimeLimit = cuttingTimeLimit;
+        experienceUpdate.cut = cut;
+        experienceUpdate.commit();
+    }
+
+    @Override
+    public void commitCatalogChange(Object event, String operation, String material, int materials) {
+        CatalogChangeEvent catalogChange = (CatalogChangeEvent) event;
+        catalogChange.operation = operation;
+        catalogChange.material = material;
+        catalogChange.materials = materials;
+        catalogChange.commit();
+    }
+
+    @Override
+    public void commitSimulatorFile(Object event, String operation, String file, long bytes, boolean succeeded) {
+        SimulatorFileEvent simulatorFile = (SimulatorFileEvent) event;
+        simulatorFile.operation = operation;
+        simulatorFile.file = file;
+        simulatorFile.bytes = bytes;
+        simulatorFile.succeeded = succeeded;
+        simulatorFile.commit();
+    }
+
+    @Override
+    public void commitHTMLExport(Object event, String report, String file, int rows) {
+        HTMLExportEvent htmlExport = (HTMLExportEvent) event;
+        htmlExport.report = report;
+        htmlExport.file = file;
+        htmlExport.rows = rows;
+        htmlExport.commit();
+    }
+}
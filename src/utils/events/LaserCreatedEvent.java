@@ -0,0 +1,65 @@
+/*
+ * Package location for Utils event concepts.
+ */
+package utils.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event of the creation of a laser, with its maximum power.
+ *
+ * @author Eric Amaral 1141570
+ * @author Daniel Gonçalves 1151452
+ * @author Ivo Ferro 1151159
+ * @author Tiago Correia 1151031
+ */
+@Name("simulator.LaserCreated")
+@Label("Laser Created")
+@Category({"Laser Cutting Simulator", "Engine"})
+@Description("Creation of a laser, with its maximum power.")
+@Enabled(false)
+@StackTrace(false)
+public class LaserCreatedEvent extends Event {
+
+    /**
+     * The gas name.
+     */
+    @Label("Gas")
+    public String gas;
+
+    /**
+     * The wavelength (m).
+     */
+    @Label("Wavelength")
+    public double wavelength;
+
+    /**
+     * The focal point area (m^2).
+     */
+    @Label("Focal Point Area")
+    public double focalPointArea;
+
+    /**
+     * The material name.
+     */
+    @Label("Material")
+    public String material;
+
+    /**
+     * The material thickness (m).
+     */
+    @Label("Thickness")
+    public double thickness;
+
+    /**
+     * The maximum power (W).
+     */
+    @Label("Maximum Power")
+    public double maxPower;
+}
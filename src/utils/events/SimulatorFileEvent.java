@@ -0,0 +1,53 @@
+/*
+ * Package location for Utils event concepts.
+ */
+package utils.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event of the load or save of a simulator file.
+ *
+ * @author Eric Amaral 1141570
+ * @author Daniel Gonçalves 1151452
+ * @author Ivo Ferro 1151159
+ * @author Tiago Correia 1151031
+ */
+@Name("simulator.SimulatorFile")
+@Label("Simulator File")
+@Category({"Laser Cutting Simulator", "Persistence"})
+@Description("Load or save of a simulator file.")
+@Enabled(false)
+@StackTrace(false)
+public class SimulatorFileEvent extends Event {
+
+    /**
+     * The operation (read, save or write).
+     */
+    @Label("Operation")
+    public String operation;
+
+    /**
+     * The file name.
+     */
+    @Label("File")
+    public String file;
+
+    /**
+     * Number of written bytes, or 0 if the operation does not write.
+     */
+    @Label("Bytes")
+    public long bytes;
+
+    /**
+     * If the operation succeeded.
+     */
+    @Label("Succeeded")
+    public boolean succeeded;
+}
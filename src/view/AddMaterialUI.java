@@ -9,6 +9,7 @@ import java.awt.FlowLayout;
 import java.awt.GridLayout;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.util.List;
 import javax.swing.BorderFactory;
 import javax.swing.ButtonGroup;
 import javax.swing.JButton;
@@ -20,6 +21,7 @@ import javax.swing.JRadioButton;
 import javax.swing.JTextArea;
 import javax.swing.JTextField;
 import javax.swing.border.EmptyBorder;
+import model.Material;
 import model.Simulator;
 
 /**
@@ -319,6 +321,24 @@ public class AddMaterialUI extends JDialog {
                             throw new IllegalArgumentException("A densidade tem de ser positiva!");
                         }
 
+                        if (controller.isNameTaken()) {
+                            throw new IllegalArgumentException("O material já existe! Insira um novo.");
+                        }
+
+                        List<Material> similarMaterials = controller.getSimilarMaterials();
+                        if (!similarMaterials.isEmpty()) {
+                            StringBuilder names = new StringBuilder();
+                            for (Material similar : similarMaterials) {
+                                names.append("\n - ").append(similar.getName());
+                            }
+                            int similarOption = JOptionPane.showConfirmDialog(rootPane,
+                                    "Existem materiais com propriedades semelhantes:" + names
+                                    + "\nAdicionar mesmo assim?", "Adicionar material", JOptionPane.OK_CANCEL_OPTION);
+                            if (similarOption != JOptionPane.OK_OPTION) {
+                                return;
+                            }
+                        }
+
                         boolean addedMaterial;
                         addedMaterial = controller.registerMaterial();
 
@@ -5,21 +5,32 @@ package view;
 
 import controller.CalculateLaserCutController;
 import java.awt.BorderLayout;
+import java.awt.Cursor;
 import java.awt.Font;
 import java.awt.GridBagLayout;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
 import java.awt.event.FocusEvent;
 import java.awt.event.FocusListener;
 import javax.swing.GroupLayout;
+import javax.swing.JButton;
 import javax.swing.JLabel;
+import javax.swing.JOptionPane;
 import javax.swing.JPanel;
 import javax.swing.JScrollPane;
 import javax.swing.JSlider;
+import javax.swing.JTabbedPane;
 import javax.swing.JTable;
 import javax.swing.event.ChangeEvent;
 import javax.swing.event.ChangeListener;
+import java.util.concurrent.Callable;
+import java.util.function.Consumer;
 import model.Experience;
+import model.sweep.ResponseCurve;
+import utils.CoalescingTaskRunner;
 import view.components.DoubleJTextField;
 import view.components.ImagePanel;
+import view.components.ResponseChartPanel;
 import view.components.ResultTableModel;
 
 /**
@@ -62,6 +73,27 @@ public class CalculateLaserCutPanel extends JPanel {
      */
     private JTable resultsTable;
 
+    /**
+     * Chart of the penetration velocity by power.
+     */
+    private ResponseChartPanel responseChart;
+
+    /**
+     * Runs the calculus in background, keeping only the newest values.
+     */
+    private final CoalescingTaskRunner calculusRunner;
+
+    /**
+     * Samples the response curve in background, keeping only the newest
+     * laser.
+     */
+    private final CoalescingTaskRunner curveRunner;
+
+    /**
+     * Number of points of the response curve.
+     */
+    private final static int CURVE_POINTS = 100000;
+
     /**
      * Creates an instance of Calculate Laser Cut Panel.
      *
@@ -71,6 +103,8 @@ public class CalculateLaserCutPanel extends JPanel {
         super();
         this.simulatorFrame = simulatorFrame;
         this.controller = null;
+        this.calculusRunner = new CoalescingTaskRunner("Laser cut calculus");
+        this.curveRunner = new CoalescingTaskRunner("Response curve");
 
         createComponents();
         setVisible(false);
@@ -82,8 +116,11 @@ public class CalculateLaserCutPanel extends JPanel {
      * @param controller the controller to set
      */
     public void setController(CalculateLaserCutController controller) {
+        this.calculusRunner.cancel();
+        setCalculating(false);
         this.controller = controller;
         setValues();
+        updateResponseCurve();
         setVisible(true);
     }
 
@@ -106,7 +143,13 @@ public class CalculateLaserCutPanel extends JPanel {
     private void createComponents() {
         setLayout(new BorderLayout(20, 0));
 
-        add(new ImagePanel(), BorderLayout.CENTER);
+        this.responseChart = new ResponseChartPanel("Poder (%)", "Velocidade de penetração (m/s)");
+
+        JTabbedPane tabbedPane = new JTabbedPane();
+        tabbedPane.addTab("Diagrama", new ImagePanel());
+        tabbedPane.addTab("Curva de resposta", this.responseChart);
+
+        add(tabbedPane, BorderLayout.CENTER);
         add(createDataPanel(), BorderLayout.EAST);
     }
 
@@ -189,18 +232,27 @@ public class CalculateLaserCutPanel extends JPanel {
         powerSlider.addChangeListener(new ChangeListener() {
             @Override
             public void stateChanged(ChangeEvent e) {
-                if (!powerSlider.getValueIsAdjusting()) {
 
-                    Double effectivePower = controller.getExperience().getLaser().getMaxPower()
-                            * ((float) powerSlider.getValue() / 100);
+                Double effectivePower = controller.getExperience().getLaser().getMaxPower()
+                        * ((float) powerSlider.getValue() / 100);
 
-                    powLabel.setText(String.format("  %E W", effectivePower.doubleValue()));
-                    updateCalculus();
-                }
+                powLabel.setText(String.format("  %E W", effectivePower.doubleValue()));
+                responseChart.setMarker(powerSlider.getValue());
+                updateCalculus();
             }
         });
         powPanel.add(this.powerSlider, BorderLayout.CENTER);
 
+        JButton minimumPowerButton = new JButton("Poder mínimo");
+        minimumPowerButton.setFont(new Font("Arial", Font.BOLD, 14));
+        minimumPowerButton.addActionListener(new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                selectMinimumPower();
+            }
+        });
+        powPanel.add(minimumPowerButton, BorderLayout.SOUTH);
+
         return powPanel;
     }
 
@@ -263,14 +315,153 @@ public class CalculateLaserCutPanel extends JPanel {
         String txt = String.format("%.2f", this.controller.getExperience().getCuttingTimeLimit());
         this.cutTimeLimitTxt.setPredefiendText(txt);
         this.resultsTable.setModel(new ResultTableModel(this.controller.getResults()));
+        this.responseChart.setMarker(this.powerSlider.getValue());
+        updateThreshold(this.controller.getExperience().getCuttingTimeLimit());
+    }
+
+    /**
+     * Samples the response curve of the laser in background and shows it in
+     * the chart when done.
+     */
+    private void updateResponseCurve() {
+
+        final CalculateLaserCutController curveController = this.controller;
+
+        this.curveRunner.submit(new Callable<double[][]>() {
+            @Override
+            public double[][] call() {
+                ResponseCurve curve = curveController.createResponseCurve(ResponseCurve.Variable.FACTOR,
+                        0.0, 1.0, CURVE_POINTS);
+                final double[] powers = new double[curve.size()];
+                final double[] velocities = new double[curve.size()];
+
+                curve.sample(new ResponseCurve.PointConsumer() {
+                    @Override
+                    public void accept(int index, double value, double penetrationVelocity, double timeToCut,
+                            double cuttingSpeed) {
+                        powers[index] = value * 100;
+                        velocities[index] = penetrationVelocity;
+                    }
+                });
+                return new double[][]{powers, velocities};
+            }
+        }, new Consumer<double[][]>() {
+            @Override
+            public void accept(double[][] series) {
+                responseChart.setSeries(series[0], series[1]);
+            }
+        }, new Consumer<Exception>() {
+            @Override
+            public void accept(Exception ex) {
+                showError("Não foi possível calcular a curva de resposta", ex);
+            }
+        });
+    }
+
+    /**
+     * Shows in the chart the penetration velocity needed to cut the material
+     * in the cutting time limit.
+     *
+     * @param cuttingTime the cutting time limit
+     */
+    private void updateThreshold(Double cuttingTime) {
+
+        if (cuttingTime == null || cuttingTime <= 0) {
+            this.responseChart.setThreshold(Double.NaN);
+        } else {
+            this.responseChart.setThreshold(
+                    this.controller.getExperience().getLaser().getMaterialThickness() / cuttingTime);
+        }
+    }
+
+    /**
+     * Moves the power slider to the minimum power that cuts the material in
+     * the cutting time limit.
+     */
+    private void selectMinimumPower() {
+
+        double cuttingTime;
+        try {
+            cuttingTime = this.cutTimeLimitTxt.getDouble();
+        } catch (NumberFormatException ex) {
+            cuttingTime = Double.NaN;
+        }
+        if (!(cuttingTime > 0) || Double.isInfinite(cuttingTime)) {
+            JOptionPane.showMessageDialog(this.simulatorFrame,
+                    "O tempo limite de corte não é válido.",
+                    "Poder mínimo", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+        this.controller.setCuttingTimeLimit(cuttingTime);
+        float minimumFactor = this.controller.getMinimumFactor();
+
+        if (Float.isNaN(minimumFactor) || Float.isInfinite(minimumFactor) || minimumFactor > 1) {
+            JOptionPane.showMessageDialog(this.simulatorFrame,
+                    "O laser não corta o material no tempo limite, mesmo com o poder máximo.",
+                    "Poder mínimo", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+
+        int value = (int) Math.ceil(minimumFactor * 100.0);
+        if ((float) value / 100 < minimumFactor) {
+            value++;
+        }
+        this.powerSlider.setValue(Math.min(value, this.powerSlider.getMaximum()));
     }
 
     /**
-     * Updates the calculus.
+     * Updates the calculus in background and shows its results when done.
+     * Values that are replaced by newer ones before being calculated are
+     * skipped.
      */
     private void updateCalculus() {
 
-        this.controller.updateExperience((float) this.powerSlider.getValue() / 100, this.cutTimeLimitTxt.getDouble());
-        this.resultsTable.setModel(new ResultTableModel(this.controller.getResults()));
+        final CalculateLaserCutController calculusController = this.controller;
+        final Float factor = (float) this.powerSlider.getValue() / 100;
+        final Double cuttingTime = this.cutTimeLimitTxt.getDouble();
+        updateThreshold(cuttingTime);
+        setCalculating(true);
+
+        this.calculusRunner.submit(new Callable<String[][]>() {
+            @Override
+            public String[][] call() {
+                return calculusController.updateResults(factor, cuttingTime);
+            }
+        }, new Consumer<String[][]>() {
+            @Override
+            public void accept(String[][] results) {
+                setCalculating(false);
+                resultsTable.setModel(new ResultTableModel(results));
+            }
+        }, new Consumer<Exception>() {
+            @Override
+            public void accept(Exception ex) {
+                setCalculating(false);
+                showError("Não foi possível calcular os resultados", ex);
+            }
+        });
+    }
+
+    /**
+     * Shows, or stops showing, that the calculus is running in background.
+     *
+     * @param calculating true while the calculus is running
+     */
+    private void setCalculating(boolean calculating) {
+
+        this.resultsTable.setCursor(calculating
+                ? Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR) : Cursor.getDefaultCursor());
+    }
+
+    /**
+     * Shows the error of a calculus that failed in background.
+     *
+     * @param message the message of the error
+     * @param ex the exception of the calculus
+     */
+    private void showError(String message, Exception ex) {
+
+        JOptionPane.showMessageDialog(this.simulatorFrame, message + ": " + ex.getMessage(),
+                "Calcular corte", JOptionPane.ERROR_MESSAGE);
     }
 }
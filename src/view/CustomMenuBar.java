@@ -4,17 +4,30 @@
 package view;
 
 import controller.ExportHTMLController;
+import controller.ImportMaterialsController;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.awt.event.KeyEvent;
+import java.io.BufferedReader;
 import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.concurrent.ExecutionException;
+import javax.swing.JDialog;
 import javax.swing.JFileChooser;
 import javax.swing.JMenu;
 import javax.swing.JMenuBar;
 import javax.swing.JMenuItem;
+import javax.swing.JOptionPane;
+import javax.swing.JProgressBar;
 import javax.swing.KeyStroke;
+import javax.swing.SwingWorker;
 import model.Simulator;
 import utils.SimulatorFileLoader;
+import utils.SnapshotService;
 
 /**
  * Creates a custom JMenuBar.
@@ -26,6 +39,11 @@ import utils.SimulatorFileLoader;
  */
 public class CustomMenuBar extends JMenuBar {
 
+    /**
+     * Suffix of the report of the materials that were not imported.
+     */
+    private final static String IMPORT_REPORT_SUFFIX = ".erros.csv";
+
     /**
      * The parent JFrame.
      */
@@ -36,11 +54,21 @@ public class CustomMenuBar extends JMenuBar {
      */
     private final Simulator simulator;
 
+    /**
+     * The service that saves the simulator, or null if there is none.
+     */
+    private final SnapshotService snapshots;
+
     /**
      * The export menu.
      */
     private JMenu menuExport;
 
+    /**
+     * If the program is already closing.
+     */
+    private boolean exiting;
+
     /**
      * Creates an instance of the CustomMenuBar.
      *
@@ -48,9 +76,23 @@ public class CustomMenuBar extends JMenuBar {
      * @param simulator simulator with all data
      */
     public CustomMenuBar(SimulatorFrame parentFrame, Simulator simulator) {
+        this(parentFrame, simulator, null);
+    }
+
+    /**
+     * Creates an instance of the CustomMenuBar whose snapshots are saved by a
+     * snapshot service.
+     *
+     * @param parentFrame the main frame
+     * @param simulator simulator with all data
+     * @param snapshots the service that saves the simulator, or null to save
+     * it on exit
+     */
+    public CustomMenuBar(SimulatorFrame parentFrame, Simulator simulator, SnapshotService snapshots) {
 
         this.parentFrame = parentFrame;
         this.simulator = simulator;
+        this.snapshots = snapshots;
 
         add(createMenuOptions());
     }
@@ -66,6 +108,7 @@ public class CustomMenuBar extends JMenuBar {
         menu.add(createItemCuriosities());
         menu.add(createItemAddMaterial());
         menu.add(createItemRemoveMaterial());
+        menu.add(createItemImportMaterials());
         menu.add(createSubMenuList());
         menu.add(createItemExit());
         return menu;
@@ -118,6 +161,63 @@ public class CustomMenuBar extends JMenuBar {
         return item;
     }
 
+    /**
+     * Creates the Import Materials item. The materials are imported in the
+     * background, and the records that are not imported are reported in a
+     * file next to the imported one.
+     *
+     * @return the Import Materials item
+     */
+    private JMenuItem createItemImportMaterials() {
+        final JMenuItem item = new JMenuItem("Importar Materiais", 'I');
+        item.setAccelerator(KeyStroke.getKeyStroke("ctrl I"));
+        item.addActionListener(new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                JFileChooser fileChooser = new JFileChooser();
+                if (fileChooser.showOpenDialog(parentFrame) != JFileChooser.APPROVE_OPTION) {
+                    return;
+                }
+                final File file = fileChooser.getSelectedFile();
+                final File reportFile = new File(file.getPath() + IMPORT_REPORT_SUFFIX);
+
+                item.setEnabled(false);
+                new SwingWorker<ImportMaterialsController, Void>() {
+                    @Override
+                    protected ImportMaterialsController doInBackground() throws IOException {
+                        ImportMaterialsController controller = new ImportMaterialsController(simulator);
+                        try (BufferedReader records = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8);
+                                Writer report = Files.newBufferedWriter(Paths.get(reportFile.getPath()),
+                                        StandardCharsets.UTF_8)) {
+                            controller.run(records, report);
+                        }
+                        return controller;
+                    }
+
+                    @Override
+                    protected void done() {
+                        item.setEnabled(true);
+                        try {
+                            ImportMaterialsController controller = get();
+                            JOptionPane.showMessageDialog(parentFrame,
+                                    String.format("Materiais importados: %d%nMateriais repetidos: %d%n"
+                                            + "Registos inválidos: %d%n%nRelatório: %s",
+                                            controller.getImportedCount(), controller.getDuplicateCount(),
+                                            controller.getErrorCount(), reportFile.getPath()),
+                                    "Importar Materiais", JOptionPane.INFORMATION_MESSAGE);
+                        } catch (InterruptedException | ExecutionException ex) {
+                            Throwable cause = ex.getCause() != null ? ex.getCause() : ex;
+                            JOptionPane.showMessageDialog(parentFrame,
+                                    "Não foi possível importar os materiais: " + cause.getMessage(),
+                                    "Importar Materiais", JOptionPane.ERROR_MESSAGE);
+                        }
+                    }
+                }.execute();
+            }
+        });
+        return item;
+    }
+
     /**
      * Creates the HTML item.
      *
@@ -138,7 +238,13 @@ public class CustomMenuBar extends JMenuBar {
                         file = new File(file.getPath().trim() + ".html");
                     }
                     ExportHTMLController controller = new ExportHTMLController(parentFrame, file);
-                    controller.export();
+                    try {
+                        controller.export();
+                    } catch (IOException ex) {
+                        JOptionPane.showMessageDialog(parentFrame,
+                                "Não foi possível exportar o ficheiro: " + ex.getMessage(),
+                                "Exportar HTML", JOptionPane.ERROR_MESSAGE);
+                    }
                 }
             }
         });
@@ -182,16 +288,53 @@ public class CustomMenuBar extends JMenuBar {
     }
 
     /**
-     * Closes the program.
+     * Closes the program, waiting only for a save in progress (the snapshot
+     * service saves again only the changes that are not in its journal). The
+     * simulator is saved in the background, behind a progress dialog, and the
+     * program exits when it is saved.
      */
     public void exit() {
-        boolean isSaved = SimulatorFileLoader.save(SimulatorFileLoader.DEFAULT_FILE_NAME, this.simulator);
-
-        if (isSaved) {
-            System.exit(0);
-        } else {
-            System.exit(1);
+        if (exiting) {
+            return;
         }
+        exiting = true;
+
+        final JDialog progress = new JDialog(parentFrame, "Sair", true);
+        JProgressBar bar = new JProgressBar();
+        bar.setIndeterminate(true);
+        bar.setString("A guardar o simulador...");
+        bar.setStringPainted(true);
+        progress.add(bar);
+        progress.setDefaultCloseOperation(JDialog.DO_NOTHING_ON_CLOSE);
+        progress.pack();
+        progress.setLocationRelativeTo(parentFrame);
+
+        new SwingWorker<Boolean, Void>() {
+            @Override
+            protected Boolean doInBackground() {
+                return (snapshots != null)
+                        ? snapshots.close()
+                        : SimulatorFileLoader.save(SimulatorFileLoader.DEFAULT_FILE_NAME, simulator);
+            }
+
+            @Override
+            protected void done() {
+                progress.dispose();
+                boolean isSaved;
+                try {
+                    isSaved = get();
+                } catch (InterruptedException | ExecutionException ex) {
+                    isSaved = false;
+                }
+
+                if (isSaved) {
+                    System.exit(0);
+                } else {
+                    System.exit(1);
+                }
+            }
+        }.execute();
+        progress.setVisible(true);
     }
 
     public void enableExportMenu() {
@@ -3,14 +3,45 @@
  */
 package view;
 
+import controller.BatchJobController;
 import java.awt.Frame;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
 import model.Simulator;
+import utils.CuriosityPack;
 import utils.DefaultInstantiator;
+import utils.MappedMaterialCatalog;
+import utils.MetricsRegistry;
 import utils.SimulatorFileLoader;
+import utils.SimulatorJournal;
+import utils.SnapshotService;
 
 /**
  * The main class to launch the application.
  *
+ * If the material catalog file exists, the materials are used from it instead
+ * of being loaded with the simulator. The curiosities are kept in the
+ * curiosity pack file and read only when they are shown.
+ *
+ * With the arguments {@code --batch <jobs file> [<results file>]} the
+ * application runs the jobs without user interface, writing the results to the
+ * results file or to the standard output. A batch only reads the simulator
+ * files: it does not create the curiosity pack, open the journal for writing
+ * or save a snapshot.
+ *
+ * With the system property {@code simulator.metrics=true} the metrics of the
+ * simulator are published through JMX and printed to the standard error every
+ * {@code simulator.metrics.period} seconds.
+ *
  * @author Daniel Gonçalves 1151452
  * @author Eric Amaral 1141570
  * @author Ivo Ferro 1151159
@@ -18,6 +49,11 @@ import utils.SimulatorFileLoader;
  */
 public class Main {
 
+    /**
+     * Argument to run a batch of jobs without user interface.
+     */
+    private final static String BATCH_ARGUMENT = "--batch";
+
     /**
      * private constructor hides the public one.
      */
@@ -30,13 +66,161 @@ public class Main {
      * @param args arguments from command line
      */
     public static void main(String[] args) {
+        if (MetricsRegistry.ENABLED) {
+            MetricsRegistry.registerMBean();
+            MetricsRegistry.startDump(Long.getLong("simulator.metrics.period", MetricsRegistry.DEFAULT_DUMP_PERIOD),
+                    TimeUnit.SECONDS, System.err);
+        }
 
-        Simulator simulator = SimulatorFileLoader.read(SimulatorFileLoader.DEFAULT_FILE_NAME);
-        if (simulator == null) {
+        Simulator simulator = readSimulator();
+        boolean snapshotLoaded = simulator != null;
+        if (!snapshotLoaded) {
             simulator = DefaultInstantiator.createSimulator();
         }
 
-        Frame simulatorFrame = new SimulatorFrame(simulator);
+        Path catalogFile = Paths.get(MappedMaterialCatalog.DEFAULT_FILE_NAME);
+        if (simulator.getMaterialStore() == null && Files.exists(catalogFile)) {
+            try {
+                simulator.setMaterials(new MappedMaterialCatalog(catalogFile));
+            } catch (IOException ex) {
+                System.err.println("Cannot open the material catalog: " + ex.getMessage());
+            }
+        }
+
+        if (args.length > 0 && BATCH_ARGUMENT.equals(args[0])) {
+            replayJournal(simulator);
+            System.exit(runBatch(simulator, args));
+        }
+
+        openCuriosities(simulator);
+
+        SimulatorJournal journal = openJournal(simulator);
+        SnapshotService snapshots = new SnapshotService(simulator, SimulatorFileLoader.DEFAULT_FILE_NAME, journal);
+        if (!snapshotLoaded) {
+            snapshots.save();
+        }
+
+        if (journal != null) {
+            simulator.addCatalogListener(journal);
+        }
+        simulator.addCatalogListener(snapshots);
+        snapshots.startAutosave(SnapshotService.DEFAULT_AUTOSAVE_PERIOD, TimeUnit.SECONDS);
+
+        Frame simulatorFrame = new SimulatorFrame(simulator, snapshots);
         simulatorFrame.setVisible(true);
     }
+
+    /**
+     * Reads the simulator from the last snapshot. A snapshot that cannot be
+     * read (for instance, because the catalog file of its materials is
+     * missing) is reported and stops the program, so it is not replaced by
+     * the default simulator.
+     *
+     * @return the simulator, or null if there is no snapshot
+     */
+    private static Simulator readSimulator() {
+        try {
+            return SimulatorFileLoader.load(SimulatorFileLoader.DEFAULT_FILE_NAME);
+        } catch (NoSuchFileException ex) {
+            return null;
+        } catch (IOException ex) {
+            System.err.println("Cannot read the simulator: " + ex.getMessage());
+            System.exit(1);
+            return null;
+        }
+    }
+
+    /**
+     * Opens the curiosity pack, creating it with the curiosities of the
+     * simulator if it does not exist. Once the pack is open and read back
+     * with every curiosity of the simulator, the curiosities are no longer
+     * kept in the simulator.
+     *
+     * @param simulator the simulator
+     */
+    private static void openCuriosities(Simulator simulator) {
+        Path curiositiesFile = Paths.get(CuriosityPack.DEFAULT_FILE_NAME);
+        try {
+            if (!Files.exists(curiositiesFile)) {
+                CuriosityPack.write(curiositiesFile, simulator.getCuriosities());
+            }
+            CuriosityPack pack = new CuriosityPack(curiositiesFile);
+            boolean complete = false;
+            try {
+                complete = pack.containsAll(simulator.getCuriosities());
+            } finally {
+                if (!complete) {
+                    pack.close();
+                }
+            }
+            if (!complete) {
+                System.err.println("The curiosity pack does not have every curiosity of the simulator");
+                return;
+            }
+            simulator.setCuriosityRepository(pack);
+            simulator.getCuriosities().clear();
+        } catch (IOException ex) {
+            System.err.println("Cannot open the curiosity pack: " + ex.getMessage());
+        }
+    }
+
+    /**
+     * Opens the journal of the catalog changes and replays it over the
+     * simulator.
+     *
+     * @param simulator the simulator loaded from the last snapshot
+     * @return the journal, or null if it cannot be opened
+     */
+    private static SimulatorJournal openJournal(Simulator simulator) {
+        try {
+            SimulatorJournal journal = new SimulatorJournal(Paths.get(SimulatorJournal.DEFAULT_FILE_NAME));
+            journal.replay(simulator);
+            return journal;
+        } catch (IOException ex) {
+            System.err.println("Cannot open the simulator journal: " + ex.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Replays the journal of the catalog changes over the simulator, without
+     * changing any file.
+     *
+     * @param simulator the simulator loaded from the last snapshot
+     */
+    private static void replayJournal(Simulator simulator) {
+        try {
+            SimulatorJournal.replayReadOnly(Paths.get(SimulatorJournal.DEFAULT_FILE_NAME), simulator);
+        } catch (IOException ex) {
+            System.err.println("Cannot read the simulator journal: " + ex.getMessage());
+        }
+    }
+
+    /**
+     * Runs a batch of jobs without user interface.
+     *
+     * @param simulator the simulator with all data
+     * @param args arguments from command line
+     * @return the exit status
+     */
+    private static int runBatch(Simulator simulator, String[] args) {
+        if (args.length < 2 || args.length > 3) {
+            System.err.println("Usage: " + BATCH_ARGUMENT + " <jobs file> [<results file>]");
+            return 2;
+        }
+
+        BatchJobController controller = new BatchJobController(simulator);
+        try (BufferedReader jobs = Files.newBufferedReader(Paths.get(args[1]), StandardCharsets.UTF_8);
+                Writer results = args.length == 3
+                        ? Files.newBufferedWriter(Paths.get(args[2]), StandardCharsets.UTF_8)
+                        : new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8))) {
+            controller.run(jobs, results);
+        } catch (IOException ex) {
+            System.err.println(ex.getMessage());
+            return 1;
+        }
+
+        System.err.printf("%d jobs, %d errors%n", controller.getJobCount(), controller.getErrorCount());
+        return controller.getErrorCount() == 0 ? 0 : 1;
+    }
 }
@@ -10,7 +10,6 @@ import java.awt.Dimension;
 import java.awt.FlowLayout;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
-import java.util.Set;
 import javax.swing.DefaultListCellRenderer;
 import javax.swing.JButton;
 import javax.swing.JComboBox;
@@ -20,7 +19,10 @@ import javax.swing.JLabel;
 import javax.swing.JList;
 import javax.swing.JOptionPane;
 import javax.swing.JPanel;
+import javax.swing.JTextField;
 import javax.swing.border.EmptyBorder;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
 import model.Material;
 import model.Simulator;
 
@@ -49,9 +51,9 @@ public class RemoveMaterialUI extends JDialog {
     }
 
     /**
-     * The materials.
+     * The combo box of the materials.
      */
-    private final Set<Material> materials;
+    private JComboBox<Material> materialComboBox;
 
     /**
      * The selected material.
@@ -83,11 +85,15 @@ public class RemoveMaterialUI extends JDialog {
      */
     private static final String WINDOW_TITLE = "Remover Material";
 
+    /**
+     * Maximum number of materials shown in the combo box.
+     */
+    private final static int MAX_SHOWN_MATERIALS = 100;
+
     public RemoveMaterialUI(Simulator simulator, JFrame parentFrame) {
         super(parentFrame, WINDOW_TITLE, true);
 
         controller = new RemoveMaterialController(simulator);
-        materials = controller.getMaterials();
 
         createComponents();
 
@@ -131,12 +137,29 @@ public class RemoveMaterialUI extends JDialog {
     private JPanel createMaterialPanel() {
         JPanel materialPanel = new JPanel(new FlowLayout(FlowLayout.CENTER));
 
-        JComboBox<Material> materialComboBox = new JComboBox<>();
+        materialComboBox = new JComboBox<>();
         materialComboBox.setPreferredSize(new Dimension(150, 20));
-        materials.stream().forEach((material) -> {
-            materialComboBox.addItem(material);
-        });
         materialComboBox.setRenderer(new RemoveMaterialUI.MaterialRenderer());
+        showMaterials("");
+
+        JTextField filterField = new JTextField(10);
+        filterField.setToolTipText("Filtrar os materiais pelo início do nome");
+        filterField.getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) {
+                showMaterials(filterField.getText());
+            }
+
+            @Override
+            public void removeUpdate(DocumentEvent e) {
+                showMaterials(filterField.getText());
+            }
+
+            @Override
+            public void changedUpdate(DocumentEvent e) {
+                showMaterials(filterField.getText());
+            }
+        });
 
         materialComboBox.addActionListener(new ActionListener() {
             @Override
@@ -146,11 +169,25 @@ public class RemoveMaterialUI extends JDialog {
         });
 
         materialPanel.add(new JLabel("Selecione o material a remover:"));
+        materialPanel.add(filterField);
         materialPanel.add(materialComboBox);
 
         return materialPanel;
     }
 
+    /**
+     * Shows in the combo box the first materials whose name starts with a
+     * prefix.
+     *
+     * @param prefix the prefix
+     */
+    private void showMaterials(String prefix) {
+        materialComboBox.removeAllItems();
+        for (Material found : controller.findMaterials(prefix, MAX_SHOWN_MATERIALS)) {
+            materialComboBox.addItem(found);
+        }
+    }
+
     /**
      * Creates the cancel button.
      *
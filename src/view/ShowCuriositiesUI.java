@@ -9,8 +9,6 @@ import java.awt.Dimension;
 import java.awt.FlowLayout;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
-import java.util.LinkedList;
-import java.util.ListIterator;
 import javax.swing.JButton;
 import javax.swing.JDialog;
 import javax.swing.JFrame;
@@ -18,7 +16,7 @@ import javax.swing.JPanel;
 import javax.swing.JScrollPane;
 import javax.swing.JTextArea;
 import javax.swing.border.EmptyBorder;
-import model.Curiosity;
+import model.CuriosityRepository;
 import model.Simulator;
 
 /**
@@ -32,9 +30,14 @@ import model.Simulator;
 public class ShowCuriositiesUI extends JDialog {
 
     /**
-     * The curiosities list.
+     * The curiosities, read only when they are shown.
      */
-    private final ListIterator<Curiosity> curiositiesIterator;
+    private final CuriosityRepository curiosities;
+
+    /**
+     * The index of the shown curiosity.
+     */
+    private int index;
 
     /**
      * The text area
@@ -51,11 +54,6 @@ public class ShowCuriositiesUI extends JDialog {
      */
     private JButton nextButton;
 
-    /**
-     * The direction (boolean) (flag)
-     */
-    private boolean direction;
-
     /**
      * Window title.
      */
@@ -75,12 +73,12 @@ public class ShowCuriositiesUI extends JDialog {
     public ShowCuriositiesUI(Simulator simulator, JFrame parentFrame) {
         super(parentFrame, WINDOW_TITLE, true);
 
-        this.direction = true;
-
         ShowCuriositiesController controller = new ShowCuriositiesController(simulator);
-        this.curiositiesIterator = (new LinkedList<>(controller.getCuriosities())).listIterator();
+        this.curiosities = controller.getCuriosityRepository();
+        this.index = 0;
 
         createComponents();
+        showCuriosity();
 
         setDefaultCloseOperation(JDialog.DISPOSE_ON_CLOSE);
         pack();
@@ -108,7 +106,7 @@ public class ShowCuriositiesUI extends JDialog {
     private JPanel createCuriositiesPanel() {
         JPanel curiosityPanel = new JPanel(new BorderLayout());
 
-        this.jtextArea = new JTextArea(this.curiositiesIterator.next().getCuriosityString());
+        this.jtextArea = new JTextArea();
         this.jtextArea.setEditable(false);
         this.jtextArea.setLineWrap(true);
 
@@ -145,21 +143,12 @@ public class ShowCuriositiesUI extends JDialog {
      */
     private JButton createPreviousButton() {
         this.previousButton = new JButton("Anterior");
-        this.previousButton.setEnabled(this.curiositiesIterator.previousIndex() > 0);
 
         this.previousButton.addActionListener(new ActionListener() {
             @Override
             public void actionPerformed(ActionEvent e) {
-                String text;
-
-                if (direction) {
-                    text = curiositiesIterator.previous().getCuriosityString();
-                    direction = false;
-                }
-                text = curiositiesIterator.previous().getCuriosityString();
-                jtextArea.setText(text);
-                previousButton.setEnabled(curiositiesIterator.hasPrevious());
-                nextButton.setEnabled(curiositiesIterator.hasNext());
+                index--;
+                showCuriosity();
             }
         });
 
@@ -173,23 +162,27 @@ public class ShowCuriositiesUI extends JDialog {
      */
     public JButton createNextButton() {
         this.nextButton = new JButton("Próximo");
-        this.nextButton.setEnabled(curiositiesIterator.hasNext());
 
         this.nextButton.addActionListener(new ActionListener() {
             @Override
             public void actionPerformed(ActionEvent e) {
-                String text;
-                if (!direction) {
-                    text = curiositiesIterator.next().getCuriosityString();
-                    direction = true;
-                }
-                text = curiositiesIterator.next().getCuriosityString();
-                jtextArea.setText(curiositiesIterator.next().getCuriosityString());
-                nextButton.setEnabled(curiositiesIterator.hasNext());
-                previousButton.setEnabled(curiositiesIterator.hasPrevious());
+                index++;
+                showCuriosity();
             }
         });
         return nextButton;
     }
 
+    /**
+     * Shows the curiosity at the current index and updates the buttons.
+     */
+    private void showCuriosity() {
+        int size = this.curiosities.size();
+
+        this.jtextArea.setText(size > 0 ? this.curiosities.get(this.index).getCuriosityString() : "");
+        this.jtextArea.setCaretPosition(0);
+        this.previousButton.setEnabled(this.index > 0);
+        this.nextButton.setEnabled(this.index < size - 1);
+    }
+
 }
@@ -14,6 +14,7 @@ import javax.swing.JPanel;
 import model.Experience;
 import javax.swing.border.EmptyBorder;
 import model.Simulator;
+import utils.SnapshotService;
 
 /**
  * Represents the main frame for the simulator.
@@ -61,16 +62,28 @@ public class SimulatorFrame extends JFrame {
      * @param simulator the simulator with all data
      */
     public SimulatorFrame(Simulator simulator) {
+        this(simulator, null);
+    }
+
+    /**
+     * Creates an instance of SimulatorFrame whose snapshots are saved by a
+     * snapshot service.
+     *
+     * @param simulator the simulator with all data
+     * @param snapshots the service that saves the simulator, or null to save
+     * it on exit
+     */
+    public SimulatorFrame(Simulator simulator, SnapshotService snapshots) {
 
         super(WINDOW_TITLE);
 
         this.simulator = simulator;
 
         createComponents();
-        mb = new CustomMenuBar(this, this.simulator);
+        mb = new CustomMenuBar(this, this.simulator, snapshots);
         setJMenuBar(mb);
 
-        // calls exit method from menu bar to save simulator in binary file
+        // calls exit method from menu bar to save the simulator
         addWindowListener(new WindowAdapter() {
             @Override
             public void windowClosing(WindowEvent e) {
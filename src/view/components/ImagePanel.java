@@ -5,12 +5,30 @@ package view.components;
 
 import java.awt.Dimension;
 import java.awt.Graphics;
-import java.awt.Image;
-import javax.swing.ImageIcon;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.function.Consumer;
+import javax.imageio.ImageIO;
 import javax.swing.JPanel;
+import javax.swing.Timer;
+import utils.CoalescingTaskRunner;
 
 /**
- * Represents a image panel.
+ * Represents a image panel, that shows the laser process diagram stretched
+ * to the panel size.
+ *
+ * The image is scaled with a smooth (progressive bilinear) rescale in a
+ * background thread, once the panel has kept its size for a moment, and the
+ * last scaled renditions are cached by size. Until the rendition of the
+ * current size is ready, the closest cached one is drawn stretched.
  *
  * @author Daniel Gonçalves 1151452
  * @author Eric Amaral 1141570
@@ -20,13 +38,64 @@ import javax.swing.JPanel;
 public class ImagePanel extends JPanel {
 
     /**
-     * Laser Process Diagram.
+     * Laser Process Diagram file.
+     */
+    private static final String LASER_IMG_FILE = "laserImage.jpg";
+
+    /**
+     * Time the size must stay the same before the image is rescaled (ms).
+     */
+    private final static int RESCALE_DELAY = 150;
+
+    /**
+     * Maximum number of cached renditions.
+     */
+    private final static int CACHE_CAPACITY = 4;
+
+    /**
+     * The original image, loaded on demand, or null if it is not loaded.
+     */
+    private static BufferedImage laserImage;
+
+    /**
+     * If the original image could not be loaded.
+     */
+    private static boolean laserImageMissing;
+
+    /**
+     * The scaled renditions of the image, by size, in access order.
+     */
+    private final Map<Dimension, BufferedImage> renditions;
+
+    /**
+     * Rescales the image in background, keeping only the newest size.
+     */
+    private final CoalescingTaskRunner scaler;
+
+    /**
+     * Starts the rescale when the size stays the same for the delay.
      */
-    private static final ImageIcon LASER_IMG
-            = new ImageIcon("laserImage.jpg");
+    private final Timer rescaleTimer;
 
+    /**
+     * Creates an image panel.
+     */
     public ImagePanel() {
         super();
+        this.renditions = new LinkedHashMap<Dimension, BufferedImage>(CACHE_CAPACITY, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Dimension, BufferedImage> eldest) {
+                return size() > CACHE_CAPACITY;
+            }
+        };
+        this.scaler = new CoalescingTaskRunner("Image scaling");
+        this.rescaleTimer = new Timer(RESCALE_DELAY, new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                rescale();
+            }
+        });
+        this.rescaleTimer.setRepeats(false);
     }
 
     @Override
@@ -34,19 +103,128 @@ public class ImagePanel extends JPanel {
 
         super.paintComponent(g);
 
-        Dimension dimensaoPainel = getSize();
-        double largura = dimensaoPainel.getWidth();
-        double altura = dimensaoPainel.getWidth();
+        int width = getWidth();
+        int height = getHeight();
+        if (width <= 0 || height <= 0) {
+            return;
+        }
 
-        Image img2 = LASER_IMG.getImage().getScaledInstance(
-                (int) largura,
-                (int) altura,
-                Image.SCALE_SMOOTH);
+        BufferedImage rendition = renditions.get(new Dimension(width, height));
+        if (rendition != null) {
+            g.drawImage(rendition, 0, 0, null);
+            return;
+        }
 
-        Image img3 = new ImageIcon(img2).getImage();
+        BufferedImage closest = findClosestRendition(width, height);
+        if (closest != null) {
+            Graphics2D g2 = (Graphics2D) g.create();
+            g2.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g2.drawImage(closest, 0, 0, width, height, null);
+            g2.dispose();
+        }
+        rescaleTimer.restart();
+    }
 
-        g.drawImage(img3, 0, 0, this);
+    /**
+     * Obtains the cached rendition with the size closest to a given size.
+     *
+     * @param width the width
+     * @param height the height
+     * @return the closest rendition, or null if there is none
+     */
+    private BufferedImage findClosestRendition(int width, int height) {
+        BufferedImage closest = null;
+        long closestDistance = Long.MAX_VALUE;
 
+        for (BufferedImage rendition : renditions.values()) {
+            long distance = Math.abs((long) rendition.getWidth() - width)
+                    + Math.abs((long) rendition.getHeight() - height);
+            if (distance < closestDistance) {
+                closest = rendition;
+                closestDistance = distance;
+            }
+        }
+        return closest;
     }
 
+    /**
+     * Rescales the image to the current size in background, and caches and
+     * shows the rendition when done.
+     */
+    private void rescale() {
+        final Dimension size = new Dimension(getWidth(), getHeight());
+        if (size.width <= 0 || size.height <= 0 || renditions.containsKey(size)) {
+            return;
+        }
+
+        scaler.submit(new Callable<BufferedImage>() {
+            @Override
+            public BufferedImage call() {
+                BufferedImage original = getLaserImage();
+                return (original == null) ? null : scale(original, size.width, size.height);
+            }
+        }, new Consumer<BufferedImage>() {
+            @Override
+            public void accept(BufferedImage rendition) {
+                if (rendition != null) {
+                    renditions.put(size, rendition);
+                    repaint();
+                }
+            }
+        }, new Consumer<Exception>() {
+            @Override
+            public void accept(Exception ex) {
+                // the closest rendition keeps being shown
+            }
+        });
+    }
+
+    /**
+     * Obtains the original image, loading it the first time.
+     *
+     * @return the image, or null if it cannot be loaded
+     */
+    private static synchronized BufferedImage getLaserImage() {
+        if (laserImage == null && !laserImageMissing) {
+            try {
+                laserImage = ImageIO.read(new File(LASER_IMG_FILE));
+            } catch (IOException ex) {
+                laserImage = null;
+            }
+            laserImageMissing = laserImage == null;
+        }
+        return laserImage;
+    }
+
+    /**
+     * Scales an image smoothly, halving it with bilinear interpolation while
+     * it is more than twice the target size, and then scaling it to the
+     * target size.
+     *
+     * @param image the image
+     * @param width the target width
+     * @param height the target height
+     * @return the scaled image
+     */
+    private static BufferedImage scale(BufferedImage image, int width, int height) {
+        BufferedImage scaled = image;
+        int currentWidth = image.getWidth();
+        int currentHeight = image.getHeight();
+
+        do {
+            currentWidth = (currentWidth / 2 >= width) ? currentWidth / 2 : width;
+            currentHeight = (currentHeight / 2 >= height) ? currentHeight / 2 : height;
+
+            BufferedImage step = new BufferedImage(currentWidth, currentHeight, BufferedImage.TYPE_INT_RGB);
+            Graphics2D g = step.createGraphics();
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(scaled, 0, 0, currentWidth, currentHeight, null);
+            g.dispose();
+
+            scaled = step;
+        } while (currentWidth != width || currentHeight != height);
+
+        return scaled;
+    }
 }
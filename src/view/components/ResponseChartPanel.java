@@ -0,0 +1,462 @@
+/*
+ * Package location for UI components.
+ */
+package view.components;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.RenderingHints;
+import java.awt.Stroke;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import javax.swing.JPanel;
+
+/**
+ * Represents a panel with the chart of a response curve and a marker at the
+ * current value of its variable.
+ *
+ * The axes and the curve are rendered into a back buffer, which is only
+ * rendered again when the series, the threshold or the size change; moving
+ * the marker repaints just the columns of its old and new positions. Series
+ * with more points than the chart has pixels are downsampled with the Largest
+ * Triangle Three Buckets algorithm before being drawn, keeping their shape.
+ *
+ * @author Daniel Gonçalves 1151452
+ * @author Eric Amaral 1141570
+ * @author Ivo Ferro 1151159
+ * @author Tiago Correia 1151031
+ */
+public class ResponseChartPanel extends JPanel {
+
+    /**
+     * Margin around the chart area, for the labels (pixels).
+     */
+    private final static int MARGIN = 60;
+
+    /**
+     * Radius of the marker (pixels).
+     */
+    private final static int MARKER_RADIUS = 5;
+
+    /**
+     * Number of points drawn per pixel of the chart width.
+     */
+    private final static int POINTS_PER_PIXEL = 2;
+
+    /**
+     * Color of the curve.
+     */
+    private final static Color CURVE_COLOR = new Color(0, 90, 170);
+
+    /**
+     * Color of the threshold line.
+     */
+    private final static Color THRESHOLD_COLOR = new Color(200, 120, 0);
+
+    /**
+     * Color of the marker.
+     */
+    private final static Color MARKER_COLOR = new Color(200, 0, 0);
+
+    /**
+     * Font of the labels.
+     */
+    private final static Font LABEL_FONT = new Font("Arial", Font.PLAIN, 12);
+
+    /**
+     * Stroke of the threshold line.
+     */
+    private final static Stroke DASHED_STROKE = new BasicStroke(1f, BasicStroke.CAP_BUTT, BasicStroke.JOIN_MITER,
+            10f, new float[]{6f, 4f}, 0f);
+
+    /**
+     * Label of the horizontal axis.
+     */
+    private final String xLabel;
+
+    /**
+     * Label of the vertical axis.
+     */
+    private final String yLabel;
+
+    /**
+     * The values of the variable, in ascending order.
+     */
+    private double[] xs;
+
+    /**
+     * The responses at each value of the variable.
+     */
+    private double[] ys;
+
+    /**
+     * The response above which the curve is highlighted, or NaN for none.
+     */
+    private double threshold;
+
+    /**
+     * The value of the variable with the marker, or NaN for none.
+     */
+    private double marker;
+
+    /**
+     * Limits of the axes, updated when the buffer is rendered.
+     */
+    private double minX, maxX, minY, maxY;
+
+    /**
+     * The back buffer with the axes and the curve, or null if it has to be
+     * rendered.
+     */
+    private BufferedImage buffer;
+
+    /**
+     * Creates an empty chart.
+     *
+     * @param xLabel the label of the horizontal axis
+     * @param yLabel the label of the vertical axis
+     */
+    public ResponseChartPanel(String xLabel, String yLabel) {
+        super();
+        this.xLabel = xLabel;
+        this.yLabel = yLabel;
+        this.xs = new double[0];
+        this.ys = new double[0];
+        this.threshold = Double.NaN;
+        this.marker = Double.NaN;
+        setBackground(Color.WHITE);
+    }
+
+    /**
+     * Sets the series of the chart. The arrays are not copied and must not be
+     * changed afterwards.
+     *
+     * @param xs the values of the variable, in ascending order
+     * @param ys the responses at each value of the variable
+     */
+    public void setSeries(double[] xs, double[] ys) {
+        if (xs.length != ys.length) {
+            throw new IllegalArgumentException("The series must have as many values as responses");
+        }
+        this.xs = xs;
+        this.ys = ys;
+        invalidateBuffer();
+    }
+
+    /**
+     * Sets the response needed to be highlighted, drawn as a dashed line.
+     *
+     * @param threshold the threshold, or NaN for none
+     */
+    public void setThreshold(double threshold) {
+        if (Double.compare(threshold, this.threshold) != 0) {
+            this.threshold = threshold;
+            invalidateBuffer();
+        }
+    }
+
+    /**
+     * Moves the marker, repainting only its old and new columns.
+     *
+     * @param marker the value of the variable with the marker, or NaN for
+     * none
+     */
+    public void setMarker(double marker) {
+        if (Double.compare(marker, this.marker) == 0) {
+            return;
+        }
+        if (buffer != null) {
+            repaintMarker();
+        }
+        this.marker = marker;
+        if (buffer != null) {
+            repaintMarker();
+        }
+    }
+
+    /**
+     * Discards the back buffer and repaints the whole chart.
+     */
+    private void invalidateBuffer() {
+        buffer = null;
+        repaint();
+    }
+
+    /**
+     * Repaints the column of the marker at its current position.
+     */
+    private void repaintMarker() {
+        if (!Double.isNaN(marker) && xs.length > 0) {
+            int x = toPixelX(marker);
+            repaint(x - MARKER_RADIUS - 1, 0, 2 * MARKER_RADIUS + 3, getHeight());
+        }
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        super.paintComponent(g);
+
+        if (buffer == null || buffer.getWidth() != getWidth() || buffer.getHeight() != getHeight()) {
+            if (getWidth() <= 0 || getHeight() <= 0) {
+                return;
+            }
+            renderBuffer();
+        }
+        g.drawImage(buffer, 0, 0, null);
+        drawMarker((Graphics2D) g);
+    }
+
+    /**
+     * Renders the axes and the curve into a new back buffer of the panel
+     * size.
+     */
+    private void renderBuffer() {
+        GraphicsConfiguration configuration = getGraphicsConfiguration();
+        buffer = (configuration != null)
+                ? configuration.createCompatibleImage(getWidth(), getHeight())
+                : new BufferedImage(getWidth(), getHeight(), BufferedImage.TYPE_INT_RGB);
+
+        Graphics2D g = buffer.createGraphics();
+        try {
+            g.setColor(getBackground());
+            g.fillRect(0, 0, getWidth(), getHeight());
+            g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g.setFont(LABEL_FONT);
+
+            if (xs.length == 0 || getWidth() <= 2 * MARGIN || getHeight() <= 2 * MARGIN) {
+                g.setColor(Color.GRAY);
+                g.drawString("Sem dados", MARGIN, MARGIN);
+                return;
+            }
+
+            updateLimits();
+            drawAxes(g);
+            drawCurve(g);
+        } finally {
+            g.dispose();
+        }
+    }
+
+    /**
+     * Updates the limits of the axes to the series and the threshold.
+     */
+    private void updateLimits() {
+        minX = xs[0];
+        maxX = xs[xs.length - 1];
+        minY = 0;
+        maxY = Double.isNaN(threshold) ? 0 : threshold;
+        for (double y : ys) {
+            if (!Double.isInfinite(y) && !Double.isNaN(y)) {
+                minY = Math.min(minY, y);
+                maxY = Math.max(maxY, y);
+            }
+        }
+        if (maxX <= minX) {
+            maxX = minX + 1;
+        }
+        if (maxY <= minY) {
+            maxY = minY + 1;
+        }
+    }
+
+    /**
+     * Draws the axes, their limits and their labels.
+     *
+     * @param g the graphics of the buffer
+     */
+    private void drawAxes(Graphics2D g) {
+        int left = MARGIN;
+        int right = getWidth() - MARGIN;
+        int top = MARGIN;
+        int bottom = getHeight() - MARGIN;
+        FontMetrics metrics = g.getFontMetrics();
+
+        g.setColor(Color.BLACK);
+        g.drawLine(left, bottom, right, bottom);
+        g.drawLine(left, top, left, bottom);
+
+        String minXText = String.format("%.2f", minX);
+        String maxXText = String.format("%.2f", maxX);
+        g.drawString(minXText, left - metrics.stringWidth(minXText) / 2, bottom + metrics.getHeight());
+        g.drawString(maxXText, right - metrics.stringWidth(maxXText) / 2, bottom + metrics.getHeight());
+        g.drawString(xLabel, (left + right - metrics.stringWidth(xLabel)) / 2, bottom + 2 * metrics.getHeight());
+
+        g.drawString(String.format("%.2E", minY), 2, bottom);
+        g.drawString(String.format("%.2E", maxY), 2, top + metrics.getAscent());
+        g.drawString(yLabel, left, top - metrics.getHeight() / 2);
+
+        if (!Double.isNaN(threshold)) {
+            int y = toPixelY(threshold);
+            Stroke stroke = g.getStroke();
+            g.setColor(THRESHOLD_COLOR);
+            g.setStroke(DASHED_STROKE);
+            g.drawLine(left, y, right, y);
+            g.setStroke(stroke);
+        }
+    }
+
+    /**
+     * Draws the curve, downsampled to the chart width.
+     *
+     * @param g the graphics of the buffer
+     */
+    private void drawCurve(Graphics2D g) {
+        int[] points = downsample(xs, ys, Math.max(3, (getWidth() - 2 * MARGIN) * POINTS_PER_PIXEL));
+        int[] pixelsX = new int[points.length];
+        int[] pixelsY = new int[points.length];
+        int count = 0;
+
+        g.setColor(CURVE_COLOR);
+        for (int point : points) {
+            double y = ys[point];
+            if (Double.isInfinite(y) || Double.isNaN(y)) {
+                g.drawPolyline(pixelsX, pixelsY, count);
+                count = 0;
+            } else {
+                pixelsX[count] = toPixelX(xs[point]);
+                pixelsY[count] = toPixelY(y);
+                count++;
+            }
+        }
+        g.drawPolyline(pixelsX, pixelsY, count);
+    }
+
+    /**
+     * Draws the marker over the curve, at the response interpolated at the
+     * marker value.
+     *
+     * @param g the graphics of the panel
+     */
+    private void drawMarker(Graphics2D g) {
+        if (Double.isNaN(marker) || xs.length == 0 || getWidth() <= 2 * MARGIN || getHeight() <= 2 * MARGIN) {
+            return;
+        }
+
+        int x = toPixelX(marker);
+        g.setColor(MARKER_COLOR);
+        g.drawLine(x, MARGIN, x, getHeight() - MARGIN);
+
+        double y = interpolate(marker);
+        if (!Double.isInfinite(y) && !Double.isNaN(y)) {
+            g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g.fillOval(x - MARKER_RADIUS, toPixelY(y) - MARKER_RADIUS, 2 * MARKER_RADIUS, 2 * MARKER_RADIUS);
+        }
+    }
+
+    /**
+     * Interpolates linearly the response at a value of the variable.
+     *
+     * @param x the value of the variable
+     * @return the response
+     */
+    private double interpolate(double x) {
+        int index = Arrays.binarySearch(xs, x);
+        if (index >= 0) {
+            return ys[index];
+        }
+
+        int next = -index - 1;
+        if (next == 0) {
+            return ys[0];
+        }
+        if (next == xs.length) {
+            return ys[xs.length - 1];
+        }
+        double t = (x - xs[next - 1]) / (xs[next] - xs[next - 1]);
+        return ys[next - 1] + t * (ys[next] - ys[next - 1]);
+    }
+
+    /**
+     * Converts a value of the variable to a horizontal pixel.
+     *
+     * @param x the value of the variable
+     * @return the pixel
+     */
+    private int toPixelX(double x) {
+        double clamped = Math.max(minX, Math.min(maxX, x));
+        return MARGIN + (int) Math.round((clamped - minX) / (maxX - minX) * (getWidth() - 2 * MARGIN));
+    }
+
+    /**
+     * Converts a response to a vertical pixel.
+     *
+     * @param y the response
+     * @return the pixel
+     */
+    private int toPixelY(double y) {
+        return getHeight() - MARGIN - (int) Math.round((y - minY) / (maxY - minY) * (getHeight() - 2 * MARGIN));
+    }
+
+    /**
+     * Selects the points of a series that keep its shape, with the Largest
+     * Triangle Three Buckets algorithm: the first and last points, and in
+     * each bucket between them the point that makes the largest triangle with
+     * the previous selected point and the average of the next bucket.
+     *
+     * @param xs the values of the variable
+     * @param ys the responses
+     * @param threshold the maximum number of points, at least 3
+     * @return the indexes of the selected points, in order
+     */
+    public static int[] downsample(double[] xs, double[] ys, int threshold) {
+        int size = xs.length;
+        if (size <= threshold) {
+            int[] all = new int[size];
+            for (int i = 0; i < size; i++) {
+                all[i] = i;
+            }
+            return all;
+        }
+
+        int[] selected = new int[threshold];
+        double bucketSize = (double) (size - 2) / (threshold - 2);
+        int previous = 0;
+        selected[0] = 0;
+
+        for (int bucket = 0; bucket < threshold - 2; bucket++) {
+            int nextStart = (int) ((bucket + 1) * bucketSize) + 1;
+            int nextEnd = Math.min((int) ((bucket + 2) * bucketSize) + 1, size);
+            double averageX = 0;
+            double averageY = 0;
+            int averaged = 0;
+            for (int i = nextStart; i < nextEnd; i++) {
+                if (!Double.isNaN(ys[i]) && !Double.isInfinite(ys[i])) {
+                    averageX += xs[i];
+                    averageY += ys[i];
+                    averaged++;
+                }
+            }
+            if (averaged > 0) {
+                averageX /= averaged;
+                averageY /= averaged;
+            } else {
+                averageX = xs[size - 1];
+                averageY = ys[previous];
+            }
+
+            int start = (int) (bucket * bucketSize) + 1;
+            int end = (int) ((bucket + 1) * bucketSize) + 1;
+            int chosen = start;
+            double largestArea = -1;
+            for (int i = start; i < end; i++) {
+                double area = Math.abs((xs[previous] - averageX) * (ys[i] - ys[previous])
+                        - (xs[previous] - xs[i]) * (averageY - ys[previous]));
+                if (area > largestArea) {
+                    largestArea = area;
+                    chosen = i;
+                }
+            }
+
+            selected[bucket + 1] = chosen;
+            previous = chosen;
+        }
+        selected[threshold - 1] = size - 1;
+
+        return selected;
+    }
+}
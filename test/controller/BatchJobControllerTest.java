@@ -0,0 +1,175 @@
+/*
+ * Package location for controller tests concepts.
+ */
+package controller;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import model.Material;
+import model.Simulator;
+import model.values.ExperienceValue;
+import model.values.GasValue;
+import model.values.LaserValue;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+import utils.DefaultInstantiator;
+
+/**
+ * Tests the batch job controller class.
+ *
+ * @author Daniel Gonçalves 1151452
+ * @author Eric Amaral 1141570
+ * @author Ivo Ferro 1151159
+ * @author Tiago Correia 1151031
+ */
+public class BatchJobControllerTest {
+
+    /**
+     * The simulator to be used on tests.
+     */
+    private Simulator simulator;
+
+    /**
+     * The expected results of the job used on tests.
+     */
+    private ExperienceValue expected;
+
+    @Before
+    public void setUp() {
+        simulator = DefaultInstantiator.createSimulator();
+
+        Material gold = null;
+        for (Material material : simulator.getMaterials()) {
+            if (material.getName().equals("Gold")) {
+                gold = material;
+            }
+        }
+        expected = new LaserValue(10600E-9, new GasValue("CO2", 9200E-9, 11400E-9), 0.0001, gold.toValue(),
+                0.001).withFactor(0.5f).evaluate(30.0);
+    }
+
+    /**
+     * Runs a batch of jobs.
+     *
+     * @param instance the batch job controller
+     * @param jobs the jobs text
+     * @return the results text
+     * @throws IOException if the jobs cannot be run
+     */
+    private String run(BatchJobController instance, String jobs) throws IOException {
+        StringWriter results = new StringWriter();
+        instance.run(new BufferedReader(new StringReader(jobs)), results);
+        return results.toString();
+    }
+
+    /**
+     * Test of run method with CSV jobs, of class BatchJobController.
+     */
+    @Test
+    public void testRunCsv() throws IOException {
+        System.out.println("runCsv");
+
+        BatchJobController instance = new BatchJobController(simulator, 2, 2);
+        String jobs = "gas,wavelength,focalPointDiameter,material,thickness,factor,cuttingTimeLimit\n"
+                + "CO2,10600E-9,0.0001,Gold,0.001,0.5,30\n"
+                + "CO2,10600E-9,0.0001,Unobtainium,0.001,0.5,30\n"
+                + ",10600E-9,0.0001,Gold,0.001,0.5,30\n"
+                + "CO2,10600E-9,0.0001,Gold,0.001,0.5,30\n"
+                + "CO2,10600E-9,0.0001,Gold,0.001,0.5,30\n";
+        String[] lines = run(instance, jobs).split("\n");
+
+        assertEquals(6, lines.length);
+        assertTrue(lines[0].startsWith("line,gas,wavelength"));
+        assertTrue(lines[1].startsWith("2,CO2,"));
+        assertTrue(lines[1].contains("," + expected.getPenetrationVelocity() + ","));
+        assertTrue(lines[2].startsWith("3,CO2,"));
+        assertTrue(lines[2].endsWith("Unknown material: Unobtainium"));
+        assertTrue(lines[3].startsWith("4,"));
+        assertTrue(lines[5].startsWith("6,CO2,"));
+        assertEquals(5, instance.getJobCount());
+        assertEquals(1, instance.getErrorCount());
+    }
+
+    /**
+     * Test of run method with NDJSON jobs, of class BatchJobController.
+     */
+    @Test
+    public void testRunJson() throws IOException {
+        System.out.println("runJson");
+
+        BatchJobController instance = new BatchJobController(simulator, 1, 16);
+        String jobs = "{\"gas\": \"CO2\", \"wavelength\": 10600E-9, \"focalPointDiameter\": 0.0001,"
+                + " \"material\": \"Gold\", \"thickness\": 0.001, \"factor\": 0.5}\n"
+                + "\n"
+                + "{\"gas\": \"CO2\", \"wavelength\": 10600E-9, \"material\": \"Gold\"}\n";
+        String[] lines = run(instance, jobs).split("\n");
+
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].startsWith("{\"line\":1,\"gas\":\"CO2\""));
+        assertTrue(lines[0].contains("\"penetrationVelocity\":" + expected.getPenetrationVelocity() + ","));
+        assertTrue(lines[0].contains("\"cut\":" + expected.isCut()));
+        assertTrue(lines[1].startsWith("{\"line\":3,"));
+        assertTrue(lines[1].endsWith("\"error\":\"Missing field: focalPointDiameter\"}"));
+        assertEquals(2, instance.getJobCount());
+        assertEquals(1, instance.getErrorCount());
+    }
+
+    /**
+     * Test of run method with a gas that is not compatible with the
+     * wavelength, of class BatchJobController.
+     */
+    @Test
+    public void testRunIncompatibleGas() throws IOException {
+        System.out.println("runIncompatibleGas");
+
+        BatchJobController instance = new BatchJobController(simulator, 1, 16);
+        String jobs = "gas,wavelength,focalPointDiameter,material,thickness\n"
+                + "CO2,500E-9,0.0001,Gold,0.001\n";
+        String[] lines = run(instance, jobs).split("\n");
+
+        assertEquals(2, lines.length);
+        assertTrue(lines[1].endsWith("No gas compatible with the wavelength 5.0E-7"));
+    }
+
+    /**
+     * Test of run method with jobs whose values are not positive, of class
+     * BatchJobController.
+     */
+    @Test
+    public void testRunNotPositive() throws IOException {
+        System.out.println("runNotPositive");
+
+        BatchJobController instance = new BatchJobController(simulator, 1, 16);
+        String jobs = "gas,wavelength,focalPointDiameter,material,thickness,cuttingTimeLimit\n"
+                + "CO2,10600E-9,0.0001,Gold,-0.001,30\n"
+                + "CO2,10600E-9,0,Gold,0.001,30\n"
+                + "CO2,10600E-9,0.0001,Gold,0.001,NaN\n";
+        String[] lines = run(instance, jobs).split("\n");
+
+        assertEquals(4, lines.length);
+        assertTrue(lines[1].endsWith("Number not positive in field thickness: -0.001"));
+        assertTrue(lines[2].endsWith("Number not positive in field focalPointDiameter: 0"));
+        assertTrue(lines[3].endsWith("Invalid number in field cuttingTimeLimit: NaN"));
+        assertEquals(3, instance.getErrorCount());
+    }
+
+    /**
+     * Test of run method with a job without gas, that uses the first
+     * compatible gas by name, of class BatchJobController.
+     */
+    @Test
+    public void testRunDefaultGas() throws IOException {
+        System.out.println("runDefaultGas");
+
+        BatchJobController instance = new BatchJobController(simulator, 1, 16);
+        String jobs = "wavelength,focalPointDiameter,material,thickness\n"
+                + "10600E-9,0.0001,Gold,0.001\n";
+        String[] lines = run(instance, jobs).split("\n");
+
+        assertEquals(2, lines.length);
+        assertTrue(lines[1].startsWith("2,CO2,"));
+    }
+}
@@ -5,10 +5,14 @@
  */
 package controller;
 
+import java.util.Arrays;
 import model.Experience;
+import model.ExperienceResultCache;
 import model.Gas;
 import model.Laser;
 import model.Material;
+import model.sweep.MaterialRanking;
+import model.sweep.ResponseCurve;
 import org.junit.Test;
 import static org.junit.Assert.*;
 
@@ -63,6 +67,47 @@ public class CalculateLaserCutControllerTest {
         assertEquals(testExperience, controller.getExperience());
     }
 
+    /**
+     * Test of updateExperience method with a result cache, of class
+     * CalculateLaserCutController.
+     */
+    @Test
+    public void testUpdateExperienceCached() {
+        System.out.println("updateExperienceCached");
+        ExperienceResultCache cache = new ExperienceResultCache();
+        CalculateLaserCutController cachedController = new CalculateLaserCutController(testLaser, cache);
+
+        controller.updateExperience(0.5f, 30.0);
+        cachedController.updateExperience(0.5f, 30.0);
+        cachedController.updateExperience(0.8f, 30.0);
+        cachedController.updateExperience(0.5f, 30.0);
+
+        assertEquals(controller.getExperience().getPenetrationVelocity(),
+                cachedController.getExperience().getPenetrationVelocity(), 0.0);
+        assertEquals(controller.getExperience().getCuttingSpeed(),
+                cachedController.getExperience().getCuttingSpeed());
+        assertEquals(2, cache.getMisses());
+        assertEquals(1, cache.getHits());
+    }
+
+    /**
+     * Test of updateResults method, of class CalculateLaserCutController.
+     */
+    @Test
+    public void testUpdateResults() {
+        System.out.println("updateResults");
+        Float factor = 0.5f;
+        Double cuttingTime = 10.0;
+        Experience testExperience = new Experience(testLaser);
+        testExperience.setCuttingTimeLimit(cuttingTime);
+        testExperience.calculatePenetrationVelocity(factor);
+
+        String[][] result = controller.updateResults(factor, cuttingTime);
+
+        assertArrayEquals(testExperience.generateResults(), result);
+        assertEquals(cuttingTime, controller.getExperience().getCuttingTimeLimit(), 0.0);
+    }
+
     /**
      * Test of getResults method, of class CalculateLaserCutController.
      */
@@ -83,4 +128,74 @@ public class CalculateLaserCutControllerTest {
         assertArrayEquals(expResult, result);
     }
 
+    /**
+     * Test of getMinimumFactor method, of class CalculateLaserCutController.
+     */
+    @Test
+    public void testGetMinimumFactor() {
+        System.out.println("getMinimumFactor");
+
+        controller.updateExperience(1.0f, 0.9);
+        float result = controller.getMinimumFactor();
+
+        controller.updateExperience(result, 0.9);
+        assertNotNull(controller.getExperience().getCuttingSpeed());
+        controller.updateExperience(Math.nextDown(result), 0.9);
+        assertNull(controller.getExperience().getCuttingSpeed());
+    }
+
+    /**
+     * Test of getMaximumThickness method, of class
+     * CalculateLaserCutController.
+     */
+    @Test
+    public void testGetMaximumThickness() {
+        System.out.println("getMaximumThickness");
+
+        controller.updateExperience(1.0f, 30.0);
+        double expResult = controller.getExperience().getPenetrationVelocity() * 30.0;
+
+        assertEquals(expResult, controller.getMaximumThickness(), 1E-12);
+    }
+
+    /**
+     * Test of rankMaterials method, of class CalculateLaserCutController.
+     */
+    @Test
+    public void testRankMaterials() {
+        System.out.println("rankMaterials");
+        Material aluminium = new Material("Aluminium", 398000.0, 910.0, 2712.0, 2467.0, 660.0, true);
+        Material graphit = new Material("Graphit", 5.95303E7, 7.20000E2, 2.23000E3, 4200.0, null, false);
+        controller.updateExperience(0.8f, 10.0);
+
+        MaterialRanking ranking = controller.rankMaterials(Arrays.asList(graphit, aluminium,
+                testLaser.getMaterial()));
+
+        assertEquals(3, ranking.size());
+        for (int rank = 0; rank < ranking.size(); rank++) {
+            Experience experience = new Experience(new Laser(testLaser.getWavelength(), testLaser.getGas(),
+                    testLaser.getBeamDiameter(), ranking.getMaterial(rank), testLaser.getMaterialThickness()));
+            experience.setCuttingTimeLimit(10.0);
+            experience.calculatePenetrationVelocity(0.8f);
+
+            assertEquals(experience.getPenetrationVelocity(), ranking.getPenetrationVelocity(rank), 0.0);
+            assertEquals(experience.getCuttingSpeed() != null, ranking.isCut(rank));
+        }
+    }
+
+    /**
+     * Test of createResponseCurve method, of class
+     * CalculateLaserCutController.
+     */
+    @Test
+    public void testCreateResponseCurve() {
+        System.out.println("createResponseCurve");
+        controller.updateExperience(0.5f, 10.0);
+
+        ResponseCurve curve = controller.createResponseCurve(ResponseCurve.Variable.THICKNESS, 1e-3, 8e-3, 50);
+
+        assertEquals(50, curve.size());
+        assertEquals(ResponseCurve.Variable.THICKNESS, curve.getVariable());
+        assertEquals(8e-3, curve.getValue(49), 1e-15);
+    }
 }
@@ -8,6 +8,7 @@ import java.util.Set;
 import model.Gas;
 import model.Material;
 import model.Simulator;
+import model.sweep.MaterialRanking;
 import org.junit.Before;
 import org.junit.Test;
 import static org.junit.Assert.*;
@@ -90,4 +91,26 @@ public class GenerateLaserControllerTest {
         assertEquals(expResult, result);
     }
 
+    /**
+     * Test of rankMaterials method, of class GenerateLaserController.
+     */
+    @Test
+    public void testRankMaterials() {
+        System.out.println("rankMaterials");
+
+        instance.setWavelength(10600E-9);
+        instance.setGas(new Gas("CO2", 9200E-9, 11400E-9));
+        instance.setFocalPointDiameter(2e-3);
+        instance.setMaterialThickness(4e-3);
+        instance.setMaterial(simulator.getMaterials().iterator().next());
+        instance.newLaser();
+        instance.initiateCut();
+
+        MaterialRanking result = instance.rankMaterials();
+
+        assertEquals(simulator.getMaterials().size(), result.size());
+        for (int rank = 1; rank < result.getCutCount(); rank++) {
+            assertTrue(result.getCuttingSpeed(rank - 1) >= result.getCuttingSpeed(rank));
+        }
+    }
 }
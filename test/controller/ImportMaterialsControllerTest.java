@@ -0,0 +1,241 @@
+/*
+ * Package location for controller tests concepts.
+ */
+package controller;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import model.Material;
+import model.Simulator;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+import utils.DefaultInstantiator;
+import utils.MappedMaterialCatalog;
+
+/**
+ * Tests the import materials controller class.
+ *
+ * @author Daniel Gonçalves 1151452
+ * @author Eric Amaral 1141570
+ * @author Ivo Ferro 1151159
+ * @author Tiago Correia 1151031
+ */
+public class ImportMaterialsControllerTest {
+
+    /**
+     * The simulator to be used on tests.
+     */
+    private Simulator simulator;
+
+    @Before
+    public void setUp() {
+        simulator = DefaultInstantiator.createSimulator();
+    }
+
+    /**
+     * Imports materials.
+     *
+     * @param instance the import materials controller
+     * @param records the records text
+     * @return the report text
+     * @throws IOException if the materials cannot be imported
+     */
+    private static String importMaterials(ImportMaterialsController instance, String records) throws IOException {
+        StringWriter report = new StringWriter();
+        instance.run(new BufferedReader(new StringReader(records)), report);
+        return report.toString();
+    }
+
+    /**
+     * Obtains a material of the simulator.
+     *
+     * @param name the material name
+     * @return the material, or null if it does not exist
+     */
+    private Material findMaterial(String name) {
+        for (Material material : simulator.getMaterials()) {
+            if (material.getName().equals(name)) {
+                return material;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Test of run method with CSV records, of class ImportMaterialsController.
+     *
+     * @throws IOException if the materials cannot be imported
+     */
+    @Test
+    public void testRunCsv() throws IOException {
+        System.out.println("runCsv");
+
+        int materials = simulator.getMaterials().size();
+        ImportMaterialsController instance = new ImportMaterialsController(simulator, 2, 2, 2);
+        String report = importMaterials(instance,
+                "name,latentHeat,heatCapacity,density,vaporizationTemperature,fusionTemperature,meltable\n"
+                + "Titanium,419000,523,4506,3287,1668,true\n"
+                + "Carbon fiber,0,710,1600,3652,,false\n"
+                + "Gold,63000,130,19320,2800,1063,true\n"
+                + "Lead,23000,129,-11340,1749,327,true\n"
+                + "Tin,59000,228,7265,232,2602,true\n"
+                + "Platinum,113000,133,21450,3825,1768,true\n"
+                + "Titanium,419000,523,4506,3287,1668,true\n"
+                + "Mithril,NaN,235,10490,2162,962,true\n");
+
+        assertEquals(8, instance.getRecordCount());
+        assertEquals(3, instance.getImportedCount());
+        assertEquals(2, instance.getDuplicateCount());
+        assertEquals(3, instance.getErrorCount());
+        assertEquals(materials + 3, simulator.getMaterials().size());
+
+        Material carbonFiber = findMaterial("Carbon fiber");
+        assertFalse(carbonFiber.isMeltable());
+        assertNull(carbonFiber.getFusionTemperature());
+        assertEquals(4506, findMaterial("Titanium").getDensity(), 0.01);
+        assertNull(findMaterial("Lead"));
+        assertNull(findMaterial("Tin"));
+
+        String[] lines = report.split("\n");
+        assertEquals(6, lines.length);
+        assertEquals("line,name,error", lines[0]);
+        assertEquals("4,Gold,Duplicate material: Gold", lines[1]);
+        assertEquals("5,Lead,Invalid density: -11340.0", lines[2]);
+        assertTrue(lines[3].startsWith("6,Tin,"));
+        assertEquals("8,Titanium,Duplicate material: Titanium", lines[4]);
+        assertEquals("9,Mithril,Invalid number in field latentHeat: NaN", lines[5]);
+        assertNull(findMaterial("Mithril"));
+    }
+
+    /**
+     * Test of run method with a name that does not fit in the material store,
+     * of class ImportMaterialsController.
+     *
+     * @throws IOException if the materials cannot be imported
+     */
+    @Test
+    public void testRunStore() throws IOException {
+        System.out.println("runStore");
+
+        Path file = Files.createTempFile("materials", ".cat");
+        Files.delete(file);
+        MappedMaterialCatalog catalog = new MappedMaterialCatalog(file);
+        try {
+            simulator.setMaterials(catalog);
+            char[] name = new char[MappedMaterialCatalog.NAME_CAPACITY + 1];
+            Arrays.fill(name, 'a');
+
+            ImportMaterialsController instance = new ImportMaterialsController(simulator);
+            String report = importMaterials(instance,
+                    "name,latentHeat,heatCapacity,density,vaporizationTemperature,fusionTemperature\n"
+                    + "Titanium,419000,523,4506,3287,1668\n"
+                    + new String(name) + ",63000,130,19320,2800,1063\n");
+
+            assertEquals(1, instance.getImportedCount());
+            assertEquals(1, instance.getErrorCount());
+            assertNotNull(catalog.get("Titanium"));
+            assertTrue(report.endsWith("3," + new String(name) + ",Unsupported material name: "
+                    + new String(name) + "\n"));
+        } finally {
+            catalog.close();
+            Files.delete(file);
+        }
+    }
+
+    /**
+     * Test of run method with NDJSON records, of class
+     * ImportMaterialsController.
+     *
+     * @throws IOException if the materials cannot be imported
+     */
+    @Test
+    public void testRunJson() throws IOException {
+        System.out.println("runJson");
+
+        ImportMaterialsController instance = new ImportMaterialsController(simulator);
+        String report = importMaterials(instance,
+                "{\"name\":\"Titanium\",\"latentHeat\":419000,\"heatCapacity\":523,\"density\":4506,"
+                + "\"vaporizationTemperature\":3287,\"fusionTemperature\":1668}\n"
+                + "\n"
+                + "{\"name\":\"Platinum\",\"latentHeat\":113000}\n");
+
+        assertEquals(2, instance.getRecordCount());
+        assertEquals(1, instance.getImportedCount());
+        assertEquals(1, instance.getErrorCount());
+        assertNotNull(findMaterial("Titanium"));
+        assertTrue(report.endsWith("3,Platinum,Missing field: heatCapacity\n"));
+    }
+
+    /**
+     * Test of parse method, of class ImportMaterialsController.
+     */
+    @Test
+    public void testParse() {
+        System.out.println("parse");
+
+        Map<String, String> record = new HashMap<>();
+        record.put("name", " Copper ");
+        record.put("latentHeat", "205000");
+        record.put("heatCapacity", "390");
+        record.put("density", "8940");
+        record.put("vaporizationTemperature", "2575");
+        record.put("fusionTemperature", "1084");
+
+        Material result = ImportMaterialsController.parse(record);
+        assertEquals("Copper", result.getName());
+        assertTrue(result.isMeltable());
+        assertEquals(1084, result.getFusionTemperature(), 0.01);
+
+        record.remove("fusionTemperature");
+        try {
+            ImportMaterialsController.parse(record);
+            fail("A meltable material needs a fusion temperature");
+        } catch (IllegalArgumentException ex) {
+            assertEquals("Missing field: fusionTemperature", ex.getMessage());
+        }
+
+        record.put("fusionTemperature", "1084");
+        record.put("density", "NaN");
+        try {
+            ImportMaterialsController.parse(record);
+            fail("The density must be finite");
+        } catch (IllegalArgumentException ex) {
+            assertEquals("Invalid number in field density: NaN", ex.getMessage());
+        }
+
+        record.put("density", "8940");
+        record.put("vaporizationTemperature", "Infinity");
+        try {
+            ImportMaterialsController.parse(record);
+            fail("The temperatures must be finite");
+        } catch (IllegalArgumentException ex) {
+            assertEquals("Invalid number in field vaporizationTemperature: Infinity", ex.getMessage());
+        }
+
+        record.put("vaporizationTemperature", "2575");
+        record.put("latentHeat", "NaN");
+        try {
+            ImportMaterialsController.parse(record);
+            fail("The latent heat must be finite");
+        } catch (IllegalArgumentException ex) {
+            assertEquals("Invalid number in field latentHeat: NaN", ex.getMessage());
+        }
+
+        record.put("latentHeat", "205000");
+        record.put("heatCapacity", "-390");
+        try {
+            ImportMaterialsController.parse(record);
+            fail("The heat capacity must not be negative");
+        } catch (IllegalArgumentException ex) {
+            assertEquals("Negative number in field heatCapacity: -390", ex.getMessage());
+        }
+    }
+}
@@ -6,6 +6,8 @@ package controller;
 import java.util.HashSet;
 import java.util.Set;
 import model.Curiosity;
+import model.CuriosityList;
+import model.CuriosityRepository;
 import model.Simulator;
 import org.junit.Before;
 import org.junit.Test;
@@ -59,4 +61,30 @@ public class ShowCuriositiesControllerTest {
         Set<Curiosity> result = instance.getCuriosities();
         assertEquals(expResult, result);
     }
+
+    /**
+     * Test of getCuriosityRepository method, of class
+     * ShowCuriositiesController.
+     */
+    @Test
+    public void testGetCuriosityRepository() {
+        System.out.println("getCuriosityRepository");
+
+        Set<Curiosity> curiosities = new HashSet<>();
+        curiosities.add(new Curiosity("Curiosity1"));
+        curiosities.add(new Curiosity("Curiosity2"));
+        simulator.setCuriosities(curiosities);
+
+        CuriosityRepository result = instance.getCuriosityRepository();
+        assertEquals(2, result.size());
+        Set<Curiosity> shown = new HashSet<>();
+        for (int i = 0; i < result.size(); i++) {
+            shown.add(result.get(i));
+        }
+        assertEquals(curiosities, shown);
+
+        CuriosityRepository repository = new CuriosityList(curiosities);
+        simulator.setCuriosityRepository(repository);
+        assertSame(repository, instance.getCuriosityRepository());
+    }
 }
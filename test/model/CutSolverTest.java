@@ -0,0 +1,128 @@
+/*
+ * Package location for model tests concepts.
+ */
+package model;
+
+import model.values.LaserValue;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Tests the cut solver class.
+ *
+ * @author Daniel Gonçalves 1151452
+ * @author Eric Amaral 1141570
+ * @author Ivo Ferro 1151159
+ * @author Tiago Correia 1151031
+ */
+public class CutSolverTest {
+
+    /**
+     * Laser that melts gold.
+     */
+    private final LaserValue meltingLaser = new Laser(10600e-9, new Gas("CO2", 9200E-9, 11400E-9), 2e-3,
+            new Material("Gold", 63000.0, 130.0, 19320.0, 2800.0, 1063.0, true), 4e-3).toValue();
+
+    /**
+     * Laser that vaporises graphite.
+     */
+    private final LaserValue vaporisationLaser = new Laser(10600e-9, new Gas("CO2", 9200E-9, 11400E-9), 2e-3,
+            new Material("Graphit", 5.95303E7, 7.20000E2, 2.23000E3, 4200.0, null, false), 1e-4).toValue();
+
+    /**
+     * Test of calculateMinimumFactor method with the melting calculus, of
+     * class CutSolver.
+     */
+    @Test
+    public void testCalculateMinimumFactorMelting() {
+        System.out.println("calculateMinimumFactorMelting");
+
+        float result = CutSolver.calculateMinimumFactor(meltingLaser, 0.9);
+
+        assertTrue(meltingLaser.withFactor(result).evaluate(0.9).isCut());
+        assertFalse(meltingLaser.withFactor(Math.nextDown(result)).evaluate(0.9).isCut());
+    }
+
+    /**
+     * Test of calculateMinimumFactor method with the vaporisation calculus, of
+     * class CutSolver.
+     */
+    @Test
+    public void testCalculateMinimumFactorVaporisation() {
+        System.out.println("calculateMinimumFactorVaporisation");
+
+        float result = CutSolver.calculateMinimumFactor(vaporisationLaser, 30.0);
+
+        assertTrue(vaporisationLaser.withFactor(result).evaluate(30.0).isCut());
+        assertFalse(vaporisationLaser.withFactor(Math.nextDown(result)).evaluate(30.0).isCut());
+    }
+
+    /**
+     * Test of calculateMinimumFactor method when the laser cannot cut the
+     * material, of class CutSolver.
+     */
+    @Test
+    public void testCalculateMinimumFactorAboveMaximum() {
+        System.out.println("calculateMinimumFactorAboveMaximum");
+
+        float result = CutSolver.calculateMinimumFactor(meltingLaser, 0.01);
+
+        assertTrue(result > 1.0f);
+        assertFalse(meltingLaser.evaluate(0.01).isCut());
+    }
+
+    /**
+     * Test of calculateMaximumThickness method, of class CutSolver.
+     */
+    @Test
+    public void testCalculateMaximumThickness() {
+        System.out.println("calculateMaximumThickness");
+
+        LaserValue laser = meltingLaser.withFactor(0.5f);
+        double result = CutSolver.calculateMaximumThickness(laser, 2.0);
+
+        LaserValue thinner = new LaserValue(laser.getWavelength(), laser.getGas(), laser.getBeamDiameter(),
+                laser.getFocalPointArea(), laser.getMaxPower(), 0.5f, laser.getMaterial(), result * 0.999);
+        LaserValue thicker = new LaserValue(laser.getWavelength(), laser.getGas(), laser.getBeamDiameter(),
+                laser.getFocalPointArea(), laser.getMaxPower(), 0.5f, laser.getMaterial(), result * 1.001);
+
+        assertTrue(thinner.evaluate(2.0).isCut());
+        assertFalse(thicker.evaluate(2.0).isCut());
+    }
+
+    /**
+     * Test of calculateMinimumFactor method with a time limit that is not
+     * positive, of class CutSolver.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testCalculateMinimumFactorInvalidTimeLimit() {
+        System.out.println("calculateMinimumFactorInvalidTimeLimit");
+
+        CutSolver.calculateMinimumFactor(meltingLaser, 0.0);
+    }
+
+    /**
+     * Test of calculateMinimumFactor method with a thickness that is not a
+     * number, of class CutSolver.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testCalculateMinimumFactorInvalidThickness() {
+        System.out.println("calculateMinimumFactorInvalidThickness");
+
+        LaserValue laser = new LaserValue(meltingLaser.getWavelength(), meltingLaser.getGas(),
+                meltingLaser.getBeamDiameter(), meltingLaser.getFocalPointArea(), meltingLaser.getMaxPower(),
+                1.0f, meltingLaser.getMaterial(), Double.NaN);
+        CutSolver.calculateMinimumFactor(laser, 0.9);
+    }
+
+    /**
+     * Test of calculateMaximumThickness method with a negative time limit, of
+     * class CutSolver.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testCalculateMaximumThicknessInvalidTimeLimit() {
+        System.out.println("calculateMaximumThicknessInvalidTimeLimit");
+
+        CutSolver.calculateMaximumThickness(meltingLaser, -1.0);
+    }
+}
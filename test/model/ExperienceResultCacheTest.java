@@ -0,0 +1,142 @@
+/*
+ * Package location for model tests concepts.
+ */
+package model;
+
+import model.values.ExperienceValue;
+import model.values.GasValue;
+import model.values.LaserValue;
+import model.values.MaterialValue;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Tests the experience result cache class.
+ *
+ * @author Daniel Gonçalves 1151452
+ * @author Eric Amaral 1141570
+ * @author Ivo Ferro 1151159
+ * @author Tiago Correia 1151031
+ */
+public class ExperienceResultCacheTest {
+
+    /**
+     * The experience result cache instance to be tested.
+     */
+    private ExperienceResultCache instance;
+
+    /**
+     * The gold laser to be used on tests.
+     */
+    private LaserValue goldLaser;
+
+    /**
+     * The copper laser to be used on tests.
+     */
+    private LaserValue copperLaser;
+
+    @Before
+    public void setUp() {
+        instance = new ExperienceResultCache(2);
+
+        GasValue gas = new GasValue("CO2", 9200E-9, 11400E-9);
+        goldLaser = new LaserValue(10600e-9, gas, 2e-3,
+                new MaterialValue("Gold", 63000.0, 130.0, 19320.0, 2800.0, 1063.0, true), 4e-3);
+        copperLaser = new LaserValue(10600e-9, gas, 2e-3,
+                new MaterialValue("Copper", 205000.0, 390.0, 8940.0, 2575.0, 1084.0, true), 4e-3);
+    }
+
+    /**
+     * Test of evaluate method, of class ExperienceResultCache.
+     */
+    @Test
+    public void testEvaluate() {
+        System.out.println("evaluate");
+
+        ExperienceValue expResult = goldLaser.evaluate(30.0);
+
+        assertEquals(expResult, instance.evaluate(goldLaser, 30.0));
+        assertEquals(expResult, instance.evaluate(goldLaser, 30.0));
+        assertEquals(1, instance.getMisses());
+        assertEquals(1, instance.getHits());
+        assertEquals(0.5, instance.getHitRatio(), 0.0001);
+
+        instance.evaluate(goldLaser.withFactor(0.5f), 30.0);
+        instance.evaluate(goldLaser, 10.0);
+        assertEquals(3, instance.getMisses());
+    }
+
+    /**
+     * Test of evaluate method with inputs that only differ by rounding
+     * errors, of class ExperienceResultCache.
+     */
+    @Test
+    public void testEvaluateQuantized() {
+        System.out.println("evaluateQuantized");
+
+        instance.evaluate(goldLaser, 30.0);
+        instance.evaluate(goldLaser, 30.0 * (1 + 1e-15));
+
+        assertEquals(1, instance.size());
+        assertEquals(1, instance.getHits());
+    }
+
+    /**
+     * Test of the eviction of the least recently used entry, of class
+     * ExperienceResultCache.
+     */
+    @Test
+    public void testEviction() {
+        System.out.println("eviction");
+
+        instance.evaluate(goldLaser, 10.0);
+        instance.evaluate(goldLaser, 20.0);
+        instance.evaluate(goldLaser, 10.0);
+        instance.evaluate(goldLaser, 30.0);
+
+        assertEquals(2, instance.size());
+        assertEquals(1, instance.getEvictions());
+
+        instance.evaluate(goldLaser, 10.0);
+        assertEquals(2, instance.getHits());
+    }
+
+    /**
+     * Test of the invalidation of the entries of a changed material, of class
+     * ExperienceResultCache.
+     */
+    @Test
+    public void testMaterialRemoved() {
+        System.out.println("materialRemoved");
+
+        instance.evaluate(goldLaser, 30.0);
+        instance.evaluate(copperLaser, 30.0);
+        instance.materialRemoved(new Material("Gold", 63000.0, 130.0, 19320.0, 2800.0, 1063.0, true));
+
+        assertEquals(1, instance.size());
+        assertEquals(1, instance.getInvalidations());
+
+        instance.evaluate(goldLaser, 30.0);
+        assertEquals(3, instance.getMisses());
+    }
+
+    /**
+     * Test of getResultCache method, of class Simulator, checking that the
+     * cache is invalidated by the catalog changes.
+     */
+    @Test
+    public void testSimulatorResultCache() {
+        System.out.println("simulatorResultCache");
+
+        Simulator simulator = new Simulator();
+        ExperienceResultCache cache = simulator.getResultCache();
+        assertSame(cache, simulator.getResultCache());
+
+        cache.evaluate(goldLaser, 30.0);
+        simulator.registerMaterial(new Material("Gold", 63000.0, 130.0, 19320.0, 2800.0, 1063.0, true));
+
+        assertEquals(0, cache.size());
+        assertEquals(1, cache.getInvalidations());
+    }
+}
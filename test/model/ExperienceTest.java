@@ -3,6 +3,10 @@
  */
 package model;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import org.junit.Before;
 import org.junit.Test;
 import static org.junit.Assert.*;
@@ -231,4 +235,43 @@ public class ExperienceTest {
         assertTrue(instance.equals(obj));
     }
 
+    /**
+     * Test of exportHTML method, of class Experience.
+     */
+    @Test
+    public void testExportHTML() throws IOException {
+        System.out.println("exportHTML");
+
+        instance.calculatePenetrationVelocity();
+        File file = File.createTempFile("experience", ".html");
+        try {
+            instance.exportHTML(file);
+            String result = new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+
+            assertTrue(result.startsWith("<!DOCTYPE html>"));
+            assertTrue(result.contains("<h1>Resultados da experiência:\n</h1>"));
+            for (String[] line : instance.generateResults()) {
+                assertTrue(result.contains("<tr><td>" + line[0] + "</td><td>" + line[1] + "</td></tr>"));
+            }
+            assertTrue(result.endsWith("</body>\n</html>"));
+        } finally {
+            file.delete();
+        }
+    }
+
+    /**
+     * Test of exportHTML method to a file that cannot be written, of class
+     * Experience.
+     */
+    @Test(expected = IOException.class)
+    public void testExportHTMLFailure() throws IOException {
+        System.out.println("exportHTMLFailure");
+
+        File directory = Files.createTempDirectory("experience").toFile();
+        try {
+            instance.exportHTML(directory);
+        } finally {
+            directory.delete();
+        }
+    }
 }
@@ -0,0 +1,115 @@
+/*
+ * Package location for model tests concepts.
+ */
+package model;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Tests the gas wavelength index class.
+ *
+ * @author Daniel Gonçalves 1151452
+ * @author Eric Amaral 1141570
+ * @author Ivo Ferro 1151159
+ * @author Tiago Correia 1151031
+ */
+public class GasWavelengthIndexTest {
+
+    /**
+     * The gases to be used on tests.
+     */
+    private List<Gas> gases;
+
+    @Before
+    public void setUp() {
+        gases = new ArrayList<>();
+        gases.add(new Gas("CO2", 9200E-9, 11400E-9));
+        gases.add(new Gas("Pb salts", 3300E-9, 27000E-9));
+        gases.add(new Gas("He-Ne", 632.8E-9, 632.8E-9));
+        gases.add(new Gas("Ar+", 454.6E-9, 528.7E-9));
+    }
+
+    /**
+     * Test of getGasesByWavelength method, of class GasWavelengthIndex.
+     */
+    @Test
+    public void testGetGasesByWavelength() {
+        System.out.println("getGasesByWavelength");
+
+        GasWavelengthIndex instance = new GasWavelengthIndex(gases);
+
+        Set<Gas> expResult = new HashSet<>();
+        expResult.add(gases.get(0));
+        expResult.add(gases.get(1));
+
+        assertEquals(expResult, instance.getGasesByWavelength(10600E-9));
+        assertEquals(expResult, instance.getGasesByWavelength(9200E-9));
+        assertEquals(expResult, instance.getGasesByWavelength(11400E-9));
+        assertEquals(1, instance.getGasesByWavelength(632.8E-9).size());
+        assertTrue(instance.getGasesByWavelength(100E-9).isEmpty());
+        assertTrue(instance.getGasesByWavelength(30000E-9).isEmpty());
+    }
+
+    /**
+     * Test that the results of the same slot are reused, of class
+     * GasWavelengthIndex.
+     */
+    @Test
+    public void testGetGasesByWavelengthReused() {
+        System.out.println("getGasesByWavelengthReused");
+
+        GasWavelengthIndex instance = new GasWavelengthIndex(gases);
+
+        assertSame(instance.getGasesByWavelength(10000E-9), instance.getGasesByWavelength(10600E-9));
+    }
+
+    /**
+     * Test that the results cannot be modified, of class GasWavelengthIndex.
+     */
+    @Test(expected = UnsupportedOperationException.class)
+    public void testGetGasesByWavelengthUnmodifiable() {
+        System.out.println("getGasesByWavelengthUnmodifiable");
+
+        GasWavelengthIndex instance = new GasWavelengthIndex(gases);
+
+        instance.getGasesByWavelength(10600E-9).clear();
+    }
+
+    /**
+     * Test that the index finds the same gases as checking every gas, of
+     * class GasWavelengthIndex.
+     */
+    @Test
+    public void testGetGasesByWavelengthRandom() {
+        System.out.println("getGasesByWavelengthRandom");
+
+        Random random = new Random(42);
+        List<Gas> manyGases = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            double min = random.nextInt(1000) * 1E-8;
+            double max = min + random.nextInt(50) * 1E-8;
+            manyGases.add(new Gas("Gas " + i, min, max));
+        }
+        GasWavelengthIndex instance = new GasWavelengthIndex(manyGases);
+
+        for (int i = 0; i < 500; i++) {
+            double wavelength = random.nextInt(1100) * 1E-8;
+
+            Set<Gas> expResult = new HashSet<>();
+            for (Gas gas : manyGases) {
+                if (gas.isCompatible(wavelength)) {
+                    expResult.add(gas);
+                }
+            }
+
+            assertEquals(expResult, instance.getGasesByWavelength(wavelength));
+        }
+    }
+}
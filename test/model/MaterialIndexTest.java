@@ -0,0 +1,158 @@
+/*
+ * Package location for model tests concepts.
+ */
+package model;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+import utils.MappedMaterialCatalog;
+
+/**
+ * Tests the material index class.
+ *
+ * @author Daniel Gonçalves 1151452
+ * @author Eric Amaral 1141570
+ * @author Ivo Ferro 1151159
+ * @author Tiago Correia 1151031
+ */
+public class MaterialIndexTest {
+
+    /**
+     * The material index instance to be tested.
+     */
+    private MaterialIndex instance;
+
+    /**
+     * A material in the index.
+     */
+    private Material copper;
+
+    @Before
+    public void setUp() {
+        copper = new Material("Copper", 205000d, 390d, 8940d, 2575d, 1084d, true);
+        instance = new MaterialIndex(Arrays.asList(
+                copper,
+                new Material("Cobalt", 276000d, 420d, 8900d, 2870d, 1495d, true),
+                new Material("Aluminium", 398000d, 910d, 2712d, 2467d, 660d, true)));
+    }
+
+    /**
+     * Test of normalize method, of class MaterialIndex.
+     */
+    @Test
+    public void testNormalize() {
+        System.out.println("normalize");
+
+        assertEquals("carbon fiber", MaterialIndex.normalize("  Carbon \t FIBER "));
+        assertEquals("aço inox", MaterialIndex.normalize("Aço Inox"));
+        assertEquals("fi", MaterialIndex.normalize("ﬁ"));
+    }
+
+    /**
+     * Test of add method, of class MaterialIndex.
+     */
+    @Test
+    public void testAdd() {
+        System.out.println("add");
+
+        assertFalse(instance.add(new Material("COPPER ", 1d, 2d, 3d, 4d, 5d, true)));
+        assertTrue(instance.add(new Material("Copper alloy", 1d, 2d, 3d, 4d, 5d, true)));
+        assertEquals(4, instance.size());
+    }
+
+    /**
+     * Test of get method, of class MaterialIndex.
+     */
+    @Test
+    public void testGet() {
+        System.out.println("get");
+
+        assertSame(copper, instance.get(" copper"));
+        assertNull(instance.get("Brass"));
+        assertTrue(instance.containsName("COPPER"));
+    }
+
+    /**
+     * Test of remove method, of class MaterialIndex.
+     */
+    @Test
+    public void testRemove() {
+        System.out.println("remove");
+
+        assertTrue(instance.remove(new Material("copper", 1d, 2d, 3d, 4d, 5d, true)));
+        assertFalse(instance.remove(copper));
+        assertNull(instance.get("Copper"));
+        assertTrue(instance.findSimilar(new Material("Cu", 205000d, 390d, 8940d, 2575d, 1084d, true)).isEmpty());
+    }
+
+    /**
+     * Test of findByPrefix method, of class MaterialIndex.
+     */
+    @Test
+    public void testFindByPrefix() {
+        System.out.println("findByPrefix");
+
+        List<Material> result = instance.findByPrefix("CO", 10);
+        assertEquals(2, result.size());
+        assertEquals("Cobalt", result.get(0).getName());
+        assertEquals("Copper", result.get(1).getName());
+
+        assertEquals(1, instance.findByPrefix("co", 1).size());
+        assertEquals(3, instance.findByPrefix("", 10).size());
+        assertTrue(instance.findByPrefix("z", 10).isEmpty());
+    }
+
+    /**
+     * Test of findSimilar method, of class MaterialIndex.
+     */
+    @Test
+    public void testFindSimilar() {
+        System.out.println("findSimilar");
+
+        Material similar = new Material("Cu", 205000.01, 390d, 8940d, 2575d, 1084d, true);
+        List<Material> result = instance.findSimilar(similar);
+        assertEquals(1, result.size());
+        assertSame(copper, result.get(0));
+
+        assertTrue(instance.findSimilar(copper).isEmpty());
+        assertTrue(instance.findSimilar(new Material("Cu", 205000d, 390d, 8940d, 2575d, null, false)).isEmpty());
+        assertTrue(instance.findSimilar(new Material("Cu", 250000d, 390d, 8940d, 2575d, 1084d, true)).isEmpty());
+    }
+
+    /**
+     * Test of an index of a material store, of class MaterialIndex.
+     *
+     * @throws IOException if the store file cannot be used
+     */
+    @Test
+    public void testStoreIndex() throws IOException {
+        System.out.println("storeIndex");
+
+        Path file = Files.createTempFile("materials", ".cat");
+        try (MappedMaterialCatalog store = MappedMaterialCatalog.create(file, Arrays.asList(copper,
+                new Material("Cobalt", 276000d, 420d, 8900d, 2870d, 1495d, true)))) {
+            MaterialIndex index = new MaterialIndex(store);
+
+            Material found = index.get("COPPER");
+            assertEquals(copper, found);
+            assertNotSame(copper, found);
+            assertEquals(2, index.findByPrefix("co", 10).size());
+
+            Material similar = new Material("Cu", 205000.01, 390d, 8940d, 2575d, 1084d, true);
+            assertEquals(Arrays.asList(copper), index.findSimilar(similar));
+
+            store.remove(copper);
+            assertTrue(index.remove(new Material("copper", 1d, 2d, 3d, 4d, 5d, true)));
+            assertTrue(index.findSimilar(similar).isEmpty());
+            assertEquals(1, index.size());
+        } finally {
+            Files.delete(file);
+        }
+    }
+}
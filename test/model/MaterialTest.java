@@ -129,6 +129,30 @@ public class MaterialTest {
         assertTrue(instance.setDensity(density));
 
         assertEquals(instance.getDensity(), density, 0.01d);
+
+        assertFalse(instance.setDensity(-1d));
+        assertFalse(instance.setDensity(null));
+        assertFalse(instance.setDensity(Double.NaN));
+        assertFalse(instance.setDensity(Double.POSITIVE_INFINITY));
+        assertEquals(instance.getDensity(), density, 0.01d);
+    }
+
+    /**
+     * Test of areValidTemperatures method, of class Material.
+     */
+    @Test
+    public void testAreValidTemperatures() {
+        System.out.println("areValidTemperatures");
+
+        assertTrue(Material.areValidTemperatures(2467d, 660d));
+        assertTrue(Material.areValidTemperatures(3652d, null));
+        assertFalse(Material.areValidTemperatures(null, 660d));
+        assertFalse(Material.areValidTemperatures(660d, 2467d));
+        assertFalse(Material.areValidTemperatures(100d, -300d));
+        assertFalse(Material.areValidTemperatures(Double.NaN, 660d));
+        assertFalse(Material.areValidTemperatures(Double.POSITIVE_INFINITY, 660d));
+        assertFalse(Material.areValidTemperatures(2467d, Double.NaN));
+        assertFalse(Material.areValidTemperatures(Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY));
     }
 
     /**
@@ -221,6 +245,24 @@ public class MaterialTest {
 
         obj = new Material("Nickel", 297000d, 440d, 8908d, 2800d, 1453d, true);
         assertEquals(instance, obj);
+
+        Material unmeltable = new Material("Nickel", 297000d, 440d, 8908d, 2800d, null, false);
+        assertNotEquals(unmeltable, instance);
+        assertNotEquals(instance, unmeltable);
+        assertEquals(unmeltable, new Material("Nickel", 297000d, 440d, 8908d, 2800d, null, false));
+    }
+
+    /**
+     * Test of hashCode method, of class Material.
+     */
+    @Test
+    public void testHashCode() {
+        System.out.println("hashCode");
+
+        Material other = new Material("Nickel", 297000d + 1e-12, 440d, 8908d, 2800d, 1453d, true);
+
+        assertEquals(instance, other);
+        assertEquals(instance.hashCode(), other.hashCode());
     }
 
     /**
@@ -3,7 +3,10 @@
  */
 package model;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.TreeSet;
 import org.junit.Before;
@@ -224,6 +227,28 @@ public class SimulatorTest {
         assertEquals(expResult, result);
     }
 
+    /**
+     * Test of registerGas method, of class Simulator.
+     */
+    @Test
+    public void testRegisterGas() {
+        System.out.println("registerGas");
+
+        Double wavelength = 10600E-9;
+        Gas gas = new Gas("Test gas", 10000E-9, 11000E-9);
+        int compatibleGases = instance.getGasesByWavelength(wavelength).size();
+        CatalogSnapshot before = instance.getCatalog();
+
+        assertTrue(instance.registerGas(gas));
+        assertFalse(instance.registerGas(gas));
+
+        Set<Gas> result = instance.getGasesByWavelength(wavelength);
+
+        assertEquals(compatibleGases + 1, result.size());
+        assertTrue(result.contains(gas));
+        assertFalse(before.getGasIndex().getGasesByWavelength(wavelength).contains(gas));
+    }
+
     /**
      * Test of newLaser method, of class Simulator.
      */
@@ -284,4 +309,147 @@ public class SimulatorTest {
         assertTrue(instance.equals(obj));
     }
 
+    /**
+     * Test of addCatalogListener method, of class Simulator.
+     */
+    @Test
+    public void testAddCatalogListener() {
+        System.out.println("addCatalogListener");
+
+        final List<String> changes = new ArrayList<>();
+        CatalogListener listener = new CatalogListener() {
+            @Override
+            public void materialRegistered(Material material) {
+                changes.add("+" + material.getName());
+            }
+
+            @Override
+            public void materialRemoved(Material material) {
+                changes.add("-" + material.getName());
+            }
+        };
+        Material material = new Material("Mithril", 1.0, 2.0, 3.0, 4.0, 5.0, true);
+
+        instance.addCatalogListener(listener);
+        instance.registerMaterial(material);
+        instance.registerMaterial(material);
+        instance.removeMaterial(material);
+        instance.removeCatalogListener(listener);
+        instance.registerMaterial(material);
+
+        assertEquals(2, changes.size());
+        assertEquals("+Mithril", changes.get(0));
+        assertEquals("-Mithril", changes.get(1));
+    }
+
+    /**
+     * Test of registerMaterial method with a name that only differs in case
+     * and spacing, of class Simulator.
+     */
+    @Test
+    public void testRegisterMaterialSameName() {
+        System.out.println("registerMaterialSameName");
+
+        int materials = instance.getMaterials().size();
+        Material material = new Material(" GOLD  ", 1d, 2d, 3d, 4d, 5d, true);
+
+        assertFalse(instance.registerMaterial(material));
+        assertEquals(materials, instance.getMaterials().size());
+        assertEquals(0, instance.registerMaterials(Collections.singletonList(material)));
+    }
+
+    /**
+     * Test of getMaterialIndex method, of class Simulator.
+     */
+    @Test
+    public void testGetMaterialIndex() {
+        System.out.println("getMaterialIndex");
+
+        Material material = new Material("Mithril", 1.0, 2.0, 3.0, 4.0, 5.0, true);
+        instance.registerMaterial(material);
+
+        MaterialIndex index = instance.getMaterialIndex();
+        assertEquals(instance.getMaterials().size(), index.size());
+        assertSame(material, index.get("mithril"));
+
+        instance.removeMaterial(material);
+        assertNull(instance.getMaterialIndex().get("Mithril"));
+
+        Set<Material> materials = new TreeSet<>();
+        materials.add(material);
+        instance.setMaterials(materials);
+        assertEquals(1, instance.getMaterialIndex().size());
+    }
+
+    /**
+     * Test of getCatalog method, of class Simulator.
+     */
+    @Test
+    public void testGetCatalog() {
+        System.out.println("getCatalog");
+
+        CatalogSnapshot before = instance.getCatalog();
+        GasWavelengthIndex gasIndex = before.getGasIndex();
+        int materials = before.getMaterials().size();
+        Material material = new Material("Mithril", 1.0, 2.0, 3.0, 4.0, 5.0, true);
+
+        instance.registerMaterial(material);
+        CatalogSnapshot after = instance.getCatalog();
+
+        assertEquals(before.getVersion() + 1, after.getVersion());
+        assertEquals(materials, before.getMaterials().size());
+        assertFalse(before.getMaterials().contains(material));
+        assertTrue(after.getMaterials().contains(material));
+        assertSame(before.getGases(), after.getGases());
+        assertSame(gasIndex, after.getGasIndex());
+
+        instance.registerMaterial(material);
+        assertSame(after, instance.getCatalog());
+
+        try {
+            after.getMaterials().add(new Material("Adamantium", 1.0, 2.0, 3.0, 4.0, 5.0, true));
+            fail("The snapshot materials cannot be changed");
+        } catch (UnsupportedOperationException ex) {
+            assertEquals(materials + 1, instance.getMaterials().size());
+        }
+    }
+
+    /**
+     * Test of the catalog iterated while it is changed by other threads, of
+     * class Simulator.
+     *
+     * @throws InterruptedException if the test is interrupted
+     */
+    @Test
+    public void testConcurrentCatalogChanges() throws InterruptedException {
+        System.out.println("concurrentCatalogChanges");
+
+        final int changes = 2000;
+        Thread writer = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                for (int i = 0; i < changes; i++) {
+                    Material material = new Material("Alloy " + i, 1.0, 2.0, 3.0, 4.0, 5.0, true);
+                    instance.registerMaterial(material);
+                    if (i % 2 == 0) {
+                        instance.removeMaterial(material);
+                    }
+                }
+            }
+        });
+
+        writer.start();
+        while (writer.isAlive()) {
+            CatalogSnapshot catalog = instance.getCatalog();
+            int count = 0;
+            for (Material material : catalog.getMaterials()) {
+                count++;
+            }
+            assertEquals(catalog.getMaterials().size(), count);
+        }
+        writer.join();
+
+        assertEquals(DefaultInstantiator.createSimulator().getMaterials().size() + changes / 2,
+                instance.getMaterials().size());
+    }
 }
@@ -0,0 +1,85 @@
+package model.calculations;
+
+import model.Material;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Tests a LaserCalculus class.
+ *
+ * @author Daniel Gonçalves 1151452
+ * @author Eric Amaral 1141570
+ * @author Ivo Ferro 1151159
+ * @author Tiago Correia 1151031
+ */
+public class LaserCalculusTest {
+
+    /**
+     * meltable test Material
+     */
+    private final Material gold = new Material("Gold", 63000.0, 130.0, 19320.0, 2800.0, 1063.0, true);
+
+    /**
+     * not meltable test Material
+     */
+    private final Material graphit
+            = new Material("Graphit (carbon)", 5.95303E7, 7.20000E2, 2.23000E3, 4200.0, null, false);
+
+    /**
+     * Test of createPenetrationCalculus method, of class LaserCalculus.
+     */
+    @Test
+    public void testCreatePenetrationCalculus() {
+        System.out.println("createPenetrationCalculus");
+
+        assertTrue(LaserCalculus.createPenetrationCalculus(80.0, 3.1416e-6, gold, 4e-3) instanceof MeltingCalculus);
+        assertTrue(LaserCalculus.createPenetrationCalculus(80.0, 3.1416e-6, graphit, 4e-3)
+                instanceof VaporisationCalculus);
+    }
+
+    /**
+     * Test of calculatePenetrationVelocity method for a batch of points of
+     * meltable and not meltable materials, of class LaserCalculus.
+     */
+    @Test
+    public void testCalculatePenetrationVelocityBatch() {
+        System.out.println("calculatePenetrationVelocity");
+
+        MaterialTable materials = new MaterialTable(gold, graphit);
+        double[] power = {80.0, 199.90, 199.90, 80.0};
+        double[] focalPointArea = {3.1416e-6, 7.85E-7, 7.85E-7, 3.1416e-6};
+        double[] thickness = {4e-3, 1e-3, 1e-3, 4e-3};
+        int[] material = {0, 1, 1, 0};
+        double[] results = new double[4];
+
+        LaserCalculus.calculatePenetrationVelocity(
+                new CalculusBatch(4, null, power, focalPointArea, thickness, material, materials), 0, 4, results);
+
+        Material[] byIndex = {gold, graphit};
+        for (int i = 0; i < 4; i++) {
+            double expResult = LaserCalculus.createPenetrationCalculus(power[i], focalPointArea[i],
+                    byIndex[material[i]], thickness[i]).calculate();
+            assertEquals(expResult, results[i], 0.0);
+        }
+    }
+
+    /**
+     * Test of calculateCuttingSpeed method for a batch of points, of class
+     * LaserCalculus.
+     */
+    @Test
+    public void testCalculateCuttingSpeedBatch() {
+        System.out.println("calculateCuttingSpeed");
+
+        MaterialTable materials = new MaterialTable(gold);
+        double[] results = new double[1];
+
+        LaserCalculus.calculateCuttingSpeed(new CalculusBatch(1, null, new double[]{80.0},
+                new double[]{2e-3 * 4e-3}, new double[]{MeltingCalculus.DEFAULT_CUT}, new int[]{0}, materials),
+                0, 1, results);
+
+        assertEquals(LaserCalculus.createCuttingCalculus(80.0, 2e-3, gold, 4e-3).calculate(), results[0], 0.0);
+        assertEquals(LaserCalculus.calculateCuttingSpeed(80.0, 2e-3, 4e-3, 19320.0, 130.0, 63000.0, 1063.0),
+                results[0], 0.0);
+    }
+}
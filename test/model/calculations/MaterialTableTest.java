@@ -0,0 +1,75 @@
+/*
+ * Package location for Application calculus model concepts.
+ */
+package model.calculations;
+
+import model.Material;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Tests the material table class.
+ *
+ * @author Daniel Gonçalves 1151452
+ * @author Eric Amaral 1141570
+ * @author Ivo Ferro 1151159
+ * @author Tiago Correia 1151031
+ */
+public class MaterialTableTest {
+
+    /**
+     * The material table instance to be tested.
+     */
+    private MaterialTable instance;
+
+    @Before
+    public void setUp() {
+        instance = new MaterialTable(
+                new Material("Gold", 63000.0, 130.0, 19320.0, 2800.0, 1063.0, true),
+                new Material("Graphit", 5.95303E7, 7.20000E2, 2.23000E3, 4200.0, null, false));
+    }
+
+    /**
+     * Test of size method, of class MaterialTable.
+     */
+    @Test
+    public void testSize() {
+        System.out.println("size");
+
+        assertEquals(2, instance.size());
+    }
+
+    /**
+     * Test of getDensity method, of class MaterialTable.
+     */
+    @Test
+    public void testGetDensity() {
+        System.out.println("getDensity");
+
+        assertEquals(19320.0, instance.getDensity(0), 0.0001);
+        assertEquals(2230.0, instance.getDensity(1), 0.0001);
+    }
+
+    /**
+     * Test of getChangePhaseTemperature method, of class MaterialTable.
+     */
+    @Test
+    public void testGetChangePhaseTemperature() {
+        System.out.println("getChangePhaseTemperature");
+
+        assertEquals(1063.0, instance.getChangePhaseTemperature(0), 0.0001);
+        assertEquals(4200.0, instance.getChangePhaseTemperature(1), 0.0001);
+    }
+
+    /**
+     * Test of isMeltable method, of class MaterialTable.
+     */
+    @Test
+    public void testIsMeltable() {
+        System.out.println("isMeltable");
+
+        assertTrue(instance.isMeltable(0));
+        assertFalse(instance.isMeltable(1));
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Package location for Application calculus model concepts.
+ */
+package model.calculations;
+
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Tests the maximum power cache class.
+ *
+ * @author Daniel Gonçalves 1151452
+ * @author Eric Amaral 1141570
+ * @author Ivo Ferro 1151159
+ * @author Tiago Correia 1151031
+ */
+public class MaximumPowerCacheTest {
+
+    /**
+     * The maximum power cache instance to be tested.
+     */
+    private MaximumPowerCache instance;
+
+    @Before
+    public void setUp() {
+        instance = new MaximumPowerCache(2);
+    }
+
+    /**
+     * Test of get method, of class MaximumPowerCache.
+     */
+    @Test
+    public void testGet() {
+        System.out.println("get");
+
+        double expResult = new MaximumPowerCalculus(1.064e-6, 7.85e-7).calculate();
+
+        assertEquals(expResult, instance.get(1.064e-6, 7.85e-7), 0.0);
+        assertEquals(expResult, instance.get(1.064e-6, 7.85e-7), 0.0);
+        assertEquals(1, instance.getMisses());
+        assertEquals(1, instance.getHits());
+        assertEquals(0.5, instance.getHitRatio(), 0.0001);
+    }
+
+    /**
+     * Test of get method with keys that only differ by rounding errors, of
+     * class MaximumPowerCache.
+     */
+    @Test
+    public void testGetQuantized() {
+        System.out.println("getQuantized");
+
+        double area = Math.PI * Math.pow((2e-3 / 2), 2);
+        instance.get(10600e-9, area);
+        instance.get(10600e-9, area * (1 + 1e-15));
+
+        assertEquals(1, instance.size());
+        assertEquals(1, instance.getHits());
+    }
+
+    /**
+     * Test of the eviction of the least recently used entry, of class
+     * MaximumPowerCache.
+     */
+    @Test
+    public void testEviction() {
+        System.out.println("eviction");
+
+        instance.get(1e-6, 1e-6);
+        instance.get(2e-6, 1e-6);
+        instance.get(1e-6, 1e-6);
+        instance.get(3e-6, 1e-6);
+
+        assertEquals(2, instance.size());
+        assertEquals(1, instance.getEvictions());
+
+        instance.get(1e-6, 1e-6);
+        assertEquals(2, instance.getHits());
+    }
+
+    /**
+     * Test of clear method, of class MaximumPowerCache.
+     */
+    @Test
+    public void testClear() {
+        System.out.println("clear");
+
+        instance.get(1e-6, 1e-6);
+        instance.clear();
+
+        assertEquals(0, instance.size());
+        assertEquals(0, instance.getMisses());
+    }
+}
@@ -92,4 +92,22 @@ public class MaximumPowerCalculusTest {
         assertEquals(instance.getFocalPointArea(), focalPointArea);
     }
 
+    /**
+     * Test of calculate method with a batch, of class MaximumPowerCalculus.
+     */
+    @Test
+    public void testCalculateBatch() {
+        System.out.println("calculateBatch");
+
+        double[] wavelength = {1.064e-6, 10600e-9};
+        double[] focalPointArea = {7.85e-7, 3.1416e-6};
+        CalculusBatch batch = new CalculusBatch(2, wavelength, null, focalPointArea, null, null, null);
+        double[] results = new double[2];
+
+        instance.calculate(batch, results);
+
+        assertEquals(instance.calculate(), results[0], 0.0001);
+        assertEquals(new MaximumPowerCalculus(10600e-9, 3.1416e-6).calculate(), results[1], 0.0001);
+    }
+
 }
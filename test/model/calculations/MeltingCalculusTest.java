@@ -151,5 +151,48 @@ public class MeltingCalculusTest {
         double result = calculus.calculate();
         assertEquals(expResult, result, 0.01);
     }
-    
+
+    /**
+     * Test of calculate method with a batch, of class MeltingCalculus.
+     */
+    @Test
+    public void testCalculateBatch() {
+        System.out.println("calculateBatch");
+        Material gold = new Material("Gold", 63000.0, 130.0, 19320.0, 2800.0, 1063.0, true);
+        MaterialTable materials = new MaterialTable(testMaterial, gold);
+        double[] power = {199.90, 80.0, 40.0};
+        double[] focalPointArea = {7.85E-7, 3.14E-6, 3.14E-6};
+        double[] thickness = {20E-3, 4E-3, 4E-3};
+        int[] materialIndex = {0, 1, 1};
+        CalculusBatch batch = new CalculusBatch(3, null, power, focalPointArea, thickness, materialIndex, materials);
+        double[] results = new double[3];
+
+        calculus.calculate(batch, results);
+
+        assertEquals(calculus.calculate(), results[0], 1E-12);
+        assertEquals(new MeltingCalculus(80.0, 3.14E-6, gold, 4E-3).calculate(), results[1], 1E-12);
+        assertEquals(results[1] / 2, results[2], 1E-12);
+    }
+
+    /**
+     * Test of calculate method with a range of a batch, of class
+     * MeltingCalculus.
+     */
+    @Test
+    public void testCalculateBatchRange() {
+        System.out.println("calculateBatchRange");
+        MaterialTable materials = new MaterialTable(testMaterial);
+        double[] power = {199.90, 199.90};
+        double[] focalPointArea = {7.85E-7, 7.85E-7};
+        double[] thickness = {20E-3, 20E-3};
+        int[] materialIndex = {0, 0};
+        CalculusBatch batch = new CalculusBatch(2, null, power, focalPointArea, thickness, materialIndex, materials);
+        double[] results = new double[2];
+
+        calculus.calculate(batch, 1, 2, results);
+
+        assertEquals(0.0, results[0], 0.0);
+        assertEquals(calculus.calculate(), results[1], 1E-12);
+    }
+
 }
@@ -110,4 +110,23 @@ public class VaporisationCalculusTest {
         assertEquals(inicialTemp, calculus.getInicialTemp());
     }
 
+    /**
+     * Test of calculate method with a batch, of class VaporisationCalculus.
+     */
+    @Test
+    public void testCalculateBatch() {
+        System.out.println("calculateBatch");
+        MaterialTable materials = new MaterialTable(testMaterial);
+        double[] power = {199.90, 99.95};
+        double[] focalPointArea = {7.85E-7, 7.85E-7};
+        int[] materialIndex = {0, 0};
+        CalculusBatch batch = new CalculusBatch(2, null, power, focalPointArea, null, materialIndex, materials);
+        double[] results = new double[2];
+
+        calculus.calculate(batch, results);
+
+        assertEquals(calculus.calculate(), results[0], 1E-12);
+        assertEquals(results[0] / 2, results[1], 1E-12);
+    }
+
 }
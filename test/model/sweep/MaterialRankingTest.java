@@ -0,0 +1,99 @@
+/*
+ * Package location for Application sweep model tests.
+ */
+package model.sweep;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import model.Material;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Tests the material ranking class.
+ *
+ * @author Daniel Gonçalves 1151452
+ * @author Eric Amaral 1141570
+ * @author Ivo Ferro 1151159
+ * @author Tiago Correia 1151031
+ */
+public class MaterialRankingTest {
+
+    /**
+     * Verifies that a ranking is ordered: cuts first by descending cutting
+     * speed, and then by descending penetration velocity.
+     *
+     * @param ranking the ranking
+     */
+    private static void assertRanked(MaterialRanking ranking) {
+        for (int rank = 1; rank < ranking.size(); rank++) {
+            if (ranking.isCut(rank)) {
+                assertTrue(ranking.isCut(rank - 1));
+                assertTrue(ranking.getCuttingSpeed(rank - 1) >= ranking.getCuttingSpeed(rank));
+            } else if (!ranking.isCut(rank - 1)) {
+                assertTrue(ranking.getPenetrationVelocity(rank - 1) >= ranking.getPenetrationVelocity(rank));
+            }
+        }
+    }
+
+    /**
+     * Test of rank method, of class MaterialRanking.
+     */
+    @Test
+    public void testRank() {
+        System.out.println("rank");
+
+        Material gold = new Material("Gold", 63000.0, 130.0, 19320.0, 2800.0, 1063.0, true);
+        Material aluminium = new Material("Aluminium", 398000.0, 910.0, 2712.0, 2467.0, 660.0, true);
+        Material graphit = new Material("Graphit", 5.95303E7, 7.20000E2, 2.23000E3, 4200.0, null, false);
+        Material tungsten = new Material("Tungsten", 285000.0, 134.0, 19250.0, 5555.0, 3422.0, true);
+
+        MaterialRanking ranking = MaterialRanking.rank(new SweepEngine(new ForkJoinPool(2), 1), 10600e-9, 2e-3,
+                Arrays.asList(graphit, tungsten, gold, aluminium), 4e-3, 1.0f, 2.0);
+
+        assertEquals(4, ranking.size());
+        assertRanked(ranking);
+        assertEquals(ranking.getCutCount() > 0, ranking.isCut(0));
+        for (int rank = 0; rank < ranking.size(); rank++) {
+            int point = ranking.getPoint(rank);
+            assertSame(ranking.getResult().getMaterial(point), ranking.getMaterial(rank));
+            assertEquals(rank < ranking.getCutCount(), ranking.isCut(rank));
+        }
+    }
+
+    /**
+     * Test of the ranking of many points with equal and close values, of
+     * class MaterialRanking.
+     */
+    @Test
+    public void testRankTies() {
+        System.out.println("rankTies");
+
+        List<Material> materials = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            double density = 2000.0 + (i % 7) * 1e-9 + (i % 3) * 1000.0;
+            materials.add(new Material("Alloy " + i, 63000.0, 130.0, density, 2800.0, 1063.0, i % 5 != 0));
+        }
+
+        MaterialRanking ranking = MaterialRanking.rank(new SweepEngine(), 10600e-9, 2e-3, materials, 4e-3,
+                0.5f, 3.0);
+
+        assertEquals(materials.size(), ranking.size());
+        assertRanked(ranking);
+
+        boolean[] ranked = new boolean[materials.size()];
+        for (int rank = 0; rank < ranking.size(); rank++) {
+            assertFalse(ranked[ranking.getPoint(rank)]);
+            ranked[ranking.getPoint(rank)] = true;
+        }
+        for (int rank = 1; rank < ranking.size(); rank++) {
+            if (ranking.isCut(rank) == ranking.isCut(rank - 1)
+                    && ranking.getCuttingSpeed(rank) == ranking.getCuttingSpeed(rank - 1)
+                    && ranking.getPenetrationVelocity(rank) == ranking.getPenetrationVelocity(rank - 1)) {
+                assertTrue(ranking.getPoint(rank - 1) < ranking.getPoint(rank));
+            }
+        }
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Package location for Application sweep model tests.
+ */
+package model.sweep;
+
+import model.Material;
+import model.values.ExperienceValue;
+import model.values.LaserValue;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Tests the response curve class.
+ *
+ * @author Daniel Gonçalves 1151452
+ * @author Eric Amaral 1141570
+ * @author Ivo Ferro 1151159
+ * @author Tiago Correia 1151031
+ */
+public class ResponseCurveTest {
+
+    /**
+     * The laser of the curves, with a meltable material.
+     */
+    private LaserValue laser;
+
+    @Before
+    public void setUp() {
+        laser = new LaserValue(10600e-9, null, 2e-3,
+                new Material("Gold", 63000.0, 130.0, 19320.0, 2800.0, 1063.0, true).toValue(), 4e-3);
+    }
+
+    /**
+     * Verifies that the points of a curve are the results of the experiences
+     * of the given lasers.
+     *
+     * @param curve the curve
+     * @param lasers the laser of each point
+     * @param cuttingTimeLimit the cutting time limit (s)
+     */
+    private static void assertCurve(ResponseCurve curve, final LaserValue[] lasers, final double cuttingTimeLimit) {
+        final int[] count = {0};
+
+        curve.sample(new ResponseCurve.PointConsumer() {
+            @Override
+            public void accept(int index, double value, double penetrationVelocity, double timeToCut,
+                    double cuttingSpeed) {
+                ExperienceValue expected = lasers[index].evaluate(cuttingTimeLimit);
+
+                assertEquals(count[0]++, index);
+                assertEquals(expected.getPenetrationVelocity(), penetrationVelocity, 0.0);
+                assertEquals(expected.getTimeToCut(), timeToCut, 0.0);
+                assertEquals(expected.getCuttingSpeed(), cuttingSpeed, 0.0);
+            }
+        });
+
+        assertEquals(curve.size(), count[0]);
+    }
+
+    /**
+     * Test of sample method over the thickness, of class ResponseCurve.
+     */
+    @Test
+    public void testSampleThickness() {
+        System.out.println("sampleThickness");
+
+        ResponseCurve curve = new ResponseCurve(laser.withFactor(0.5f), 5.0, ResponseCurve.Variable.THICKNESS,
+                1e-3, 1e-1, 1000);
+        LaserValue[] lasers = new LaserValue[curve.size()];
+        for (int i = 0; i < lasers.length; i++) {
+            lasers[i] = new LaserValue(laser.getWavelength(), null, laser.getBeamDiameter(),
+                    laser.getFocalPointArea(), laser.getMaxPower(), 0.5f, laser.getMaterial(), curve.getValue(i));
+        }
+
+        assertCurve(curve, lasers, 5.0);
+    }
+
+    /**
+     * Test of sample method over the power factor, of class ResponseCurve.
+     */
+    @Test
+    public void testSampleFactor() {
+        System.out.println("sampleFactor");
+
+        LaserValue graphitLaser = new LaserValue(10600e-9, null, 2e-3,
+                new Material("Graphit", 5.95303E7, 7.20000E2, 2.23000E3, 4200.0, null, false).toValue(), 4e-3);
+        ResponseCurve curve = new ResponseCurve(graphitLaser, 1.0, ResponseCurve.Variable.FACTOR, 0.0, 1.0, 5);
+        LaserValue[] lasers = new LaserValue[curve.size()];
+        for (int i = 0; i < lasers.length; i++) {
+            lasers[i] = graphitLaser.withFactor((float) curve.getValue(i));
+        }
+
+        assertCurve(curve, lasers, 1.0);
+        assertEquals(0.25, curve.getValue(1), 0.0);
+    }
+
+    /**
+     * Test of getValue method, of class ResponseCurve.
+     */
+    @Test
+    public void testGetValue() {
+        System.out.println("getValue");
+
+        SweepRange range = SweepRange.linear(1e-3, 7e-3, 13);
+        ResponseCurve curve = new ResponseCurve(laser, 1.0, ResponseCurve.Variable.THICKNESS, 1e-3, 7e-3, 13);
+        for (int i = 0; i < curve.size(); i++) {
+            assertEquals(range.getValue(i), curve.getValue(i), 0.0);
+        }
+        assertEquals(2e-3, new ResponseCurve(laser, 1.0, ResponseCurve.Variable.THICKNESS, 2e-3, 7e-3, 1)
+                .getValue(0), 0.0);
+    }
+}
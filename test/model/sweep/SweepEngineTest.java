@@ -0,0 +1,138 @@
+/*
+ * Package location for Application sweep model tests.
+ */
+package model.sweep;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import model.Experience;
+import model.Gas;
+import model.Laser;
+import model.Material;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Tests the sweep engine class.
+ *
+ * @author Daniel Gonçalves 1151452
+ * @author Eric Amaral 1141570
+ * @author Ivo Ferro 1151159
+ * @author Tiago Correia 1151031
+ */
+public class SweepEngineTest {
+
+    /**
+     * The sweep to be evaluated.
+     */
+    private Sweep sweep;
+
+    @Before
+    public void setUp() {
+        List<Material> materials = Arrays.asList(
+                new Material("Gold", 63000.0, 130.0, 19320.0, 2800.0, 1063.0, true),
+                new Material("Graphit", 5.95303E7, 7.20000E2, 2.23000E3, 4200.0, null, false));
+
+        sweep = new Sweep(SweepRange.of(1064e-9, 10600e-9),
+                SweepRange.linear(1e-3, 4e-3, 4),
+                materials,
+                SweepRange.linear(1e-3, 8e-3, 3),
+                SweepRange.linear(0.05, 1.0, 5),
+                SweepRange.of(1.0, 30.0));
+    }
+
+    /**
+     * Test of run method, of class SweepEngine.
+     */
+    @Test
+    public void testRun() {
+        System.out.println("run");
+
+        SweepResult result = new SweepEngine(new ForkJoinPool(4), 7).run(sweep);
+
+        assertEquals(2 * 4 * 2 * 3 * 5 * 2, result.size());
+
+        for (int point = 0; point < result.size(); point++) {
+            Laser laser = new Laser(result.getWavelength(point), new Gas("CO2", 9200E-9, 11400E-9),
+                    result.getFocalPointDiameter(point), result.getMaterial(point), result.getThickness(point));
+            Experience experience = new Experience(laser);
+            experience.setCuttingTimeLimit(result.getCuttingTimeLimit(point));
+            experience.calculatePenetrationVelocity(result.getFactor(point));
+
+            assertEquals(experience.getPenetrationVelocity(), result.getPenetrationVelocity(point), 0.0);
+            assertEquals(experience.getCuttingSpeed() != null, result.isCut(point));
+            if (result.isCut(point)) {
+                assertEquals(experience.getCuttingSpeed(), result.getCuttingSpeed(point), 0.0);
+            } else {
+                assertTrue(Double.isNaN(result.getCuttingSpeed(point)));
+            }
+        }
+    }
+
+    /**
+     * Test of the point decoding, of class Sweep.
+     */
+    @Test
+    public void testPointIndexes() {
+        System.out.println("pointIndexes");
+
+        int point = sweep.size() - 1;
+
+        assertEquals(1, sweep.getWavelengthIndex(point));
+        assertEquals(3, sweep.getFocalPointDiameterIndex(point));
+        assertEquals(1, sweep.getMaterialIndex(point));
+        assertEquals(2, sweep.getThicknessIndex(point));
+        assertEquals(4, sweep.getFactorIndex(point));
+        assertEquals(1, sweep.getCuttingTimeLimitIndex(point));
+    }
+
+    /**
+     * Test of the range values, of class SweepRange.
+     */
+    @Test
+    public void testSweepRange() {
+        System.out.println("sweepRange");
+
+        SweepRange range = SweepRange.linear(0.0, 1.0, 5);
+
+        assertEquals(5, range.size());
+        assertEquals(0.0, range.getValue(0), 0.0);
+        assertEquals(0.25, range.getValue(1), 1E-12);
+        assertEquals(1.0, range.getValue(4), 0.0);
+
+        SweepRange values = SweepRange.of(1.0, 2.0, 3);
+        assertEquals(3, values.size());
+        assertEquals(3.0, values.getValue(2), 0.0);
+    }
+
+    /**
+     * Test of exportHTML method, of class SweepResult.
+     */
+    @Test
+    public void testExportHTML() throws IOException {
+        System.out.println("exportHTML");
+
+        SweepResult result = new SweepEngine().run(sweep);
+        File file = File.createTempFile("sweep", ".html");
+        try {
+            result.exportHTML(file);
+            String page = new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+
+            int rows = 0;
+            for (int i = page.indexOf("<tr><td>"); i >= 0; i = page.indexOf("<tr><td>", i + 1)) {
+                rows++;
+            }
+            assertEquals(result.size(), rows);
+            assertTrue(page.contains("<tr><td>1.064E-6</td><td>0.001</td><td>Gold</td><td>0.001</td>"));
+            assertTrue(page.endsWith("</body>\n</html>"));
+        } finally {
+            file.delete();
+        }
+    }
+}
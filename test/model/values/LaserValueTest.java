@@ -0,0 +1,113 @@
+/*
+ * Package location for Application immutable model values tests.
+ */
+package model.values;
+
+import model.Experience;
+import model.Gas;
+import model.Laser;
+import model.Material;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Tests the laser value class.
+ *
+ * @author Daniel Gonçalves 1151452
+ * @author Eric Amaral 1141570
+ * @author Ivo Ferro 1151159
+ * @author Tiago Correia 1151031
+ */
+public class LaserValueTest {
+
+    /**
+     * The mutable laser the value is taken from.
+     */
+    private Laser laser;
+
+    /**
+     * The instance to be tested.
+     */
+    private LaserValue instance;
+
+    @Before
+    public void setUp() {
+        laser = new Laser(10600e-9, new Gas("CO2", 9200E-9, 11400E-9), 2e-3,
+                new Material("Gold", 63000.0, 130.0, 19320.0, 2800.0, 1063.0, true), 4e-3);
+        instance = laser.toValue();
+    }
+
+    /**
+     * Test of the conversion from a laser, of class LaserValue.
+     */
+    @Test
+    public void testToValue() {
+        System.out.println("toValue");
+
+        assertEquals(laser.getMaxPower(), instance.getMaxPower(), 0.0);
+        assertEquals(laser.getFocalPointArea(), instance.getFocalPointArea(), 0.0);
+        assertEquals(laser.getFactor(), instance.getFactor(), 0.0f);
+        assertEquals(laser.getMaterial().getName(), instance.getMaterial().getName());
+        assertEquals(laser.getGas().getName(), instance.getGas().getName());
+    }
+
+    /**
+     * Test of the constructor that calculates the derived values, of class
+     * LaserValue.
+     */
+    @Test
+    public void testConstructor() {
+        System.out.println("constructor");
+
+        LaserValue result = new LaserValue(10600e-9, instance.getGas(), 2e-3, instance.getMaterial(), 4e-3);
+
+        assertEquals(instance, result);
+    }
+
+    /**
+     * Test of withFactor method, of class LaserValue.
+     */
+    @Test
+    public void testWithFactor() {
+        System.out.println("withFactor");
+
+        LaserValue result = instance.withFactor(0.5f);
+
+        assertEquals(0.5f, result.getFactor(), 0.0f);
+        assertEquals(instance.getPower() / 2, result.getPower(), 1E-9);
+        assertEquals(1.0f, instance.getFactor(), 0.0f);
+    }
+
+    /**
+     * Test of evaluate method, of class LaserValue.
+     */
+    @Test
+    public void testEvaluate() {
+        System.out.println("evaluate");
+
+        Experience experience = new Experience(laser);
+        experience.calculatePenetrationVelocity(0.5f);
+
+        ExperienceValue result = instance.withFactor(0.5f).evaluate(experience.getCuttingTimeLimit());
+
+        assertEquals(experience.getPenetrationVelocity(), result.getPenetrationVelocity(), 0.0);
+        assertTrue(result.isCut());
+        assertEquals(experience.getCuttingSpeed(), result.getCuttingSpeed(), 0.0);
+        assertEquals(experience.toValue(), result);
+    }
+
+    /**
+     * Test of evaluate method when the material is not cut, of class
+     * LaserValue.
+     */
+    @Test
+    public void testEvaluateNotCut() {
+        System.out.println("evaluateNotCut");
+
+        ExperienceValue result = instance.withFactor(0.01f).evaluate(0.1);
+
+        assertFalse(result.isCut());
+        assertTrue(Double.isNaN(result.getCuttingSpeed()));
+    }
+}
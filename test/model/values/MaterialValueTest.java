@@ -0,0 +1,50 @@
+/*
+ * Package location for Application immutable model values tests.
+ */
+package model.values;
+
+import model.Material;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Tests the material value class.
+ *
+ * @author Daniel Gonçalves 1151452
+ * @author Eric Amaral 1141570
+ * @author Ivo Ferro 1151159
+ * @author Tiago Correia 1151031
+ */
+public class MaterialValueTest {
+
+    /**
+     * Test of the conversion of a meltable material, of class MaterialValue.
+     */
+    @Test
+    public void testToValue() {
+        System.out.println("toValue");
+
+        Material material = new Material("Gold", 63000.0, 130.0, 19320.0, 2800.0, 1063.0, true);
+        MaterialValue result = material.toValue();
+
+        assertTrue(result.hasFusionTemperature());
+        assertEquals(1063.0, result.getChangePhaseTemperature(), 0.0);
+        assertEquals(material, new Material(result));
+    }
+
+    /**
+     * Test of the conversion of a material without fusion temperature, of
+     * class MaterialValue.
+     */
+    @Test
+    public void testToValueWithoutFusion() {
+        System.out.println("toValueWithoutFusion");
+
+        Material material = new Material("Graphit", 5.95303E7, 7.20000E2, 2.23000E3, 4200.0, null, false);
+        MaterialValue result = material.toValue();
+
+        assertFalse(result.hasFusionTemperature());
+        assertEquals(4200.0, result.getChangePhaseTemperature(), 0.0);
+        assertNull(new Material(result).getFusionTemperature());
+    }
+}
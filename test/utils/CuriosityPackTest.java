@@ -0,0 +1,161 @@
+/*
+ * Package location for utils tests concepts.
+ */
+package utils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import model.Curiosity;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Tests the curiosity pack class.
+ *
+ * @author Eric Amaral 1141570
+ * @author Daniel Gonçalves 1151452
+ * @author Ivo Ferro 1151159
+ * @author Tiago Correia 1151031
+ */
+public class CuriosityPackTest {
+
+    /**
+     * The directory of the pack file.
+     */
+    private Path directory;
+
+    /**
+     * The pack file.
+     */
+    private Path file;
+
+    /**
+     * The curiosities written to the pack.
+     */
+    private List<Curiosity> curiosities;
+
+    @Before
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("curiosities");
+        file = directory.resolve(CuriosityPack.DEFAULT_FILE_NAME);
+        curiosities = Arrays.asList(new Curiosity("O primeiro laser foi construído em 1960."),
+                new Curiosity(""),
+                new Curiosity("Laser é um acrónimo de \"Light Amplification by Stimulated Emission of Radiation\"."));
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(directory.resolve(file.getFileName() + SimulatorFileLoader.TEMPORARY_SUFFIX));
+        Files.deleteIfExists(file);
+        Files.delete(directory);
+    }
+
+    /**
+     * Test of write method, of class CuriosityPack.
+     *
+     * @throws IOException if the pack cannot be used
+     */
+    @Test
+    public void testWrite() throws IOException {
+        System.out.println("write");
+
+        Files.write(file, new byte[]{1, 2, 3});
+        CuriosityPack.write(file, curiosities);
+
+        assertFalse(Files.exists(directory.resolve(file.getFileName() + SimulatorFileLoader.TEMPORARY_SUFFIX)));
+        try (CuriosityPack instance = new CuriosityPack(file)) {
+            assertEquals(curiosities.size(), instance.size());
+        }
+    }
+
+    /**
+     * Test of get method, of class CuriosityPack.
+     *
+     * @throws IOException if the pack cannot be used
+     */
+    @Test
+    public void testGet() throws IOException {
+        System.out.println("get");
+
+        CuriosityPack.write(file, curiosities);
+
+        try (CuriosityPack instance = new CuriosityPack(file)) {
+            for (int i = 0; i < curiosities.size(); i++) {
+                assertEquals(curiosities.get(i), instance.get(i));
+            }
+            try {
+                instance.get(curiosities.size());
+                fail("The pack has only " + curiosities.size() + " curiosities");
+            } catch (IndexOutOfBoundsException ex) {
+                assertEquals(curiosities.size(), instance.size());
+            }
+        }
+    }
+
+    /**
+     * Test of the cache of the recently read curiosities, of class
+     * CuriosityPack.
+     *
+     * @throws IOException if the pack cannot be used
+     */
+    @Test
+    public void testCache() throws IOException {
+        System.out.println("cache");
+
+        CuriosityPack.write(file, curiosities);
+
+        try (CuriosityPack instance = new CuriosityPack(file, 1)) {
+            Curiosity first = instance.get(0);
+            assertSame(first, instance.get(0));
+
+            instance.get(1);
+            Curiosity reread = instance.get(0);
+            assertNotSame(first, reread);
+            assertEquals(first, reread);
+        }
+    }
+
+    /**
+     * Test of containsAll method, of class CuriosityPack.
+     *
+     * @throws IOException if the pack cannot be used
+     */
+    @Test
+    public void testContainsAll() throws IOException {
+        System.out.println("containsAll");
+
+        CuriosityPack.write(file, curiosities);
+
+        try (CuriosityPack instance = new CuriosityPack(file)) {
+            assertTrue(instance.containsAll(curiosities));
+            assertTrue(instance.containsAll(Collections.<Curiosity>emptyList()));
+            assertFalse(instance.containsAll(Arrays.asList(new Curiosity("Outra curiosidade."))));
+            assertFalse(instance.containsAll(Arrays.asList(new Curiosity("O primeiro laser foi construído em 1961."))));
+            assertTrue(instance.containsAll(Arrays.asList(curiosities.get(2), new Curiosity(""))));
+        }
+
+        CuriosityPack closed = new CuriosityPack(file);
+        closed.close();
+        assertTrue(closed.containsAll(Collections.<Curiosity>emptyList()));
+    }
+
+    /**
+     * Test of opening a file that is not a curiosity pack, of class
+     * CuriosityPack.
+     *
+     * @throws IOException if the pack cannot be used
+     */
+    @Test(expected = IOException.class)
+    public void testOpenInvalid() throws IOException {
+        System.out.println("openInvalid");
+
+        Files.write(file, new byte[64]);
+        new CuriosityPack(file).close();
+    }
+}
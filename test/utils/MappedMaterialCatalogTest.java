@@ -0,0 +1,353 @@
+/*
+ * Package location for utils tests concepts.
+ */
+package utils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import model.CatalogListener;
+import model.Curiosity;
+import model.Gas;
+import model.Material;
+import model.MaterialIndex;
+import model.MaterialStore;
+import model.Simulator;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Tests the mapped material catalog class.
+ *
+ * @author Eric Amaral 1141570
+ * @author Daniel Gonçalves 1151452
+ * @author Ivo Ferro 1151159
+ * @author Tiago Correia 1151031
+ */
+public class MappedMaterialCatalogTest {
+
+    /**
+     * The catalog file.
+     */
+    private Path file;
+
+    /**
+     * The catalog instance to be tested.
+     */
+    private MappedMaterialCatalog instance;
+
+    @Before
+    public void setUp() throws IOException {
+        file = Files.createTempFile("materials", ".cat");
+        Files.delete(file);
+        instance = new MappedMaterialCatalog(file);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        instance.close();
+        Files.deleteIfExists(file);
+    }
+
+    /**
+     * Creates a material with a name.
+     *
+     * @param name the name
+     * @return the material
+     */
+    private static Material material(String name) {
+        return new Material(name, 63000.0, 130.0, 19320.0, 2800.0, 1063.0, true);
+    }
+
+    /**
+     * Test of add method, of class MappedMaterialCatalog.
+     */
+    @Test
+    public void testAdd() {
+        System.out.println("add");
+
+        Material graphit = new Material("Graphit", 5.95303E7, 7.20000E2, 2.23000E3, 4200.0, null, false);
+        assertTrue(instance.add(graphit));
+        assertFalse(instance.add(material("Graphit")));
+
+        Material result = instance.get("Graphit");
+        assertEquals(graphit, result);
+        assertNotSame(graphit, result);
+        assertNull(result.getFusionTemperature());
+        assertFalse(result.isMeltable());
+        assertTrue(instance.contains(material("Graphit")));
+        assertEquals(1, instance.size());
+    }
+
+    /**
+     * Test of remove method, of class MappedMaterialCatalog.
+     */
+    @Test
+    public void testRemove() {
+        System.out.println("remove");
+
+        instance.add(material("Gold"));
+        instance.add(material("Silver"));
+
+        assertTrue(instance.remove(new Material("Gold", 1.0, 2.0, 3.0, 4.0, 5.0, true)));
+        assertFalse(instance.remove(material("Gold")));
+        assertNull(instance.get("Gold"));
+        assertEquals(1, instance.size());
+        assertEquals(1, instance.getRemovedCount());
+
+        assertTrue(instance.add(material("Gold")));
+        assertEquals(2, instance.size());
+    }
+
+    /**
+     * Test of a catalog that is closed and opened again, of class
+     * MappedMaterialCatalog.
+     *
+     * @throws IOException if the catalog file cannot be used
+     */
+    @Test
+    public void testReopen() throws IOException {
+        System.out.println("reopen");
+
+        instance.add(material("Gold"));
+        instance.add(material("Silver"));
+        instance.add(material("Copper"));
+        instance.remove(material("Silver"));
+        instance.close();
+
+        instance = new MappedMaterialCatalog(file);
+
+        assertEquals(2, instance.size());
+        assertEquals(1, instance.getRemovedCount());
+        assertNotNull(instance.get("Gold"));
+        assertNull(instance.get("Silver"));
+        List<String> names = new ArrayList<>();
+        for (Material material : instance) {
+            names.add(material.getName());
+        }
+        assertEquals(Arrays.asList("Gold", "Copper"), names);
+    }
+
+    /**
+     * Test of a catalog that grows beyond its initial file, of class
+     * MappedMaterialCatalog.
+     *
+     * @throws IOException if the catalog file cannot be used
+     */
+    @Test
+    public void testGrow() throws IOException {
+        System.out.println("grow");
+
+        List<Material> materials = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            materials.add(material("Material " + i));
+        }
+        instance.close();
+        instance = MappedMaterialCatalog.create(file, materials);
+        long size = Files.size(file);
+
+        assertTrue(instance.add(material("Material 5000")));
+        assertEquals(5001, instance.size());
+        instance.close();
+
+        instance = new MappedMaterialCatalog(file);
+        assertEquals(5001, instance.size());
+        assertEquals(size, Files.size(file));
+        assertNotNull(instance.get("Material 0"));
+        assertNotNull(instance.get("Material 5000"));
+    }
+
+    /**
+     * Test of opening a file that is not a catalog, of class
+     * MappedMaterialCatalog.
+     *
+     * @throws IOException if the catalog file cannot be used
+     */
+    @Test(expected = IOException.class)
+    public void testOpenInvalid() throws IOException {
+        System.out.println("openInvalid");
+
+        Path other = Files.createTempFile("materials", ".txt");
+        try {
+            Files.write(other, new byte[64]);
+            new MappedMaterialCatalog(other).close();
+        } finally {
+            Files.delete(other);
+        }
+    }
+
+    /**
+     * Test of snapshot method, of class MappedMaterialCatalog.
+     */
+    @Test
+    public void testSnapshot() {
+        System.out.println("snapshot");
+
+        instance.add(material("Gold"));
+        instance.add(material("Silver"));
+        MaterialStore before = instance.snapshot();
+
+        instance.remove(material("Gold"));
+        instance.add(material("Copper"));
+        for (int i = 0; i < 2000; i++) {
+            instance.add(material("Material " + i));
+        }
+        instance.add(material("Gold"));
+        instance.clear();
+
+        assertEquals(2, before.size());
+        assertEquals(material("Gold"), before.get("Gold"));
+        assertTrue(before.contains(material("Silver")));
+        assertFalse(before.contains(material("Copper")));
+        List<String> names = new ArrayList<>();
+        for (Material material : before) {
+            names.add(material.getName());
+        }
+        assertEquals(2, names.size());
+        assertTrue(names.contains("Gold") && names.contains("Silver"));
+
+        assertTrue(instance.isEmpty());
+        assertTrue(instance.snapshot().isEmpty());
+        assertFalse(instance.snapshot().iterator().hasNext());
+
+        try {
+            before.add(material("Copper"));
+            fail("A snapshot cannot be changed");
+        } catch (UnsupportedOperationException ex) {
+            assertEquals(2, before.size());
+        }
+    }
+
+    /**
+     * Test of compact method, of class MappedMaterialCatalog.
+     *
+     * @throws IOException if the catalog file cannot be used
+     */
+    @Test
+    public void testCompact() throws IOException {
+        System.out.println("compact");
+
+        for (int i = 0; i < 3000; i++) {
+            instance.add(material("Material " + i));
+        }
+        for (int i = 0; i < 3000; i += 3) {
+            instance.remove(material("Material " + i));
+            instance.remove(material("Material " + (i + 1)));
+        }
+        MaterialStore before = instance.snapshot();
+        long size = Files.size(file);
+        assertEquals(2000, instance.getRemovedCount());
+
+        instance.compact();
+
+        assertEquals(0, instance.getRemovedCount());
+        assertEquals(1000, instance.size());
+        assertTrue(Files.size(file) < size);
+        assertNotNull(instance.get("Material 2"));
+        assertNull(instance.get("Material 0"));
+        assertEquals(1000, before.size());
+        assertNotNull(before.get("Material 2999"));
+
+        instance.remove(material("Material 2"));
+        assertTrue(instance.add(material("Material 0")));
+        assertNotNull(before.get("Material 2"));
+        assertNull(before.get("Material 0"));
+
+        instance.close();
+        instance = new MappedMaterialCatalog(file);
+        assertEquals(1000, instance.size());
+        assertEquals(1, instance.getRemovedCount());
+        assertNotNull(instance.get("Material 0"));
+    }
+
+    /**
+     * Test of acceptsName method, of class MappedMaterialCatalog.
+     */
+    @Test
+    public void testAcceptsName() {
+        System.out.println("acceptsName");
+
+        char[] name = new char[MappedMaterialCatalog.NAME_CAPACITY];
+        Arrays.fill(name, 'a');
+        assertTrue(instance.acceptsName(new String(name)));
+        assertFalse(instance.acceptsName(new String(name) + "a"));
+        name[0] = 'ã';
+        assertFalse(instance.acceptsName(new String(name)));
+        assertFalse(instance.acceptsName(null));
+        assertTrue(instance.snapshot().acceptsName("Gold"));
+    }
+
+    /**
+     * Test of registering materials of a simulator in the catalog, which is
+     * all or nothing.
+     */
+    @Test
+    public void testRegisterMaterials() {
+        System.out.println("registerMaterials");
+
+        Simulator simulator = new Simulator(instance, new HashSet<Gas>(), new HashSet<Curiosity>());
+        final List<Material> registered = new ArrayList<>();
+        simulator.addCatalogListener(new CatalogListener() {
+            @Override
+            public void materialRegistered(Material material) {
+                registered.add(material);
+            }
+
+            @Override
+            public void materialRemoved(Material material) {
+            }
+        });
+
+        char[] name = new char[MappedMaterialCatalog.NAME_CAPACITY + 1];
+        Arrays.fill(name, 'a');
+        try {
+            simulator.registerMaterials(Arrays.asList(material("Gold"), material(new String(name))));
+            fail("The name does not fit in the catalog");
+        } catch (IllegalArgumentException ex) {
+            assertTrue(instance.isEmpty());
+            assertTrue(simulator.getMaterials().isEmpty());
+            assertTrue(registered.isEmpty());
+        }
+
+        assertEquals(2, simulator.registerMaterials(Arrays.asList(material("Gold"), material("Silver"))));
+        assertEquals(2, instance.size());
+        assertEquals(2, simulator.getMaterials().size());
+        assertEquals(2, registered.size());
+    }
+
+    /**
+     * Test of the material index of a simulator over the catalog, which is
+     * built in the background.
+     *
+     * @throws InterruptedException if the test is interrupted
+     */
+    @Test
+    public void testMaterialIndex() throws InterruptedException {
+        System.out.println("materialIndex");
+
+        instance.add(material("Gold"));
+        Simulator simulator = new Simulator(instance, new HashSet<Gas>(), new HashSet<Curiosity>());
+        assertTrue(simulator.registerMaterial(material("Silver")));
+        assertFalse(simulator.registerMaterial(material("Gold")));
+
+        MaterialIndex index = simulator.getMaterialIndex();
+        for (int i = 0; index == null && i < 500; i++) {
+            Thread.sleep(10);
+            index = simulator.getMaterialIndex();
+        }
+        assertNotNull(index);
+        assertEquals(2, index.size());
+        assertTrue(index.containsName("silver"));
+
+        assertFalse(simulator.registerMaterial(material("GOLD")));
+        assertTrue(simulator.registerMaterial(material("Copper")));
+        assertSame(index, simulator.getMaterialIndex());
+        assertTrue(index.containsName("copper"));
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Package location for utils tests concepts.
+ */
+package utils;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import model.Curiosity;
+import model.Material;
+import model.Simulator;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Tests the simulator binary format class.
+ *
+ * @author Eric Amaral 1141570
+ * @author Daniel Gonçalves 1151452
+ * @author Ivo Ferro 1151159
+ * @author Tiago Correia 1151031
+ */
+public class SimulatorBinaryFormatTest {
+
+    /**
+     * The simulator file.
+     */
+    private Path file;
+
+    /**
+     * The simulator to write.
+     */
+    private Simulator simulator;
+
+    @Before
+    public void setUp() throws IOException {
+        file = Files.createTempFile("simulator", ".bin");
+        simulator = DefaultInstantiator.createSimulator();
+        simulator.registerMaterial(new Material("Graphit", 5.95303E7, 7.20000E2, 2.23000E3, 4200.0, null, false));
+        simulator.getCuriosities().add(new Curiosity("Aço é uma liga de ferro e carbono."));
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    /**
+     * Test of write and read methods, of class SimulatorBinaryFormat.
+     *
+     * @throws IOException if the file cannot be used
+     */
+    @Test
+    public void testRoundTrip() throws IOException {
+        System.out.println("roundTrip");
+
+        SimulatorBinaryFormat.write(file, simulator);
+
+        assertTrue(SimulatorBinaryFormat.isBinaryFormat(file));
+        Simulator result = SimulatorBinaryFormat.read(file);
+        assertEquals(simulator, result);
+        assertNull(result.getMaterialIndex().get("Graphit").getFusionTemperature());
+    }
+
+    /**
+     * Test of read method with a corrupted file, of class
+     * SimulatorBinaryFormat.
+     *
+     * @throws IOException if the file cannot be used
+     */
+    @Test(expected = IOException.class)
+    public void testReadCorrupted() throws IOException {
+        System.out.println("readCorrupted");
+
+        SimulatorBinaryFormat.write(file, simulator);
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length / 2] ^= 0x40;
+        Files.write(file, bytes);
+
+        SimulatorBinaryFormat.read(file);
+    }
+
+    /**
+     * Test of read method with a truncated file, of class
+     * SimulatorBinaryFormat.
+     *
+     * @throws IOException if the file cannot be used
+     */
+    @Test(expected = IOException.class)
+    public void testReadTruncated() throws IOException {
+        System.out.println("readTruncated");
+
+        SimulatorBinaryFormat.write(file, simulator);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 5);
+        }
+
+        SimulatorBinaryFormat.read(file);
+    }
+
+    /**
+     * Test of read method with the materials kept in a catalog file, that
+     * must exist next to the simulator file, of class SimulatorBinaryFormat.
+     *
+     * @throws IOException if the files cannot be used
+     */
+    @Test
+    public void testReadExternalMaterials() throws IOException {
+        System.out.println("readExternalMaterials");
+
+        Path directory = Files.createTempDirectory("simulator");
+        Path simulatorFile = directory.resolve(SimulatorFileLoader.DEFAULT_FILE_NAME);
+        Path catalogFile = directory.resolve(MappedMaterialCatalog.DEFAULT_FILE_NAME);
+        int materials = simulator.getMaterials().size();
+        try {
+            try (MappedMaterialCatalog catalog = MappedMaterialCatalog.create(catalogFile, simulator.getMaterials())) {
+                simulator.setMaterials(catalog);
+                SimulatorBinaryFormat.write(simulatorFile, simulator);
+            }
+
+            Simulator result = SimulatorBinaryFormat.read(simulatorFile);
+            try (MappedMaterialCatalog catalog = (MappedMaterialCatalog) result.getMaterialStore()) {
+                assertEquals(materials, catalog.size());
+                assertNotNull(catalog.get("Graphit"));
+            }
+
+            Files.delete(catalogFile);
+            try {
+                SimulatorBinaryFormat.read(simulatorFile);
+                fail("The material catalog is missing");
+            } catch (IOException ex) {
+                assertTrue(ex.getMessage().contains(catalogFile.toString()));
+            }
+        } finally {
+            Files.deleteIfExists(simulatorFile);
+            Files.deleteIfExists(catalogFile);
+            Files.delete(directory);
+        }
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ * Package location for utils tests concepts.
+ */
+package utils;
+
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import model.Material;
+import model.Simulator;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Tests the simulator file loader class.
+ *
+ * @author Eric Amaral 1141570
+ * @author Daniel Gonçalves 1151452
+ * @author Ivo Ferro 1151159
+ * @author Tiago Correia 1151031
+ */
+public class SimulatorFileLoaderTest {
+
+    /**
+     * The directory of the simulator files.
+     */
+    private Path directory;
+
+    /**
+     * The simulator file.
+     */
+    private Path file;
+
+    @Before
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("simulator");
+        file = directory.resolve(SimulatorFileLoader.DEFAULT_FILE_NAME);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        for (Path path : Files.newDirectoryStream(directory)) {
+            Files.delete(path);
+        }
+        Files.delete(directory);
+    }
+
+    /**
+     * Test of load method with a file saved with Java serialization, of class
+     * SimulatorFileLoader.
+     *
+     * @throws IOException if the files cannot be used
+     */
+    @Test
+    public void testLoadLegacy() throws IOException {
+        System.out.println("loadLegacy");
+
+        Simulator simulator = DefaultInstantiator.createSimulator();
+        try (OutputStream out = Files.newOutputStream(file);
+                ObjectOutputStream objects = new ObjectOutputStream(out)) {
+            objects.writeObject(simulator);
+        }
+
+        Simulator result = SimulatorFileLoader.load(file.toString());
+
+        assertEquals(simulator, result);
+        assertTrue(SimulatorBinaryFormat.isBinaryFormat(file));
+        assertTrue(Files.exists(directory.resolve(file.getFileName() + SimulatorFileLoader.LEGACY_SUFFIX)));
+        assertEquals(simulator, SimulatorFileLoader.load(file.toString()));
+    }
+
+    /**
+     * Test of load method after a save interrupted before the rename, of
+     * class SimulatorFileLoader.
+     *
+     * @throws IOException if the files cannot be used
+     */
+    @Test
+    public void testLoadTemporary() throws IOException {
+        System.out.println("loadTemporary");
+
+        Simulator previous = DefaultInstantiator.createSimulator();
+        SimulatorBinaryFormat.write(file, previous);
+        Simulator saved = DefaultInstantiator.createSimulator();
+        saved.registerMaterial(new Material("Mithril", 1.0, 2.0, 3.0, 4.0, 5.0, true));
+        Path temporary = directory.resolve(file.getFileName() + SimulatorFileLoader.TEMPORARY_SUFFIX);
+        SimulatorBinaryFormat.write(temporary, saved);
+
+        assertEquals(saved, SimulatorFileLoader.load(file.toString()));
+        assertFalse(Files.exists(temporary));
+        assertEquals(saved, SimulatorBinaryFormat.read(file));
+    }
+
+    /**
+     * Test of load method with an incomplete temporary file, of class
+     * SimulatorFileLoader.
+     *
+     * @throws IOException if the files cannot be used
+     */
+    @Test
+    public void testLoadTornTemporary() throws IOException {
+        System.out.println("loadTornTemporary");
+
+        Simulator previous = DefaultInstantiator.createSimulator();
+        SimulatorBinaryFormat.write(file, previous);
+        Path temporary = directory.resolve(file.getFileName() + SimulatorFileLoader.TEMPORARY_SUFFIX);
+        SimulatorBinaryFormat.write(temporary, previous);
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() / 2);
+        }
+
+        assertEquals(previous, SimulatorFileLoader.load(file.toString()));
+        assertFalse(Files.exists(temporary));
+    }
+
+    /**
+     * Test of load method with a corrupted file and a backup, of class
+     * SimulatorFileLoader.
+     *
+     * @throws IOException if the files cannot be used
+     */
+    @Test
+    public void testLoadBackup() throws IOException {
+        System.out.println("loadBackup");
+
+        Simulator previous = DefaultInstantiator.createSimulator();
+        assertTrue(SimulatorFileLoader.save(file.toString(), previous));
+        Simulator saved = DefaultInstantiator.createSimulator();
+        saved.registerMaterial(new Material("Mithril", 1.0, 2.0, 3.0, 4.0, 5.0, true));
+        assertTrue(SimulatorFileLoader.save(file.toString(), saved));
+        Path backup = directory.resolve(file.getFileName() + SimulatorFileLoader.BACKUP_SUFFIX);
+        assertEquals(previous, SimulatorBinaryFormat.read(backup));
+
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length - 1] ^= 1;
+        Files.write(file, bytes);
+
+        assertEquals(previous, SimulatorFileLoader.load(file.toString()));
+        assertEquals(previous, SimulatorBinaryFormat.read(file));
+    }
+
+    /**
+     * Test of load method with a corrupted file and no backup, of class
+     * SimulatorFileLoader.
+     *
+     * @throws IOException if the files cannot be used
+     */
+    @Test(expected = IOException.class)
+    public void testLoadCorrupted() throws IOException {
+        System.out.println("loadCorrupted");
+
+        SimulatorBinaryFormat.write(file, DefaultInstantiator.createSimulator());
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 1);
+        }
+
+        SimulatorFileLoader.load(file.toString());
+    }
+}
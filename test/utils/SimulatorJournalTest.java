@@ -0,0 +1,205 @@
+/*
+ * Package location for utils tests concepts.
+ */
+package utils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import model.Material;
+import model.Simulator;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Tests the simulator journal class.
+ *
+ * @author Eric Amaral 1141570
+ * @author Daniel Gonçalves 1151452
+ * @author Ivo Ferro 1151159
+ * @author Tiago Correia 1151031
+ */
+public class SimulatorJournalTest {
+
+    /**
+     * The directory of the journal file.
+     */
+    private Path directory;
+
+    /**
+     * The journal file.
+     */
+    private Path file;
+
+    /**
+     * A registered material.
+     */
+    private Material gold;
+
+    /**
+     * Another registered material.
+     */
+    private Material silver;
+
+    @Before
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("journal");
+        file = directory.resolve(SimulatorJournal.DEFAULT_FILE_NAME);
+        gold = new Material("Gold", 63000.0, 130.0, 19320.0, 2800.0, 1063.0, true);
+        silver = new Material("Silver", 105000.0, 235.0, 10490.0, 2162.0, 961.0, true);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        for (Path path : Files.newDirectoryStream(directory)) {
+            Files.delete(path);
+        }
+        Files.delete(directory);
+    }
+
+    /**
+     * Test of replay method, of class SimulatorJournal.
+     *
+     * @throws IOException if the journal cannot be used
+     */
+    @Test
+    public void testReplay() throws IOException {
+        System.out.println("replay");
+
+        try (SimulatorJournal journal = new SimulatorJournal(file)) {
+            journal.materialsRegistered(Arrays.asList(gold, silver));
+            journal.materialRemoved(gold);
+        }
+
+        Simulator simulator = new Simulator();
+        try (SimulatorJournal journal = new SimulatorJournal(file)) {
+            assertEquals(3, journal.replay(simulator));
+            assertEquals(3, journal.getRecordCount());
+        }
+        assertEquals(1, simulator.getMaterials().size());
+        assertTrue(simulator.getMaterials().contains(silver));
+    }
+
+    /**
+     * Test of replay method with a record that was not completely written, of
+     * class SimulatorJournal.
+     *
+     * @throws IOException if the journal cannot be used
+     */
+    @Test
+    public void testReplayTornTail() throws IOException {
+        System.out.println("replayTornTail");
+
+        try (SimulatorJournal journal = new SimulatorJournal(file)) {
+            journal.materialRegistered(gold);
+            journal.materialRegistered(silver);
+        }
+        long complete = Files.size(file);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(complete - 3);
+        }
+
+        Simulator simulator = new Simulator();
+        try (SimulatorJournal journal = new SimulatorJournal(file)) {
+            assertEquals(1, journal.replay(simulator));
+        }
+        assertEquals(Arrays.asList(gold), Arrays.asList(simulator.getMaterials().toArray()));
+        assertTrue(Files.size(file) < complete - 3);
+
+        try (SimulatorJournal journal = new SimulatorJournal(file)) {
+            journal.materialRegistered(silver);
+        }
+        simulator = new Simulator();
+        try (SimulatorJournal journal = new SimulatorJournal(file)) {
+            assertEquals(2, journal.replay(simulator));
+        }
+        assertTrue(simulator.getMaterials().contains(silver));
+    }
+
+    /**
+     * Test of replay method with a corrupted record, of class
+     * SimulatorJournal.
+     *
+     * @throws IOException if the journal cannot be used
+     */
+    @Test
+    public void testReplayCorrupted() throws IOException {
+        System.out.println("replayCorrupted");
+
+        try (SimulatorJournal journal = new SimulatorJournal(file)) {
+            journal.materialRegistered(gold);
+            journal.materialRegistered(silver);
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{0x7F}), channel.size() - 10);
+        }
+
+        Simulator simulator = new Simulator();
+        try (SimulatorJournal journal = new SimulatorJournal(file)) {
+            assertEquals(1, journal.replay(simulator));
+        }
+        assertFalse(simulator.getMaterials().contains(silver));
+    }
+
+    /**
+     * Test of discardUpTo method, of class SimulatorJournal.
+     *
+     * @throws IOException if the journal cannot be used
+     */
+    @Test
+    public void testDiscardUpTo() throws IOException {
+        System.out.println("discardUpTo");
+
+        try (SimulatorJournal journal = new SimulatorJournal(file)) {
+            journal.materialRegistered(gold);
+            long mark = journal.mark();
+            journal.materialRegistered(silver);
+
+            journal.discardUpTo(mark);
+            assertEquals(1, journal.getRecordCount());
+            journal.materialRemoved(silver);
+            assertEquals(2, journal.getRecordCount());
+        }
+
+        Simulator simulator = new Simulator();
+        simulator.registerMaterial(silver);
+        try (SimulatorJournal journal = new SimulatorJournal(file)) {
+            assertEquals(2, journal.replay(simulator));
+        }
+        assertTrue(simulator.getMaterials().isEmpty());
+        assertFalse(Files.exists(directory.resolve(file.getFileName() + SimulatorFileLoader.TEMPORARY_SUFFIX)));
+    }
+
+    /**
+     * Test of replayReadOnly method, of class SimulatorJournal.
+     *
+     * @throws IOException if the journal cannot be used
+     */
+    @Test
+    public void testReplayReadOnly() throws IOException {
+        System.out.println("replayReadOnly");
+
+        assertEquals(0, SimulatorJournal.replayReadOnly(file, new Simulator()));
+        assertFalse(Files.exists(file));
+
+        try (SimulatorJournal journal = new SimulatorJournal(file)) {
+            journal.materialRegistered(gold);
+            journal.materialRegistered(silver);
+        }
+        long torn = Files.size(file) - 3;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(torn);
+        }
+
+        Simulator simulator = new Simulator();
+        assertEquals(1, SimulatorJournal.replayReadOnly(file, simulator));
+        assertTrue(simulator.getMaterials().contains(gold));
+        assertEquals(torn, Files.size(file));
+    }
+}